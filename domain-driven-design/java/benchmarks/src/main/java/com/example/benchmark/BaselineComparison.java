@@ -0,0 +1,102 @@
+package com.example.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JMH の JSON 形式の結果を基準の結果と比べ、性能の低下を報告する
+ *
+ * ベンチマークとパラメータの組ごとに、主指標（時間またはスループット）、
+ * 1操作あたりの割り当てバイト数（gc.alloc.rate.norm）、注文1件あたりの保持バイト数（retainedBytesPerOrder）を比べ、
+ * 許容率を超えて悪化したものを出力する
+ * バイト数は測定の誤差で数バイト変わるため、差が 16 バイト未満の場合は悪化とみなさない
+ * 基準にないベンチマークは比べない。悪化したものがある場合は終了コード 1 で終了する
+ *
+ * java -cp target/benchmarks.jar com.example.benchmark.BaselineComparison
+ *     baseline/jmh-baseline.json target/jmh-result.json [許容率（%、既定は 10）]
+ */
+public final class BaselineComparison {
+    private static final List<String> BYTE_METRICS = List.of("gc.alloc.rate.norm", "retainedBytesPerOrder");
+    private static final double MIN_BYTE_DIFFERENCE = 16;
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [tolerance-percent]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> current = index(objectMapper.readTree(new File(args[1])));
+
+        List<String> regressions = new ArrayList<>();
+        current.forEach((key, result) -> {
+            JsonNode expected = baseline.get(key);
+            if (expected == null) {
+                return;
+            }
+            boolean higherIsBetter = "thrpt".equals(result.path("mode").asText());
+            compare(key, "score", expected.path("primaryMetric"), result.path("primaryMetric"),
+                    higherIsBetter, tolerance, 0, regressions);
+            for (String metric : BYTE_METRICS) {
+                compare(key, metric, expected.path("secondaryMetrics").path(metric),
+                        result.path("secondaryMetrics").path(metric), false, tolerance, MIN_BYTE_DIFFERENCE,
+                        regressions);
+            }
+        });
+
+        if (regressions.isEmpty()) {
+            System.out.printf("No regressions over %.0f%% in %d benchmarks%n", tolerance * 100, current.size());
+            return;
+        }
+        regressions.forEach(System.out::println);
+        System.exit(1);
+    }
+
+    // ベンチマーク名とパラメータを結果の識別子とする
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            indexed.put(result.path("benchmark").asText() + params, result);
+        }
+        return indexed;
+    }
+
+    private static void compare(String key, String metric, JsonNode expected, JsonNode actual,
+                                boolean higherIsBetter, double tolerance, double minDifference,
+                                List<String> regressions) {
+        if (!expected.has("score") || !actual.has("score")) {
+            return;
+        }
+        double before = expected.path("score").asDouble();
+        double after = actual.path("score").asDouble();
+        if (before <= 0 || Math.abs(after - before) < minDifference) {
+            return;
+        }
+        double change = (after - before) / before;
+        boolean regressed = higherIsBetter ? change < -tolerance : change > tolerance;
+        if (regressed) {
+            regressions.add(String.format("%s %s: %.3f -> %.3f %s (%+.1f%%)", key, metric, before, after,
+                    actual.path("scoreUnit").asText(), change * 100));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.example.benchmark;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.Address;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * ベンチマークで使う注文、商品、顧客を作る
+ * 同じ引数からは常に同じ内容（ID を除く）を作るため、実行ごとの結果を比べられる
+ */
+public final class BenchmarkData {
+    private static final String[] CITIES = {"Chiyoda", "Minato", "Shibuya", "Shinjuku", "Setagaya"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 住所を作る
+     * @param index 住所の番号（同じ番号からは等しい住所を作る）
+     * @return 住所
+     */
+    public static Address address(int index) {
+        return Address.of(index + "-1-1 Chome", CITIES[index % CITIES.length], "Tokyo",
+                String.format("100-%04d", index % 10_000), "JP");
+    }
+
+    /**
+     * 商品を作る
+     * @param count 商品の数
+     * @param stock 各商品の在庫数量
+     * @return 商品のリスト
+     */
+    public static List<Product> products(int count, int stock) {
+        SplittableRandom random = new SplittableRandom(count);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.create("Product " + i, "Benchmark product " + i,
+                    Money.yen(BigDecimal.valueOf(100 + random.nextInt(100_000))), Quantity.of(stock)));
+        }
+        return products;
+    }
+
+    /**
+     * 商品を順に注文項目として追加した注文を作る
+     * @param customerId 顧客ID
+     * @param products 商品（足りない場合は先頭から繰り返す）
+     * @param lines 注文項目の数（商品の数を超える場合は同じ商品の数量が増える）
+     * @return 作成された注文
+     */
+    public static Order order(CustomerId customerId, List<Product> products, int lines) {
+        Address address = address(customerId.hashCode() & 0xFF);
+        Order order = Order.create(customerId, address, address);
+        for (int i = 0; i < lines; i++) {
+            Product product = products.get(i % products.size());
+            order.addOrderItem(product.getId(), product.getName(), product.getPrice(), Quantity.of(1 + i % 3));
+        }
+        return order;
+    }
+
+    /**
+     * 注文項目ごとに別の商品を持つ注文を作る
+     * @param lines 注文項目の数
+     * @return 作成された注文
+     */
+    public static Order order(int lines) {
+        Order order = Order.create(CustomerId.generateNew(), address(0), address(1));
+        for (int i = 0; i < lines; i++) {
+            order.addOrderItem(ProductId.generateNew(), "Product " + i,
+                    Money.yen(BigDecimal.valueOf(100 + i * 7L % 10_000)), Quantity.of(1 + i % 3));
+        }
+        return order;
+    }
+
+    /**
+     * 登録からの年数がばらばらの顧客を作る
+     * @param count 顧客の数
+     * @return 顧客のリスト
+     */
+    public static List<Customer> customers(int count) {
+        SplittableRandom random = new SplittableRandom(count);
+        LocalDateTime now = LocalDateTime.now();
+        List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            customers.add(Customer.reconstitute(CustomerId.generateNew(), "First" + i, "Last" + i,
+                    "customer" + i + "@example.com", null, List.of(address(i)), true,
+                    now.minusDays(random.nextInt(3_650)), now));
+        }
+        return customers;
+    }
+}
\ No newline at end of file
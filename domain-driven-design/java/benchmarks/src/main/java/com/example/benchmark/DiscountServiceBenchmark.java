@@ -0,0 +1,82 @@
+package com.example.benchmark;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.service.DiscountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 割引の計算のベンチマーク
+ * 注文ごとに calculateDiscount を呼ぶ場合と、calculateDiscounts でまとめて計算する場合を比べる
+ * 注文の数が既定の並列化の閾値（10,000件）以上の場合、まとめた計算は並列に行われる
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class DiscountServiceBenchmark {
+
+    @Param({"1", "100", "20000"})
+    public int orders;
+
+    private final DiscountService discountService = new DiscountService();
+    private List<Order> orderList;
+    private List<Customer> customerList;
+    private Map<CustomerId, Customer> customers;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(orders);
+        List<Product> products = BenchmarkData.products(100, 1_000);
+        customerList = BenchmarkData.customers(Math.max(1, orders / 10));
+        customers = new HashMap<>();
+        customerList.forEach(customer -> customers.put(customer.getId(), customer));
+
+        orderList = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            Customer customer = customerList.get(random.nextInt(customerList.size()));
+            orderList.add(BenchmarkData.order(customer.getId(), products, 1 + random.nextInt(20)));
+        }
+    }
+
+    /**
+     * 注文ごとに割引を計算する
+     */
+    @Benchmark
+    public void calculateDiscount(Blackhole blackhole) {
+        for (Order order : orderList) {
+            blackhole.consume(discountService.calculateDiscount(order, customers.get(order.getCustomerId())));
+        }
+    }
+
+    /**
+     * 全ての注文の割引をまとめて計算する
+     */
+    @Benchmark
+    public List<Money> calculateDiscounts() {
+        return discountService.calculateDiscounts(orderList, customers);
+    }
+}
\ No newline at end of file
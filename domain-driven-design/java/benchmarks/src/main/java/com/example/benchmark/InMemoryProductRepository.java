@@ -0,0 +1,70 @@
+package com.example.benchmark;
+
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * メモリ上の ProductRepository
+ * データベースを除いた在庫サービスの処理時間を測るために使う
+ */
+public class InMemoryProductRepository implements ProductRepository {
+    private final Map<ProductId, Product> products = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return Optional.ofNullable(products.get(id));
+    }
+
+    @Override
+    public List<Product> findAllByIds(Collection<ProductId> ids) {
+        List<Product> found = new ArrayList<>(ids.size());
+        for (ProductId id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Product> findByName(String name) {
+        return products.values().stream()
+                .filter(product -> product.getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Product> findAllActive() {
+        return products.values().stream()
+                .filter(Product::isActive)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Product save(Product product) {
+        products.put(product.getId(), product);
+        return product;
+    }
+
+    @Override
+    public void saveAll(Collection<Product> products) {
+        for (Product product : products) {
+            save(product);
+        }
+    }
+
+    @Override
+    public void deleteById(ProductId id) {
+        products.remove(id);
+    }
+}
\ No newline at end of file
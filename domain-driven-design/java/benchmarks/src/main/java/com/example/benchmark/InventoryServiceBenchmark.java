@@ -0,0 +1,68 @@
+package com.example.benchmark;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.service.InventoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在庫サービスのベンチマーク
+ * メモリ上の商品リポジトリを使い、データベースを除いた在庫の確認・減算・戻しの処理時間を測る
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Thread)
+public class InventoryServiceBenchmark {
+
+    @Param({"1", "50", "1000"})
+    public int lines;
+
+    private InventoryService inventoryService;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        InMemoryProductRepository productRepository = new InMemoryProductRepository();
+        // 減算と戻しを繰り返しても在庫が尽きない数量にする
+        List<Product> products = BenchmarkData.products(lines, Integer.MAX_VALUE / 2);
+        productRepository.saveAll(products);
+        inventoryService = new InventoryService(productRepository, event -> {
+        });
+        order = BenchmarkData.order(CustomerId.generateNew(), products, lines);
+    }
+
+    /**
+     * 注文の全ての商品の在庫を確認する
+     */
+    @Benchmark
+    public List<ProductId> checkInventory() {
+        return inventoryService.checkInventoryForOrder(order);
+    }
+
+    /**
+     * 注文確定時の在庫の減算と、キャンセル時の戻しを続けて行う
+     */
+    @Benchmark
+    public void reduceAndRestore() {
+        inventoryService.reduceInventoryForOrder(order);
+        inventoryService.restoreInventoryForOrder(order);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.example.benchmark;
+
+import com.example.DddEcommerceApplication;
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.OrderItem;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.Quantity;
+import com.example.domain.repository.OrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 注文リポジトリ（JPA）の保存と読み込みのベンチマーク
+ * アプリケーションのコンテキストをメモリ上の H2 で起動し、公開されたリポジトリのメソッドを呼ぶ
+ * 保存はトランザクション、SQLの実行、読み取りモデルとアウトボックスへの書き込みを含む
+ * （Hibernate のコードのコンパイルが落ち着くまで40秒ほどかかるため、ウォームアップを長く取る）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 3, jvmArgsAppend = {"-Xmx3g"})
+@State(Scope.Thread)
+public class JpaOrderRepositoryBenchmark {
+    // 1回の計測で書き込んだ行は、子のテーブルから順に消す
+    private static final String[] TABLES = {"order_items", "orders", "order_summaries", "outbox_messages"};
+
+    @Param({"1", "50", "1000"})
+    public int lines;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private JdbcTemplate jdbcTemplate;
+    private Order order;
+    private UUID middleItemId;
+    private int quantity;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(DddEcommerceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        // アウトボックスのリレーなどのバックグラウンド処理は計測に含めない
+                        "ddd.scheduling.enabled=false")
+                .run();
+        orderRepository = context.getBean(OrderRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void saveOrder() {
+        order = orderRepository.save(BenchmarkData.order(lines));
+        List<OrderItem> items = order.getOrderItems();
+        middleItemId = items.get(items.size() / 2).getId();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRows() {
+        for (String table : TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    /**
+     * 新しい注文を作って保存する（全ての注文項目を INSERT する）
+     */
+    @Benchmark
+    public Order saveNewOrder() {
+        return orderRepository.save(BenchmarkData.order(lines));
+    }
+
+    /**
+     * 保存済みの注文の数量を1つ変更して保存する（変更した項目と合計金額だけを UPDATE する）
+     */
+    @Benchmark
+    public Money saveChangedOrder() {
+        quantity = quantity % 5 + 1;
+        order.updateOrderItemQuantity(middleItemId, Quantity.of(quantity));
+        return orderRepository.save(order).getTotalAmount();
+    }
+
+    /**
+     * 注文項目を含めて注文を読み込む
+     */
+    @Benchmark
+    public Optional<Order> findById() {
+        return orderRepository.findById(order.getId());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.example.benchmark;
+
+import com.example.domain.model.valueobject.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 金額の計算のベンチマーク
+ * 注文項目の小計の合計（単価 × 数量の和）を、Money の演算、Money.Sum、BigDecimal のみの計算で比べる
+ * BigDecimal のみの計算は、金額を BigDecimal で保持していた頃の計算に相当する
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Param({"10", "1000"})
+    public int lines;
+
+    private Money[] unitPrices;
+    private long[] quantities;
+    private BigDecimal[] unitAmounts;
+    private Money threshold;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(lines);
+        unitPrices = new Money[lines];
+        quantities = new long[lines];
+        unitAmounts = new BigDecimal[lines];
+        for (int i = 0; i < lines; i++) {
+            unitAmounts[i] = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            unitPrices[i] = Money.of(unitAmounts[i], JPY);
+            quantities[i] = 1 + random.nextInt(10);
+        }
+        threshold = Money.of(BigDecimal.valueOf(10_000), JPY);
+    }
+
+    /**
+     * Money の multiply と add で小計を合計する（小計ごとに Money を作る）
+     */
+    @Benchmark
+    public Money multiplyAndAdd() {
+        Money total = Money.zero(JPY);
+        for (int i = 0; i < lines; i++) {
+            total = total.add(unitPrices[i].multiply(quantities[i]));
+        }
+        return total;
+    }
+
+    /**
+     * Money.Sum で小計を合計する（途中で Money を作らない）
+     */
+    @Benchmark
+    public Money sum() {
+        Money.Sum sum = Money.sum(JPY);
+        for (int i = 0; i < lines; i++) {
+            sum.addProduct(unitPrices[i], quantities[i]);
+        }
+        return sum.toMoney();
+    }
+
+    /**
+     * BigDecimal だけで小計を合計する（比較の基準）
+     */
+    @Benchmark
+    public BigDecimal bigDecimalSum() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            total = total.add(unitAmounts[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 割引率の適用と金額の比較（割引の計算で行う演算）
+     */
+    @Benchmark
+    public int applyRateAndCompare() {
+        int aboveThreshold = 0;
+        for (int i = 0; i < lines; i++) {
+            Money discounted = unitPrices[i].applyRate(95, 100);
+            if (discounted.isGreaterThan(threshold)) {
+                aboveThreshold++;
+            }
+        }
+        return aboveThreshold;
+    }
+}
\ No newline at end of file
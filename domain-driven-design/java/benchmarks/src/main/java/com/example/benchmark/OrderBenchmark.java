@@ -0,0 +1,101 @@
+package com.example.benchmark;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.OrderItem;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 注文集約の変更操作のベンチマーク
+ * 注文項目の数に対して、項目の追加・削除・数量の変更と合計金額の更新が一定時間で済むことを確かめる
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Thread)
+public class OrderBenchmark {
+
+    @Param({"1", "50", "1000", "100000"})
+    public int lines;
+
+    private Order order;
+    private UUID middleItemId;
+    private ProductId extraProductId;
+    private Money extraPrice;
+    private int quantity;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        order = BenchmarkData.order(lines);
+        order.clearDomainEvents();
+        order.clearChanges(order.version());
+        List<OrderItem> items = order.getOrderItems();
+        middleItemId = items.get(items.size() / 2).getId();
+        extraProductId = ProductId.generateNew();
+        extraPrice = Money.yen(BigDecimal.valueOf(1_980));
+    }
+
+    /**
+     * 注文を作り、注文項目を1つずつ追加する
+     */
+    @Benchmark
+    public Order buildOrder() {
+        return BenchmarkData.order(lines);
+    }
+
+    /**
+     * 注文項目の数量を変更する（合計金額は差分だけ更新される）
+     */
+    @Benchmark
+    public Money updateItemQuantity() {
+        quantity = quantity % 5 + 1;
+        order.updateOrderItemQuantity(middleItemId, Quantity.of(quantity));
+        order.clearChanges(order.version());
+        return order.getTotalAmount();
+    }
+
+    /**
+     * 同じ商品の注文項目を追加して数量を増やす
+     */
+    @Benchmark
+    public Money addExistingProduct() {
+        OrderItem item = order.getOrderItems().get(0);
+        order.addOrderItem(item.getProductId(), item.getProductName(), item.getUnitPrice(), Quantity.of(1));
+        order.updateOrderItemQuantity(item.getId(), Quantity.of(1));
+        order.clearDomainEvents();
+        order.clearChanges(order.version());
+        return order.getTotalAmount();
+    }
+
+    /**
+     * 新しい注文項目を追加してから削除する
+     */
+    @Benchmark
+    public Money addAndRemoveItem() {
+        UUID itemId = order.addOrderItem(extraProductId, "Extra", extraPrice, Quantity.of(1));
+        order.removeOrderItem(itemId);
+        order.clearDomainEvents();
+        order.clearChanges(order.version());
+        return order.getTotalAmount();
+    }
+}
\ No newline at end of file
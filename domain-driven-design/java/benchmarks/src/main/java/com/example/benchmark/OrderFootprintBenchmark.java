@@ -0,0 +1,99 @@
+package com.example.benchmark;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.infrastructure.codec.BinaryDomainCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 読み込んだ注文が保持するヒープのベンチマーク
+ * 限られた顧客・商品・住所を持つ注文を大量に復元し、GC後も残るヒープの量を注文1件あたりで報告する
+ * 住所や商品IDなどの値オブジェクトが共有されていれば、注文の数に比例するのは注文と注文項目だけになる
+ * （EVENTS の補助カウンタは測定の繰り返しの間で合計されるため、測定は1回だけ行う）
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Thread)
+public class OrderFootprintBenchmark {
+    private static final int TEMPLATES = 1_000;
+
+    @Param({"1000000"})
+    public int orders;
+
+    private final BinaryDomainCodec codec = new BinaryDomainCodec();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private byte[][] encoded;
+    private List<Order> loaded;
+
+    /**
+     * 保持しているヒープの量
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytesPerOrder;
+    }
+
+    @Setup
+    public void setUp() {
+        // 顧客 1,000人、商品 200件から、注文項目 1〜3件の注文を作る
+        List<Product> products = BenchmarkData.products(200, 1_000);
+        List<CustomerId> customers = new ArrayList<>();
+        BenchmarkData.customers(TEMPLATES).forEach(customer -> customers.add(customer.getId()));
+        encoded = new byte[TEMPLATES][];
+        for (int i = 0; i < TEMPLATES; i++) {
+            List<Product> lineProducts = products.subList(i % 100, i % 100 + 3);
+            encoded[i] = codec.encodeOrder(BenchmarkData.order(customers.get(i), lineProducts, 1 + i % 3));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void release() {
+        loaded = null;
+    }
+
+    /**
+     * 注文を復元して保持し、GC後のヒープ使用量の増分を記録する
+     */
+    @Benchmark
+    public List<Order> loadOrders(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        List<Order> result = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            result.add(codec.decodeOrder(ByteBuffer.wrap(encoded[i % TEMPLATES])));
+        }
+        loaded = result;
+        footprint.retainedBytesPerOrder = (usedHeapAfterGc() - before) / orders;
+        return result;
+    }
+
+    private long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
\ No newline at end of file
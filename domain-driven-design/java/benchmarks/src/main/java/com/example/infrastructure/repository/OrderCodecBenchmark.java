@@ -0,0 +1,70 @@
+package com.example.infrastructure.repository;
+
+import com.example.benchmark.BenchmarkData;
+import com.example.domain.model.aggregate.Order;
+import com.example.infrastructure.codec.BinaryDomainCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 注文の直列化のベンチマーク
+ * バイナリ形式（BinaryDomainCodec）と、イベントストアやアーカイブで使っていたJSON形式を比べる
+ * （JSON形式の OrderStateSerializer はリポジトリの内部クラスでパッケージプライベートのため、
+ * このベンチマークだけはリポジトリと同じパッケージに置く）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Thread)
+public class OrderCodecBenchmark {
+
+    @Param({"1", "50", "1000"})
+    public int lines;
+
+    private final BinaryDomainCodec codec = new BinaryDomainCodec();
+    private final OrderStateSerializer serializer = new OrderStateSerializer();
+    private Order order;
+    private byte[] binary;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(lines);
+        binary = codec.encodeOrder(order);
+        json = serializer.serializeState(order);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return codec.encodeOrder(order);
+    }
+
+    @Benchmark
+    public Order decodeBinary() {
+        return codec.decodeOrder(ByteBuffer.wrap(binary));
+    }
+
+    @Benchmark
+    public String encodeJson() {
+        return serializer.serializeState(order);
+    }
+
+    @Benchmark
+    public Order decodeJson() {
+        return serializer.deserializeState(json).toOrder();
+    }
+}
\ No newline at end of file
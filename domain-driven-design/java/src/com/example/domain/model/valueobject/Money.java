@@ -1,103 +0,0 @@
-package com.example.domain.model.valueobject;
-
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Currency;
-import java.util.Objects;
-
-/**
- * 金額を表す値オブジェクト
- * 不変性（イミュータビリティ）を持つため、一度作成すると変更できない
- */
-public final class Money {
-    private final BigDecimal amount;
-    private final Currency currency;
-
-    private Money(BigDecimal amount, Currency currency) {
-        this.amount = amount.setScale(2, RoundingMode.HALF_UP);
-        this.currency = currency;
-    }
-
-    public static Money of(BigDecimal amount, Currency currency) {
-        Objects.requireNonNull(amount, "Amount cannot be null");
-        Objects.requireNonNull(currency, "Currency cannot be null");
-        return new Money(amount, currency);
-    }
-
-    public static Money of(double amount, String currencyCode) {
-        return of(BigDecimal.valueOf(amount), Currency.getInstance(currencyCode));
-    }
-
-    public static Money yen(BigDecimal amount) {
-        return of(amount, Currency.getInstance("JPY"));
-    }
-
-    public static Money usd(BigDecimal amount) {
-        return of(amount, Currency.getInstance("USD"));
-    }
-
-    public static Money zero(Currency currency) {
-        return of(BigDecimal.ZERO, currency);
-    }
-
-    // 値オブジェクトの操作は新しいインスタンスを返す
-    public Money add(Money money) {
-        if (!this.currency.equals(money.currency)) {
-            throw new IllegalArgumentException("Cannot add money with different currencies");
-        }
-        return new Money(this.amount.add(money.amount), this.currency);
-    }
-
-    public Money subtract(Money money) {
-        if (!this.currency.equals(money.currency)) {
-            throw new IllegalArgumentException("Cannot subtract money with different currencies");
-        }
-        return new Money(this.amount.subtract(money.amount), this.currency);
-    }
-
-    public Money multiply(double multiplier) {
-        return new Money(this.amount.multiply(BigDecimal.valueOf(multiplier)), this.currency);
-    }
-
-    public boolean isGreaterThan(Money other) {
-        validateSameCurrency(other);
-        return this.amount.compareTo(other.amount) > 0;
-    }
-
-    public boolean isLessThan(Money other) {
-        validateSameCurrency(other);
-        return this.amount.compareTo(other.amount) < 0;
-    }
-
-    private void validateSameCurrency(Money other) {
-        if (!this.currency.equals(other.currency)) {
-            throw new IllegalArgumentException("Cannot compare money with different currencies");
-        }
-    }
-
-    public BigDecimal getAmount() {
-        return amount;
-    }
-
-    public Currency getCurrency() {
-        return currency;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Money money = (Money) o;
-        return amount.compareTo(money.amount) == 0 && currency.equals(money.currency);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(amount, currency);
-    }
-
-    @Override
-    public String toString() {
-        return amount.toString() + " " + currency.getCurrencyCode();
-    }
-}
\ No newline at end of file
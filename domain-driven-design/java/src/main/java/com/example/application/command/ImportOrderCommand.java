@@ -0,0 +1,66 @@
+package com.example.application.command;
+
+import com.example.domain.model.valueobject.Address;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 一括取り込みする1件の注文
+ */
+public final class ImportOrderCommand {
+    private final CustomerId customerId;
+    private final Address shippingAddress;
+    private final Address billingAddress;
+    private final List<Item> items;
+
+    public ImportOrderCommand(CustomerId customerId, Address shippingAddress, Address billingAddress, List<Item> items) {
+        this.customerId = Objects.requireNonNull(customerId, "Customer ID cannot be null");
+        this.shippingAddress = Objects.requireNonNull(shippingAddress, "Shipping address cannot be null");
+        this.billingAddress = Objects.requireNonNull(billingAddress, "Billing address cannot be null");
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Order must have at least one item");
+        }
+        this.items = List.copyOf(items);
+    }
+
+    public CustomerId getCustomerId() {
+        return customerId;
+    }
+
+    public Address getShippingAddress() {
+        return shippingAddress;
+    }
+
+    public Address getBillingAddress() {
+        return billingAddress;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * 取り込む注文の1明細
+     */
+    public static final class Item {
+        private final ProductId productId;
+        private final Quantity quantity;
+
+        public Item(ProductId productId, Quantity quantity) {
+            this.productId = Objects.requireNonNull(productId, "Product ID cannot be null");
+            this.quantity = Objects.requireNonNull(quantity, "Quantity cannot be null");
+        }
+
+        public ProductId getProductId() {
+            return productId;
+        }
+
+        public Quantity getQuantity() {
+            return quantity;
+        }
+    }
+}
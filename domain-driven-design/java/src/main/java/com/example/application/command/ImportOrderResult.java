@@ -0,0 +1,38 @@
+package com.example.application.command;
+
+import com.example.domain.model.valueobject.OrderId;
+
+/**
+ * 一括取り込みした1件の注文の結果
+ */
+public final class ImportOrderResult {
+    private final OrderId orderId;
+    private final String error;
+
+    private ImportOrderResult(OrderId orderId, String error) {
+        this.orderId = orderId;
+        this.error = error;
+    }
+
+    public static ImportOrderResult created(OrderId orderId) {
+        return new ImportOrderResult(orderId, null);
+    }
+
+    public static ImportOrderResult rejected(String error) {
+        return new ImportOrderResult(null, error);
+    }
+
+    public boolean isCreated() {
+        return orderId != null;
+    }
+
+    // 作成された注文のID（却下された場合は null）
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    // 却下された理由（作成された場合は null）
+    public String getError() {
+        return error;
+    }
+}
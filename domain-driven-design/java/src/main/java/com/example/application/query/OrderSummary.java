@@ -0,0 +1,80 @@
+package com.example.application.query;
+
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 注文一覧表示用の非正規化された読み取りモデル
+ * 注文項目を持たず、一覧に必要な値だけを保持する
+ */
+public final class OrderSummary {
+    private final OrderId orderId;
+    private final CustomerId customerId;
+    private final OrderStatus status;
+    private final Money totalAmount;
+    private final int itemCount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime lastModifiedAt;
+    private final LocalDateTime paidAt;
+    private final LocalDateTime shippedAt;
+    private final LocalDateTime cancelledAt;
+
+    public OrderSummary(OrderId orderId, CustomerId customerId, OrderStatus status, Money totalAmount,
+                        int itemCount, LocalDateTime createdAt, LocalDateTime lastModifiedAt,
+                        LocalDateTime paidAt, LocalDateTime shippedAt, LocalDateTime cancelledAt) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.itemCount = itemCount;
+        this.createdAt = createdAt;
+        this.lastModifiedAt = lastModifiedAt;
+        this.paidAt = paidAt;
+        this.shippedAt = shippedAt;
+        this.cancelledAt = cancelledAt;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public CustomerId getCustomerId() {
+        return customerId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLastModifiedAt() {
+        return lastModifiedAt;
+    }
+
+    public LocalDateTime getPaidAt() {
+        return paidAt;
+    }
+
+    public LocalDateTime getShippedAt() {
+        return shippedAt;
+    }
+
+    public LocalDateTime getCancelledAt() {
+        return cancelledAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.application.query;
+
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.OrderStatus;
+
+import java.util.List;
+
+/**
+ * 注文サマリー（読み取りモデル）のリポジトリのインターフェース
+ * 書き込みモデルである注文集約には触れずに一覧検索に応える
+ */
+public interface OrderSummaryRepository {
+    /**
+     * 顧客IDによる注文サマリーの検索
+     * @param customerId 顧客ID
+     * @return 作成日時順の注文サマリーのリスト
+     */
+    List<OrderSummary> findByCustomerId(CustomerId customerId);
+
+    /**
+     * 注文ステータスによる注文サマリーの検索
+     * @param status 注文ステータス
+     * @return 作成日時順の注文サマリーのリスト
+     */
+    List<OrderSummary> findByStatus(OrderStatus status);
+
+    /**
+     * 書き込みモデルにある注文のサマリーを再構築する
+     * アーカイブ済みの注文のサマリーはそのまま残す
+     */
+    void rebuild();
+}
@@ -0,0 +1,39 @@
+package com.example.application.query;
+
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.ProductId;
+
+import java.util.List;
+
+/**
+ * 商品名と商品説明の全文検索インデックスのインターフェース
+ * 綴りの誤り、前方一致、部分一致を許容し、関連度の高い順に商品IDを返す
+ */
+public interface ProductSearchIndex {
+    /**
+     * 商品を検索する
+     * @param query 検索語
+     * @param limit 返す商品の最大数
+     * @return 関連度の高い順の商品IDのリスト
+     * @throws IllegalArgumentException 最大数が正でない場合
+     */
+    List<ProductId> search(String query, int limit);
+
+    /**
+     * 商品をインデックスに追加する（既に追加されている場合は置き換える）
+     * @param product 商品
+     */
+    void index(Product product);
+
+    /**
+     * 商品をインデックスから削除する
+     * @param productId 商品ID
+     */
+    void remove(ProductId productId);
+
+    /**
+     * インデックスの構築が終わり、全ての商品を検索できるかどうか
+     * @return 検索できる場合は true
+     */
+    boolean isReady();
+}
\ No newline at end of file
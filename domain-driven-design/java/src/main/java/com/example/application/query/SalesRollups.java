@@ -0,0 +1,20 @@
+package com.example.application.query;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Currency;
+
+/**
+ * 時間枠ごとに集計した売上の読み取りモデルのインターフェース
+ * 注文を走査せずに、直近の期間の売上に応える
+ */
+public interface SalesRollups {
+    /**
+     * 現在時刻を含む時間枠から遡った期間の売上を集計する
+     * @param currency 通貨
+     * @param unit 時間枠の単位（MINUTES、HOURS、DAYS）
+     * @param last 集計する時間枠の数
+     * @return 売上の集計結果
+     * @throws IllegalArgumentException 単位に対応していない場合や、保持する時間枠の数を超えた場合
+     */
+    SalesTotals totals(Currency currency, ChronoUnit unit, int last);
+}
\ No newline at end of file
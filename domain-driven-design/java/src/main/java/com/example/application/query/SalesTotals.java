@@ -0,0 +1,59 @@
+package com.example.application.query;
+
+import com.example.domain.model.valueobject.Money;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 直近の一定期間の売上の集計結果
+ * 売上は支払額から、支払い済みの注文のキャンセルによる返金額を差し引いた額
+ */
+public final class SalesTotals {
+    private final ChronoUnit unit;
+    private final int last;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Money revenue;
+    private final long paidOrders;
+    private final long refundedOrders;
+
+    public SalesTotals(ChronoUnit unit, int last, LocalDateTime from, LocalDateTime to,
+                       Money revenue, long paidOrders, long refundedOrders) {
+        this.unit = unit;
+        this.last = last;
+        this.from = from;
+        this.to = to;
+        this.revenue = revenue;
+        this.paidOrders = paidOrders;
+        this.refundedOrders = refundedOrders;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    public int getLast() {
+        return last;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public Money getRevenue() {
+        return revenue;
+    }
+
+    public long getPaidOrders() {
+        return paidOrders;
+    }
+
+    public long getRefundedOrders() {
+        return refundedOrders;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.example.application.service;
+
+import com.example.domain.event.DomainEventCoalescer;
+import com.example.domain.event.DomainEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * アプリケーションサービスの1回の呼び出しで発生したドメインイベントを集め、まとめて配信するスコープ
+ *
+ * スコープ内で publish されたイベントは呼び出し元のスレッドに溜め、呼び出しが終わった時点で
+ * DomainEventCoalescer でまとめてから、1回の publishAll で配信する
+ * パブリッシャーに直接発行されるイベント（在庫切れなど）はトランザクションに含まれず、
+ * 失敗の原因を知らせるものでもあるため、呼び出しが例外で終わった場合も配信する
+ * （集約のイベントはリポジトリがアウトボックスに書き込むため、このスコープは通らない）
+ * スコープの外で publish されたイベントはそのまま配信する
+ *
+ * ドメインサービスには、配信先のパブリッシャーの代わりにこのスコープをパブリッシャーとして渡す
+ */
+public class DomainEventScope implements DomainEventPublisher {
+    private final DomainEventPublisher delegate;
+    // スコープ内の場合は溜めているイベント、スコープ外の場合は null
+    private final ThreadLocal<List<Object>> collected = new ThreadLocal<>();
+
+    private final LongAdder collectedEvents = new LongAdder();
+    private final LongAdder deliveredEvents = new LongAdder();
+
+    /**
+     * @param delegate まとめたイベントを配信するパブリッシャー
+     */
+    public DomainEventScope(DomainEventPublisher delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void publish(Object event) {
+        List<Object> events = collected.get();
+        if (events == null) {
+            delegate.publish(event);
+            return;
+        }
+        events.add(event);
+    }
+
+    @Override
+    public void publishAll(List<Object> events) {
+        List<Object> current = collected.get();
+        if (current == null) {
+            delegate.publishAll(events);
+            return;
+        }
+        current.addAll(events);
+    }
+
+    /**
+     * スコープ内で処理を実行する
+     * 既にスコープ内の場合は外側のスコープに合流し、外側のスコープが終わった時点で配信する
+     * @param action 処理
+     * @return 処理の結果
+     */
+    public <T> T run(Supplier<T> action) {
+        if (collected.get() != null) {
+            return action.get();
+        }
+
+        List<Object> events = new ArrayList<>();
+        collected.set(events);
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error e) {
+            collected.remove();
+            // 配信の失敗で処理の失敗の原因が隠れないようにする
+            try {
+                deliver(events);
+            } catch (RuntimeException deliveryFailure) {
+                e.addSuppressed(deliveryFailure);
+            }
+            throw e;
+        }
+        collected.remove();
+        deliver(events);
+        return result;
+    }
+
+    /**
+     * スコープ内で処理を実行する
+     * @param action 処理
+     */
+    public void run(Runnable action) {
+        run(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void deliver(List<Object> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Object> coalesced = DomainEventCoalescer.coalesce(events);
+        collectedEvents.add(events.size());
+        deliveredEvents.add(coalesced.size());
+        delegate.publishAll(coalesced);
+    }
+
+    /**
+     * スコープ内で発行されたイベントの数
+     * 配信したイベントの数との比がまとめた割合となる
+     * @return イベントの数
+     */
+    public long getCollectedCount() {
+        return collectedEvents.sum();
+    }
+
+    /**
+     * まとめた後に配信したイベントの数
+     * @return イベントの数
+     */
+    public long getDeliveredCount() {
+        return deliveredEvents.sum();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.example.application.service;
+
+import com.example.application.command.ImportOrderCommand;
+import com.example.application.command.ImportOrderResult;
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.repository.CustomerRepository;
+import com.example.domain.repository.OrderRepository;
+import com.example.domain.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 注文の一括取り込みを担当するアプリケーションサービス
+ * 1回の呼び出しで渡された注文を1トランザクションで保存する
+ * 一括保存に失敗した場合は1件ずつ保存し直し、失敗の原因となった注文だけを却下する
+ */
+public class OrderImportService {
+    private final OrderRepository orderRepository;
+    private final CustomerRepository customerRepository;
+    private final ProductRepository productRepository;
+
+    public OrderImportService(OrderRepository orderRepository,
+                              CustomerRepository customerRepository,
+                              ProductRepository productRepository) {
+        this.orderRepository = orderRepository;
+        this.customerRepository = customerRepository;
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * 注文をまとめて作成する
+     * 顧客と商品は全件分をまとめて読み込み、検証に通った注文だけを一括保存する
+     * @param commands 取り込む注文
+     * @return 引数と同じ順序の取り込み結果
+     */
+    public List<ImportOrderResult> importOrders(List<ImportOrderCommand> commands) {
+        // 顧客と商品の一括読み込み
+        Set<CustomerId> customerIds = new LinkedHashSet<>();
+        Set<ProductId> productIds = new LinkedHashSet<>();
+        for (ImportOrderCommand command : commands) {
+            customerIds.add(command.getCustomerId());
+            command.getItems().forEach(item -> productIds.add(item.getProductId()));
+        }
+        Map<CustomerId, Customer> customers = new HashMap<>();
+        customerRepository.findAllByIds(customerIds).forEach(customer -> customers.put(customer.getId(), customer));
+        Map<ProductId, Product> products = new HashMap<>();
+        productRepository.findAllByIds(productIds).forEach(product -> products.put(product.getId(), product));
+
+        // 注文ごとの検証と作成
+        List<ImportOrderResult> results = new ArrayList<>(commands.size());
+        List<Order> orders = new ArrayList<>();
+        List<Integer> orderPositions = new ArrayList<>();
+        for (ImportOrderCommand command : commands) {
+            try {
+                Order order = createOrder(command, customers, products);
+                orderPositions.add(results.size());
+                orders.add(order);
+                results.add(ImportOrderResult.created(order.getId()));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results.add(ImportOrderResult.rejected(e.getMessage()));
+            }
+        }
+
+        if (orders.isEmpty()) {
+            return results;
+        }
+
+        try {
+            orderRepository.saveAll(orders);
+        } catch (RuntimeException e) {
+            // トランザクション全体がロールバックされたため、1件ずつ保存して失敗した注文を特定する
+            for (int i = 0; i < orders.size(); i++) {
+                try {
+                    orderRepository.save(orders.get(i));
+                } catch (RuntimeException orderFailure) {
+                    results.set(orderPositions.get(i),
+                            ImportOrderResult.rejected("Failed to save order: " + orderFailure.getMessage()));
+                }
+            }
+        }
+
+        // ドメインイベントはリポジトリがアウトボックスに書き込み済み
+        orders.forEach(Order::clearDomainEvents);
+
+        return results;
+    }
+
+    private Order createOrder(ImportOrderCommand command, Map<CustomerId, Customer> customers,
+                              Map<ProductId, Product> products) {
+        // 顧客の存在確認
+        Customer customer = customers.get(command.getCustomerId());
+        if (customer == null) {
+            throw new IllegalArgumentException("Customer not found: " + command.getCustomerId());
+        }
+        if (!customer.isActive()) {
+            throw new IllegalArgumentException("Customer is not active: " + command.getCustomerId());
+        }
+
+        Order order = Order.create(command.getCustomerId(), command.getShippingAddress(), command.getBillingAddress());
+        for (ImportOrderCommand.Item item : command.getItems()) {
+            Product product = products.get(item.getProductId());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found: " + item.getProductId());
+            }
+
+            // 在庫チェック
+            if (!product.hasEnoughStock(item.getQuantity())) {
+                throw new IllegalStateException("Not enough stock for product: " + item.getProductId());
+            }
+
+            order.addOrderItem(product.getId(), product.getName(), product.getPrice(), item.getQuantity());
+        }
+        return order;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.application.service;
+
+import com.example.application.query.OrderSummary;
+import com.example.application.query.OrderSummaryRepository;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.OrderStatus;
+
+import java.util.List;
+
+/**
+ * 注文の一覧検索を担当するアプリケーションサービス（CQRSのクエリ側）
+ */
+public class OrderQueryService {
+    private final OrderSummaryRepository orderSummaryRepository;
+
+    public OrderQueryService(OrderSummaryRepository orderSummaryRepository) {
+        this.orderSummaryRepository = orderSummaryRepository;
+    }
+
+    /**
+     * 顧客の注文履歴を取得する
+     * @param customerId 顧客ID
+     * @return 注文サマリーのリスト
+     */
+    public List<OrderSummary> findOrderSummariesByCustomerId(CustomerId customerId) {
+        return orderSummaryRepository.findByCustomerId(customerId);
+    }
+
+    /**
+     * 特定の状態の注文を取得する
+     * @param status 注文の状態
+     * @return 注文サマリーのリスト
+     */
+    public List<OrderSummary> findOrderSummariesByStatus(OrderStatus status) {
+        return orderSummaryRepository.findByStatus(status);
+    }
+
+    /**
+     * 注文サマリーを再構築する（アーカイブ済みの注文のサマリーは残す）
+     */
+    public void rebuildOrderSummaries() {
+        orderSummaryRepository.rebuild();
+    }
+}
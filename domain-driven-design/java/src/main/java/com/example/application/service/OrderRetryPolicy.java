@@ -0,0 +1,159 @@
+package com.example.application.service;
+
+import com.example.domain.repository.ConcurrentOrderModificationException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 注文の更新が他の処理と競合した場合の再試行方針
+ * 待ち時間は試行ごとに倍になる上限までの乱数（フルジッター）とし、同時に競合した処理の再試行が重ならないようにする
+ *
+ * 再試行では注文の読み込みからやり直すため、1回の試行は1つのトランザクションで実行する必要がある
+ * 呼び出し側のトランザクションに参加している場合は、そのトランザクションごとやり直さなければならないため再試行しない
+ */
+public class OrderRetryPolicy {
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final AttemptScope attemptScope;
+
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    /**
+     * @param maxAttempts 最初の試行を含む最大試行回数（1 の場合は再試行しない）
+     * @param initialBackoff 1回目の再試行の待ち時間の上限
+     * @param maxBackoff 待ち時間の上限
+     * @param attemptScope 1回の試行を実行する範囲（トランザクションなど）
+     */
+    public OrderRetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, AttemptScope attemptScope) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Invalid backoff configuration");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.attemptScope = attemptScope;
+    }
+
+    /**
+     * 再試行しない方針
+     * 競合の件数だけを数える
+     * @return 再試行しない方針
+     */
+    public static OrderRetryPolicy noRetry() {
+        return new OrderRetryPolicy(1, Duration.ZERO, Duration.ZERO, AttemptScope.DIRECT);
+    }
+
+    /**
+     * 競合した場合に再試行しながら処理を実行する
+     * @param action 注文の読み込みから保存までを行う処理
+     * @param <T> 処理の戻り値の型
+     * @return 処理の戻り値
+     * @throws ConcurrentOrderModificationException 最大試行回数まで競合した場合
+     */
+    public <T> T execute(Supplier<T> action) {
+        boolean retryable = attemptScope.isRetryable();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attemptScope.run(action);
+            } catch (ConcurrentOrderModificationException e) {
+                conflicts.increment();
+                if (!retryable || attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    /**
+     * 戻り値のない処理を実行する
+     * @param action 注文の読み込みから保存までを行う処理
+     * @throws ConcurrentOrderModificationException 最大試行回数まで競合した場合
+     */
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // 上限を 初期値×2^(試行回数-1) とし、0 から上限までの一様乱数だけ待つ
+    private void backoff(int attempt, ConcurrentOrderModificationException conflict) {
+        if (maxBackoffNanos == 0) {
+            return;
+        }
+        int shift = Math.min(attempt - 1, Long.numberOfLeadingZeros(Math.max(initialBackoffNanos, 1)) - 1);
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << shift);
+        long sleepNanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    /**
+     * 競合を検出した回数（再試行で解消したものを含む）
+     */
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    /**
+     * 再試行した回数
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * 再試行せずに、または最大試行回数に達して競合を呼び出し側へ返した回数
+     */
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    /**
+     * 1回の試行を実行する範囲
+     * インフラストラクチャ層がトランザクションの開始と終了を実装する
+     */
+    public interface AttemptScope {
+        /**
+         * 処理をそのまま呼び出し元のスレッドで実行する範囲
+         */
+        AttemptScope DIRECT = new AttemptScope() {
+            @Override
+            public <T> T run(Supplier<T> attempt) {
+                return attempt.get();
+            }
+        };
+
+        /**
+         * 1回の試行を実行する
+         * @param attempt 試行する処理
+         * @param <T> 処理の戻り値の型
+         * @return 処理の戻り値
+         */
+        <T> T run(Supplier<T> attempt);
+
+        /**
+         * 失敗した試行の結果を取り消してやり直せるか
+         * @return やり直せる場合は true
+         */
+        default boolean isRetryable() {
+            return true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,465 @@
+package com.example.application.service;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.entity.OrderItem;
+import com.example.domain.model.valueobject.*;
+import com.example.domain.repository.ConcurrentOrderModificationException;
+import com.example.domain.repository.CustomerRepository;
+import com.example.domain.repository.OrderCursor;
+import com.example.domain.repository.OrderPage;
+import com.example.domain.repository.OrderRepository;
+import com.example.domain.repository.ProductRepository;
+import com.example.domain.service.DiscountService;
+import com.example.domain.service.InventoryService;
+import com.example.domain.service.PaymentDeclinedException;
+import com.example.domain.service.PaymentGateway;
+import com.example.domain.service.PaymentUnavailableException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * 注文に関するアプリケーションサービス
+ * ユースケースの実装を担当
+ *
+ * 既存の注文を更新するユースケースは、他の処理との競合を検出した場合に再試行方針に従って
+ * 注文の読み込みからやり直す
+ *
+ * 支払いの承認は外部の決済サービスを呼び出すため、再試行方針の外（トランザクションの外）で待つ
+ * 在庫引当のポートを使う場合、在庫の引当も再試行方針の外で1回だけ行う
+ *
+ * イベントのスコープが指定された場合、在庫を変更するユースケース（支払いとキャンセル）はスコープ内で実行し、
+ * ドメインサービスが発行したイベントを呼び出しの終わりにまとめて配信する
+ */
+public class OrderService {
+    private final OrderRepository orderRepository;
+    private final CustomerRepository customerRepository;
+    private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
+    private final DiscountService discountService;
+    private final PaymentGateway paymentGateway;
+    private final OrderRetryPolicy retryPolicy;
+    // null の場合はイベントをまとめない
+    private final DomainEventScope eventScope;
+
+    public OrderService(OrderRepository orderRepository, 
+                       CustomerRepository customerRepository,
+                       ProductRepository productRepository,
+                       InventoryService inventoryService,
+                       DiscountService discountService,
+                       PaymentGateway paymentGateway) {
+        this(orderRepository, customerRepository, productRepository, inventoryService, discountService,
+                paymentGateway, OrderRetryPolicy.noRetry());
+    }
+
+    public OrderService(OrderRepository orderRepository, 
+                       CustomerRepository customerRepository,
+                       ProductRepository productRepository,
+                       InventoryService inventoryService,
+                       DiscountService discountService,
+                       PaymentGateway paymentGateway,
+                       OrderRetryPolicy retryPolicy) {
+        this(orderRepository, customerRepository, productRepository, inventoryService, discountService,
+                paymentGateway, retryPolicy, null);
+    }
+
+    /**
+     * @param eventScope InventoryService に渡したパブリッシャーのイベントをまとめるスコープ
+     */
+    public OrderService(OrderRepository orderRepository, 
+                       CustomerRepository customerRepository,
+                       ProductRepository productRepository,
+                       InventoryService inventoryService,
+                       DiscountService discountService,
+                       PaymentGateway paymentGateway,
+                       OrderRetryPolicy retryPolicy,
+                       DomainEventScope eventScope) {
+        this.orderRepository = orderRepository;
+        this.customerRepository = customerRepository;
+        this.productRepository = productRepository;
+        this.inventoryService = inventoryService;
+        this.discountService = discountService;
+        this.paymentGateway = paymentGateway;
+        this.retryPolicy = retryPolicy;
+        this.eventScope = eventScope;
+    }
+
+    /**
+     * 新規注文を作成する
+     * @param customerId 顧客ID
+     * @param shippingAddress 配送先住所
+     * @param billingAddress 請求先住所
+     * @return 作成された注文のID
+     * @throws IllegalArgumentException 顧客が見つからない場合
+     */
+    public OrderId createOrder(CustomerId customerId, Address shippingAddress, Address billingAddress) {
+        // 顧客の存在確認
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + customerId));
+        
+        if (!customer.isActive()) {
+            throw new IllegalArgumentException("Customer is not active: " + customerId);
+        }
+        
+        // 注文の作成
+        Order order = Order.create(customerId, shippingAddress, billingAddress);
+        orderRepository.save(order);
+        
+        // ドメインイベントはリポジトリがアウトボックスに書き込み済み
+        order.clearDomainEvents();
+        
+        return order.getId();
+    }
+    
+    /**
+     * 注文に商品を追加する
+     * @param orderId 注文ID
+     * @param productId 商品ID
+     * @param quantity 数量
+     * @throws IllegalArgumentException 注文または商品が見つからない場合
+     * @throws IllegalStateException 商品が在庫不足の場合
+     * @throws ConcurrentOrderModificationException 再試行しても他の処理との競合が解消しない場合
+     */
+    public void addOrderItem(OrderId orderId, ProductId productId, Quantity quantity) {
+        retryPolicy.run(() -> {
+            // 注文の取得
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        
+            // 商品の取得
+            var product = productRepository.findById(productId)
+                    .orElseThrow(() -> new IllegalArgumentException("Product not found: " + productId));
+        
+            // 在庫チェック
+            if (!product.hasEnoughStock(quantity)) {
+                throw new IllegalStateException("Not enough stock for product: " + productId);
+            }
+        
+            // 注文項目の追加
+            order.addOrderItem(productId, product.getName(), product.getPrice(), quantity);
+            orderRepository.save(order);
+        
+            // ドメインイベントはリポジトリがアウトボックスに書き込み済み
+            order.clearDomainEvents();
+        });
+    }
+    
+    /**
+     * 注文から商品を削除する
+     * @param orderId 注文ID
+     * @param orderItemId 注文項目ID
+     * @throws IllegalArgumentException 注文または注文項目が見つからない場合
+     * @throws ConcurrentOrderModificationException 再試行しても他の処理との競合が解消しない場合
+     */
+    public void removeOrderItem(OrderId orderId, UUID orderItemId) {
+        retryPolicy.run(() -> {
+            // 注文の取得
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        
+            // 注文項目の削除
+            order.removeOrderItem(orderItemId);
+            orderRepository.save(order);
+        });
+    }
+    
+    /**
+     * 注文の支払い処理を行う
+     * 決済サービスの承認を得てから注文を支払い済みにする。承認を待つ間はトランザクションを開始しない
+     * @param orderId 注文ID
+     * @throws IllegalArgumentException 注文が見つからない場合
+     * @throws IllegalStateException 注文状態が不正な場合
+     * @throws PaymentDeclinedException 決済サービスが支払いを拒否した場合
+     * @throws PaymentUnavailableException 決済サービスを利用できない場合
+     * @throws ConcurrentOrderModificationException 再試行しても他の処理との競合が解消しない場合
+     */
+    public void payOrder(OrderId orderId) {
+        // 在庫不足による在庫切れイベントは、再試行の回数に関わらず呼び出しの終わりにまとめて配信する
+        inEventScope(() -> authorizeAndPay(orderId));
+    }
+    
+    private void authorizeAndPay(OrderId orderId) {
+        // 注文の取得
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        
+        // 顧客の取得
+        Customer customer = customerRepository.findById(order.getCustomerId())
+                .orElseThrow(() -> new IllegalArgumentException("Customer not found: " + order.getCustomerId()));
+        
+        // 割引計算
+        Money discount = discountService.calculateDiscount(order, customer);
+        // 割引処理は実装省略
+        
+        // 支払えない注文の承認を得ないよう、決済サービスを呼び出す前に状態と在庫を確認する
+        // （在庫の確認はここでは目安で、確定するのはトランザクション内の減算）
+        if (!order.getStatus().isPayable()) {
+            throw new IllegalStateException("Cannot mark as paid in status: " + order.getStatus());
+        }
+        List<ProductId> outOfStockProducts = inventoryService.checkInventoryForOrder(order);
+        if (!outOfStockProducts.isEmpty()) {
+            throw new IllegalStateException("Products out of stock: " + outOfStockProducts);
+        }
+        
+        // 支払いの承認（決済サービスの呼び出しは仮想スレッドで行われ、タイムアウトは実装が管理する）
+        // 冪等キーは呼び出しごとに決め、同じ呼び出しの中の再送（ヘッジなど）だけを決済サービスが同じ承認として扱う
+        // 同じ注文への支払いが並行した場合、それぞれが自分の承認を得て、支払い済みにできなかった側は自分の承認だけを取り消す
+        // （クライアントの再送は Idempotency-Key で、支払い済みの注文への再送は上の状態の確認で止める）
+        String idempotencyKey = "pay:" + orderId + ":" + UUID.randomUUID();
+        PaymentAuthorization authorization;
+        try {
+            authorization = awaitAuthorization(
+                    paymentGateway.authorize(orderId, order.getTotalAmount(), idempotencyKey));
+        } catch (PaymentUnavailableException e) {
+            if (e.isTimeout()) {
+                // 決済サービスが承認している可能性があるため、冪等キーで取り消す
+                awaitVoid(paymentGateway.voidByIdempotencyKey(idempotencyKey), e);
+            }
+            throw e;
+        }
+        
+        // 在庫引当のポートを使う場合、引当はトランザクションと一緒に取り消されないため、
+        // 再試行の外で1回だけ引き当て、支払い済みにできなかった場合に戻す
+        boolean reserveOnce = inventoryService.reservesImmediately();
+        try {
+            if (reserveOnce) {
+                // 在庫の確認と引当（在庫不足の場合は IllegalStateException）
+                inventoryService.reduceInventoryForOrder(order);
+            }
+        } catch (RuntimeException | Error e) {
+            awaitVoid(paymentGateway.voidAuthorization(authorization), e);
+            throw e;
+        }
+        
+        try {
+            retryPolicy.run(() -> {
+                // 承認を待つ間に変更されている可能性があるため、注文を読み込み直す
+                Order current = orderRepository.findById(orderId)
+                        .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+                if (!current.getTotalAmount().equals(authorization.getAmount())) {
+                    throw new IllegalStateException("Order total changed during payment: " + orderId);
+                }
+            
+                if (reserveOnce) {
+                    // 引き当てた数量と注文項目が一致しない場合は支払い済みにしない
+                    if (!quantitiesOf(current).equals(quantitiesOf(order))) {
+                        throw new IllegalStateException("Order items changed during payment: " + orderId);
+                    }
+                } else {
+                    // 在庫の確認と減算（在庫不足の場合は IllegalStateException）
+                    inventoryService.reduceInventoryForOrder(current);
+                }
+            
+                // 注文を支払い済みにする
+                current.markAsPaid();
+                orderRepository.save(current);
+            
+                // ドメインイベントはリポジトリがアウトボックスに書き込み済み
+                current.clearDomainEvents();
+            });
+        } catch (RuntimeException | Error e) {
+            if (reserveOnce) {
+                inventoryService.restoreInventoryForOrder(order);
+            }
+            // 支払い済みにできなかった場合は承認を取り消す
+            awaitVoid(paymentGateway.voidAuthorization(authorization), e);
+            throw e;
+        }
+    }
+    
+    // 取り消しの完了を待つ。失敗を呼び出し元に返す時点で、この呼び出しの承認が残っていないようにする
+    private static void awaitVoid(CompletableFuture<Void> voiding, Throwable failure) {
+        try {
+            voiding.join();
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+    
+    // 商品ごとの注文数量
+    private static Map<ProductId, Quantity> quantitiesOf(Order order) {
+        Map<ProductId, Quantity> quantities = new HashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Quantity::add);
+        }
+        return quantities;
+    }
+    
+    // イベントのスコープが指定されている場合はスコープ内で実行する
+    private void inEventScope(Runnable action) {
+        if (eventScope == null) {
+            action.run();
+        } else {
+            eventScope.run(action);
+        }
+    }
+    
+    // 承認の完了を待ち、失敗した場合は元の例外を投げる
+    private static PaymentAuthorization awaitAuthorization(CompletableFuture<PaymentAuthorization> authorization) {
+        try {
+            return authorization.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new PaymentUnavailableException("Payment authorization failed", e.getCause());
+        }
+    }
+    
+    /**
+     * 注文のキャンセル処理を行う
+     * @param orderId 注文ID
+     * @throws IllegalArgumentException 注文が見つからない場合
+     * @throws IllegalStateException 注文状態が不正な場合
+     * @throws ConcurrentOrderModificationException 再試行しても他の処理との競合が解消しない場合
+     */
+    public void cancelOrder(OrderId orderId) {
+        inEventScope(() -> retryPolicy.run(() -> {
+            // 注文の取得
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        
+            // キャンセルすると状態が変わるため、支払い済みだったかを先に確認する
+            boolean wasPaid = order.getStatus() == OrderStatus.PAID || order.getStatus() == OrderStatus.PROCESSING;
+        
+            // 注文のキャンセル
+            order.cancel();
+        
+            // 支払い済みだった場合は在庫を戻す
+            if (wasPaid) {
+                inventoryService.restoreInventoryForOrder(order);
+            }
+        
+            orderRepository.save(order);
+        
+            // ドメインイベントはリポジトリがアウトボックスに書き込み済み
+            order.clearDomainEvents();
+        }));
+    }
+    
+    /**
+     * 注文の発送処理を行う
+     * @param orderId 注文ID
+     * @throws IllegalArgumentException 注文が見つからない場合
+     * @throws IllegalStateException 注文状態が不正な場合
+     * @throws ConcurrentOrderModificationException 再試行しても他の処理との競合が解消しない場合
+     */
+    public void shipOrder(OrderId orderId) {
+        retryPolicy.run(() -> {
+            // 注文の取得
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        
+            // 注文の発送
+            order.markAsShipped();
+            orderRepository.save(order);
+        });
+    }
+    
+    /**
+     * 注文の配達完了処理を行う
+     * @param orderId 注文ID
+     * @throws IllegalArgumentException 注文が見つからない場合
+     * @throws IllegalStateException 注文状態が不正な場合
+     * @throws ConcurrentOrderModificationException 再試行しても他の処理との競合が解消しない場合
+     */
+    public void deliverOrder(OrderId orderId) {
+        retryPolicy.run(() -> {
+            // 注文の取得
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        
+            // 注文の配達完了
+            order.markAsDelivered();
+            orderRepository.save(order);
+        });
+    }
+    
+    /**
+     * 注文を検索する
+     * @param orderId 注文ID
+     * @return 注文のオプショナル
+     */
+    public Optional<Order> findOrder(OrderId orderId) {
+        return orderRepository.findById(orderId);
+    }
+    
+    /**
+     * 顧客の注文履歴を取得する
+     * @param customerId 顧客ID
+     * @return 注文のリスト
+     */
+    public List<Order> findOrdersByCustomerId(CustomerId customerId) {
+        return orderRepository.findByCustomerId(customerId);
+    }
+    
+    /**
+     * 特定の状態の注文を取得する
+     * @param status 注文の状態
+     * @return 注文のリスト
+     */
+    public List<Order> findOrdersByStatus(OrderStatus status) {
+        return orderRepository.findByStatus(status);
+    }
+    
+    /**
+     * 顧客の注文履歴をページ単位で取得する
+     * @param customerId 顧客ID
+     * @param after 前のページの次ページカーソル（先頭ページの場合は null）
+     * @param limit 1ページの最大件数
+     * @return 注文のページ
+     */
+    public OrderPage findOrdersByCustomerId(CustomerId customerId, OrderCursor after, int limit) {
+        return orderRepository.findByCustomerId(customerId, after, limit);
+    }
+    
+    /**
+     * 特定の状態の注文をページ単位で取得する
+     * @param status 注文の状態
+     * @param after 前のページの次ページカーソル（先頭ページの場合は null）
+     * @param limit 1ページの最大件数
+     * @return 注文のページ
+     */
+    public OrderPage findOrdersByStatus(OrderStatus status, OrderCursor after, int limit) {
+        return orderRepository.findByStatus(status, after, limit);
+    }
+    
+    /**
+     * 顧客の注文履歴を逐次読み込む
+     * ストリームは呼び出し側のトランザクション内で消費し、使用後に close すること
+     * @param customerId 顧客ID
+     * @return 注文のストリーム
+     */
+    public Stream<Order> streamOrdersByCustomerId(CustomerId customerId) {
+        return orderRepository.streamByCustomerId(customerId);
+    }
+    
+    /**
+     * 特定の状態の注文を逐次読み込む
+     * ストリームは呼び出し側のトランザクション内で消費し、使用後に close すること
+     * @param status 注文の状態
+     * @return 注文のストリーム
+     */
+    public Stream<Order> streamOrdersByStatus(OrderStatus status) {
+        return orderRepository.streamByStatus(status);
+    }
+    
+    /**
+     * 期間内に作成された注文を逐次読み込む
+     * ストリームは呼び出し側のトランザクション内で消費し、使用後に close すること
+     * @param startDate 開始日時
+     * @param endDate 終了日時
+     * @return 注文のストリーム
+     */
+    public Stream<Order> streamOrdersByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return orderRepository.streamByCreatedAtBetween(startDate, endDate);
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.application.service;
 
+import com.example.application.query.ProductSearchIndex;
 import com.example.domain.model.entity.Product;
 import com.example.domain.model.valueobject.Money;
 import com.example.domain.model.valueobject.ProductId;
@@ -7,7 +8,11 @@ import com.example.domain.model.valueobject.Quantity;
 import com.example.domain.repository.ProductRepository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 商品に関するアプリケーションサービス
@@ -15,9 +20,20 @@ import java.util.Optional;
  */
 public class ProductService {
     private final ProductRepository productRepository;
+    // 商品の全文検索インデックス（使用しない場合は null）
+    private final ProductSearchIndex searchIndex;
 
     public ProductService(ProductRepository productRepository) {
+        this(productRepository, null);
+    }
+
+    /**
+     * @param productRepository 商品リポジトリ
+     * @param searchIndex 商品の作成・更新・削除を反映する全文検索インデックス（使用しない場合は null）
+     */
+    public ProductService(ProductRepository productRepository, ProductSearchIndex searchIndex) {
         this.productRepository = productRepository;
+        this.searchIndex = searchIndex;
     }
 
     /**
@@ -31,6 +47,9 @@ public class ProductService {
     public ProductId createProduct(String name, String description, Money price, Quantity stockQuantity) {
         Product product = Product.create(name, description, price, stockQuantity);
         productRepository.save(product);
+        if (searchIndex != null) {
+            searchIndex.index(product);
+        }
         return product.getId();
     }
 
@@ -47,6 +66,9 @@ public class ProductService {
         
         product.updateDetails(name, description);
         productRepository.save(product);
+        if (searchIndex != null) {
+            searchIndex.index(product);
+        }
     }
 
     /**
@@ -150,6 +172,29 @@ public class ProductService {
         return productRepository.findByName(name);
     }
 
+    /**
+     * 商品名と商品説明を全文検索する
+     * 綴りの誤りや前方一致、部分一致も対象とし、関連度の高い順に返す
+     * 検索インデックスを使用しない場合や構築中の場合は、商品名の完全一致で検索する
+     * @param query 検索語
+     * @param limit 返す商品の最大数
+     * @return 関連度の高い順の商品のリスト
+     */
+    public List<Product> searchProducts(String query, int limit) {
+        if (searchIndex == null || !searchIndex.isReady()) {
+            return productRepository.findByName(query).stream().limit(limit).collect(Collectors.toList());
+        }
+
+        List<ProductId> productIds = searchIndex.search(query, limit);
+        Map<ProductId, Product> products = productRepository.findAllByIds(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        // インデックスへの反映より先に削除された商品は除く
+        return productIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     /**
      * アクティブな全ての商品を取得する
      * @return 商品のリスト
@@ -168,5 +213,8 @@ public class ProductService {
             throw new IllegalArgumentException("Product not found: " + productId);
         }
         productRepository.deleteById(productId);
+        if (searchIndex != null) {
+            searchIndex.remove(productId);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.example.domain.event;
+
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 1回の処理で発生したドメインイベントを、意味を変えずに少ない数のイベントにまとめる
+ *
+ * - 同じ注文の注文項目追加イベントが続く場合は、1つの注文項目一括追加イベントにまとめる
+ *   （間に他のイベントがある場合はまとめず、イベントの順序を保つ）
+ * - 同じ商品の在庫切れイベントは最初の1つだけを残す
+ * - 同じイベントのインスタンスが重複している場合は最初の1つだけを残す
+ */
+public final class DomainEventCoalescer {
+
+    private DomainEventCoalescer() {
+    }
+
+    /**
+     * イベントをまとめる
+     * @param events 発生順のイベント
+     * @return まとめた後のイベント（発生順）
+     */
+    public static List<Object> coalesce(List<Object> events) {
+        if (events.size() < 2) {
+            return events;
+        }
+
+        List<Object> coalesced = new ArrayList<>(events.size());
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<ProductId> outOfStockProducts = new HashSet<>();
+        List<OrderItemAddedEvent> run = new ArrayList<>();
+
+        for (Object event : events) {
+            if (!seen.add(event)) {
+                continue;
+            }
+            if (event instanceof OrderItemAddedEvent added) {
+                if (!run.isEmpty() && !run.get(0).getOrderId().equals(added.getOrderId())) {
+                    flush(run, coalesced);
+                }
+                run.add(added);
+                continue;
+            }
+            flush(run, coalesced);
+            if (event instanceof ProductOutOfStockEvent outOfStock
+                    && !outOfStockProducts.add(outOfStock.getProductId())) {
+                continue;
+            }
+            coalesced.add(event);
+        }
+        flush(run, coalesced);
+        return coalesced;
+    }
+
+    // 続けて発生した同じ注文の注文項目追加イベントを1つにまとめて追加する
+    private static void flush(List<OrderItemAddedEvent> run, List<Object> coalesced) {
+        if (run.size() == 1) {
+            coalesced.add(run.get(0));
+        } else if (run.size() > 1) {
+            Map<ProductId, Quantity> quantities = new LinkedHashMap<>();
+            for (OrderItemAddedEvent added : run) {
+                quantities.merge(added.getProductId(), added.getQuantity(), Quantity::add);
+            }
+            OrderItemAddedEvent last = run.get(run.size() - 1);
+            coalesced.add(new OrderItemsAddedEvent(last.getOrderId(), quantities, last.getOccurredAt()));
+        }
+        run.clear();
+    }
+}
\ No newline at end of file
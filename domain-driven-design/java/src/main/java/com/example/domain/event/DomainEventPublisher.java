@@ -0,0 +1,38 @@
+package com.example.domain.event;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * ドメインイベントのパブリッシャーインターフェース
+ * イベント発行の抽象化を提供します
+ */
+public interface DomainEventPublisher {
+    /**
+     * ドメインイベントを発行します
+     * @param event 発行するイベント
+     */
+    void publish(Object event);
+
+    /**
+     * ドメインイベントを発行し、リスナーの処理が終わったときに完了する Future を返します
+     * 配信済みになるまで元のデータを消してはならない呼び出し元（アウトボックスなど）が使用します
+     * 既定の実装は publish で同期的に配信します
+     * @param event 発行するイベント
+     * @return リスナーの処理の完了。配信できなかった場合は例外で完了する
+     */
+    default CompletableFuture<Void> publishAndTrack(Object event) {
+        publish(event);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * 1回の処理で発生したドメインイベントをまとめて発行します
+     * @param events 発行するイベント（発生順）
+     */
+    default void publishAll(List<Object> events) {
+        for (Object event : events) {
+            publish(event);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.domain.event;
+
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.OrderId;
+
+import java.time.LocalDateTime;
+
+/**
+ * 注文キャンセルイベント
+ */
+public class OrderCancelledEvent {
+    private final OrderId orderId;
+    // 支払い済みの注文をキャンセルした場合の返金額（未払いの場合は null）
+    private final Money refundedAmount;
+    private final LocalDateTime occurredAt;
+
+    public OrderCancelledEvent(OrderId orderId, LocalDateTime occurredAt) {
+        this(orderId, null, occurredAt);
+    }
+
+    public OrderCancelledEvent(OrderId orderId, Money refundedAmount, LocalDateTime occurredAt) {
+        this.orderId = orderId;
+        this.refundedAmount = refundedAmount;
+        this.occurredAt = occurredAt;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public Money getRefundedAmount() {
+        return refundedAmount;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
\ No newline at end of file
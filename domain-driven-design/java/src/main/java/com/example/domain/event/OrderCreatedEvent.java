@@ -0,0 +1,33 @@
+package com.example.domain.event;
+
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.OrderId;
+
+import java.time.LocalDateTime;
+
+/**
+ * 注文作成イベント
+ */
+public class OrderCreatedEvent {
+    private final OrderId orderId;
+    private final CustomerId customerId;
+    private final LocalDateTime occurredAt;
+
+    public OrderCreatedEvent(OrderId orderId, CustomerId customerId, LocalDateTime occurredAt) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.occurredAt = occurredAt;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public CustomerId getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.domain.event;
+
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 注文項目追加イベント
+ */
+public class OrderItemAddedEvent {
+    private final OrderId orderId;
+    private final ProductId productId;
+    private final Quantity quantity;
+    private final LocalDateTime occurredAt;
+
+    public OrderItemAddedEvent(OrderId orderId, ProductId productId, Quantity quantity, LocalDateTime occurredAt) {
+        this.orderId = orderId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.occurredAt = occurredAt;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public ProductId getProductId() {
+        return productId;
+    }
+
+    public Quantity getQuantity() {
+        return quantity;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.domain.event;
+
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 注文項目一括追加イベント
+ * 1回の処理で続けて追加された注文項目の追加イベントをまとめたもの（DomainEventCoalescer を参照）
+ */
+public class OrderItemsAddedEvent {
+    private final OrderId orderId;
+    // 追加された商品ごとの数量（追加された順）
+    private final Map<ProductId, Quantity> quantities;
+    private final LocalDateTime occurredAt;
+
+    public OrderItemsAddedEvent(OrderId orderId, Map<ProductId, Quantity> quantities, LocalDateTime occurredAt) {
+        this.orderId = orderId;
+        this.quantities = Collections.unmodifiableMap(new LinkedHashMap<>(quantities));
+        this.occurredAt = occurredAt;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public Map<ProductId, Quantity> getQuantities() {
+        return quantities;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
\ No newline at end of file
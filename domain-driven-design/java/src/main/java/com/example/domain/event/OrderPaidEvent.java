@@ -0,0 +1,33 @@
+package com.example.domain.event;
+
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.OrderId;
+
+import java.time.LocalDateTime;
+
+/**
+ * 注文支払い完了イベント
+ */
+public class OrderPaidEvent {
+    private final OrderId orderId;
+    private final Money amount;
+    private final LocalDateTime occurredAt;
+
+    public OrderPaidEvent(OrderId orderId, Money amount, LocalDateTime occurredAt) {
+        this.orderId = orderId;
+        this.amount = amount;
+        this.occurredAt = occurredAt;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
\ No newline at end of file
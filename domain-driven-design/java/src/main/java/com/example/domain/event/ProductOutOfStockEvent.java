@@ -0,0 +1,26 @@
+package com.example.domain.event;
+
+import com.example.domain.model.valueobject.ProductId;
+
+import java.time.LocalDateTime;
+
+/**
+ * 商品在庫切れイベント
+ */
+public class ProductOutOfStockEvent {
+    private final ProductId productId;
+    private final LocalDateTime occurredAt;
+
+    public ProductOutOfStockEvent(ProductId productId, LocalDateTime occurredAt) {
+        this.productId = productId;
+        this.occurredAt = occurredAt;
+    }
+
+    public ProductId getProductId() {
+        return productId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
\ No newline at end of file
@@ -20,7 +20,14 @@ public class Order {
     private Address shippingAddress;
     private Address billingAddress;
     private OrderStatus status;
-    private final List<OrderItem> orderItems;
+    // 注文項目は追加順に保持し、項目IDと製品IDの両方から定数時間で引けるようにする
+    private final LinkedHashMap<UUID, OrderItem> orderItems;
+    private final Map<ProductId, OrderItem> orderItemsByProductId;
+    // 同じ製品の項目が複数ある状態で復元された場合だけ、削除時に索引を張り直す
+    private boolean duplicateProductItems;
+    // getOrderItems() が返すビューの添字アクセス用。項目の追加・削除で破棄する
+    private OrderItem[] orderItemArray;
+    private final List<OrderItem> orderItemsView;
     private Money totalAmount;
     private final LocalDateTime createdAt;
     private LocalDateTime lastModifiedAt;
@@ -31,18 +38,34 @@ public class Order {
     // ドメインイベントのリスト
     private final List<Object> domainEvents;
 
+    // 前回の永続化以降の変更の追跡
+    private boolean persisted;
+    // 楽観的排他制御のバージョン。保存のたびにリポジトリが更新する
+    private long version;
+    private final EnumSet<OrderChanges.Field> dirtyFields;
+    private final Set<UUID> addedItemIds;
+    private final Set<UUID> modifiedItemIds;
+    private final Set<UUID> removedItemIds;
+
     // プライベートコンストラクタ - ファクトリメソッド経由で生成する
-    private Order(OrderId id, CustomerId customerId, Address shippingAddress, Address billingAddress) {
+    private Order(OrderId id, CustomerId customerId, Address shippingAddress, Address billingAddress,
+                  LocalDateTime createdAt) {
         this.id = id;
         this.customerId = customerId;
         this.shippingAddress = shippingAddress;
         this.billingAddress = billingAddress;
         this.status = OrderStatus.CREATED;
-        this.orderItems = new ArrayList<>();
+        this.orderItems = new LinkedHashMap<>();
+        this.orderItemsByProductId = new HashMap<>();
+        this.orderItemsView = new OrderItemsView();
         this.totalAmount = Money.zero(Currency.getInstance("JPY")); // デフォルト通貨
-        this.createdAt = LocalDateTime.now();
-        this.lastModifiedAt = LocalDateTime.now();
+        this.createdAt = createdAt;
+        this.lastModifiedAt = createdAt;
         this.domainEvents = new ArrayList<>();
+        this.dirtyFields = EnumSet.noneOf(OrderChanges.Field.class);
+        this.addedItemIds = new LinkedHashSet<>();
+        this.modifiedItemIds = new LinkedHashSet<>();
+        this.removedItemIds = new LinkedHashSet<>();
     }
 
     // ファクトリメソッド - 新規注文作成
@@ -52,7 +75,7 @@ public class Order {
         Objects.requireNonNull(billingAddress, "Billing address cannot be null");
 
         OrderId orderId = OrderId.generateNew();
-        Order order = new Order(orderId, customerId, shippingAddress, billingAddress);
+        Order order = new Order(orderId, customerId, shippingAddress, billingAddress, LocalDateTime.now());
         
         // ドメインイベントを登録
         order.domainEvents.add(new OrderCreatedEvent(orderId, customerId, LocalDateTime.now()));
@@ -64,51 +87,68 @@ public class Order {
     public static Order reconstitute(OrderId id, CustomerId customerId, Address shippingAddress, Address billingAddress,
                                    OrderStatus status, List<OrderItem> orderItems, Money totalAmount,
                                    LocalDateTime createdAt, LocalDateTime lastModifiedAt,
-                                   LocalDateTime paidAt, LocalDateTime shippedAt, LocalDateTime cancelledAt) {
-        Order order = new Order(id, customerId, shippingAddress, billingAddress);
+                                   LocalDateTime paidAt, LocalDateTime shippedAt, LocalDateTime cancelledAt,
+                                   long version) {
+        Order order = new Order(id, customerId, shippingAddress, billingAddress, createdAt);
         order.status = status;
-        order.orderItems.addAll(orderItems);
+        for (OrderItem item : orderItems) {
+            order.putOrderItem(item);
+        }
         order.totalAmount = totalAmount;
         order.lastModifiedAt = lastModifiedAt;
         order.paidAt = paidAt;
         order.shippedAt = shippedAt;
         order.cancelledAt = cancelledAt;
+        order.persisted = true;
+        order.version = version;
         return order;
     }
 
-    // ドメインロジック - 注文項目の追加
-    public void addOrderItem(ProductId productId, String productName, Money unitPrice, Quantity quantity) {
+    // ドメインロジック - 注文項目の追加（追加または数量を増やした注文項目のIDを返す）
+    public UUID addOrderItem(ProductId productId, String productName, Money unitPrice, Quantity quantity) {
         // 注文が編集可能か確認
         if (!status.isEditable()) {
             throw new IllegalStateException("Cannot modify order in status: " + status);
         }
 
         // 既存の注文項目があるか確認
-        Optional<OrderItem> existingItem = findOrderItemByProductId(productId);
+        OrderItem existingItem = orderItemsByProductId.get(productId);
+        UUID itemId;
         
-        if (existingItem.isPresent()) {
+        if (existingItem != null) {
             // 既存の注文項目がある場合は数量を更新
-            OrderItem item = existingItem.get();
-            item.updateQuantity(item.getQuantity().add(quantity));
+            existingItem.updateQuantity(existingItem.getQuantity().add(quantity));
+            markItemModified(existingItem.getId());
+            
+            // 合計金額に増えた分だけを加算
+            addToTotalAmount(existingItem.getUnitPrice(), quantity.getValue());
+            itemId = existingItem.getId();
         } else {
             // 新しい注文項目を作成
             OrderItem newItem = OrderItem.create(productId, productName, unitPrice, quantity);
-            orderItems.add(newItem);
+            boolean firstItem = orderItems.isEmpty();
+            if (!firstItem && !totalAmount.getCurrency().equals(unitPrice.getCurrency())) {
+                throw new IllegalArgumentException("Cannot add money with different currencies");
+            }
+            putOrderItem(newItem);
+            addedItemIds.add(newItem.getId());
+            itemId = newItem.getId();
             
             // ドメインイベントを登録
             domainEvents.add(new OrderItemAddedEvent(id, productId, quantity, LocalDateTime.now()));
+            
+            if (firstItem) {
+                // 合計の通貨は最初の注文項目の通貨に合わせる
+                this.totalAmount = unitPrice.multiply(quantity.getValue());
+                dirtyFields.add(OrderChanges.Field.TOTAL_AMOUNT);
+            } else {
+                // 合計金額に新しい項目の小計を加算
+                addToTotalAmount(unitPrice, quantity.getValue());
+            }
         }
 
-        // 合計金額を再計算
-        recalculateTotalAmount();
         this.lastModifiedAt = LocalDateTime.now();
-    }
-
-    // 注文項目を製品IDで検索
-    private Optional<OrderItem> findOrderItemByProductId(ProductId productId) {
-        return orderItems.stream()
-                .filter(item -> item.getProductId().equals(productId))
-                .findFirst();
+        return itemId;
     }
 
     // 注文項目を削除
@@ -118,19 +158,20 @@ public class Order {
             throw new IllegalStateException("Cannot modify order in status: " + status);
         }
 
-        boolean removed = orderItems.removeIf(item -> item.getId().equals(orderItemId));
+        OrderItem removed = removeOrderItemFromIndex(orderItemId);
         
-        if (!removed) {
+        if (removed == null) {
             throw new IllegalArgumentException("Order item not found with ID: " + orderItemId);
         }
+        markItemRemoved(orderItemId);
 
         // 注文項目が空になった場合はエラー
         if (orderItems.isEmpty()) {
             throw new IllegalStateException("Order must have at least one item");
         }
 
-        // 合計金額を再計算
-        recalculateTotalAmount();
+        // 合計金額から削除した項目の小計を減算
+        addToTotalAmount(removed.getUnitPrice(), -removed.getQuantity().getValue());
         this.lastModifiedAt = LocalDateTime.now();
     }
 
@@ -142,15 +183,17 @@ public class Order {
         }
 
         // 注文項目を検索して更新
-        OrderItem item = orderItems.stream()
-                .filter(i -> i.getId().equals(orderItemId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Order item not found with ID: " + orderItemId));
+        OrderItem item = orderItems.get(orderItemId);
+        if (item == null) {
+            throw new IllegalArgumentException("Order item not found with ID: " + orderItemId);
+        }
 
+        long previousQuantity = item.getQuantity().getValue();
         item.updateQuantity(newQuantity);
+        markItemModified(orderItemId);
 
-        // 合計金額を再計算
-        recalculateTotalAmount();
+        // 合計金額に数量の差分だけを反映
+        addToTotalAmount(item.getUnitPrice(), newQuantity.getValue() - previousQuantity);
         this.lastModifiedAt = LocalDateTime.now();
     }
 
@@ -164,6 +207,7 @@ public class Order {
         }
 
         this.shippingAddress = newAddress;
+        dirtyFields.add(OrderChanges.Field.SHIPPING_ADDRESS);
         this.lastModifiedAt = LocalDateTime.now();
     }
 
@@ -177,6 +221,7 @@ public class Order {
         }
 
         this.billingAddress = newAddress;
+        dirtyFields.add(OrderChanges.Field.BILLING_ADDRESS);
         this.lastModifiedAt = LocalDateTime.now();
     }
 
@@ -186,22 +231,26 @@ public class Order {
         if (!status.isCancellable()) {
             throw new IllegalStateException("Cannot cancel order in status: " + status);
         }
+        // 支払い済みの注文は支払額を返金する
+        Money refundedAmount = status == OrderStatus.PAID || status == OrderStatus.PROCESSING ? totalAmount : null;
 
         this.status = OrderStatus.CANCELLED;
+        dirtyFields.add(OrderChanges.Field.STATUS);
         this.cancelledAt = LocalDateTime.now();
         this.lastModifiedAt = LocalDateTime.now();
         
         // ドメインイベントを登録
-        domainEvents.add(new OrderCancelledEvent(id, LocalDateTime.now()));
+        domainEvents.add(new OrderCancelledEvent(id, refundedAmount, LocalDateTime.now()));
     }
 
     // 注文の支払い処理
     public void markAsPaid() {
-        if (status != OrderStatus.CREATED && status != OrderStatus.PENDING_PAYMENT) {
+        if (!status.isPayable()) {
             throw new IllegalStateException("Cannot mark as paid in status: " + status);
         }
 
         this.status = OrderStatus.PAID;
+        dirtyFields.add(OrderChanges.Field.STATUS);
         this.paidAt = LocalDateTime.now();
         this.lastModifiedAt = LocalDateTime.now();
         
@@ -216,6 +265,7 @@ public class Order {
         }
 
         this.status = OrderStatus.SHIPPED;
+        dirtyFields.add(OrderChanges.Field.STATUS);
         this.shippedAt = LocalDateTime.now();
         this.lastModifiedAt = LocalDateTime.now();
     }
@@ -227,27 +277,42 @@ public class Order {
         }
 
         this.status = OrderStatus.DELIVERED;
+        dirtyFields.add(OrderChanges.Field.STATUS);
         this.lastModifiedAt = LocalDateTime.now();
     }
 
-    // 合計金額を再計算
-    private void recalculateTotalAmount() {
-        // 最初の注文項目から通貨を取得
-        if (orderItems.isEmpty()) {
-            this.totalAmount = Money.zero(Currency.getInstance("JPY"));
-            return;
-        }
-
-        Currency currency = orderItems.get(0).getUnitPrice().getCurrency();
-        Money total = Money.zero(currency);
+    // 全項目を再集計せず、単価×数量の差分だけを合計金額に反映する
+    private void addToTotalAmount(Money unitPrice, long quantityDelta) {
+        this.totalAmount = totalAmount.add(unitPrice.multiply(quantityDelta));
+        dirtyFields.add(OrderChanges.Field.TOTAL_AMOUNT);
+    }
 
-        for (OrderItem item : orderItems) {
-            total = total.add(item.calculateTotalPrice());
+    // 注文項目の索引の更新
+    private void putOrderItem(OrderItem item) {
+        orderItems.put(item.getId(), item);
+        if (orderItemsByProductId.putIfAbsent(item.getProductId(), item) != null) {
+            duplicateProductItems = true;
         }
-
-        this.totalAmount = total;
+        orderItemArray = null;
     }
 
+    private OrderItem removeOrderItemFromIndex(UUID orderItemId) {
+        OrderItem item = orderItems.remove(orderItemId);
+        if (item == null) {
+            return null;
+        }
+        orderItemArray = null;
+        if (orderItemsByProductId.remove(item.getProductId(), item) && duplicateProductItems) {
+            // 同じ製品の残りの項目のうち最初のものを索引に戻す
+            for (OrderItem other : orderItems.values()) {
+                if (other.getProductId().equals(item.getProductId())) {
+                    orderItemsByProductId.put(other.getProductId(), other);
+                    break;
+                }
+            }
+        }
+        return item;
+    }
     // ドメインイベントの取得と消去
     public List<Object> getDomainEvents() {
         return new ArrayList<>(domainEvents);
@@ -257,6 +322,59 @@ public class Order {
         domainEvents.clear();
     }
 
+    // 変更の追跡
+    private void markItemModified(UUID orderItemId) {
+        // 未永続化の項目は追加として書き込まれる
+        if (!addedItemIds.contains(orderItemId)) {
+            modifiedItemIds.add(orderItemId);
+        }
+    }
+
+    private void markItemRemoved(UUID orderItemId) {
+        modifiedItemIds.remove(orderItemId);
+        // 未永続化の項目は削除するものがない
+        if (!addedItemIds.remove(orderItemId)) {
+            removedItemIds.add(orderItemId);
+        }
+    }
+
+    // 前回の永続化以降の変更の取得と消去
+    // （リポジトリ向けの内部状態のため、JSON に出力されないよう get で始めない）
+    public OrderChanges pendingChanges() {
+        List<OrderItem> addedItems = new ArrayList<>();
+        List<OrderItem> modifiedItems = new ArrayList<>();
+        for (OrderItem item : orderItems.values()) {
+            if (addedItemIds.contains(item.getId())) {
+                addedItems.add(item);
+            } else if (modifiedItemIds.contains(item.getId())) {
+                modifiedItems.add(item);
+            }
+        }
+        return new OrderChanges(!persisted, EnumSet.copyOf(dirtyFields), addedItems, modifiedItems,
+                new LinkedHashSet<>(removedItemIds));
+    }
+
+    /**
+     * 楽観的排他制御のバージョン（API のレスポンスには含めない）
+     * @return 前回の保存時のバージョン
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * 保存後に変更の追跡を消去し、保存されたバージョンを記録する
+     * @param version 保存後のバージョン
+     */
+    public void clearChanges(long version) {
+        this.version = version;
+        persisted = true;
+        dirtyFields.clear();
+        addedItemIds.clear();
+        modifiedItemIds.clear();
+        removedItemIds.clear();
+    }
+
     // ゲッター
     public OrderId getId() {
         return id;
@@ -279,7 +397,7 @@ public class Order {
     }
 
     public List<OrderItem> getOrderItems() {
-        return Collections.unmodifiableList(orderItems);
+        return orderItemsView;
     }
 
     public Money getTotalAmount() {
@@ -306,6 +424,7 @@ public class Order {
         return cancelledAt;
     }
 
+
     // エンティティの等価性は識別子によって判断
     @Override
     public boolean equals(Object o) {
@@ -330,4 +449,23 @@ public class Order {
                 ", itemCount=" + orderItems.size() +
                 '}';
     }
+
+    /**
+     * 注文項目の変更不可のビュー
+     * 項目の追加・削除後の最初のアクセスで配列を作り直し、以降の添字アクセスを定数時間にする
+     */
+    private final class OrderItemsView extends AbstractList<OrderItem> implements RandomAccess {
+        @Override
+        public OrderItem get(int index) {
+            if (orderItemArray == null) {
+                orderItemArray = orderItems.values().toArray(new OrderItem[0]);
+            }
+            return orderItemArray[index];
+        }
+
+        @Override
+        public int size() {
+            return orderItems.size();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.domain.model.aggregate;
+
+import com.example.domain.model.entity.OrderItem;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 注文集約の前回の永続化以降の変更内容
+ * リポジトリが変更された項目だけを書き込むために使用する
+ */
+public final class OrderChanges {
+
+    /**
+     * 変更を追跡する注文のフィールド
+     */
+    public enum Field {
+        SHIPPING_ADDRESS,
+        BILLING_ADDRESS,
+        // 状態と支払い・発送・キャンセル日時
+        STATUS,
+        TOTAL_AMOUNT
+    }
+
+    private final boolean newOrder;
+    private final Set<Field> dirtyFields;
+    private final List<OrderItem> addedItems;
+    private final List<OrderItem> modifiedItems;
+    private final Set<UUID> removedItemIds;
+
+    OrderChanges(boolean newOrder, Set<Field> dirtyFields, List<OrderItem> addedItems,
+                 List<OrderItem> modifiedItems, Set<UUID> removedItemIds) {
+        this.newOrder = newOrder;
+        this.dirtyFields = Collections.unmodifiableSet(dirtyFields);
+        this.addedItems = Collections.unmodifiableList(addedItems);
+        this.modifiedItems = Collections.unmodifiableList(modifiedItems);
+        this.removedItemIds = Collections.unmodifiableSet(removedItemIds);
+    }
+
+    // 一度も永続化されていない注文かどうか
+    public boolean isNewOrder() {
+        return newOrder;
+    }
+
+    public Set<Field> getDirtyFields() {
+        return dirtyFields;
+    }
+
+    public List<OrderItem> getAddedItems() {
+        return addedItems;
+    }
+
+    public List<OrderItem> getModifiedItems() {
+        return modifiedItems;
+    }
+
+    public Set<UUID> getRemovedItemIds() {
+        return removedItemIds;
+    }
+
+    public boolean isEmpty() {
+        return !newOrder && dirtyFields.isEmpty() && addedItems.isEmpty()
+                && modifiedItems.isEmpty() && removedItemIds.isEmpty();
+    }
+}
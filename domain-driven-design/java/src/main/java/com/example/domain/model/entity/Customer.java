@@ -24,7 +24,8 @@ public class Customer {
     private LocalDateTime lastModifiedAt;
 
     // プライベートコンストラクタ - ファクトリメソッド経由で生成する
-    private Customer(CustomerId id, String firstName, String lastName, String email, String phoneNumber) {
+    private Customer(CustomerId id, String firstName, String lastName, String email, String phoneNumber,
+                     LocalDateTime registeredAt) {
         this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
@@ -32,21 +33,21 @@ public class Customer {
         this.phoneNumber = phoneNumber;
         this.addresses = new ArrayList<>();
         this.active = true;
-        this.registeredAt = LocalDateTime.now();
-        this.lastModifiedAt = LocalDateTime.now();
+        this.registeredAt = registeredAt;
+        this.lastModifiedAt = registeredAt;
     }
 
     // ファクトリメソッド
     public static Customer create(String firstName, String lastName, String email, String phoneNumber) {
         validateNewCustomer(firstName, lastName, email);
-        return new Customer(CustomerId.generateNew(), firstName, lastName, email, phoneNumber);
+        return new Customer(CustomerId.generateNew(), firstName, lastName, email, phoneNumber, LocalDateTime.now());
     }
 
     // 永続化からの復元用ファクトリメソッド
     public static Customer reconstitute(CustomerId id, String firstName, String lastName, 
                                        String email, String phoneNumber, List<Address> addresses, 
                                        boolean active, LocalDateTime registeredAt, LocalDateTime lastModifiedAt) {
-        Customer customer = new Customer(id, firstName, lastName, email, phoneNumber);
+        Customer customer = new Customer(id, firstName, lastName, email, phoneNumber, registeredAt);
         customer.addresses = new ArrayList<>(addresses);
         customer.active = active;
         customer.lastModifiedAt = lastModifiedAt;
@@ -6,6 +6,9 @@ import java.util.Objects;
  * 住所を表す値オブジェクト
  */
 public final class Address {
+    // 多くの顧客は少数の住所に配送するため、読み込んだ住所を1つのインスタンスにまとめる
+    private static final ValueObjectPool<Address> POOL = new ValueObjectPool<>();
+
     private final String streetAddress;
     private final String city;
     private final String state;
@@ -43,7 +46,7 @@ public final class Address {
             throw new IllegalArgumentException("Country cannot be empty");
         }
 
-        return new Address(streetAddress, city, state, zipCode, country);
+        return POOL.intern(new Address(streetAddress, city, state, zipCode, country));
     }
 
     // 値オブジェクトは変更のためのメソッドを持つ場合、新しいインスタンスを返す
@@ -8,6 +8,9 @@ import java.util.UUID;
  * エンティティの識別子として使用される
  */
 public final class CustomerId {
+    // 同じ顧客の注文を読み込むたびに増えないよう、1つのインスタンスにまとめる
+    private static final ValueObjectPool<CustomerId> POOL = new ValueObjectPool<>();
+
     private final UUID id;
 
     private CustomerId(UUID id) {
@@ -16,7 +19,7 @@ public final class CustomerId {
 
     public static CustomerId of(UUID id) {
         Objects.requireNonNull(id, "Customer ID cannot be null");
-        return new CustomerId(id);
+        return POOL.intern(new CustomerId(id));
     }
 
     public static CustomerId of(String id) {
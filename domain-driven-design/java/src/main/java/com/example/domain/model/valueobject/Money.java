@@ -0,0 +1,311 @@
+package com.example.domain.model.valueobject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * 金額を表す値オブジェクト
+ * 不変性（イミュータビリティ）を持つため、一度作成すると変更できない
+ *
+ * 金額は小数点以下2桁に丸められ、通常は100分の1単位の long で保持する
+ * long に収まらない場合だけ BigDecimal で保持し、演算はどちらの表現でも同じ結果になる
+ */
+public final class Money {
+    private static final int SCALE = 2;
+
+    // BigDecimal で保持している場合は使用しない
+    private final long units;
+    // long に収まる場合は null
+    private final BigDecimal largeAmount;
+    private final Currency currency;
+
+    private Money(long units, Currency currency) {
+        this.units = units;
+        this.largeAmount = null;
+        this.currency = currency;
+    }
+
+    private Money(BigDecimal scaledAmount, Currency currency) {
+        this.units = 0;
+        this.largeAmount = scaledAmount;
+        this.currency = currency;
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        Objects.requireNonNull(amount, "Amount cannot be null");
+        Objects.requireNonNull(currency, "Currency cannot be null");
+        return fromScaled(amount.setScale(SCALE, RoundingMode.HALF_UP), currency);
+    }
+
+    public static Money of(double amount, String currencyCode) {
+        return of(BigDecimal.valueOf(amount), Currency.getInstance(currencyCode));
+    }
+
+    /**
+     * 100分の1単位の金額から作成する
+     * @param minorUnits 100分の1単位の金額（例: 12.34 は 1234）
+     * @param currency 通貨
+     * @return 金額
+     */
+    public static Money ofMinorUnits(long minorUnits, Currency currency) {
+        Objects.requireNonNull(currency, "Currency cannot be null");
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money yen(BigDecimal amount) {
+        return of(amount, Currency.getInstance("JPY"));
+    }
+
+    public static Money usd(BigDecimal amount) {
+        return of(amount, Currency.getInstance("USD"));
+    }
+
+    public static Money zero(Currency currency) {
+        return ofMinorUnits(0, currency);
+    }
+
+    /**
+     * 合計の計算を開始する
+     * @param currency 通貨
+     * @return 0 から始まる合計
+     */
+    public static Sum sum(Currency currency) {
+        Objects.requireNonNull(currency, "Currency cannot be null");
+        return new Sum(currency);
+    }
+
+    // long に収まる値は常に long で保持し、表現を一意にする
+    private static Money fromScaled(BigDecimal scaledAmount, Currency currency) {
+        if (scaledAmount.unscaledValue().bitLength() < Long.SIZE) {
+            return new Money(scaledAmount.unscaledValue().longValue(), currency);
+        }
+        return new Money(scaledAmount, currency);
+    }
+
+    // 値オブジェクトの操作は新しいインスタンスを返す
+    public Money add(Money money) {
+        if (!this.currency.equals(money.currency)) {
+            throw new IllegalArgumentException("Cannot add money with different currencies");
+        }
+        if (this.largeAmount == null && money.largeAmount == null) {
+            long sum = this.units + money.units;
+            // 符号が同じ2数の和の符号が変わった場合だけ桁あふれしている
+            if (((this.units ^ sum) & (money.units ^ sum)) >= 0) {
+                return new Money(sum, this.currency);
+            }
+        }
+        return fromScaled(this.toBigDecimal().add(money.toBigDecimal()), this.currency);
+    }
+
+    public Money subtract(Money money) {
+        if (!this.currency.equals(money.currency)) {
+            throw new IllegalArgumentException("Cannot subtract money with different currencies");
+        }
+        if (this.largeAmount == null && money.largeAmount == null) {
+            long difference = this.units - money.units;
+            if (((this.units ^ money.units) & (this.units ^ difference)) >= 0) {
+                return new Money(difference, this.currency);
+            }
+        }
+        return fromScaled(this.toBigDecimal().subtract(money.toBigDecimal()), this.currency);
+    }
+
+    /**
+     * 整数倍する（数量との掛け算など）
+     * @param multiplier 乗数
+     * @return 掛け算後の金額
+     */
+    public Money multiply(long multiplier) {
+        if (largeAmount == null) {
+            long product = units * multiplier;
+            if (fitsInLong(Math.multiplyHigh(units, multiplier), product)) {
+                return new Money(product, currency);
+            }
+        }
+        return fromScaled(toBigDecimal().multiply(BigDecimal.valueOf(multiplier)), currency);
+    }
+
+    public Money multiply(double multiplier) {
+        return of(toBigDecimal().multiply(BigDecimal.valueOf(multiplier)), currency);
+    }
+
+    /**
+     * 割合を掛けて小数点以下2桁に四捨五入する（5% なら applyRate(5, 100)）
+     * multiply(double) と異なり、long に収まる金額では BigDecimal を生成しない
+     * @param numerator 割合の分子
+     * @param denominator 割合の分母（正の数）
+     * @return 掛け算後の金額
+     */
+    public Money applyRate(long numerator, long denominator) {
+        if (denominator <= 0) {
+            throw new IllegalArgumentException("Denominator must be positive");
+        }
+        if (largeAmount == null) {
+            long product = units * numerator;
+            if (fitsInLong(Math.multiplyHigh(units, numerator), product)) {
+                return new Money(divideHalfUp(product, denominator), currency);
+            }
+        }
+        return fromScaled(toBigDecimal().multiply(BigDecimal.valueOf(numerator))
+                .divide(BigDecimal.valueOf(denominator), SCALE, RoundingMode.HALF_UP), currency);
+    }
+
+    public boolean isGreaterThan(Money other) {
+        validateSameCurrency(other);
+        return compareAmount(other) > 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        validateSameCurrency(other);
+        return compareAmount(other) < 0;
+    }
+
+    private void validateSameCurrency(Money other) {
+        if (!this.currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot compare money with different currencies");
+        }
+    }
+
+    private int compareAmount(Money other) {
+        if (this.largeAmount == null && other.largeAmount == null) {
+            return Long.compare(this.units, other.units);
+        }
+        return this.toBigDecimal().compareTo(other.toBigDecimal());
+    }
+
+    private BigDecimal toBigDecimal() {
+        return largeAmount != null ? largeAmount : BigDecimal.valueOf(units, SCALE);
+    }
+
+    // 128ビットの積の上位64ビットが下位64ビットの符号拡張であれば long に収まる
+    private static boolean fitsInLong(long high, long low) {
+        return high == (low >> 63);
+    }
+
+    // BigDecimal の HALF_UP と同じく、ちょうど半分の場合は0から遠い方へ丸める
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    public BigDecimal getAmount() {
+        return toBigDecimal();
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    /**
+     * 100分の1単位の金額を返す
+     * @return 100分の1単位の金額（例: 12.34 は 1234）
+     * @throws ArithmeticException long に収まらない場合
+     */
+    public long toMinorUnits() {
+        if (largeAmount != null) {
+            throw new ArithmeticException("Amount does not fit in minor units: " + this);
+        }
+        return units;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Money money = (Money) o;
+        return compareAmount(money) == 0 && currency.equals(money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        // 表現は一意なので、long で保持している場合は units だけで計算できる
+        int amountHash = largeAmount != null ? largeAmount.hashCode() : Long.hashCode(units);
+        return 31 * amountHash + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toString() + " " + currency.getCurrencyCode();
+    }
+
+    /**
+     * 複数の金額を途中の Money を生成せずに合計する
+     * 注文合計の再計算のように、単価×数量を繰り返し足し込む場合に使用する
+     */
+    public static final class Sum {
+        private final Currency currency;
+        private long units;
+        // 桁あふれした場合だけ使用する
+        private BigDecimal largeAmount;
+
+        private Sum(Currency currency) {
+            this.currency = currency;
+        }
+
+        /**
+         * 単価×数量を足し込む
+         * @param unitPrice 単価
+         * @param quantity 数量
+         * @return この合計
+         */
+        public Sum addProduct(Money unitPrice, long quantity) {
+            if (!currency.equals(unitPrice.currency)) {
+                throw new IllegalArgumentException("Cannot add money with different currencies");
+            }
+            if (largeAmount == null && unitPrice.largeAmount == null) {
+                long product = unitPrice.units * quantity;
+                if (fitsInLong(Math.multiplyHigh(unitPrice.units, quantity), product)) {
+                    long sum = units + product;
+                    if (((units ^ sum) & (product ^ sum)) >= 0) {
+                        units = sum;
+                        return this;
+                    }
+                }
+            }
+            BigDecimal current = largeAmount != null ? largeAmount : BigDecimal.valueOf(units, SCALE);
+            largeAmount = current.add(unitPrice.toBigDecimal().multiply(BigDecimal.valueOf(quantity)));
+            return this;
+        }
+
+        /**
+         * 金額に割合を掛けて小数点以下2桁に四捨五入した値を足し込む
+         * 結果は add(amount.applyRate(numerator, denominator)) と同じになる
+         * @param amount 金額
+         * @param numerator 割合の分子
+         * @param denominator 割合の分母（正の数）
+         * @return この合計
+         */
+        public Sum addRate(Money amount, long numerator, long denominator) {
+            if (!currency.equals(amount.currency)) {
+                throw new IllegalArgumentException("Cannot add money with different currencies");
+            }
+            if (denominator <= 0) {
+                throw new IllegalArgumentException("Denominator must be positive");
+            }
+            if (largeAmount == null && amount.largeAmount == null) {
+                long product = amount.units * numerator;
+                if (fitsInLong(Math.multiplyHigh(amount.units, numerator), product)) {
+                    long rated = divideHalfUp(product, denominator);
+                    long sum = units + rated;
+                    if (((units ^ sum) & (rated ^ sum)) >= 0) {
+                        units = sum;
+                        return this;
+                    }
+                }
+            }
+            BigDecimal current = largeAmount != null ? largeAmount : BigDecimal.valueOf(units, SCALE);
+            largeAmount = current.add(amount.applyRate(numerator, denominator).toBigDecimal());
+            return this;
+        }
+
+        public Money toMoney() {
+            return largeAmount != null ? fromScaled(largeAmount, currency) : new Money(units, currency);
+        }
+    }
+}
\ No newline at end of file
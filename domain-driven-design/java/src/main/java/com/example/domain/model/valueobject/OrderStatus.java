@@ -28,6 +28,10 @@ public enum OrderStatus {
         return this == CREATED || this == PENDING_PAYMENT;
     }
 
+    public boolean isPayable() {
+        return this == CREATED || this == PENDING_PAYMENT;
+    }
+
     public boolean isCancellable() {
         return this == CREATED || this == PENDING_PAYMENT || this == PAID || this == PROCESSING;
     }
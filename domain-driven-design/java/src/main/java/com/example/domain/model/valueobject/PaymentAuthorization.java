@@ -0,0 +1,58 @@
+package com.example.domain.model.valueobject;
+
+import java.util.Objects;
+
+/**
+ * 決済サービスによる支払いの承認を表す値オブジェクト
+ * 承認番号は決済サービスが採番する
+ */
+public final class PaymentAuthorization {
+    private final String authorizationId;
+    private final OrderId orderId;
+    private final Money amount;
+
+    private PaymentAuthorization(String authorizationId, OrderId orderId, Money amount) {
+        this.authorizationId = authorizationId;
+        this.orderId = orderId;
+        this.amount = amount;
+    }
+
+    public static PaymentAuthorization of(String authorizationId, OrderId orderId, Money amount) {
+        Objects.requireNonNull(authorizationId, "Authorization ID cannot be null");
+        Objects.requireNonNull(orderId, "Order ID cannot be null");
+        Objects.requireNonNull(amount, "Amount cannot be null");
+        return new PaymentAuthorization(authorizationId, orderId, amount);
+    }
+
+    public String getAuthorizationId() {
+        return authorizationId;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PaymentAuthorization that = (PaymentAuthorization) o;
+        return authorizationId.equals(that.authorizationId)
+                && orderId.equals(that.orderId)
+                && amount.equals(that.amount);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(authorizationId, orderId, amount);
+    }
+
+    @Override
+    public String toString() {
+        return authorizationId + " (" + orderId + ", " + amount + ")";
+    }
+}
\ No newline at end of file
@@ -8,6 +8,9 @@ import java.util.UUID;
  * エンティティの識別子として使用される
  */
 public final class ProductId {
+    // 同じ商品の注文項目を読み込むたびに増えないよう、1つのインスタンスにまとめる
+    private static final ValueObjectPool<ProductId> POOL = new ValueObjectPool<>();
+
     private final UUID id;
 
     private ProductId(UUID id) {
@@ -16,7 +19,7 @@ public final class ProductId {
 
     public static ProductId of(UUID id) {
         Objects.requireNonNull(id, "Product ID cannot be null");
-        return new ProductId(id);
+        return POOL.intern(new ProductId(id));
     }
 
     public static ProductId of(String id) {
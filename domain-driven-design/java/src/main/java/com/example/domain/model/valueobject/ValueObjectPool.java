@@ -0,0 +1,47 @@
+package com.example.domain.model.valueobject;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 等しい値オブジェクトを1つのインスタンスにまとめるプール
+ *
+ * プールは値オブジェクトを弱参照で保持するため、どこからも参照されなくなった値オブジェクトは
+ * ガベージコレクションで取り除かれる。同じ値が何度も読み込まれる値オブジェクト（住所や商品ID）に使う
+ * 注文IDのように値ごとに1回しか現れない値オブジェクトに使うと、プールの分だけメモリが増える
+ *
+ * 競合を減らすため、ハッシュ値で分けた複数の WeakHashMap に分けて保持する
+ */
+final class ValueObjectPool<T> {
+    private static final int STRIPES = 16;
+
+    private final Map<T, WeakReference<T>>[] stripes;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ValueObjectPool() {
+        stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new WeakHashMap<>();
+        }
+    }
+
+    /**
+     * 等しい値オブジェクトがプールにあればそれを、なければ渡された値オブジェクトを登録して返す
+     * @param value 値オブジェクト
+     * @return プールの値オブジェクト
+     */
+    T intern(T value) {
+        // WeakHashMap のバケットの選択とずらすため、ハッシュ値の上位ビットで分ける
+        Map<T, WeakReference<T>> stripe = stripes[(value.hashCode() * 0x9E3779B9) >>> 28];
+        synchronized (stripe) {
+            WeakReference<T> reference = stripe.get(value);
+            T pooled = reference != null ? reference.get() : null;
+            if (pooled != null) {
+                return pooled;
+            }
+            stripe.put(value, new WeakReference<>(value));
+            return value;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.valueobject.OrderId;
+
+/**
+ * 読み込んだ後に他の処理が同じ注文を更新していたため、保存できなかったことを表す例外
+ * 注文を読み込み直して処理をやり直せば成功する可能性がある
+ */
+public class ConcurrentOrderModificationException extends RuntimeException {
+    private final OrderId orderId;
+    private final long expectedVersion;
+
+    public ConcurrentOrderModificationException(OrderId orderId, long expectedVersion) {
+        super("Order was modified concurrently: " + orderId + " (expected version " + expectedVersion + ")");
+        this.orderId = orderId;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.domain.repository;
 import com.example.domain.model.entity.Customer;
 import com.example.domain.model.valueobject.CustomerId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,14 @@ public interface CustomerRepository {
      */
     Optional<Customer> findById(CustomerId id);
 
+    /**
+     * 複数の顧客IDによる顧客の一括検索
+     * 存在しないIDは結果に含まれない
+     * @param ids 顧客IDのコレクション
+     * @return 見つかった顧客のリスト
+     */
+    List<Customer> findAllByIds(Collection<CustomerId> ids);
+
     /**
      * メールアドレスによる顧客の検索
      * @param email メールアドレス
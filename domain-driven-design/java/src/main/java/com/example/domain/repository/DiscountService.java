@@ -0,0 +1,83 @@
+package com.example.domain.service;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 割引を計算するドメインサービス
+ * 複数のエンティティに関連するロジックはドメインサービスに配置する
+ *
+ * 割引ルールは評価日時に合わせた判定表に変換して使用する
+ * 変換結果は1分単位で再利用するため、会員年数の判定は最大1分ずれる
+ */
+public class DiscountService {
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    private final List<DiscountRule> rules;
+    private final Clock clock;
+    private final int parallelThreshold;
+    private volatile CompiledDiscountRules compiled;
+
+    public DiscountService() {
+        this(DiscountRule.defaults(), Clock.systemDefaultZone(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public DiscountService(List<DiscountRule> rules, Clock clock, int parallelThreshold) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        this.rules = List.copyOf(rules);
+        this.clock = clock;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * 注文に対する割引を計算する
+     * @param order 対象の注文
+     * @param customer 注文した顧客
+     * @return 割引額（合計金額を超えない）
+     */
+    public Money calculateDiscount(Order order, Customer customer) {
+        return currentRules().discountFor(order, customer);
+    }
+
+    /**
+     * 複数の注文に対する割引をまとめて計算する
+     * 全ての注文を同じ評価日時で判定し、件数が多い場合は並列に評価する
+     * @param orders 対象の注文
+     * @param customers 注文した顧客（顧客IDをキーとする）
+     * @return 注文と同じ順序の割引額
+     */
+    public List<Money> calculateDiscounts(List<Order> orders, Map<CustomerId, Customer> customers) {
+        return currentRules().discountsFor(orders, customers);
+    }
+
+    /**
+     * 指定の日時で評価する判定表を作成する
+     * 再価格計算のように評価日時を固定したい場合に使用する
+     * @param evaluatedAt 評価日時
+     * @return 変換された割引ルール
+     */
+    public CompiledDiscountRules compileRules(LocalDateTime evaluatedAt) {
+        return CompiledDiscountRules.compile(rules, evaluatedAt, parallelThreshold);
+    }
+
+    // 現在の分に対応する判定表を返し、分が変わった場合だけ作り直す
+    private CompiledDiscountRules currentRules() {
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES);
+        CompiledDiscountRules current = compiled;
+        if (current == null || !current.getEvaluatedAt().equals(now)) {
+            current = compileRules(now);
+            compiled = current;
+        }
+        return current;
+    }
+}
\ No newline at end of file
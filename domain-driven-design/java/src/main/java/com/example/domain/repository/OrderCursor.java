@@ -0,0 +1,95 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.valueobject.OrderId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * 注文のキーセットページングに使用するカーソル
+ * (作成日時, 注文ID) の順序で、このカーソルより後ろの注文が次のページになる
+ */
+public final class OrderCursor {
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdAt;
+    private final OrderId orderId;
+
+    private OrderCursor(LocalDateTime createdAt, OrderId orderId) {
+        this.createdAt = createdAt;
+        this.orderId = orderId;
+    }
+
+    public static OrderCursor of(LocalDateTime createdAt, OrderId orderId) {
+        Objects.requireNonNull(createdAt, "Created at cannot be null");
+        Objects.requireNonNull(orderId, "Order ID cannot be null");
+        return new OrderCursor(createdAt, orderId);
+    }
+
+    /**
+     * 注文の位置を指すカーソルを作成する
+     * @param order 注文
+     * @return カーソル
+     */
+    public static OrderCursor after(Order order) {
+        return of(order.getCreatedAt(), order.getId());
+    }
+
+    /**
+     * URLに埋め込める文字列からカーソルを復元する
+     * @param token encode() で作成した文字列
+     * @return カーソル
+     * @throws IllegalArgumentException 文字列の形式が不正な場合
+     */
+    public static OrderCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid order cursor: " + token);
+            }
+            return of(LocalDateTime.parse(value.substring(0, separator)), OrderId.of(value.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid order cursor: " + token, e);
+        }
+    }
+
+    /**
+     * URLに埋め込める文字列に変換する
+     * @return カーソルを表す文字列
+     */
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OrderCursor that = (OrderCursor) o;
+        return Objects.equals(createdAt, that.createdAt) && Objects.equals(orderId, that.orderId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, orderId);
+    }
+
+    @Override
+    public String toString() {
+        return "OrderCursor{" + createdAt + ", " + orderId + "}";
+    }
+}
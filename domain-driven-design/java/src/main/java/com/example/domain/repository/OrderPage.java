@@ -0,0 +1,36 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.aggregate.Order;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * キーセットページングで取得した注文の1ページ
+ */
+public final class OrderPage {
+    private final List<Order> orders;
+    private final OrderCursor nextCursor;
+
+    /**
+     * @param orders (作成日時, 注文ID) の昇順に並んだ注文
+     * @param hasNext 続きのページがあるかどうか
+     */
+    public OrderPage(List<Order> orders, boolean hasNext) {
+        this.orders = Collections.unmodifiableList(orders);
+        this.nextCursor = hasNext && !orders.isEmpty() ? OrderCursor.after(orders.get(orders.size() - 1)) : null;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    /**
+     * 次のページを取得するためのカーソル
+     * @return 最後のページの場合は空
+     */
+    public Optional<OrderCursor> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+}
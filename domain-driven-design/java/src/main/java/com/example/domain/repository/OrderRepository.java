@@ -0,0 +1,126 @@
+package com.example.domain.repository;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 注文リポジトリのインターフェース
+ * 集約ルートに対するリポジトリ
+ */
+public interface OrderRepository {
+    /**
+     * 注文IDによる注文の検索
+     * @param id 注文ID
+     * @return 注文のOptional
+     */
+    Optional<Order> findById(OrderId id);
+
+    /**
+     * 顧客IDによる注文の検索
+     * @param customerId 顧客ID
+     * @return 見つかった注文のリスト
+     */
+    List<Order> findByCustomerId(CustomerId customerId);
+
+    /**
+     * 注文ステータスによる注文の検索
+     * @param status 注文ステータス
+     * @return 見つかった注文のリスト
+     */
+    List<Order> findByStatus(OrderStatus status);
+
+    /**
+     * 期間内に作成された注文の検索
+     * @param startDate 開始日時
+     * @param endDate 終了日時
+     * @return 見つかった注文のリスト
+     */
+    List<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * 顧客IDによる注文のキーセットページング検索
+     * 注文は (作成日時, 注文ID) の昇順で返される
+     * @param customerId 顧客ID
+     * @param after このカーソルより後ろの注文を返す（先頭ページの場合は null）
+     * @param limit 1ページの最大件数
+     * @return 注文のページ
+     */
+    OrderPage findByCustomerId(CustomerId customerId, OrderCursor after, int limit);
+
+    /**
+     * 注文ステータスによる注文のキーセットページング検索
+     * 注文は (作成日時, 注文ID) の昇順で返される
+     * @param status 注文ステータス
+     * @param after このカーソルより後ろの注文を返す（先頭ページの場合は null）
+     * @param limit 1ページの最大件数
+     * @return 注文のページ
+     */
+    OrderPage findByStatus(OrderStatus status, OrderCursor after, int limit);
+
+    /**
+     * 期間内に作成された注文のキーセットページング検索
+     * 注文は (作成日時, 注文ID) の昇順で返される
+     * @param startDate 開始日時
+     * @param endDate 終了日時
+     * @param after このカーソルより後ろの注文を返す（先頭ページの場合は null）
+     * @param limit 1ページの最大件数
+     * @return 注文のページ
+     */
+    OrderPage findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, OrderCursor after, int limit);
+
+    /**
+     * 顧客IDによる注文を (作成日時, 注文ID) の昇順に逐次読み込む
+     * ストリームはトランザクション内で消費し、使用後に close すること
+     * @param customerId 顧客ID
+     * @return 注文のストリーム
+     */
+    Stream<Order> streamByCustomerId(CustomerId customerId);
+
+    /**
+     * 注文ステータスによる注文を (作成日時, 注文ID) の昇順に逐次読み込む
+     * ストリームはトランザクション内で消費し、使用後に close すること
+     * @param status 注文ステータス
+     * @return 注文のストリーム
+     */
+    Stream<Order> streamByStatus(OrderStatus status);
+
+    /**
+     * 期間内に作成された注文を (作成日時, 注文ID) の昇順に逐次読み込む
+     * ストリームはトランザクション内で消費し、使用後に close すること
+     * @param startDate 開始日時
+     * @param endDate 終了日時
+     * @return 注文のストリーム
+     */
+    Stream<Order> streamByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * 注文の保存（新規作成または更新）
+     * 既存の注文は前回の永続化以降に変更された部分だけが書き込まれる
+     * 読み込んだ時点のバージョンから他の処理が更新していた場合は書き込まない
+     * @param order 保存する注文
+     * @return 保存された注文（引数と同じインスタンス）
+     * @throws ConcurrentOrderModificationException 注文が他の処理によって更新されていた場合
+     */
+    Order save(Order order);
+
+    /**
+     * 複数の注文の一括保存
+     * 全ての注文を1トランザクションで保存し、実装はJDBCのバッチ書き込みを使用すること
+     * @param orders 保存する注文
+     */
+    void saveAll(Collection<Order> orders);
+
+    /**
+     * 注文の削除
+     * @param id 削除する注文のID
+     */
+    void deleteById(OrderId id);
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.domain.repository;
 import com.example.domain.model.entity.Product;
 import com.example.domain.model.valueobject.ProductId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,14 @@ public interface ProductRepository {
      */
     Optional<Product> findById(ProductId id);
 
+    /**
+     * 複数の商品IDによる商品の一括検索
+     * 存在しないIDは結果に含まれない
+     * @param ids 商品IDのコレクション
+     * @return 見つかった商品のリスト
+     */
+    List<Product> findAllByIds(Collection<ProductId> ids);
+
     /**
      * 商品名による商品の検索
      * @param name 商品名
@@ -38,6 +47,13 @@ public interface ProductRepository {
      */
     Product save(Product product);
 
+    /**
+     * 複数の商品の一括保存
+     * 実装は1回のバッチ書き込みで保存すること
+     * @param products 保存する商品のコレクション
+     */
+    void saveAll(Collection<Product> products);
+
     /**
      * 商品の削除
      * @param id 削除する商品のID
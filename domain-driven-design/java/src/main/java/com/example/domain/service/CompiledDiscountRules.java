@@ -0,0 +1,187 @@
+package com.example.domain.service;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * 評価日時に合わせて平坦な判定表に変換された割引ルール
+ * 季節ルールは評価日の月で事前に取捨し、会員年数は登録日時のしきい値に変換しておくため、
+ * 注文ごとの評価では現在日時の取得や日付計算を行わない（しきい値の前後2日の登録日時だけは日付計算で判定する）
+ * 不変なので複数スレッドから同時に評価できる
+ */
+public final class CompiledDiscountRules {
+    private static final byte ALWAYS = 0;
+    private static final byte MINIMUM_TOTAL = 1;
+    private static final byte REGISTERED_BEFORE = 2;
+    // 2月29日の丸めで、しきい値による判定と日付計算による判定が食い違いうる幅
+    private static final long LEAP_DAY_MARGIN_DAYS = 2;
+
+    private final LocalDateTime evaluatedAt;
+    private final byte[] conditions;
+    private final BigDecimal[] minimumTotals;
+    private final LocalDateTime[] registeredBefore;
+    private final LocalDateTime[] registeredNotBefore;
+    private final int[] membershipYears;
+    private final long[] rateNumerators;
+    private final long[] rateDenominators;
+    private final int parallelThreshold;
+    // 通貨ごとのしきい値の Money（注文ごとに生成しないためのキャッシュ）
+    private final Map<Currency, Money[]> thresholdsByCurrency = new ConcurrentHashMap<>();
+
+    private CompiledDiscountRules(LocalDateTime evaluatedAt, byte[] conditions, BigDecimal[] minimumTotals,
+                                  LocalDateTime[] registeredBefore, LocalDateTime[] registeredNotBefore,
+                                  int[] membershipYears, long[] rateNumerators, long[] rateDenominators,
+                                  int parallelThreshold) {
+        this.evaluatedAt = evaluatedAt;
+        this.conditions = conditions;
+        this.minimumTotals = minimumTotals;
+        this.registeredBefore = registeredBefore;
+        this.registeredNotBefore = registeredNotBefore;
+        this.membershipYears = membershipYears;
+        this.rateNumerators = rateNumerators;
+        this.rateDenominators = rateDenominators;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * 割引ルールを評価日時に合わせて変換する
+     * @param rules 割引ルール
+     * @param evaluatedAt 評価日時
+     * @param parallelThreshold この件数以上の一括評価を並列に実行する
+     * @return 変換された割引ルール
+     */
+    public static CompiledDiscountRules compile(List<DiscountRule> rules, LocalDateTime evaluatedAt,
+                                                int parallelThreshold) {
+        List<DiscountRule> active = new ArrayList<>();
+        for (DiscountRule rule : rules) {
+            // 評価日が対象月に含まれない季節ルールは判定表に含めない
+            if (rule.getType() != DiscountRule.Type.SEASONAL || rule.getMonths().contains(evaluatedAt.getMonth())) {
+                active.add(rule);
+            }
+        }
+
+        int size = active.size();
+        byte[] conditions = new byte[size];
+        BigDecimal[] minimumTotals = new BigDecimal[size];
+        LocalDateTime[] registeredBefore = new LocalDateTime[size];
+        LocalDateTime[] registeredNotBefore = new LocalDateTime[size];
+        int[] membershipYears = new int[size];
+        long[] rateNumerators = new long[size];
+        long[] rateDenominators = new long[size];
+        for (int i = 0; i < size; i++) {
+            DiscountRule rule = active.get(i);
+            switch (rule.getType()) {
+                case VOLUME -> {
+                    conditions[i] = MINIMUM_TOTAL;
+                    minimumTotals[i] = rule.getMinimumTotal();
+                }
+                case LOYALTY -> {
+                    conditions[i] = REGISTERED_BEFORE;
+                    // registeredAt + N年 < 評価日時 を registeredAt < 評価日時 - N年 に置き換える
+                    // 2月29日を含む場合は加算と減算の丸めが異なるため、しきい値の前後は元の式で判定する
+                    LocalDateTime threshold = evaluatedAt.minusYears(rule.getMembershipYears());
+                    registeredBefore[i] = threshold.minusDays(LEAP_DAY_MARGIN_DAYS);
+                    registeredNotBefore[i] = threshold.plusDays(LEAP_DAY_MARGIN_DAYS);
+                    membershipYears[i] = rule.getMembershipYears();
+                }
+                default -> conditions[i] = ALWAYS;
+            }
+            rateNumerators[i] = rule.rateNumerator();
+            rateDenominators[i] = rule.rateDenominator();
+        }
+        return new CompiledDiscountRules(evaluatedAt, conditions, minimumTotals, registeredBefore,
+                registeredNotBefore, membershipYears, rateNumerators, rateDenominators, parallelThreshold);
+    }
+
+    /**
+     * 注文に対する割引額を計算する
+     * @param order 対象の注文
+     * @param customer 注文した顧客
+     * @return 割引額（合計金額を超えない）
+     */
+    public Money discountFor(Order order, Customer customer) {
+        Money total = order.getTotalAmount();
+        Money[] thresholds = thresholdsFor(total.getCurrency());
+        LocalDateTime registeredAt = customer.getRegisteredAt();
+
+        Money.Sum discount = Money.sum(total.getCurrency());
+        for (int i = 0; i < conditions.length; i++) {
+            boolean matched = switch (conditions[i]) {
+                case MINIMUM_TOTAL -> total.isGreaterThan(thresholds[i]);
+                case REGISTERED_BEFORE -> isMemberFor(registeredAt, i);
+                default -> true;
+            };
+            if (matched) {
+                discount.addRate(total, rateNumerators[i], rateDenominators[i]);
+            }
+        }
+
+        // 割引額が合計金額を超えないようにする
+        Money result = discount.toMoney();
+        return result.isGreaterThan(total) ? total : result;
+    }
+
+    /**
+     * 複数の注文の割引額をまとめて計算する
+     * 件数が多い場合は並列に評価する
+     * @param orders 対象の注文
+     * @param customers 注文した顧客（顧客IDをキーとする）
+     * @return 注文と同じ順序の割引額
+     * @throws IllegalArgumentException 顧客が見つからない注文がある場合
+     */
+    public List<Money> discountsFor(List<Order> orders, Map<CustomerId, Customer> customers) {
+        Order[] targets = orders.toArray(new Order[0]);
+        Money[] discounts = new Money[targets.length];
+        IntStream indexes = IntStream.range(0, targets.length);
+        if (targets.length >= parallelThreshold) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> {
+            Customer customer = customers.get(targets[i].getCustomerId());
+            if (customer == null) {
+                throw new IllegalArgumentException("Customer not found: " + targets[i].getCustomerId());
+            }
+            discounts[i] = discountFor(targets[i], customer);
+        });
+        return Arrays.asList(discounts);
+    }
+
+    // registeredAt + N年 < 評価日時 と同じ判定
+    private boolean isMemberFor(LocalDateTime registeredAt, int rule) {
+        if (registeredAt.isBefore(registeredBefore[rule])) {
+            return true;
+        }
+        if (!registeredAt.isBefore(registeredNotBefore[rule])) {
+            return false;
+        }
+        return registeredAt.plusYears(membershipYears[rule]).isBefore(evaluatedAt);
+    }
+
+    public LocalDateTime getEvaluatedAt() {
+        return evaluatedAt;
+    }
+
+    private Money[] thresholdsFor(Currency currency) {
+        return thresholdsByCurrency.computeIfAbsent(currency, key -> {
+            Money[] thresholds = new Money[conditions.length];
+            for (int i = 0; i < conditions.length; i++) {
+                if (minimumTotals[i] != null) {
+                    thresholds[i] = Money.of(minimumTotals[i], key);
+                }
+            }
+            return thresholds;
+        });
+    }
+}
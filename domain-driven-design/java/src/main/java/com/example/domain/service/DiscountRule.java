@@ -0,0 +1,136 @@
+package com.example.domain.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Month;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 割引ルールの定義
+ * 条件を満たした注文には、合計金額に割引率を掛けた額（小数点以下2桁に四捨五入）が割引される
+ */
+public final class DiscountRule {
+
+    /**
+     * 割引の条件の種類
+     */
+    public enum Type {
+        // 合計金額がしきい値を超える
+        VOLUME,
+        // 会員登録から指定年数以上が経過している
+        LOYALTY,
+        // 評価日が指定の月に含まれる
+        SEASONAL
+    }
+
+    private final Type type;
+    private final BigDecimal rate;
+    private final BigDecimal minimumTotal;
+    private final int membershipYears;
+    private final Set<Month> months;
+
+    private DiscountRule(Type type, BigDecimal rate, BigDecimal minimumTotal, int membershipYears, Set<Month> months) {
+        Objects.requireNonNull(rate, "Rate cannot be null");
+        if (rate.signum() < 0 || rate.compareTo(BigDecimal.ONE) > 0) {
+            throw new IllegalArgumentException("Rate must be between 0 and 1: " + rate);
+        }
+        this.type = type;
+        this.rate = rate.stripTrailingZeros();
+        this.minimumTotal = minimumTotal;
+        this.membershipYears = membershipYears;
+        this.months = months;
+    }
+
+    /**
+     * 合計金額がしきい値を超える注文への割引
+     * @param minimumTotal しきい値（この金額ちょうどは対象外）
+     * @param rate 割引率（5% なら 0.05）
+     * @return 割引ルール
+     */
+    public static DiscountRule volume(BigDecimal minimumTotal, BigDecimal rate) {
+        Objects.requireNonNull(minimumTotal, "Minimum total cannot be null");
+        return new DiscountRule(Type.VOLUME, rate, minimumTotal, 0, Collections.emptySet());
+    }
+
+    /**
+     * 会員登録から指定年数以上が経過した顧客への割引
+     * @param membershipYears 会員年数
+     * @param rate 割引率
+     * @return 割引ルール
+     */
+    public static DiscountRule loyalty(int membershipYears, BigDecimal rate) {
+        if (membershipYears < 0) {
+            throw new IllegalArgumentException("Membership years must not be negative");
+        }
+        return new DiscountRule(Type.LOYALTY, rate, null, membershipYears, Collections.emptySet());
+    }
+
+    /**
+     * 指定の月に評価される注文への割引
+     * @param months 対象の月
+     * @param rate 割引率
+     * @return 割引ルール
+     */
+    public static DiscountRule seasonal(Set<Month> months, BigDecimal rate) {
+        if (months == null || months.isEmpty()) {
+            throw new IllegalArgumentException("Months cannot be empty");
+        }
+        return new DiscountRule(Type.SEASONAL, rate, null, 0, Collections.unmodifiableSet(EnumSet.copyOf(months)));
+    }
+
+    /**
+     * 従来 DiscountService に直接記述されていた割引ルール
+     * @return 割引ルールのリスト
+     */
+    public static List<DiscountRule> defaults() {
+        return List.of(
+                // 5000円を超える注文は5%割引
+                volume(new BigDecimal("5000"), new BigDecimal("0.05")),
+                // 1年以上会員の場合は3%割引
+                loyalty(1, new BigDecimal("0.03")),
+                // 12月は年末セールで10%割引
+                seasonal(EnumSet.of(Month.DECEMBER), new BigDecimal("0.1")),
+                // 特定の月にセール実施
+                seasonal(EnumSet.of(Month.MARCH, Month.JULY), new BigDecimal("0.08"))
+        );
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    // 割引率を分数で表したときの分子
+    long rateNumerator() {
+        return rate.scale() > 0 ? rate.unscaledValue().longValueExact() : rate.longValueExact();
+    }
+
+    // 割引率を分数で表したときの分母
+    long rateDenominator() {
+        return rate.scale() > 0 ? BigInteger.TEN.pow(rate.scale()).longValueExact() : 1;
+    }
+
+    public BigDecimal getMinimumTotal() {
+        return minimumTotal;
+    }
+
+    public int getMembershipYears() {
+        return membershipYears;
+    }
+
+    public Set<Month> getMonths() {
+        return months;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscountRule{" + type + ", rate=" + rate + "}";
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.domain.service;
+
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 商品在庫の引当を行うポート
+ * 実装は在庫数をメモリ上で管理し、商品リポジトリへの反映を非同期に行ってもよい
+ */
+public interface InventoryReservations {
+    /**
+     * 複数の商品の在庫をまとめて引き当てる
+     * 1つでも在庫が足りない商品がある場合はどの商品も引き当てない
+     * @param quantities 商品ごとの引当数量
+     * @return 在庫が足りなかった商品のID（引き当てた場合は空）
+     */
+    List<ProductId> tryReserve(Map<ProductId, Quantity> quantities);
+
+    /**
+     * 引き当てた在庫を戻す
+     * @param quantities 商品ごとの戻す数量
+     */
+    void release(Map<ProductId, Quantity> quantities);
+}
@@ -0,0 +1,167 @@
+package com.example.domain.service;
+
+import com.example.domain.event.DomainEventPublisher;
+import com.example.domain.event.ProductOutOfStockEvent;
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.OrderItem;
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+import com.example.domain.repository.ProductRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 在庫を管理するドメインサービス
+ * 在庫引当のポートが指定された場合、注文確定時の在庫の減算と戻しはポートに委譲する
+ */
+public class InventoryService {
+    private final ProductRepository productRepository;
+    private final DomainEventPublisher eventPublisher;
+    // null の場合は商品リポジトリを直接読み書きする
+    private final InventoryReservations reservations;
+
+    public InventoryService(ProductRepository productRepository, DomainEventPublisher eventPublisher) {
+        this(productRepository, eventPublisher, null);
+    }
+
+    public InventoryService(ProductRepository productRepository, DomainEventPublisher eventPublisher,
+                            InventoryReservations reservations) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.reservations = reservations;
+    }
+
+    /**
+     * 在庫の減算と戻しを在庫引当のポートに委譲しているか
+     * 委譲している場合、減算は呼び出した時点で確定し、注文を保存するトランザクションがロールバックしても戻らない
+     * 呼び出し側は注文ごとに1回だけ減算し、注文を支払い済みにできなかった場合は戻すこと
+     * @return 委譲している場合は true
+     */
+    public boolean reservesImmediately() {
+        return reservations != null;
+    }
+
+    /**
+     * 注文に含まれる全ての商品が在庫十分かチェックする
+     * @param order 対象の注文
+     * @return 在庫が不足している商品のID
+     */
+    public List<ProductId> checkInventoryForOrder(Order order) {
+        return checkInventory(order, loadProducts(order));
+    }
+    
+    /**
+     * 注文確定時に在庫を減らす
+     * 商品は注文ごとに1回だけ一括取得し、在庫の確認と減算をメモリ上で行ってから一括保存する
+     * @param order 確定した注文
+     * @throws IllegalStateException 在庫が足りない場合
+     */
+    public void reduceInventoryForOrder(Order order) {
+        if (reservations != null) {
+            List<ProductId> outOfStockProducts = reservations.tryReserve(quantitiesOf(order));
+            if (!outOfStockProducts.isEmpty()) {
+                for (ProductId productId : outOfStockProducts) {
+                    eventPublisher.publish(new ProductOutOfStockEvent(productId, LocalDateTime.now()));
+                }
+                throw new IllegalStateException("Products out of stock: " + outOfStockProducts);
+            }
+            return;
+        }
+        
+        Map<ProductId, Product> products = loadProducts(order);
+        List<ProductId> outOfStockProducts = checkInventory(order, products);
+        
+        if (!outOfStockProducts.isEmpty()) {
+            throw new IllegalStateException("Products out of stock: " + outOfStockProducts);
+        }
+        
+        for (OrderItem item : order.getOrderItems()) {
+            products.get(item.getProductId()).reduceStock(item.getQuantity());
+        }
+        productRepository.saveAll(products.values());
+    }
+    
+    /**
+     * 注文キャンセル時に在庫を戻す
+     * @param order キャンセルされた注文
+     */
+    public void restoreInventoryForOrder(Order order) {
+        if (reservations != null) {
+            reservations.release(quantitiesOf(order));
+            return;
+        }
+        
+        Map<ProductId, Product> products = loadProducts(order);
+        
+        for (OrderItem item : order.getOrderItems()) {
+            Product product = products.get(item.getProductId());
+            if (product != null) {
+                product.addStock(item.getQuantity());
+            }
+        }
+        productRepository.saveAll(products.values());
+    }
+    
+    // 同じ商品の注文項目は数量を合算する
+    private Map<ProductId, Quantity> quantitiesOf(Order order) {
+        Map<ProductId, Quantity> quantities = new LinkedHashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Quantity::add);
+        }
+        return quantities;
+    }
+    
+    // 注文に含まれる商品を一括で取得する
+    private Map<ProductId, Product> loadProducts(Order order) {
+        Set<ProductId> productIds = new LinkedHashSet<>();
+        for (OrderItem item : order.getOrderItems()) {
+            productIds.add(item.getProductId());
+        }
+        
+        Map<ProductId, Product> products = new LinkedHashMap<>();
+        for (Product product : productRepository.findAllByIds(productIds)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+    
+    // 取得済みの商品に対して在庫を確認する
+    private List<ProductId> checkInventory(Order order, Map<ProductId, Product> products) {
+        List<ProductId> outOfStockProducts = new ArrayList<>();
+        
+        for (OrderItem item : order.getOrderItems()) {
+            ProductId productId = item.getProductId();
+            Product product = products.get(productId);
+            
+            if (product == null) {
+                outOfStockProducts.add(productId);
+                continue;
+            }
+            
+            if (!product.hasEnoughStock(item.getQuantity())) {
+                outOfStockProducts.add(productId);
+                // 在庫切れイベントを発行
+                eventPublisher.publish(new ProductOutOfStockEvent(productId, LocalDateTime.now()));
+            }
+        }
+        
+        return outOfStockProducts;
+    }
+    
+    /**
+     * 商品の在庫が閾値を下回っているかチェック
+     * @param product チェックする商品
+     * @param threshold 閾値
+     * @return 閾値を下回っていればtrue
+     */
+    public boolean isStockBelowThreshold(Product product, Quantity threshold) {
+        return product.getStockQuantity().isLessThan(threshold);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.domain.service;
+
+import com.example.domain.model.valueobject.OrderId;
+
+/**
+ * 決済サービスが支払いを拒否したことを表す例外
+ * 同じ内容で再試行しても結果は変わらない
+ */
+public class PaymentDeclinedException extends IllegalStateException {
+    private final OrderId orderId;
+
+    public PaymentDeclinedException(OrderId orderId, String reason) {
+        super("Payment declined for order " + orderId + ": " + reason);
+        this.orderId = orderId;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+}
\ No newline at end of file
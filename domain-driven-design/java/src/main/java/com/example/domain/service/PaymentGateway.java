@@ -0,0 +1,41 @@
+package com.example.domain.service;
+
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.PaymentAuthorization;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 外部の決済サービスによる支払いの承認を行うポート
+ * 呼び出し元のスレッドを待たせないよう、結果は CompletableFuture で返す
+ */
+public interface PaymentGateway {
+    /**
+     * 支払いを承認する
+     * 同じ冪等キーの要求は何回送られても1回だけ承認し、同じ承認を返すこと
+     * @param orderId 注文ID
+     * @param amount 支払額
+     * @param idempotencyKey 再送や並行して送った要求を同じ支払いとして扱うためのキー
+     * @return 承認。拒否された場合は PaymentDeclinedException、
+     *         決済サービスを利用できない場合は PaymentUnavailableException で完了する
+     */
+    CompletableFuture<PaymentAuthorization> authorize(OrderId orderId, Money amount, String idempotencyKey);
+
+    /**
+     * 承認を取り消す
+     * 承認した支払いを確定できなかった場合に呼び出す
+     * @param authorization 取り消す承認
+     * @return 取り消しの完了
+     */
+    CompletableFuture<Void> voidAuthorization(PaymentAuthorization authorization);
+
+    /**
+     * 冪等キーで行われた承認を取り消す
+     * 承認の要求がタイムアウトし、承認されたかどうか分からない場合に呼び出す
+     * 承認されていない場合は何もしない。取り消した後は同じ冪等キーで再び承認を要求できること
+     * @param idempotencyKey 承認の要求に使った冪等キー
+     * @return 取り消しの完了
+     */
+    CompletableFuture<Void> voidByIdempotencyKey(String idempotencyKey);
+}
\ No newline at end of file
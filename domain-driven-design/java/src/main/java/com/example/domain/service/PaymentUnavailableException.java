@@ -0,0 +1,26 @@
+package com.example.domain.service;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 決済サービスを利用できず、支払いの承認を得られなかったことを表す例外
+ * タイムアウトや障害による一時的な失敗のため、時間をおいて再試行すれば成功する可能性がある
+ */
+public class PaymentUnavailableException extends RuntimeException {
+    public PaymentUnavailableException(String message) {
+        super(message);
+    }
+
+    public PaymentUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * 応答を待ちきれずに失敗したか
+     * タイムアウトの場合、決済サービスは承認している可能性がある
+     * @return タイムアウトの場合は true
+     */
+    public boolean isTimeout() {
+        return getCause() instanceof TimeoutException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,260 @@
+package com.example.infrastructure.analytics;
+
+import com.example.application.query.SalesRollups;
+import com.example.application.query.SalesTotals;
+import com.example.domain.event.OrderCancelledEvent;
+import com.example.domain.event.OrderPaidEvent;
+import com.example.domain.model.valueobject.Money;
+import com.example.infrastructure.persistence.SalesRollupEntryEntity;
+import com.example.infrastructure.repository.JpaSalesRollupCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 支払いとキャンセルのイベントから売上を分・時・日の時間枠ごとに集計する読み取りモデル
+ * 集計は通貨ごとにメモリ上のリングバッファで保持し、一定間隔でデータベースに保存する
+ *
+ * 時間枠はイベントの発生日時（ローカル日時）で決まる。返金はキャンセルされた時間枠の売上から差し引く
+ *
+ * 集計に反映するイベントは、反映する前にデータベースに記録する（注文ごとの支払いと返金をキーとする）
+ * アウトボックスから再配信されたイベントは記録済みのため集計しない
+ * 集計を保存するときは、保存する集計に含まれるイベントの記録を同じトランザクションで保存済みとし、
+ * 起動時には保存済みでない記録を集計に反映し直す。そのため異常終了してもイベントは失われない
+ * 集計はインスタンスごとに行うため、複数のインスタンスで配信を分担する構成には対応しない
+ */
+@Component
+public class InMemorySalesRollups implements SalesRollups {
+    private static final Logger logger = LoggerFactory.getLogger(InMemorySalesRollups.class);
+
+    private final JpaSalesRollupCheckpointRepository checkpointRepository;
+    private final Map<ChronoUnit, Integer> bucketCounts = new EnumMap<>(ChronoUnit.class);
+    private final Clock clock;
+
+    private final Map<Currency, Map<ChronoUnit, SalesRollup>> rollups = new ConcurrentHashMap<>();
+    // 前回の保存の後に集計に反映したイベントのキー。空であれば保存しない
+    private volatile Set<String> pendingEntryKeys = ConcurrentHashMap.newKeySet();
+    // 反映は読み取りロック、保存する集計と pendingEntryKeys の取り出しは書き込みロックで行い、両者を一致させる
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public InMemorySalesRollups(JpaSalesRollupCheckpointRepository checkpointRepository,
+                                @Value("${ddd.analytics.minute-buckets:1440}") int minuteBuckets,
+                                @Value("${ddd.analytics.hour-buckets:720}") int hourBuckets,
+                                @Value("${ddd.analytics.day-buckets:366}") int dayBuckets) {
+        this(checkpointRepository, minuteBuckets, hourBuckets, dayBuckets, Clock.systemDefaultZone());
+    }
+
+    InMemorySalesRollups(JpaSalesRollupCheckpointRepository checkpointRepository,
+                         int minuteBuckets, int hourBuckets, int dayBuckets, Clock clock) {
+        if (minuteBuckets <= 0 || hourBuckets <= 0 || dayBuckets <= 0) {
+            throw new IllegalArgumentException("Invalid sales rollup configuration");
+        }
+        this.checkpointRepository = checkpointRepository;
+        this.bucketCounts.put(ChronoUnit.MINUTES, minuteBuckets);
+        this.bucketCounts.put(ChronoUnit.HOURS, hourBuckets);
+        this.bucketCounts.put(ChronoUnit.DAYS, dayBuckets);
+        this.clock = clock;
+        restore();
+    }
+
+    /**
+     * 支払いを集計する
+     * @param event 注文支払い完了イベント
+     */
+    @EventListener
+    public void onOrderPaid(OrderPaidEvent event) {
+        record("PAID:" + event.getOrderId(), event.getAmount(), event.getOccurredAt(), false);
+    }
+
+    /**
+     * 支払い済みの注文のキャンセルを返金として集計する
+     * @param event 注文キャンセルイベント
+     */
+    @EventListener
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        Money refundedAmount = event.getRefundedAmount();
+        if (refundedAmount != null) {
+            record("REFUNDED:" + event.getOrderId(), refundedAmount, event.getOccurredAt(), true);
+        }
+    }
+
+    @Override
+    public SalesTotals totals(Currency currency, ChronoUnit unit, int last) {
+        Integer buckets = bucketCounts.get(unit);
+        if (buckets == null) {
+            throw new IllegalArgumentException("Unsupported sales rollup unit: " + unit);
+        }
+        if (last <= 0 || last > buckets) {
+            throw new IllegalArgumentException("Bucket count must be between 1 and " + buckets);
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime to = now.truncatedTo(unit).plus(1, unit);
+        LocalDateTime from = to.minus(last, unit);
+
+        Map<ChronoUnit, SalesRollup> byUnit = rollups.get(currency);
+        long[] sums = byUnit != null ? byUnit.get(unit).sum(now.toEpochSecond(ZoneOffset.UTC), last) : new long[3];
+        return new SalesTotals(unit, last, from, to, Money.ofMinorUnits(sums[0], currency), sums[1], sums[2]);
+    }
+
+    /**
+     * 集計をデータベースに保存する
+     * 保存間隔は ddd.analytics.checkpoint-interval-ms で設定する
+     */
+    @Scheduled(fixedDelayString = "${ddd.analytics.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        Map<String, byte[]> checkpoints = new HashMap<>();
+        Set<String> applied;
+        checkpointLock.writeLock().lock();
+        try {
+            applied = pendingEntryKeys;
+            if (applied.isEmpty()) {
+                return;
+            }
+            rollups.forEach((currency, byUnit) -> byUnit.forEach((unit, rollup) ->
+                    checkpoints.put(checkpointName(currency, unit), encode(rollup.snapshot()))));
+            pendingEntryKeys = ConcurrentHashMap.newKeySet();
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+
+        try {
+            checkpointRepository.saveAll(checkpoints, applied, oldestRetained());
+        } catch (RuntimeException e) {
+            // 次回の保存で、その時点の集計と一緒に保存済みとする
+            pendingEntryKeys.addAll(applied);
+            logger.warn("Failed to save sales rollups, will retry on next run", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        checkpoint();
+    }
+
+    private void record(String entryKey, Money amount, LocalDateTime occurredAt, boolean refund) {
+        long revenue;
+        try {
+            revenue = amount.toMinorUnits();
+        } catch (ArithmeticException e) {
+            logger.warn("Sales amount {} is too large to aggregate, skipping", amount);
+            return;
+        }
+
+        SalesRollupEntryEntity entry = new SalesRollupEntryEntity();
+        entry.setEntryKey(entryKey);
+        entry.setCurrency(amount.getCurrency().getCurrencyCode());
+        entry.setAmount(revenue);
+        entry.setRefund(refund);
+        entry.setOccurredAt(occurredAt);
+        try {
+            if (!checkpointRepository.recordEntry(entry)) {
+                logger.debug("Sales entry {} is already aggregated, skipping", entryKey);
+                return;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 同じイベントが同時に配信され、もう一方が記録した
+            return;
+        }
+        apply(entry);
+    }
+
+    private void apply(SalesRollupEntryEntity entry) {
+        long epochSecond = entry.getOccurredAt().toEpochSecond(ZoneOffset.UTC);
+        checkpointLock.readLock().lock();
+        try {
+            for (SalesRollup rollup : rollupsOf(Currency.getInstance(entry.getCurrency())).values()) {
+                if (entry.isRefund()) {
+                    rollup.add(epochSecond, -entry.getAmount(), 0, 1);
+                } else {
+                    rollup.add(epochSecond, entry.getAmount(), 1, 0);
+                }
+            }
+            pendingEntryKeys.add(entry.getEntryKey());
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    // 最も長く保持する単位の範囲より前の日時
+    private LocalDateTime oldestRetained() {
+        LocalDateTime oldest = LocalDateTime.now(clock);
+        for (Map.Entry<ChronoUnit, Integer> entry : bucketCounts.entrySet()) {
+            LocalDateTime from = LocalDateTime.now(clock).minus(entry.getValue() + 1L, entry.getKey());
+            if (from.isBefore(oldest)) {
+                oldest = from;
+            }
+        }
+        return oldest;
+    }
+
+    private Map<ChronoUnit, SalesRollup> rollupsOf(Currency currency) {
+        return rollups.computeIfAbsent(currency, key -> {
+            Map<ChronoUnit, SalesRollup> byUnit = new EnumMap<>(ChronoUnit.class);
+            bucketCounts.forEach((unit, buckets) ->
+                    byUnit.put(unit, new SalesRollup(unit.getDuration().getSeconds(), buckets)));
+            return byUnit;
+        });
+    }
+
+    // 保存された集計を読み込み、保存済みでないイベントの記録を反映し直す
+    // 時間枠の数や形式が異なる集計がある場合は、集計を破棄して記録から作り直す
+    private void restore() {
+        boolean discarded = false;
+        for (Map.Entry<String, byte[]> checkpoint : checkpointRepository.loadAll().entrySet()) {
+            String name = checkpoint.getKey();
+            byte[] buckets = checkpoint.getValue();
+            int separator = name.indexOf(':');
+            Currency currency = Currency.getInstance(name.substring(0, separator));
+            ChronoUnit unit = ChronoUnit.valueOf(name.substring(separator + 1));
+            SalesRollup rollup = rollupsOf(currency).get(unit);
+            if (rollup == null || buckets.length != SalesRollup.snapshotLength(rollup.buckets()) * Long.BYTES) {
+                logger.warn("Discarding sales rollup checkpoint {} with a different bucket layout", name);
+                discarded = true;
+                break;
+            }
+            rollup.restore(decode(buckets));
+        }
+        if (discarded) {
+            rollups.clear();
+        }
+        checkpointRepository.loadEntries(!discarded).forEach(this::apply);
+    }
+
+    private static String checkpointName(Currency currency, ChronoUnit unit) {
+        return currency.getCurrencyCode() + ":" + unit.name();
+    }
+
+    private static byte[] encode(long[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Long.BYTES);
+        buffer.asLongBuffer().put(values);
+        return buffer.array();
+    }
+
+    private static long[] decode(byte[] bytes) {
+        long[] values = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(values);
+        return values;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,197 @@
+package com.example.infrastructure.analytics;
+
+/**
+ * 一定の長さの時間枠ごとの売上を集計するリングバッファ
+ *
+ * 1つの時間枠は7つの long（時間枠の番号、売上、支払い件数、返金件数と、それぞれの累計）で表し、
+ * 全ての時間枠を1つの配列に並べる。時間枠 b は (b mod 位置の数) 番目の位置に置かれる
+ * 累計はその時間枠までの全ての時間枠の合計で、期間の合計は両端の累計の差として求める
+ *
+ * 最初の加算以降は、最新の時間枠から遡った保持する範囲の時間枠が全て位置に置かれている
+ * （範囲の下端の外側の累計を求めるため、位置は保持する時間枠の数より1つ多い）
+ * 合計の読み込みは時間枠の数によらず一定で、加算は最新の時間枠であれば一定、
+ * 遅れて届いたイベントは最新の時間枠までの時間枠の数に比例する
+ *
+ * 加算と読み込みはこのインスタンスのロックを取って行う
+ */
+final class SalesRollup {
+    static final int STRIDE = 7;
+    private static final int BUCKET = 0;
+    private static final int REVENUE = 1;
+    private static final int PAID = 2;
+    private static final int REFUNDED = 3;
+    // 値の位置からその累計の位置までのずれ
+    private static final int CUMULATIVE = 3;
+    private static final int VALUES = 3;
+    // まだ使われていない位置の番号
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long bucketSeconds;
+    private final int buckets;
+    private final int positions;
+    private final long[] slots;
+    // 位置に置かれた最も新しい時間枠（最初の加算の前は EMPTY）
+    private long newest = EMPTY;
+
+    /**
+     * @param bucketSeconds 1つの時間枠の秒数
+     * @param buckets 保持する時間枠の数
+     */
+    SalesRollup(long bucketSeconds, int buckets) {
+        if (bucketSeconds <= 0 || buckets <= 0) {
+            throw new IllegalArgumentException("Invalid sales rollup configuration");
+        }
+        this.bucketSeconds = bucketSeconds;
+        this.buckets = buckets;
+        this.positions = buckets + 1;
+        this.slots = new long[positions * STRIDE];
+        for (int position = 0; position < positions; position++) {
+            slots[position * STRIDE + BUCKET] = EMPTY;
+        }
+    }
+
+    int buckets() {
+        return buckets;
+    }
+
+    /**
+     * 発生時刻の時間枠に加算する
+     * @param epochSecond 発生時刻
+     * @param revenue 売上の増減（100分の1単位）
+     * @param paid 支払い件数の増減
+     * @param refunded 返金件数の増減
+     * @return 加算した場合は true、保持する範囲より古い時刻の場合は false
+     */
+    synchronized boolean add(long epochSecond, long revenue, long paid, long refunded) {
+        long bucket = Math.floorDiv(epochSecond, bucketSeconds);
+        if (newest == EMPTY || bucket > newest) {
+            advanceTo(bucket);
+        } else if (bucket < newest - buckets) {
+            return false;
+        }
+
+        long[] delta = {revenue, paid, refunded};
+        int base = baseOf(bucket);
+        for (int i = 0; i < VALUES; i++) {
+            slots[base + REVENUE + i] += delta[i];
+        }
+        // 加算した時間枠から最新の時間枠までの累計を更新する
+        for (long later = bucket; later <= newest; later++) {
+            int laterBase = baseOf(later);
+            for (int i = 0; i < VALUES; i++) {
+                slots[laterBase + REVENUE + CUMULATIVE + i] += delta[i];
+            }
+        }
+        return true;
+    }
+
+    // 最新の時間枠を進め、間の時間枠を空の値と直前の累計で埋める
+    private void advanceTo(long bucket) {
+        long first;
+        long[] carried = new long[VALUES];
+        if (newest == EMPTY) {
+            first = bucket - buckets;
+        } else {
+            first = Math.max(newest + 1, bucket - buckets);
+            carried = cumulativeOf(newest);
+        }
+        for (long filled = first; filled <= bucket; filled++) {
+            int base = baseOf(filled);
+            slots[base + BUCKET] = filled;
+            for (int i = 0; i < VALUES; i++) {
+                slots[base + REVENUE + i] = 0;
+                slots[base + REVENUE + CUMULATIVE + i] = carried[i];
+            }
+        }
+        newest = bucket;
+    }
+
+    /**
+     * 現在時刻を含む時間枠から遡った指定数の時間枠を合計する
+     * 両端の累計の差を取るため、時間枠の数によらず一定の時間で求まる
+     * @param nowEpochSecond 現在時刻
+     * @param last 合計する時間枠の数（保持する時間枠の数以下）
+     * @return 売上、支払い件数、返金件数の合計
+     */
+    synchronized long[] sum(long nowEpochSecond, int last) {
+        if (last <= 0 || last > buckets) {
+            throw new IllegalArgumentException("Bucket count must be between 1 and " + buckets);
+        }
+        long[] totals = new long[VALUES];
+        if (newest == EMPTY) {
+            return totals;
+        }
+        long upper = Math.floorDiv(nowEpochSecond, bucketSeconds);
+        long[] to = cumulativeAt(upper);
+        long[] before = cumulativeAt(upper - last);
+        for (int i = 0; i < VALUES; i++) {
+            totals[i] = to[i] - before[i];
+        }
+        return totals;
+    }
+
+    // 指定した時間枠までの累計。保持する範囲より古い時間枠は、範囲の直前までの累計とする
+    private long[] cumulativeAt(long bucket) {
+        if (bucket >= newest) {
+            return cumulativeOf(newest);
+        }
+        long oldest = newest - buckets;
+        if (bucket >= oldest) {
+            return cumulativeOf(bucket);
+        }
+        long[] cumulative = cumulativeOf(oldest);
+        int base = baseOf(oldest);
+        for (int i = 0; i < VALUES; i++) {
+            cumulative[i] -= slots[base + REVENUE + i];
+        }
+        return cumulative;
+    }
+
+    private long[] cumulativeOf(long bucket) {
+        int base = baseOf(bucket);
+        long[] cumulative = new long[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            cumulative[i] = slots[base + REVENUE + CUMULATIVE + i];
+        }
+        return cumulative;
+    }
+
+    private int baseOf(long bucket) {
+        return (int) Math.floorMod(bucket, (long) positions) * STRIDE;
+    }
+
+    /**
+     * 保存用に全ての位置をコピーする
+     * @return 位置の配列
+     */
+    synchronized long[] snapshot() {
+        return slots.clone();
+    }
+
+    /**
+     * 保存された位置を復元する
+     * 起動直後、イベントを受け取る前に呼び出す
+     * @param snapshot snapshot() で取得した配列
+     */
+    synchronized void restore(long[] snapshot) {
+        if (snapshot.length != slots.length) {
+            throw new IllegalArgumentException("Sales rollup snapshot does not match bucket count");
+        }
+        System.arraycopy(snapshot, 0, slots, 0, slots.length);
+        newest = EMPTY;
+        for (int base = 0; base < slots.length; base += STRIDE) {
+            if (slots[base + BUCKET] != EMPTY && (newest == EMPTY || slots[base + BUCKET] > newest)) {
+                newest = slots[base + BUCKET];
+            }
+        }
+    }
+
+    /**
+     * 保存された位置の配列の長さ
+     * @param buckets 保持する時間枠の数
+     * @return long の数
+     */
+    static int snapshotLength(int buckets) {
+        return (buckets + 1) * STRIDE;
+    }
+}
\ No newline at end of file
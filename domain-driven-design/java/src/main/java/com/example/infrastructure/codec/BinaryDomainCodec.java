@@ -0,0 +1,496 @@
+package com.example.infrastructure.codec;
+
+import com.example.domain.event.OrderCancelledEvent;
+import com.example.domain.event.OrderCreatedEvent;
+import com.example.domain.event.OrderItemAddedEvent;
+import com.example.domain.event.OrderItemsAddedEvent;
+import com.example.domain.event.OrderPaidEvent;
+import com.example.domain.event.ProductOutOfStockEvent;
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.OrderItem;
+import com.example.domain.model.valueobject.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 注文集約とドメインイベントのバイナリ形式との相互変換
+ *
+ * メッセージ形式: [スキーマの版 varint][読み込みに必要な最小の版 varint][メッセージ種別 varint][フィールド]...
+ * 各フィールドは [フィールド番号 << 3 | ワイヤ型][値] で、値は varint（負の値は zigzag）、
+ * UUID は long×2、文字列と入れ子のメッセージは長さ付きで書き込む
+ * 通貨はよく使う通貨の辞書の番号で書き込み、辞書にない通貨だけ通貨コードを書き込む
+ *
+ * 互換性の規則:
+ * - 古い版で書いたメッセージを新しい版で読む場合、存在しないフィールドは既定値（null または 0）となる
+ * - 新しい版で書いたメッセージを古い版で読む場合、知らないフィールドはワイヤ型に従って読み飛ばす
+ * - フィールド番号、メッセージ種別、通貨の辞書、注文ステータスの番号は追加だけを行い、変更や再利用はしない
+ * - 古い版で読むと意味が変わるような変更を行う場合だけ、読み込みに必要な最小の版を上げる
+ */
+public class BinaryDomainCodec {
+    /** 書き込むスキーマの版 */
+    public static final int SCHEMA_VERSION = 1;
+    // この版で書いたメッセージを正しく読める最小の版
+    private static final int MIN_READER_VERSION = 1;
+
+    private static final int ORDER = 1;
+    private static final int ORDER_CREATED = 16;
+    private static final int ORDER_ITEM_ADDED = 17;
+    private static final int ORDER_PAID = 18;
+    private static final int ORDER_CANCELLED = 19;
+    private static final int PRODUCT_OUT_OF_STOCK = 20;
+    private static final int ORDER_ITEMS_ADDED = 21;
+
+    // 通貨の辞書（番号は 1 から。追加だけを行う）
+    private static final Currency[] CURRENCIES = {
+            Currency.getInstance("JPY"), Currency.getInstance("USD"), Currency.getInstance("EUR"),
+            Currency.getInstance("GBP"), Currency.getInstance("CNY"), Currency.getInstance("KRW")
+    };
+    private static final Map<Currency, Integer> CURRENCY_NUMBERS = new HashMap<>();
+    // 注文ステータスの番号（列挙型の宣言順とは独立させ、追加だけを行う）
+    private static final OrderStatus[] STATUSES = {
+            OrderStatus.CREATED, OrderStatus.PENDING_PAYMENT, OrderStatus.PAID, OrderStatus.PROCESSING,
+            OrderStatus.SHIPPED, OrderStatus.DELIVERED, OrderStatus.CANCELLED, OrderStatus.RETURNED
+    };
+    private static final Map<OrderStatus, Integer> STATUS_NUMBERS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < CURRENCIES.length; i++) {
+            CURRENCY_NUMBERS.put(CURRENCIES[i], i + 1);
+        }
+        for (int i = 0; i < STATUSES.length; i++) {
+            STATUS_NUMBERS.put(STATUSES[i], i);
+        }
+    }
+
+    /**
+     * 注文をバイナリ形式に変換する
+     * @param order 注文
+     * @return バイト列
+     */
+    public byte[] encodeOrder(Order order) {
+        BinaryWriter writer = header(ORDER, 128 + order.getOrderItems().size() * 64);
+        writer.writeUuidField(1, order.getId().getValue());
+        writer.writeUuidField(2, order.getCustomerId().getValue());
+        writer.writeVarintField(3, STATUS_NUMBERS.get(order.getStatus()));
+        writeMoney(writer, 4, order.getTotalAmount());
+        writeAddress(writer, 5, order.getShippingAddress());
+        writeAddress(writer, 6, order.getBillingAddress());
+        for (OrderItem item : order.getOrderItems()) {
+            int start = writer.beginMessage(7);
+            writer.writeUuidField(1, item.getId());
+            writer.writeUuidField(2, item.getProductId().getValue());
+            writer.writeStringField(3, item.getProductName());
+            writeMoney(writer, 4, item.getUnitPrice());
+            writer.writeVarintField(5, item.getQuantity().getValue());
+            writer.endMessage(start);
+        }
+        writeDateTime(writer, 8, order.getCreatedAt());
+        writeDateTime(writer, 9, order.getLastModifiedAt());
+        writeDateTime(writer, 10, order.getPaidAt());
+        writeDateTime(writer, 11, order.getShippedAt());
+        writeDateTime(writer, 12, order.getCancelledAt());
+        writer.writeVarintField(13, order.version());
+        return writer.toByteArray();
+    }
+
+    /**
+     * バッファの現在位置から終端までを注文として復元する
+     * バッファの内容はコピーせずに読み込み、読み終えた位置まで進める
+     * @param buffer バッファ
+     * @return 注文
+     */
+    public Order decodeOrder(ByteBuffer buffer) {
+        BinaryReader reader = new BinaryReader(buffer);
+        expectType(reader, ORDER);
+
+        UUID id = null;
+        UUID customerId = null;
+        OrderStatus status = null;
+        Money totalAmount = null;
+        Address shippingAddress = null;
+        Address billingAddress = null;
+        List<OrderItem> items = new ArrayList<>();
+        LocalDateTime createdAt = null;
+        LocalDateTime lastModifiedAt = null;
+        LocalDateTime paidAt = null;
+        LocalDateTime shippedAt = null;
+        LocalDateTime cancelledAt = null;
+        long version = 0;
+
+        while (reader.position() < reader.limit()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> id = reader.readUuid();
+                case 2 -> customerId = reader.readUuid();
+                case 3 -> status = readStatus(reader);
+                case 4 -> totalAmount = readMoney(reader);
+                case 5 -> shippingAddress = readAddress(reader);
+                case 6 -> billingAddress = readAddress(reader);
+                case 7 -> items.add(readOrderItem(reader));
+                case 8 -> createdAt = readDateTime(reader);
+                case 9 -> lastModifiedAt = readDateTime(reader);
+                case 10 -> paidAt = readDateTime(reader);
+                case 11 -> shippedAt = readDateTime(reader);
+                case 12 -> cancelledAt = readDateTime(reader);
+                case 13 -> version = reader.readVarint();
+                default -> reader.skip(tag & 7);
+            }
+        }
+        return Order.reconstitute(OrderId.of(required(id, "id")), CustomerId.of(required(customerId, "customerId")),
+                required(shippingAddress, "shippingAddress"), required(billingAddress, "billingAddress"),
+                required(status, "status"), items,
+                required(totalAmount, "totalAmount"), createdAt, lastModifiedAt, paidAt, shippedAt,
+                cancelledAt, version);
+    }
+
+    /**
+     * ドメインイベントをバイナリ形式に変換する
+     * @param event ドメインイベント
+     * @return バイト列
+     */
+    public byte[] encodeEvent(Object event) {
+        BinaryWriter writer;
+        if (event instanceof OrderCreatedEvent e) {
+            writer = header(ORDER_CREATED, 48);
+            writer.writeUuidField(1, e.getOrderId().getValue());
+            writer.writeUuidField(2, e.getCustomerId().getValue());
+            writeDateTime(writer, 3, e.getOccurredAt());
+        } else if (event instanceof OrderItemAddedEvent e) {
+            writer = header(ORDER_ITEM_ADDED, 56);
+            writer.writeUuidField(1, e.getOrderId().getValue());
+            writer.writeUuidField(2, e.getProductId().getValue());
+            writer.writeVarintField(3, e.getQuantity().getValue());
+            writeDateTime(writer, 4, e.getOccurredAt());
+        } else if (event instanceof OrderItemsAddedEvent e) {
+            writer = header(ORDER_ITEMS_ADDED, 32 + e.getQuantities().size() * 24);
+            writer.writeUuidField(1, e.getOrderId().getValue());
+            for (Map.Entry<ProductId, Quantity> item : e.getQuantities().entrySet()) {
+                int start = writer.beginMessage(2);
+                writer.writeUuidField(1, item.getKey().getValue());
+                writer.writeVarintField(2, item.getValue().getValue());
+                writer.endMessage(start);
+            }
+            writeDateTime(writer, 3, e.getOccurredAt());
+        } else if (event instanceof OrderPaidEvent e) {
+            writer = header(ORDER_PAID, 40);
+            writer.writeUuidField(1, e.getOrderId().getValue());
+            writeMoney(writer, 2, e.getAmount());
+            writeDateTime(writer, 3, e.getOccurredAt());
+        } else if (event instanceof OrderCancelledEvent e) {
+            writer = header(ORDER_CANCELLED, 40);
+            writer.writeUuidField(1, e.getOrderId().getValue());
+            if (e.getRefundedAmount() != null) {
+                writeMoney(writer, 2, e.getRefundedAmount());
+            }
+            writeDateTime(writer, 3, e.getOccurredAt());
+        } else if (event instanceof ProductOutOfStockEvent e) {
+            writer = header(PRODUCT_OUT_OF_STOCK, 32);
+            writer.writeUuidField(1, e.getProductId().getValue());
+            writeDateTime(writer, 2, e.getOccurredAt());
+        } else {
+            throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * バッファの現在位置から終端までをドメインイベントとして復元する
+     * @param buffer バッファ
+     * @return ドメインイベント
+     */
+    public Object decodeEvent(ByteBuffer buffer) {
+        BinaryReader reader = new BinaryReader(buffer);
+        int type = readHeader(reader);
+        return switch (type) {
+            case ORDER_CREATED -> readOrderCreated(reader);
+            case ORDER_ITEM_ADDED -> readOrderItemAdded(reader);
+            case ORDER_ITEMS_ADDED -> readOrderItemsAdded(reader);
+            case ORDER_PAID -> readOrderPaid(reader);
+            case ORDER_CANCELLED -> readOrderCancelled(reader);
+            case PRODUCT_OUT_OF_STOCK -> readProductOutOfStock(reader);
+            default -> throw new IllegalArgumentException("Unsupported message type: " + type);
+        };
+    }
+
+    private static OrderCreatedEvent readOrderCreated(BinaryReader reader) {
+        UUID orderId = null;
+        UUID customerId = null;
+        LocalDateTime occurredAt = null;
+        while (reader.position() < reader.limit()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> orderId = reader.readUuid();
+                case 2 -> customerId = reader.readUuid();
+                case 3 -> occurredAt = readDateTime(reader);
+                default -> reader.skip(tag & 7);
+            }
+        }
+        return new OrderCreatedEvent(OrderId.of(required(orderId, "orderId")),
+                CustomerId.of(required(customerId, "customerId")), required(occurredAt, "occurredAt"));
+    }
+
+    private static OrderItemAddedEvent readOrderItemAdded(BinaryReader reader) {
+        UUID orderId = null;
+        UUID productId = null;
+        int quantity = 0;
+        LocalDateTime occurredAt = null;
+        while (reader.position() < reader.limit()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> orderId = reader.readUuid();
+                case 2 -> productId = reader.readUuid();
+                case 3 -> quantity = reader.readInt();
+                case 4 -> occurredAt = readDateTime(reader);
+                default -> reader.skip(tag & 7);
+            }
+        }
+        return new OrderItemAddedEvent(OrderId.of(required(orderId, "orderId")),
+                ProductId.of(required(productId, "productId")), Quantity.of(quantity),
+                required(occurredAt, "occurredAt"));
+    }
+
+    private static OrderItemsAddedEvent readOrderItemsAdded(BinaryReader reader) {
+        UUID orderId = null;
+        Map<ProductId, Quantity> quantities = new LinkedHashMap<>();
+        LocalDateTime occurredAt = null;
+        while (reader.position() < reader.limit()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> orderId = reader.readUuid();
+                case 2 -> {
+                    int end = reader.readMessageEnd();
+                    UUID productId = null;
+                    int quantity = 0;
+                    while (reader.position() < end) {
+                        int itemTag = reader.readTag();
+                        switch (itemTag >>> 3) {
+                            case 1 -> productId = reader.readUuid();
+                            case 2 -> quantity = reader.readInt();
+                            default -> reader.skip(itemTag & 7);
+                        }
+                    }
+                    quantities.merge(ProductId.of(required(productId, "item.productId")), Quantity.of(quantity),
+                            Quantity::add);
+                }
+                case 3 -> occurredAt = readDateTime(reader);
+                default -> reader.skip(tag & 7);
+            }
+        }
+        return new OrderItemsAddedEvent(OrderId.of(required(orderId, "orderId")), quantities,
+                required(occurredAt, "occurredAt"));
+    }
+
+    private static OrderPaidEvent readOrderPaid(BinaryReader reader) {
+        UUID orderId = null;
+        Money amount = null;
+        LocalDateTime occurredAt = null;
+        while (reader.position() < reader.limit()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> orderId = reader.readUuid();
+                case 2 -> amount = readMoney(reader);
+                case 3 -> occurredAt = readDateTime(reader);
+                default -> reader.skip(tag & 7);
+            }
+        }
+        return new OrderPaidEvent(OrderId.of(required(orderId, "orderId")), required(amount, "amount"),
+                required(occurredAt, "occurredAt"));
+    }
+
+    private static OrderCancelledEvent readOrderCancelled(BinaryReader reader) {
+        UUID orderId = null;
+        Money refundedAmount = null;
+        LocalDateTime occurredAt = null;
+        while (reader.position() < reader.limit()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> orderId = reader.readUuid();
+                case 2 -> refundedAmount = readMoney(reader);
+                case 3 -> occurredAt = readDateTime(reader);
+                default -> reader.skip(tag & 7);
+            }
+        }
+        return new OrderCancelledEvent(OrderId.of(required(orderId, "orderId")), refundedAmount,
+                required(occurredAt, "occurredAt"));
+    }
+
+    private static ProductOutOfStockEvent readProductOutOfStock(BinaryReader reader) {
+        UUID productId = null;
+        LocalDateTime occurredAt = null;
+        while (reader.position() < reader.limit()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> productId = reader.readUuid();
+                case 2 -> occurredAt = readDateTime(reader);
+                default -> reader.skip(tag & 7);
+            }
+        }
+        return new ProductOutOfStockEvent(ProductId.of(required(productId, "productId")),
+                required(occurredAt, "occurredAt"));
+    }
+
+    private static BinaryWriter header(int type, int initialCapacity) {
+        BinaryWriter writer = new BinaryWriter(initialCapacity);
+        writer.writeVarint(SCHEMA_VERSION);
+        writer.writeVarint(MIN_READER_VERSION);
+        writer.writeVarint(type);
+        return writer;
+    }
+
+    private static int readHeader(BinaryReader reader) {
+        reader.readVarint();
+        long minReaderVersion = reader.readVarint();
+        if (minReaderVersion > SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Message requires schema version " + minReaderVersion
+                    + " but this reader supports " + SCHEMA_VERSION);
+        }
+        return reader.readInt();
+    }
+
+    private static void expectType(BinaryReader reader, int expected) {
+        int type = readHeader(reader);
+        if (type != expected) {
+            throw new IllegalArgumentException("Unexpected message type: " + type);
+        }
+    }
+
+    private static void writeMoney(BinaryWriter writer, int field, Money money) {
+        int start = writer.beginMessage(field);
+        Integer currencyNumber = CURRENCY_NUMBERS.get(money.getCurrency());
+        if (currencyNumber != null) {
+            writer.writeVarintField(1, currencyNumber);
+        } else {
+            writer.writeStringField(2, money.getCurrency().getCurrencyCode());
+        }
+        try {
+            writer.writeSignedField(3, money.toMinorUnits());
+        } catch (ArithmeticException e) {
+            // 100分の1単位で long に収まらない金額だけ、2の補数のバイト列で書き込む
+            writer.writeBytesField(4, money.getAmount().unscaledValue().toByteArray());
+        }
+        writer.endMessage(start);
+    }
+
+    private static Money readMoney(BinaryReader reader) {
+        int end = reader.readMessageEnd();
+        Currency currency = null;
+        long minorUnits = 0;
+        BigInteger largeUnits = null;
+        while (reader.position() < end) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> {
+                    int number = reader.readInt();
+                    if (number < 1 || number > CURRENCIES.length) {
+                        throw new IllegalArgumentException("Unknown currency number: " + number);
+                    }
+                    currency = CURRENCIES[number - 1];
+                }
+                case 2 -> currency = Currency.getInstance(reader.readString());
+                case 3 -> minorUnits = reader.readSigned();
+                case 4 -> largeUnits = new BigInteger(reader.readBytes());
+                default -> reader.skip(tag & 7);
+            }
+        }
+        currency = required(currency, "currency");
+        return largeUnits != null
+                ? Money.of(new BigDecimal(largeUnits, 2), currency)
+                : Money.ofMinorUnits(minorUnits, currency);
+    }
+
+    private static void writeAddress(BinaryWriter writer, int field, Address address) {
+        int start = writer.beginMessage(field);
+        writer.writeStringField(1, address.getStreetAddress());
+        writer.writeStringField(2, address.getCity());
+        writer.writeStringField(3, address.getState());
+        writer.writeStringField(4, address.getZipCode());
+        writer.writeStringField(5, address.getCountry());
+        writer.endMessage(start);
+    }
+
+    private static Address readAddress(BinaryReader reader) {
+        int end = reader.readMessageEnd();
+        String[] values = new String[5];
+        while (reader.position() < end) {
+            int tag = reader.readTag();
+            int field = tag >>> 3;
+            if (field >= 1 && field <= 5) {
+                values[field - 1] = reader.readString();
+            } else {
+                reader.skip(tag & 7);
+            }
+        }
+        return Address.of(values[0], values[1], values[2], values[3], values[4]);
+    }
+
+    private static OrderItem readOrderItem(BinaryReader reader) {
+        int end = reader.readMessageEnd();
+        UUID id = null;
+        UUID productId = null;
+        String productName = null;
+        Money unitPrice = null;
+        int quantity = 0;
+        while (reader.position() < end) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> id = reader.readUuid();
+                case 2 -> productId = reader.readUuid();
+                case 3 -> productName = reader.readString();
+                case 4 -> unitPrice = readMoney(reader);
+                case 5 -> quantity = reader.readInt();
+                default -> reader.skip(tag & 7);
+            }
+        }
+        return OrderItem.reconstitute(required(id, "item.id"), ProductId.of(required(productId, "item.productId")),
+                productName, required(unitPrice, "item.unitPrice"), Quantity.of(quantity));
+    }
+
+    private static OrderStatus readStatus(BinaryReader reader) {
+        int number = reader.readInt();
+        if (number >= STATUSES.length) {
+            throw new IllegalArgumentException("Unknown order status number: " + number);
+        }
+        return STATUSES[number];
+    }
+
+    // 日時は UTC とみなしたエポック秒（zigzag）とナノ秒の組を長さ付きで書き込む
+    private static void writeDateTime(BinaryWriter writer, int field, LocalDateTime value) {
+        if (value == null) {
+            return;
+        }
+        int start = writer.beginMessage(field);
+        long seconds = value.toEpochSecond(ZoneOffset.UTC);
+        writer.writeVarint((seconds << 1) ^ (seconds >> 63));
+        writer.writeVarint(value.getNano());
+        writer.endMessage(start);
+    }
+
+    private static LocalDateTime readDateTime(BinaryReader reader) {
+        int end = reader.readMessageEnd();
+        long seconds = reader.readSigned();
+        int nanos = reader.readInt();
+        // 後の版で追加された要素は読み飛ばす
+        while (reader.position() < end) {
+            reader.readVarint();
+        }
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static <T> T required(T value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required field: " + field);
+        }
+        return value;
+    }
+}
\ No newline at end of file
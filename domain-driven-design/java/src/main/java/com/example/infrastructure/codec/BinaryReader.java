@@ -0,0 +1,123 @@
+package com.example.infrastructure.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * ByteBuffer からタグ付きフィールドを直接読み込むリーダー
+ * バッファの内容はコピーせず、入れ子のメッセージは終端位置だけを管理して読み進める
+ */
+final class BinaryReader {
+    private final ByteBuffer buffer;
+
+    BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    int limit() {
+        return buffer.limit();
+    }
+
+    long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    int readTag() {
+        long tag = readVarint();
+        if (tag > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Malformed field tag");
+        }
+        return (int) tag;
+    }
+
+    long readSigned() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    int readInt() {
+        long value = readVarint();
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Value out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    UUID readUuid() {
+        return new UUID(readLong(), readLong());
+    }
+
+    String readString() {
+        int length = readLength();
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    byte[] readBytes() {
+        byte[] bytes = new byte[readLength()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    // 書き込みは常にビッグエンディアンのため、バッファのバイト順に関わらず同じ値を読む
+    private long readLong() {
+        long value = buffer.getLong();
+        return buffer.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
+    /**
+     * 入れ子のメッセージの長さを読み込み、終端位置を返す
+     * @return メッセージの終端位置
+     */
+    int readMessageEnd() {
+        return readLength() + buffer.position();
+    }
+
+    /**
+     * 知らないフィールドを読み飛ばす（新しい版で追加されたフィールドを古い版で読む場合）
+     * @param wireType ワイヤ型
+     */
+    void skip(int wireType) {
+        switch (wireType) {
+            case BinaryWriter.VARINT -> readVarint();
+            case BinaryWriter.FIXED64 -> buffer.position(buffer.position() + Long.BYTES);
+            case BinaryWriter.LENGTH_DELIMITED -> {
+                int length = readLength();
+                buffer.position(buffer.position() + length);
+            }
+            case BinaryWriter.UUID_PAIR -> buffer.position(buffer.position() + Long.BYTES * 2);
+            default -> throw new IllegalArgumentException("Unknown wire type: " + wireType);
+        }
+    }
+
+    private int readLength() {
+        long length = readVarint();
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Field length exceeds buffer: " + length);
+        }
+        return (int) length;
+    }
+}
\ No newline at end of file
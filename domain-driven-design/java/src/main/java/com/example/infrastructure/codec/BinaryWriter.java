@@ -0,0 +1,116 @@
+package com.example.infrastructure.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * タグ付きフィールドをバイト配列に書き込むライター
+ * 各フィールドは [フィールド番号 << 3 | ワイヤ型 の varint][値] の形で書き込む
+ */
+final class BinaryWriter {
+    static final int VARINT = 0;
+    static final int FIXED64 = 1;
+    static final int LENGTH_DELIMITED = 2;
+    static final int UUID_PAIR = 3;
+
+    private byte[] bytes;
+    private int position;
+
+    BinaryWriter(int initialCapacity) {
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, position);
+    }
+
+    void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+    }
+
+    void writeTag(int field, int wireType) {
+        writeVarint(((long) field << 3) | wireType);
+    }
+
+    void writeVarintField(int field, long value) {
+        writeTag(field, VARINT);
+        writeVarint(value);
+    }
+
+    // 負の値も短く書けるよう zigzag 変換してから書き込む
+    void writeSignedField(int field, long value) {
+        writeVarintField(field, (value << 1) ^ (value >> 63));
+    }
+
+    void writeUuidField(int field, UUID value) {
+        writeTag(field, UUID_PAIR);
+        ensureCapacity(16);
+        putLong(value.getMostSignificantBits());
+        putLong(value.getLeastSignificantBits());
+    }
+
+    void writeStringField(int field, String value) {
+        writeBytesField(field, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeBytesField(int field, byte[] value) {
+        writeTag(field, LENGTH_DELIMITED);
+        writeVarint(value.length);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, bytes, position, value.length);
+        position += value.length;
+    }
+
+    /**
+     * 入れ子のメッセージを開始する
+     * 長さは endMessage で確定するため、1バイトだけ仮に確保する
+     * @param field フィールド番号
+     * @return endMessage に渡す開始位置
+     */
+    int beginMessage(int field) {
+        writeTag(field, LENGTH_DELIMITED);
+        ensureCapacity(1);
+        return position++;
+    }
+
+    void endMessage(int start) {
+        int length = position - start - 1;
+        int lengthSize = varintSize(length);
+        if (lengthSize > 1) {
+            // 長さが1バイトに収まらない場合だけ本体を後ろにずらす
+            ensureCapacity(lengthSize - 1);
+            System.arraycopy(bytes, start + 1, bytes, start + lengthSize, length);
+        }
+        int end = start + lengthSize + length;
+        position = start;
+        writeVarint(length);
+        position = end;
+    }
+
+    private void putLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + additional));
+        }
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.example.infrastructure.config;
+
+import com.example.application.query.OrderSummaryRepository;
+import com.example.application.query.ProductSearchIndex;
+import com.example.application.service.DomainEventScope;
+import com.example.application.service.OrderImportService;
+import com.example.application.service.OrderQueryService;
+import com.example.application.service.OrderRetryPolicy;
+import com.example.application.service.OrderService;
+import com.example.application.service.ProductService;
+import com.example.domain.event.DomainEventPublisher;
+import com.example.domain.repository.CustomerRepository;
+import com.example.domain.repository.OrderRepository;
+import com.example.domain.repository.ProductRepository;
+import com.example.domain.service.DiscountService;
+import com.example.domain.service.InventoryReservations;
+import com.example.domain.service.InventoryService;
+import com.example.domain.service.PaymentGateway;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * アプリケーションサービスとドメインサービスの組み立て
+ * サービスはフレームワークに依存しないため、ここでリポジトリなどの実装を渡して生成する
+ * 顧客リポジトリはキャッシュが有効な場合はキャッシュ付きのもの（@Primary）が渡される
+ * 在庫引当のエンジンが有効な場合は、InventoryService の在庫の減算と戻しをエンジンに委譲する
+ *
+ * InventoryService には DomainEventPublisher の代わりに DomainEventScope を渡し、
+ * OrderService の1回の呼び出しで発行されたイベントをまとめて配信する
+ * スコープで集めた数とまとめた後に配信した数は ddd.events.scope.collected と ddd.events.scope.delivered で出力する
+ */
+@Configuration
+public class ApplicationServiceConfig {
+
+    // スコープ自身も DomainEventPublisher のため、他のコンポーネントに注入されないよう候補から外す
+    @Bean(autowireCandidate = false)
+    public DomainEventScope domainEventScope(DomainEventPublisher domainEventPublisher, MeterRegistry meterRegistry) {
+        DomainEventScope scope = new DomainEventScope(domainEventPublisher);
+        FunctionCounter.builder("ddd.events.scope.collected", scope, DomainEventScope::getCollectedCount)
+                .description("Number of domain events published by domain services within a scope")
+                .register(meterRegistry);
+        FunctionCounter.builder("ddd.events.scope.delivered", scope, DomainEventScope::getDeliveredCount)
+                .description("Number of domain events delivered after coalescing")
+                .register(meterRegistry);
+        return scope;
+    }
+
+    @Bean
+    public InventoryService inventoryService(ProductRepository productRepository,
+                                             DomainEventPublisher domainEventPublisher,
+                                             MeterRegistry meterRegistry,
+                                             ObjectProvider<InventoryReservations> inventoryReservations) {
+        return new InventoryService(productRepository, domainEventScope(domainEventPublisher, meterRegistry),
+                inventoryReservations.getIfAvailable());
+    }
+
+    @Bean
+    public OrderService orderService(OrderRepository orderRepository,
+                                     CustomerRepository customerRepository,
+                                     ProductRepository productRepository,
+                                     InventoryService inventoryService,
+                                     DiscountService discountService,
+                                     PaymentGateway paymentGateway,
+                                     OrderRetryPolicy orderRetryPolicy,
+                                     DomainEventPublisher domainEventPublisher,
+                                     MeterRegistry meterRegistry) {
+        return new OrderService(orderRepository, customerRepository, productRepository, inventoryService,
+                discountService, paymentGateway, orderRetryPolicy,
+                domainEventScope(domainEventPublisher, meterRegistry));
+    }
+
+    @Bean
+    public OrderQueryService orderQueryService(OrderSummaryRepository orderSummaryRepository) {
+        return new OrderQueryService(orderSummaryRepository);
+    }
+
+    @Bean
+    public OrderImportService orderImportService(OrderRepository orderRepository,
+                                                 CustomerRepository customerRepository,
+                                                 ProductRepository productRepository) {
+        return new OrderImportService(orderRepository, customerRepository, productRepository);
+    }
+
+    @Bean
+    public ProductService productService(ProductRepository productRepository,
+                                         ObjectProvider<ProductSearchIndex> productSearchIndex) {
+        return new ProductService(productRepository, productSearchIndex.getIfAvailable());
+    }
+}
\ No newline at end of file
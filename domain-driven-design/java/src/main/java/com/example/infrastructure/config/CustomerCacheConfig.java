@@ -0,0 +1,40 @@
+package com.example.infrastructure.config;
+
+import com.example.domain.repository.CustomerRepository;
+import com.example.infrastructure.repository.CachingCustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * 顧客のニアキャッシュの設定
+ * JPA の顧客リポジトリをキャッシュで包み、アプリケーションサービスにはキャッシュ付きのリポジトリを注入する
+ * ddd.customers.cache.enabled=false で無効になる
+ *
+ * ヒット率は cache.gets（result=hit/miss）、読み込みの所要時間は cache.load.duration として出力される
+ */
+@Configuration
+@ConditionalOnProperty(name = "ddd.customers.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerCacheConfig {
+
+    @Bean
+    @Primary
+    public CachingCustomerRepository cachingCustomerRepository(
+            @Qualifier("jpaCustomerRepository") CustomerRepository delegate,
+            MeterRegistry meterRegistry,
+            @Value("${ddd.customers.cache.maximum-size:100000}") long maximumSize,
+            @Value("${ddd.customers.cache.time-to-live:10m}") Duration timeToLive,
+            @Value("${ddd.customers.cache.refresh-after:5m}") Duration refreshAfter) {
+        CachingCustomerRepository repository =
+                new CachingCustomerRepository(delegate, maximumSize, timeToLive, refreshAfter);
+        CaffeineCacheMetrics.monitor(meterRegistry, repository.getCache(), "customers");
+        return repository;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.infrastructure.config;
+
+import com.example.domain.service.DiscountRule;
+import com.example.domain.service.DiscountService;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * 割引ルールの設定
+ * ddd.discount.rules が空の場合は従来の割引ルールを使用する
+ *
+ * 例:
+ * ddd.discount.rules[0].type=VOLUME
+ * ddd.discount.rules[0].minimum-total=5000
+ * ddd.discount.rules[0].rate=0.05
+ * ddd.discount.rules[1].type=SEASONAL
+ * ddd.discount.rules[1].months=DECEMBER
+ * ddd.discount.rules[1].rate=0.1
+ */
+@Configuration
+@EnableConfigurationProperties(DiscountConfig.DiscountProperties.class)
+public class DiscountConfig {
+
+    @Bean
+    public DiscountService discountService(DiscountProperties properties) {
+        List<DiscountRule> rules = properties.getRules().isEmpty()
+                ? DiscountRule.defaults()
+                : properties.getRules().stream().map(RuleProperties::toRule).toList();
+        return new DiscountService(rules, Clock.systemDefaultZone(), properties.getParallelThreshold());
+    }
+
+    @Data
+    @ConfigurationProperties(prefix = "ddd.discount")
+    public static class DiscountProperties {
+        // この件数以上の一括評価を並列に実行する
+        private int parallelThreshold = 10_000;
+        private List<RuleProperties> rules = new ArrayList<>();
+    }
+
+    @Data
+    public static class RuleProperties {
+        private DiscountRule.Type type;
+        private BigDecimal rate;
+        // VOLUME: この金額を超える注文が対象
+        private BigDecimal minimumTotal;
+        // LOYALTY: 会員年数
+        private int membershipYears;
+        // SEASONAL: 対象の月
+        private List<Month> months = new ArrayList<>();
+
+        DiscountRule toRule() {
+            if (type == null) {
+                throw new IllegalArgumentException("Discount rule type is required");
+            }
+            return switch (type) {
+                case VOLUME -> DiscountRule.volume(minimumTotal, rate);
+                case LOYALTY -> DiscountRule.loyalty(membershipYears, rate);
+                case SEASONAL -> DiscountRule.seasonal(months.isEmpty() ? null : EnumSet.copyOf(months), rate);
+            };
+        }
+    }
+}
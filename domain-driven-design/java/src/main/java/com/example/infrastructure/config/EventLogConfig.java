@@ -0,0 +1,35 @@
+package com.example.infrastructure.config;
+
+import com.example.infrastructure.event.DomainEventSerializer;
+import com.example.infrastructure.event.EventLogRecorder;
+import com.example.infrastructure.event.MappedEventLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * ローカルディスクのイベントログの設定
+ * ddd.event-log.enabled=true で有効になる
+ */
+@Configuration
+@ConditionalOnProperty(name = "ddd.event-log.enabled", havingValue = "true")
+public class EventLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public MappedEventLog mappedEventLog(
+            DomainEventSerializer serializer,
+            @Value("${ddd.event-log.directory:data/event-log}") String directory,
+            @Value("${ddd.event-log.segment-size:67108864}") int segmentSize,
+            @Value("${ddd.event-log.flush-every-records:1000}") int flushEveryRecords,
+            @Value("${ddd.event-log.flush-interval-ms:10}") long flushIntervalMillis) {
+        return new MappedEventLog(Path.of(directory), segmentSize, flushEveryRecords, flushIntervalMillis, serializer);
+    }
+
+    @Bean
+    public EventLogRecorder eventLogRecorder(MappedEventLog mappedEventLog) {
+        return new EventLogRecorder(mappedEventLog);
+    }
+}
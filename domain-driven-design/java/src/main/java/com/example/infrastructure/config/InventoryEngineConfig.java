@@ -0,0 +1,59 @@
+package com.example.infrastructure.config;
+
+import com.example.domain.repository.ProductRepository;
+import com.example.infrastructure.inventory.InventoryJournal;
+import com.example.infrastructure.inventory.StripedInventoryEngine;
+import com.example.infrastructure.repository.JpaInventoryCheckpointRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * メモリ上の在庫引当エンジンの設定
+ * ddd.inventory.engine=striped で有効になり、InventoryService の在庫の減算と戻しをエンジンが引き受ける
+ * （ApplicationServiceConfig がエンジンを InventoryService の在庫引当のポートとして渡す）
+ *
+ * 書き戻しで反映できなかった増減は ddd.inventory.drift.products（商品の件数）と
+ * ddd.inventory.drift.quantity（数量）として出力される
+ */
+@Configuration
+@ConditionalOnProperty(name = "ddd.inventory.engine", havingValue = "striped")
+public class InventoryEngineConfig {
+
+    @Bean(destroyMethod = "close")
+    public InventoryJournal inventoryJournal(
+            @Value("${ddd.inventory.journal.directory:data/inventory-journal}") String directory,
+            @Value("${ddd.inventory.journal.segment-size:8388608}") int segmentSize,
+            @Value("${ddd.inventory.journal.flush-every-records:1000}") int flushEveryRecords,
+            @Value("${ddd.inventory.journal.flush-interval-ms:10}") long flushIntervalMillis) {
+        return new InventoryJournal(Path.of(directory), segmentSize, flushEveryRecords, flushIntervalMillis);
+    }
+
+    @Bean(destroyMethod = "close")
+    public StripedInventoryEngine stripedInventoryEngine(
+            ProductRepository productRepository,
+            JpaInventoryCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            InventoryJournal inventoryJournal,
+            MeterRegistry meterRegistry,
+            @Value("${ddd.inventory.stripes:16}") int stripes,
+            @Value("${ddd.inventory.write-behind-interval-ms:200}") long writeBehindIntervalMillis) {
+        StripedInventoryEngine engine = new StripedInventoryEngine(productRepository, checkpointRepository,
+                new TransactionTemplate(transactionManager), inventoryJournal, stripes, writeBehindIntervalMillis);
+        FunctionCounter.builder("ddd.inventory.drift.products", engine,
+                        StripedInventoryEngine::getDriftedProductCount)
+                .description("Stock changes that could not be written back because stock was changed elsewhere")
+                .register(meterRegistry);
+        FunctionCounter.builder("ddd.inventory.drift.quantity", engine, StripedInventoryEngine::getDriftedQuantity)
+                .description("Units of stock that could not be written back")
+                .register(meterRegistry);
+        return engine;
+    }
+}
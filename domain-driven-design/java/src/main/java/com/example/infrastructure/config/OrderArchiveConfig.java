@@ -0,0 +1,55 @@
+package com.example.infrastructure.config;
+
+import com.example.infrastructure.repository.JpaOrderRepository;
+import com.example.infrastructure.repository.OrderArchive;
+import com.example.infrastructure.repository.OrderArchiver;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 確定済みの注文のアーカイブの設定
+ * ddd.orders.archive.enabled=true で有効になる（JPA の注文リポジトリを使用する場合のみ）
+ *
+ * アーカイブした注文の数は ddd.orders.archive.archived、セグメント数は ddd.orders.archive.segments として出力される
+ */
+@Configuration
+@ConditionalOnExpression("${ddd.orders.archive.enabled:false} and '${ddd.orders.repository:jpa}' == 'jpa'")
+public class OrderArchiveConfig {
+
+    @Bean
+    public OrderArchive orderArchive(
+            MeterRegistry meterRegistry,
+            @Value("${ddd.orders.archive.directory:data/order-archive}") String directory,
+            @Value("${ddd.orders.archive.block-size:64}") int blockSize) {
+        OrderArchive archive = new OrderArchive(Path.of(directory), blockSize);
+        Gauge.builder("ddd.orders.archive.segments", archive, OrderArchive::getSegmentCount)
+                .description("Number of order archive segment files")
+                .register(meterRegistry);
+        return archive;
+    }
+
+    @Bean
+    public OrderArchiver orderArchiver(
+            JpaOrderRepository orderRepository,
+            OrderArchive orderArchive,
+            MeterRegistry meterRegistry,
+            @Value("${ddd.orders.archive.retention:90d}") Duration retention,
+            @Value("${ddd.orders.archive.chunk-size:500}") int chunkSize,
+            @Value("${ddd.orders.archive.max-chunks-per-run:100}") int maxChunksPerRun) {
+        OrderArchiver archiver = new OrderArchiver(orderRepository, orderArchive, retention,
+                chunkSize, maxChunksPerRun, Clock.systemDefaultZone());
+        FunctionCounter.builder("ddd.orders.archive.archived", archiver, OrderArchiver::getArchivedCount)
+                .description("Number of orders moved to the archive")
+                .register(meterRegistry);
+        return archiver;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.infrastructure.config;
+
+import com.example.application.service.OrderRetryPolicy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 注文更新の競合時の再試行方針の設定
+ * 1回の試行ごとにトランザクションを開始し、競合した試行はロールバックしてからやり直す
+ */
+@Configuration
+public class OrderRetryConfig {
+
+    @Bean
+    public OrderRetryPolicy orderRetryPolicy(PlatformTransactionManager transactionManager,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${ddd.orders.retry.max-attempts:3}") int maxAttempts,
+                                             @Value("${ddd.orders.retry.initial-backoff:10ms}") Duration initialBackoff,
+                                             @Value("${ddd.orders.retry.max-backoff:200ms}") Duration maxBackoff) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        OrderRetryPolicy policy = new OrderRetryPolicy(maxAttempts, initialBackoff, maxBackoff,
+                new OrderRetryPolicy.AttemptScope() {
+                    @Override
+                    public <T> T run(Supplier<T> attempt) {
+                        return transaction.execute(status -> attempt.get());
+                    }
+
+                    @Override
+                    public boolean isRetryable() {
+                        // 呼び出し側のトランザクションに参加する場合、競合した時点でそのトランザクションはロールバック対象になる
+                        return !TransactionSynchronizationManager.isActualTransactionActive();
+                    }
+                });
+
+        FunctionCounter.builder("ddd.orders.concurrency.conflicts", policy, OrderRetryPolicy::getConflictCount)
+                .description("Optimistic lock conflicts detected while saving orders")
+                .register(meterRegistry);
+        FunctionCounter.builder("ddd.orders.concurrency.retries", policy, OrderRetryPolicy::getRetryCount)
+                .description("Order use cases retried after a conflict")
+                .register(meterRegistry);
+        FunctionCounter.builder("ddd.orders.concurrency.exhausted", policy, OrderRetryPolicy::getExhaustedCount)
+                .description("Conflicts returned to the caller without a successful retry")
+                .register(meterRegistry);
+        return policy;
+    }
+}
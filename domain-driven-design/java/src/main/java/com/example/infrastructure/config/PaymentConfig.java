@@ -0,0 +1,59 @@
+package com.example.infrastructure.config;
+
+import com.example.domain.service.PaymentGateway;
+import com.example.infrastructure.payment.ResilientPaymentGateway;
+import com.example.infrastructure.payment.SimulatedPaymentGateway;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 決済サービスの呼び出しの設定
+ * 決済サービスの応答は仮想スレッドで待ち、リクエストを処理するスレッドやデータベースの接続を占有しない
+ * 外部の決済サービスの代わりに、応答時間を模擬するローカルの実装を使用する
+ */
+@Configuration
+public class PaymentConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService paymentExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-", 0).factory());
+    }
+
+    @Bean
+    public PaymentGateway paymentGateway(ExecutorService paymentExecutor,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${ddd.payment.simulated.mean-latency:80ms}") Duration meanLatency,
+                                         @Value("${ddd.payment.simulated.latency-sigma:0.5}") double latencySigma,
+                                         @Value("${ddd.payment.simulated.failure-rate:0.0}") double failureRate,
+                                         @Value("${ddd.payment.timeout:2s}") Duration callTimeout,
+                                         @Value("${ddd.payment.hedge.percentile:0.95}") double hedgePercentile,
+                                         @Value("${ddd.payment.circuit.failure-threshold:5}") int failureThreshold,
+                                         @Value("${ddd.payment.circuit.open-duration:10s}") Duration openDuration) {
+        SimulatedPaymentGateway simulated =
+                new SimulatedPaymentGateway(paymentExecutor, meanLatency, latencySigma, failureRate);
+        ResilientPaymentGateway gateway = new ResilientPaymentGateway(simulated, paymentExecutor,
+                callTimeout, hedgePercentile, failureThreshold, openDuration);
+
+        FunctionCounter.builder("ddd.payment.hedged", gateway, ResilientPaymentGateway::getHedgedCount)
+                .description("Payment authorizations retried in parallel after the hedge delay")
+                .register(meterRegistry);
+        FunctionCounter.builder("ddd.payment.timeouts", gateway, ResilientPaymentGateway::getTimeoutCount)
+                .description("Payment gateway calls abandoned after the call timeout")
+                .register(meterRegistry);
+        FunctionCounter.builder("ddd.payment.rejected", gateway, ResilientPaymentGateway::getRejectedCount)
+                .description("Payment authorizations rejected while the circuit was open")
+                .register(meterRegistry);
+        Gauge.builder("ddd.payment.circuit.open", gateway, g -> g.isCircuitOpen() ? 1 : 0)
+                .description("Whether the payment gateway circuit breaker is open")
+                .register(meterRegistry);
+        return gateway;
+    }
+}
\ No newline at end of file
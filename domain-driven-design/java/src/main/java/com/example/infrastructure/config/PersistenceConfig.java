@@ -0,0 +1,34 @@
+package com.example.infrastructure.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate の書き込みと読み込みの設定
+ * 注文の一括取り込みのため、INSERT と UPDATE をテーブルごとに並べ替えて JDBC バッチで実行する
+ * 遅延読み込みのコレクションは、永続化コンテキスト内の同じ種類のエンティティの分をまとめて読み込む
+ */
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(
+            @Value("${ddd.persistence.jdbc-batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer batchFetchingCustomizer(
+            @Value("${ddd.persistence.batch-fetch-size:100}") int batchFetchSize) {
+        // フェッチグラフを指定していない読み込みでも、遅延読み込みが1件ずつのクエリにならないようにする
+        return properties -> properties.putIfAbsent(AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, batchFetchSize);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.infrastructure.config;
+
+import com.example.infrastructure.repository.JpaProductRepository;
+import com.example.infrastructure.search.TrigramProductIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 商品の全文検索インデックスの設定
+ * ddd.products.search.enabled=false で無効になる。インデックスは起動時に全ての商品から構築する
+ *
+ * 登録した商品の数は ddd.products.search.documents、文書番号のリストのバイト数は
+ * ddd.products.search.posting-bytes、検索の回数は ddd.products.search.queries として出力される
+ */
+@Configuration
+@ConditionalOnProperty(name = "ddd.products.search.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductSearchConfig {
+
+    @Bean
+    public TrigramProductIndex productSearchIndex(
+            JpaProductRepository productRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ddd.products.search.rebuild-page-size:1000}") int pageSize,
+            @Value("${ddd.products.search.rebuild-parallelism:4}") int parallelism,
+            @Value("${ddd.products.search.min-similarity:0.4}") double minSimilarity) {
+        TrigramProductIndex index = new TrigramProductIndex(productRepository, pageSize, parallelism, minSimilarity);
+        Gauge.builder("ddd.products.search.documents", index, TrigramProductIndex::getDocumentCount)
+                .description("Number of products in the search index")
+                .register(meterRegistry);
+        Gauge.builder("ddd.products.search.posting-bytes", index, TrigramProductIndex::getPostingBytes)
+                .description("Size of the compressed posting lists in bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("ddd.products.search.queries", index, TrigramProductIndex::getSearchCount)
+                .description("Number of product searches")
+                .register(meterRegistry);
+        return index;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * バックグラウンド処理（アウトボックスのリレーなど）のスケジューリング設定
+ * ddd.scheduling.enabled=false で止められる（発行されたSQLを数えるテストなど）
+ */
+@Configuration
+@ConditionalOnProperty(name = "ddd.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+@EnableScheduling
+public class SchedulingConfig {
+}
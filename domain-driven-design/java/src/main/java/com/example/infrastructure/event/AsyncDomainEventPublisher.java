@@ -0,0 +1,300 @@
+package com.example.infrastructure.event;
+
+import com.example.domain.event.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 仮想スレッド上でドメインイベントを非同期に配信するパブリッシャーの実装
+ * イベントは集約IDごとのレーン（固定長リングバッファ）に振り分けられるため、
+ * 同じ注文のイベントは発行順に、異なる注文のイベントは並列に配信される
+ */
+@Component
+@ConditionalOnProperty(name = "ddd.events.publisher", havingValue = "async")
+public class AsyncDomainEventPublisher implements DomainEventPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDomainEventPublisher.class);
+
+    /**
+     * レーンが満杯のときの振る舞い
+     */
+    public enum BackpressurePolicy {
+        // 空きができるまで呼び出し元を待たせる
+        BLOCK,
+        // 最も古いイベントを破棄して追加する
+        DROP_OLDEST,
+        // 呼び出し元のスレッドでレーンに溜まったイベントごと配信する
+        CALLER_RUNS
+    }
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final DomainEventSerializer serializer;
+    private final BackpressurePolicy policy;
+    private final Lane[] lanes;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final Timer dispatchLatency;
+    private final Counter droppedCounter;
+    private final Counter callerRunsCounter;
+
+    public AsyncDomainEventPublisher(ApplicationEventPublisher applicationEventPublisher,
+                                     DomainEventSerializer serializer,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${ddd.events.async.lanes:16}") int laneCount,
+                                     @Value("${ddd.events.async.capacity-per-lane:1024}") int capacityPerLane,
+                                     @Value("${ddd.events.async.backpressure:BLOCK}") BackpressurePolicy policy) {
+        if (laneCount <= 0 || capacityPerLane <= 0) {
+            throw new IllegalArgumentException("Lane count and capacity must be positive");
+        }
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.serializer = serializer;
+        this.policy = policy;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(capacityPerLane);
+            workers.add(Thread.ofVirtual().name("domain-event-lane-" + i).start(lanes[i]::runWorker));
+        }
+
+        Gauge.builder("ddd.events.async.queue.depth", this, AsyncDomainEventPublisher::getQueueDepth)
+                .description("Number of domain events waiting for dispatch")
+                .register(meterRegistry);
+        this.dispatchLatency = Timer.builder("ddd.events.async.dispatch.latency")
+                .description("Time from publish to completion of all listeners")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("ddd.events.async.dropped")
+                .description("Number of domain events dropped by the DROP_OLDEST policy")
+                .register(meterRegistry);
+        this.callerRunsCounter = Counter.builder("ddd.events.async.caller.runs")
+                .description("Number of publishes dispatched on the caller thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(Object event) {
+        if (!running) {
+            throw new IllegalStateException("Publisher is shut down");
+        }
+        Envelope envelope = new Envelope(event, System.nanoTime(), null);
+        laneFor(event).offer(envelope);
+    }
+
+    /**
+     * イベントをレーンに積み、リスナーの処理が終わったときに完了する Future を返す
+     * リスナーが失敗した場合や DROP_OLDEST で破棄された場合は例外で完了する
+     */
+    @Override
+    public CompletableFuture<Void> publishAndTrack(Object event) {
+        if (!running) {
+            throw new IllegalStateException("Publisher is shut down");
+        }
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        laneFor(event).offer(new Envelope(event, System.nanoTime(), completion));
+        return completion;
+    }
+
+    /**
+     * 配信待ちのイベント数を取得する
+     * @return 全レーンの合計
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.size();
+        }
+        return depth;
+    }
+
+    /**
+     * 受け付け済みのイベントを配信し終えてからワーカーを停止する
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.wakeUp();
+        }
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    // 同じ集約のイベントは常に同じレーンに入る
+    private Lane laneFor(Object event) {
+        int hash = serializer.aggregateIdOf(event).hashCode();
+        return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+    }
+
+    private void dispatch(Envelope envelope) {
+        try {
+            applicationEventPublisher.publishEvent(envelope.event);
+            envelope.complete(null);
+        } catch (RuntimeException e) {
+            logger.error("Domain event listener failed: {}", envelope.event.getClass().getSimpleName(), e);
+            envelope.complete(e);
+        } finally {
+            dispatchLatency.record(System.nanoTime() - envelope.publishedAtNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // completion は publishAndTrack で積まれたイベントだけが持つ
+    private record Envelope(Object event, long publishedAtNanos, CompletableFuture<Void> completion) {
+        void complete(Throwable failure) {
+            if (completion == null) {
+                return;
+            }
+            if (failure == null) {
+                completion.complete(null);
+            } else {
+                completion.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * 1つのワーカーが担当する固定長リングバッファ
+     * 取り出しと配信は dispatchLock の中で行い、呼び出し元による配信と順序が入れ替わらないようにする
+     */
+    private final class Lane {
+        private final Envelope[] buffer;
+        private int head;
+        private int count;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final ReentrantLock dispatchLock = new ReentrantLock(true);
+
+        Lane(int capacity) {
+            this.buffer = new Envelope[capacity];
+        }
+
+        void offer(Envelope envelope) {
+            lock.lock();
+            try {
+                if (count == buffer.length) {
+                    switch (policy) {
+                        case BLOCK -> {
+                            while (count == buffer.length) {
+                                notFull.awaitUninterruptibly();
+                            }
+                        }
+                        case DROP_OLDEST -> {
+                            removeFirst().complete(new IllegalStateException("Domain event dropped by backpressure"));
+                            droppedCounter.increment();
+                        }
+                        case CALLER_RUNS -> {
+                            lock.unlock();
+                            try {
+                                runOnCaller(envelope);
+                            } finally {
+                                lock.lock();
+                            }
+                            return;
+                        }
+                    }
+                }
+                buffer[(head + count) % buffer.length] = envelope;
+                count++;
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void runOnCaller(Envelope envelope) {
+            callerRunsCounter.increment();
+            dispatchLock.lock();
+            try {
+                // 先に積まれている同じレーンのイベントを配信してから自分のイベントを配信する
+                Envelope queued;
+                while ((queued = poll()) != null) {
+                    dispatch(queued);
+                }
+                dispatch(envelope);
+            } finally {
+                dispatchLock.unlock();
+            }
+        }
+
+        void runWorker() {
+            while (awaitNotEmpty()) {
+                dispatchLock.lock();
+                try {
+                    Envelope envelope = poll();
+                    if (envelope != null) {
+                        dispatch(envelope);
+                    }
+                } finally {
+                    dispatchLock.unlock();
+                }
+            }
+        }
+
+        // イベントが届くまで待機する。停止済みで空ならfalse
+        private boolean awaitNotEmpty() {
+            lock.lock();
+            try {
+                while (count == 0) {
+                    if (!running) {
+                        return false;
+                    }
+                    notEmpty.awaitUninterruptibly();
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Envelope poll() {
+            lock.lock();
+            try {
+                return count == 0 ? null : removeFirst();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Envelope removeFirst() {
+            Envelope envelope = buffer[head];
+            buffer[head] = null;
+            head = (head + 1) % buffer.length;
+            count--;
+            notFull.signal();
+            return envelope;
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void wakeUp() {
+            lock.lock();
+            try {
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
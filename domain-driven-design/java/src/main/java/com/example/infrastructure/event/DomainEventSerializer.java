@@ -0,0 +1,184 @@
+package com.example.infrastructure.event;
+
+import com.example.domain.event.OrderCancelledEvent;
+import com.example.domain.event.OrderCreatedEvent;
+import com.example.domain.event.OrderItemAddedEvent;
+import com.example.domain.event.OrderItemsAddedEvent;
+import com.example.domain.event.OrderPaidEvent;
+import com.example.domain.event.ProductOutOfStockEvent;
+import com.example.domain.model.valueobject.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ドメインイベントと永続化用JSONとの相互変換
+ * 値オブジェクトはファクトリメソッド経由でしか生成できないため、イベントごとに明示的に変換する
+ */
+@Component
+public class DomainEventSerializer {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * イベントの種類を表す名前を返す
+     * @param event ドメインイベント
+     * @return イベント種別
+     */
+    public String eventTypeOf(Object event) {
+        return event.getClass().getSimpleName();
+    }
+
+    /**
+     * イベントが属する集約のIDを返す
+     * @param event ドメインイベント
+     * @return 集約ID
+     */
+    public UUID aggregateIdOf(Object event) {
+        if (event instanceof OrderCreatedEvent e) {
+            return e.getOrderId().getValue();
+        } else if (event instanceof OrderItemAddedEvent e) {
+            return e.getOrderId().getValue();
+        } else if (event instanceof OrderItemsAddedEvent e) {
+            return e.getOrderId().getValue();
+        } else if (event instanceof OrderPaidEvent e) {
+            return e.getOrderId().getValue();
+        } else if (event instanceof OrderCancelledEvent e) {
+            return e.getOrderId().getValue();
+        } else if (event instanceof ProductOutOfStockEvent e) {
+            return e.getProductId().getValue();
+        }
+        throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
+    }
+
+    /**
+     * イベントの発生日時を返す
+     * @param event ドメインイベント
+     * @return 発生日時
+     */
+    public LocalDateTime occurredAtOf(Object event) {
+        if (event instanceof OrderCreatedEvent e) {
+            return e.getOccurredAt();
+        } else if (event instanceof OrderItemAddedEvent e) {
+            return e.getOccurredAt();
+        } else if (event instanceof OrderItemsAddedEvent e) {
+            return e.getOccurredAt();
+        } else if (event instanceof OrderPaidEvent e) {
+            return e.getOccurredAt();
+        } else if (event instanceof OrderCancelledEvent e) {
+            return e.getOccurredAt();
+        } else if (event instanceof ProductOutOfStockEvent e) {
+            return e.getOccurredAt();
+        }
+        throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
+    }
+
+    /**
+     * イベントをJSON文字列に変換する
+     * @param event ドメインイベント
+     * @return JSON文字列
+     */
+    public String serialize(Object event) {
+        return toJson(event).toString();
+    }
+
+    /**
+     * JSON文字列からイベントを復元する
+     * @param eventType イベント種別
+     * @param payload JSON文字列
+     * @return 復元されたドメインイベント
+     */
+    public Object deserialize(String eventType, String payload) {
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid event payload: " + eventType, e);
+        }
+
+        LocalDateTime occurredAt = LocalDateTime.parse(json.get("occurredAt").asText());
+        return switch (eventType) {
+            case "OrderCreatedEvent" -> new OrderCreatedEvent(
+                    OrderId.of(json.get("orderId").asText()),
+                    CustomerId.of(json.get("customerId").asText()),
+                    occurredAt);
+            case "OrderItemAddedEvent" -> new OrderItemAddedEvent(
+                    OrderId.of(json.get("orderId").asText()),
+                    ProductId.of(json.get("productId").asText()),
+                    Quantity.of(json.get("quantity").asInt()),
+                    occurredAt);
+            case "OrderItemsAddedEvent" -> {
+                Map<ProductId, Quantity> quantities = new LinkedHashMap<>();
+                for (JsonNode item : json.get("items")) {
+                    quantities.put(ProductId.of(item.get("productId").asText()),
+                            Quantity.of(item.get("quantity").asInt()));
+                }
+                yield new OrderItemsAddedEvent(OrderId.of(json.get("orderId").asText()), quantities, occurredAt);
+            }
+            case "OrderPaidEvent" -> new OrderPaidEvent(
+                    OrderId.of(json.get("orderId").asText()),
+                    Money.of(new BigDecimal(json.get("amount").asText()),
+                            Currency.getInstance(json.get("currency").asText())),
+                    occurredAt);
+            case "OrderCancelledEvent" -> new OrderCancelledEvent(
+                    OrderId.of(json.get("orderId").asText()),
+                    json.has("refundedAmount")
+                            ? Money.of(new BigDecimal(json.get("refundedAmount").asText()),
+                                    Currency.getInstance(json.get("currency").asText()))
+                            : null,
+                    occurredAt);
+            case "ProductOutOfStockEvent" -> new ProductOutOfStockEvent(
+                    ProductId.of(json.get("productId").asText()),
+                    occurredAt);
+            default -> throw new IllegalArgumentException("Unsupported event type: " + eventType);
+        };
+    }
+
+    private ObjectNode toJson(Object event) {
+        ObjectNode json = objectMapper.createObjectNode();
+        if (event instanceof OrderCreatedEvent e) {
+            json.put("orderId", e.getOrderId().toString());
+            json.put("customerId", e.getCustomerId().toString());
+            json.put("occurredAt", e.getOccurredAt().toString());
+        } else if (event instanceof OrderItemAddedEvent e) {
+            json.put("orderId", e.getOrderId().toString());
+            json.put("productId", e.getProductId().toString());
+            json.put("quantity", e.getQuantity().getValue());
+            json.put("occurredAt", e.getOccurredAt().toString());
+        } else if (event instanceof OrderItemsAddedEvent e) {
+            json.put("orderId", e.getOrderId().toString());
+            ArrayNode items = json.putArray("items");
+            e.getQuantities().forEach((productId, quantity) -> items.addObject()
+                    .put("productId", productId.toString())
+                    .put("quantity", quantity.getValue()));
+            json.put("occurredAt", e.getOccurredAt().toString());
+        } else if (event instanceof OrderPaidEvent e) {
+            json.put("orderId", e.getOrderId().toString());
+            json.put("amount", e.getAmount().getAmount().toPlainString());
+            json.put("currency", e.getAmount().getCurrency().getCurrencyCode());
+            json.put("occurredAt", e.getOccurredAt().toString());
+        } else if (event instanceof OrderCancelledEvent e) {
+            json.put("orderId", e.getOrderId().toString());
+            if (e.getRefundedAmount() != null) {
+                json.put("refundedAmount", e.getRefundedAmount().getAmount().toPlainString());
+                json.put("currency", e.getRefundedAmount().getCurrency().getCurrencyCode());
+            }
+            json.put("occurredAt", e.getOccurredAt().toString());
+        } else if (event instanceof ProductOutOfStockEvent e) {
+            json.put("productId", e.getProductId().toString());
+            json.put("occurredAt", e.getOccurredAt().toString());
+        } else {
+            throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
+        }
+        return json;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.infrastructure.event;
+
+import com.example.domain.event.OrderCancelledEvent;
+import com.example.domain.event.OrderCreatedEvent;
+import com.example.domain.event.OrderItemAddedEvent;
+import com.example.domain.event.OrderItemsAddedEvent;
+import com.example.domain.event.OrderPaidEvent;
+import com.example.domain.event.ProductOutOfStockEvent;
+import org.springframework.context.event.EventListener;
+
+/**
+ * 配信されたドメインイベントをイベントログに記録するリスナー
+ */
+public class EventLogRecorder {
+    private final MappedEventLog eventLog;
+
+    public EventLogRecorder(MappedEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    @EventListener
+    public void record(OrderCreatedEvent event) {
+        eventLog.publish(event);
+    }
+
+    @EventListener
+    public void record(OrderItemAddedEvent event) {
+        eventLog.publish(event);
+    }
+
+    @EventListener
+    public void record(OrderItemsAddedEvent event) {
+        eventLog.publish(event);
+    }
+
+    @EventListener
+    public void record(OrderPaidEvent event) {
+        eventLog.publish(event);
+    }
+
+    @EventListener
+    public void record(OrderCancelledEvent event) {
+        eventLog.publish(event);
+    }
+
+    @EventListener
+    public void record(ProductOutOfStockEvent event) {
+        eventLog.publish(event);
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.infrastructure.event;
+
+import com.example.domain.event.DomainEventPublisher;
+import com.example.domain.model.valueobject.OrderId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * ドメインイベントを記録するローカルディスク上の追記専用ログ
+ * 固定長のセグメントファイルをメモリマップし、レコードをマップ領域へ直接書き込む
+ *
+ * レコード形式: [本体長 int][CRC32C int][集約ID long×2][記録時刻 long][種別長 short][種別][ペイロード]
+ * 本体長が0の位置が書き込み済み領域の終端となる
+ */
+public class MappedEventLog implements DomainEventPublisher, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MappedEventLog.class);
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int FIXED_BODY_SIZE = Long.BYTES * 3 + Short.BYTES;
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int flushEveryRecords;
+    private final DomainEventSerializer serializer;
+
+    private final List<Segment> segments = new ArrayList<>();
+    // 集約IDごとのレコード位置（上位32ビット: セグメント番号、下位32ビット: セグメント内オフセット）
+    private final Map<UUID, Positions> index = new HashMap<>();
+    private int unflushedRecords;
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * ログを開き、書き込み途中で途切れた末尾のレコードを切り詰める
+     * @param directory セグメントファイルを置くディレクトリ
+     * @param segmentSize 1セグメントのバイト数
+     * @param flushEveryRecords fsync するまでに溜めるレコード数
+     * @param flushIntervalMillis レコード数に達しなくても fsync する間隔
+     * @param serializer イベントのシリアライザ
+     */
+    public MappedEventLog(Path directory, int segmentSize, int flushEveryRecords, long flushIntervalMillis,
+                          DomainEventSerializer serializer) {
+        if (segmentSize <= HEADER_SIZE + FIXED_BODY_SIZE || flushEveryRecords <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid event log configuration");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushEveryRecords = flushEveryRecords;
+        this.serializer = serializer;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open event log: " + directory, e);
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * イベントをログに追記する
+     * fsync はグループコミットとしてまとめて行われる
+     * @param event 記録するイベント
+     */
+    @Override
+    public void publish(Object event) {
+        UUID aggregateId = serializer.aggregateIdOf(event);
+        byte[] type = serializer.eventTypeOf(event).getBytes(StandardCharsets.UTF_8);
+        byte[] payload = serializer.serialize(event).getBytes(StandardCharsets.UTF_8);
+        int bodyLength = FIXED_BODY_SIZE + type.length + payload.length;
+        int recordLength = HEADER_SIZE + bodyLength;
+        if (recordLength > segmentSize) {
+            throw new IllegalArgumentException("Event is larger than a segment: " + recordLength + " bytes");
+        }
+
+        synchronized (this) {
+            Segment segment = segments.get(segments.size() - 1);
+            if (segment.writePosition + recordLength > segmentSize) {
+                segment.buffer.force();
+                segment = openSegment(segments.size());
+            }
+
+            // マップ領域へ直接書き込み、本体長は最後に書いて読み手に途中のレコードを見せない
+            MappedByteBuffer buffer = segment.buffer;
+            int position = segment.writePosition;
+            int bodyStart = position + HEADER_SIZE;
+            buffer.putLong(bodyStart, aggregateId.getMostSignificantBits());
+            buffer.putLong(bodyStart + 8, aggregateId.getLeastSignificantBits());
+            buffer.putLong(bodyStart + 16, System.currentTimeMillis());
+            buffer.putShort(bodyStart + 24, (short) type.length);
+            buffer.put(bodyStart + FIXED_BODY_SIZE, type);
+            buffer.put(bodyStart + FIXED_BODY_SIZE + type.length, payload);
+            buffer.putInt(position + Integer.BYTES, crcOf(buffer, bodyStart, bodyLength));
+            buffer.putInt(position, bodyLength);
+
+            segment.writePosition += recordLength;
+            addToIndex(aggregateId, positionOf(segment.number, position));
+
+            if (++unflushedRecords >= flushEveryRecords) {
+                segment.buffer.force();
+                unflushedRecords = 0;
+            }
+        }
+    }
+
+    /**
+     * 注文のイベントを記録順に再生する
+     * @param orderId 注文ID
+     * @param consumer イベントを受け取る処理
+     */
+    public void replay(OrderId orderId, Consumer<Object> consumer) {
+        long[] positions;
+        synchronized (this) {
+            Positions all = index.get(orderId.getValue());
+            if (all == null) {
+                return;
+            }
+            positions = Arrays.copyOf(all.values, all.size);
+        }
+        for (long position : positions) {
+            consumer.accept(read(segmentAt((int) (position >>> 32)), (int) position));
+        }
+    }
+
+    /**
+     * 全てのイベントを記録順に再生する
+     * @param consumer イベントを受け取る処理
+     */
+    public void replayAll(Consumer<Object> consumer) {
+        List<Segment> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(segments);
+        }
+        for (Segment segment : snapshot) {
+            int end;
+            synchronized (this) {
+                end = segment.writePosition;
+            }
+            int position = 0;
+            while (position < end) {
+                consumer.accept(read(segment, position));
+                position += HEADER_SIZE + segment.buffer.getInt(position);
+            }
+        }
+    }
+
+    /**
+     * 未同期のレコードをディスクに書き出す
+     */
+    public synchronized void flush() {
+        if (unflushedRecords > 0 && !segments.isEmpty()) {
+            segments.get(segments.size() - 1).buffer.force();
+            unflushedRecords = 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        synchronized (this) {
+            flush();
+            for (Segment segment : segments) {
+                try {
+                    segment.channel.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close event log segment {}", segment.number, e);
+                }
+            }
+        }
+    }
+
+    // 既存のセグメントを走査してインデックスを再構築し、壊れた末尾を切り詰める
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (int number = 0; number < files.size(); number++) {
+            Segment segment = openSegment(number);
+            int position = 0;
+            boolean torn = false;
+            while (position + HEADER_SIZE <= segmentSize) {
+                int bodyLength = segment.buffer.getInt(position);
+                if (bodyLength == 0) {
+                    break;
+                }
+                int bodyStart = position + HEADER_SIZE;
+                if (bodyLength < FIXED_BODY_SIZE || bodyStart + bodyLength > segmentSize
+                        || segment.buffer.getInt(position + Integer.BYTES) != crcOf(segment.buffer, bodyStart, bodyLength)) {
+                    torn = true;
+                    break;
+                }
+                UUID aggregateId = new UUID(segment.buffer.getLong(bodyStart), segment.buffer.getLong(bodyStart + 8));
+                addToIndex(aggregateId, positionOf(number, position));
+                position = bodyStart + bodyLength;
+            }
+            segment.writePosition = position;
+
+            if (torn) {
+                logger.warn("Truncating torn tail of event log segment {} at offset {}", number, position);
+                for (int i = position; i < segmentSize; i++) {
+                    segment.buffer.put(i, (byte) 0);
+                }
+                segment.buffer.force();
+                // 途切れたレコード以降のセグメントは書き込まれていないはずなので破棄する
+                for (int later = number + 1; later < files.size(); later++) {
+                    Files.deleteIfExists(segmentPath(later));
+                }
+                return;
+            }
+        }
+
+        if (segments.isEmpty()) {
+            openSegment(0);
+        }
+    }
+
+    private Segment openSegment(int number) {
+        try {
+            FileChannel channel = FileChannel.open(segmentPath(number),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            Segment segment = new Segment(number, channel, buffer);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open event log segment " + number, e);
+        }
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("%020d%s", number, SEGMENT_SUFFIX));
+    }
+
+    private synchronized Segment segmentAt(int number) {
+        return segments.get(number);
+    }
+
+    private Object read(Segment segment, int position) {
+        MappedByteBuffer buffer = segment.buffer;
+        int bodyStart = position + HEADER_SIZE;
+        int bodyLength = buffer.getInt(position);
+        int typeLength = buffer.getShort(bodyStart + 24);
+        byte[] type = new byte[typeLength];
+        buffer.get(bodyStart + FIXED_BODY_SIZE, type);
+        byte[] payload = new byte[bodyLength - FIXED_BODY_SIZE - typeLength];
+        buffer.get(bodyStart + FIXED_BODY_SIZE + typeLength, payload);
+        return serializer.deserialize(new String(type, StandardCharsets.UTF_8),
+                new String(payload, StandardCharsets.UTF_8));
+    }
+
+    private void addToIndex(UUID aggregateId, long position) {
+        Positions positions = index.computeIfAbsent(aggregateId, id -> new Positions());
+        if (positions.size == positions.values.length) {
+            positions.values = Arrays.copyOf(positions.values, positions.size * 2);
+        }
+        positions.values[positions.size++] = position;
+    }
+
+    private static long positionOf(int segmentNumber, int offset) {
+        return ((long) segmentNumber << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int crcOf(MappedByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 1つの集約のレコード位置の可変長配列
+     */
+    private static final class Positions {
+        private long[] values = new long[4];
+        private int size;
+    }
+
+    /**
+     * メモリマップされた1つのセグメントファイル
+     */
+    private static final class Segment {
+        private final int number;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        Segment(int number, FileChannel channel, MappedByteBuffer buffer) {
+            this.number = number;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.infrastructure.event;
 import com.example.domain.event.OrderCancelledEvent;
 import com.example.domain.event.OrderCreatedEvent;
 import com.example.domain.event.OrderItemAddedEvent;
+import com.example.domain.event.OrderItemsAddedEvent;
 import com.example.domain.event.OrderPaidEvent;
 import com.example.domain.event.ProductOutOfStockEvent;
 
@@ -44,6 +45,16 @@ public class OrderEventListeners {
         // 例: 在庫監視サービス、推奨エンジンなど
     }
 
+    /**
+     * 注文項目一括追加イベントのリスナー
+     * @param event 注文項目一括追加イベント
+     */
+    @EventListener
+    public void handleOrderItemsAddedEvent(OrderItemsAddedEvent event) {
+        logger.info("Items added to order: {}, Products: {}, Time: {}",
+                event.getOrderId(), event.getQuantities().size(), event.getOccurredAt());
+    }
+
     /**
      * 注文支払い完了イベントのリスナー
      * @param event 注文支払い完了イベント
@@ -0,0 +1,172 @@
+package com.example.infrastructure.event;
+
+import com.example.domain.event.DomainEventPublisher;
+import com.example.infrastructure.persistence.OutboxMessageEntity;
+import com.example.infrastructure.repository.JpaOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * アウトボックスのメッセージをバッチ単位で取り出し、ドメインイベントとして配信するリレー
+ * メッセージはリスナーの処理が終わってから同じトランザクションで削除するため、配信は少なくとも1回保証となる
+ * （非同期のパブリッシャーでも、バッチ内の全イベントの配信完了を待ってから削除する）
+ *
+ * 配信できなかったメッセージ（復元できない、リスナーが例外を投げたなど）は失敗の回数と内容を記録して残し、
+ * 同じバッチの他のメッセージは配信済みとして削除する。失敗が ddd.outbox.max-attempts 回に達したメッセージは
+ * 保留して以降の配信の対象から外し、ddd.outbox.parked で件数を出力する
+ * （保留したメッセージの後ろにある同じ集約のイベントは先に配信されるため、調査の上で手動で再配信する）
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final JpaOutboxRepository outboxRepository;
+    private final DomainEventSerializer serializer;
+    private final DomainEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    // 最も古い未配信メッセージの滞留時間（ミリ秒）
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong parkedCount = new AtomicLong();
+    private final Counter relayedCounter;
+    private final Counter failedCounter;
+
+    public OutboxRelay(JpaOutboxRepository outboxRepository,
+                       DomainEventSerializer serializer,
+                       DomainEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${ddd.outbox.batch-size:100}") int batchSize,
+                       @Value("${ddd.outbox.max-attempts:5}") int maxAttempts) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Outbox batch size must be positive");
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Outbox max attempts must be positive");
+        }
+        this.outboxRepository = outboxRepository;
+        this.serializer = serializer;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("ddd.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox message")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("ddd.outbox.pending", pendingCount, AtomicLong::get)
+                .description("Number of undelivered outbox messages")
+                .register(meterRegistry);
+        Gauge.builder("ddd.outbox.parked", parkedCount, AtomicLong::get)
+                .description("Number of outbox messages parked after repeated delivery failures")
+                .register(meterRegistry);
+        this.relayedCounter = Counter.builder("ddd.outbox.relayed")
+                .description("Number of outbox messages delivered")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("ddd.outbox.failed")
+                .description("Number of outbox delivery attempts that failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 未配信のメッセージがなくなるまでバッチ単位で配信する
+     * ポーリング間隔は ddd.outbox.poll-interval-ms で設定する
+     */
+    @Scheduled(fixedDelayString = "${ddd.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            // 配信できなかったメッセージがあるバッチで止め、次回のポーリングで再配信する
+            boolean fullyDelivered;
+            do {
+                fullyDelivered = transactionTemplate.execute(status -> relayNextBatch());
+            } while (fullyDelivered);
+        } catch (RuntimeException e) {
+            // 失敗したバッチ（データベースへの書き込みの失敗など）はロールバックされ、次回のポーリングで再配信される
+            logger.warn("Outbox relay failed, will retry on next poll", e);
+        } finally {
+            updateLag();
+        }
+    }
+
+    // 1バッチを配信し、バッチが満杯で全て配信できた（続きがある可能性がある）場合に true を返す
+    private boolean relayNextBatch() {
+        List<OutboxMessageEntity> messages = outboxRepository.lockNextBatch(batchSize);
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>(messages.size());
+        for (OutboxMessageEntity message : messages) {
+            deliveries.add(deliver(message));
+        }
+        
+        // 配信の完了を待ち、配信できたものは削除し、できなかったものは失敗を記録して残す
+        List<OutboxMessageEntity> delivered = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            OutboxMessageEntity message = messages.get(i);
+            try {
+                deliveries.get(i).join();
+                delivered.add(message);
+            } catch (CompletionException | CancellationException e) {
+                recordFailure(message, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        }
+        outboxRepository.deleteAll(delivered);
+        relayedCounter.increment(delivered.size());
+        return messages.size() == batchSize && delivered.size() == messages.size();
+    }
+
+    // 復元とリスナーの呼び出しの失敗を、配信の失敗として同じように扱う
+    private CompletableFuture<Void> deliver(OutboxMessageEntity message) {
+        try {
+            return eventPublisher.publishAndTrack(serializer.deserialize(message.getEventType(), message.getPayload()));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void recordFailure(OutboxMessageEntity message, Throwable failure) {
+        failedCounter.increment();
+        if (outboxRepository.recordFailure(message, failure, maxAttempts)) {
+            logger.error("Parked outbox message {} ({}) after {} failed attempts",
+                    message.getId(), message.getEventType(), message.getAttempts(), failure);
+        } else {
+            logger.warn("Failed to deliver outbox message {} ({}), attempt {} of {}",
+                    message.getId(), message.getEventType(), message.getAttempts(), maxAttempts, failure);
+        }
+    }
+
+    private void updateLag() {
+        LocalDateTime now = LocalDateTime.now();
+        lagMillis.set(outboxRepository.findOldestCreatedAt()
+                .map(oldest -> Duration.between(oldest, now).toMillis())
+                .orElse(0L));
+        pendingCount.set(outboxRepository.countPending());
+        parkedCount.set(outboxRepository.countParked());
+    }
+
+    /**
+     * 最も古い未配信メッセージの滞留時間を取得する
+     * @return 滞留時間（ミリ秒）
+     */
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+}
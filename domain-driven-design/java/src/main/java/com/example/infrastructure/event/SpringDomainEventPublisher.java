@@ -1,13 +1,16 @@
 package com.example.infrastructure.event;
 
 import com.example.domain.event.DomainEventPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
  * Spring ApplicationEventPublisher を使ったドメインイベントパブリッシャーの実装
+ * リスナーは呼び出し元のスレッドで同期的に実行される
  */
 @Component
+@ConditionalOnProperty(name = "ddd.events.publisher", havingValue = "sync", matchIfMissing = true)
 public class SpringDomainEventPublisher implements DomainEventPublisher {
     private final ApplicationEventPublisher applicationEventPublisher;
 
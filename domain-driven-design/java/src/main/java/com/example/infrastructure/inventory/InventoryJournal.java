@@ -0,0 +1,303 @@
+package com.example.infrastructure.inventory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 在庫の増減を記録する先行書き込みログ
+ * 固定長のセグメントファイルをメモリマップし、商品リポジトリに反映する前の増減を記録する
+ *
+ * レコード形式（32バイト固定）: [通番 long][商品ID long×2][増減 int][CRC32C int]
+ * 通番は1から始まり、通番が0の位置が書き込み済み領域の終端となる
+ * レコード長はセクタ長の約数のため、1つのレコードが2つのセクタにまたがることはない
+ */
+public class InventoryJournal implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryJournal.class);
+    static final int RECORD_SIZE = 32;
+    private static final int CRC_OFFSET = 28;
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int flushEveryRecords;
+
+    // 古い順のセグメント。反映済みのセグメントは先頭から削除される
+    private final List<Segment> segments = new ArrayList<>();
+    private long lastSequence;
+    private int unflushedRecords;
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * ログを開き、書き込み途中で途切れた末尾のレコードを切り詰める
+     * @param directory セグメントファイルを置くディレクトリ
+     * @param segmentSize 1セグメントのバイト数（レコード長の倍数）
+     * @param flushEveryRecords fsync するまでに溜めるレコード数
+     * @param flushIntervalMillis レコード数に達しなくても fsync する間隔
+     */
+    public InventoryJournal(Path directory, int segmentSize, int flushEveryRecords, long flushIntervalMillis) {
+        if (segmentSize < RECORD_SIZE || segmentSize % RECORD_SIZE != 0
+                || flushEveryRecords <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid inventory journal configuration");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushEveryRecords = flushEveryRecords;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open inventory journal: " + directory, e);
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 複数の商品の増減をまとめて追記する
+     * fsync はグループコミットとしてまとめて行われる
+     * @param productIds 商品ID
+     * @param deltas 商品ごとの増減（productIds と同じ順序）
+     * @param count 追記するレコード数
+     * @return 最後に追記したレコードの通番
+     */
+    public synchronized long append(UUID[] productIds, int[] deltas, int count) {
+        for (int i = 0; i < count; i++) {
+            Segment segment = segments.get(segments.size() - 1);
+            if (segment.writePosition + RECORD_SIZE > segmentSize) {
+                segment.buffer.force();
+                segment = openSegment(segment.number + 1);
+            }
+
+            // 通番を最初に書き、CRC を最後に書く。途中で途切れたレコードは CRC が一致しない
+            MappedByteBuffer buffer = segment.buffer;
+            int position = segment.writePosition;
+            long sequence = ++lastSequence;
+            buffer.putLong(position, sequence);
+            buffer.putLong(position + 8, productIds[i].getMostSignificantBits());
+            buffer.putLong(position + 16, productIds[i].getLeastSignificantBits());
+            buffer.putInt(position + 24, deltas[i]);
+            buffer.putInt(position + CRC_OFFSET, crcOf(buffer, position));
+            segment.writePosition += RECORD_SIZE;
+            segment.lastSequence = sequence;
+        }
+
+        unflushedRecords += count;
+        if (unflushedRecords >= flushEveryRecords) {
+            segments.get(segments.size() - 1).buffer.force();
+            unflushedRecords = 0;
+        }
+        return lastSequence;
+    }
+
+    /**
+     * 最後に追記したレコードの通番
+     * この通番以下のレコードは全て書き込みを終えている
+     * @return 通番（レコードがない場合は0）
+     */
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * 次に追記するレコードの通番を、指定した通番より後から始める
+     * ログが失われた場合などに、反映済みの通番を再び使わないようにする
+     * @param sequence 使用済みの通番
+     */
+    public synchronized void skipTo(long sequence) {
+        if (sequence > lastSequence) {
+            logger.warn("Inventory journal sequence advanced from {} to {}", lastSequence, sequence);
+            lastSequence = sequence;
+        }
+    }
+
+    /**
+     * 指定した通番の範囲のレコードを通番順に読み込む
+     * @param afterSequence この通番より後のレコードを読み込む
+     * @param upToSequence この通番までのレコードを読み込む
+     * @param consumer レコードを受け取る処理
+     */
+    public void read(long afterSequence, long upToSequence, RecordConsumer consumer) {
+        List<Segment> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(segments);
+        }
+        for (Segment segment : snapshot) {
+            if (segment.lastSequence <= afterSequence) {
+                continue;
+            }
+            MappedByteBuffer buffer = segment.buffer;
+            for (int position = 0; position + RECORD_SIZE <= segmentSize; position += RECORD_SIZE) {
+                long sequence = buffer.getLong(position);
+                if (sequence == 0 || sequence > upToSequence) {
+                    return;
+                }
+                if (sequence > afterSequence) {
+                    consumer.accept(sequence,
+                            new UUID(buffer.getLong(position + 8), buffer.getLong(position + 16)),
+                            buffer.getInt(position + 24));
+                }
+            }
+        }
+    }
+
+    /**
+     * 反映済みのレコードだけを含むセグメントを削除する
+     * 書き込み中のセグメントは削除しない
+     * @param sequence 反映済みの最後の通番
+     */
+    public synchronized void discardUpTo(long sequence) {
+        while (segments.size() > 1 && segments.get(0).lastSequence <= sequence) {
+            Segment segment = segments.remove(0);
+            try {
+                segment.channel.close();
+                Files.deleteIfExists(segmentPath(segment.number));
+            } catch (IOException e) {
+                logger.warn("Failed to delete inventory journal segment {}", segment.number, e);
+            }
+        }
+    }
+
+    /**
+     * 未同期のレコードをディスクに書き出す
+     */
+    public synchronized void flush() {
+        if (unflushedRecords > 0 && !segments.isEmpty()) {
+            segments.get(segments.size() - 1).buffer.force();
+            unflushedRecords = 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        synchronized (this) {
+            flush();
+            for (Segment segment : segments) {
+                try {
+                    segment.channel.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close inventory journal segment {}", segment.number, e);
+                }
+            }
+        }
+    }
+
+    // 既存のセグメントを走査して最後の通番を求め、壊れた末尾を切り詰める
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            String fileName = files.get(i).getFileName().toString();
+            Segment segment = openSegment(Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length())));
+            int position = 0;
+            boolean torn = false;
+            while (position + RECORD_SIZE <= segmentSize) {
+                long sequence = segment.buffer.getLong(position);
+                if (sequence == 0) {
+                    break;
+                }
+                if (sequence != lastSequence + 1 && lastSequence != 0
+                        || segment.buffer.getInt(position + CRC_OFFSET) != crcOf(segment.buffer, position)) {
+                    torn = true;
+                    break;
+                }
+                lastSequence = sequence;
+                segment.lastSequence = sequence;
+                position += RECORD_SIZE;
+            }
+            segment.writePosition = position;
+
+            if (torn) {
+                logger.warn("Truncating torn tail of inventory journal segment {} at offset {}", segment.number, position);
+                for (int offset = position; offset < segmentSize; offset++) {
+                    segment.buffer.put(offset, (byte) 0);
+                }
+                segment.buffer.force();
+                // 途切れたレコード以降のセグメントは書き込まれていないはずなので破棄する
+                for (int later = i + 1; later < files.size(); later++) {
+                    Files.deleteIfExists(files.get(later));
+                }
+                return;
+            }
+        }
+
+        if (segments.isEmpty()) {
+            openSegment(0);
+        }
+    }
+
+    private Segment openSegment(long number) {
+        try {
+            FileChannel channel = FileChannel.open(segmentPath(number),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            Segment segment = new Segment(number, channel, buffer);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open inventory journal segment " + number, e);
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%020d%s", number, SEGMENT_SUFFIX));
+    }
+
+    private static int crcOf(MappedByteBuffer buffer, int position) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 読み込んだレコードを受け取る処理
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long sequence, UUID productId, int delta);
+    }
+
+    /**
+     * メモリマップされた1つのセグメントファイル
+     */
+    private static final class Segment {
+        private final long number;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        // セグメント内の最後のレコードの通番（空の場合は0）
+        private volatile long lastSequence;
+
+        Segment(long number, FileChannel channel, MappedByteBuffer buffer) {
+            this.number = number;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
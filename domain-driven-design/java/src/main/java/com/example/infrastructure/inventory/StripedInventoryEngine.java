@@ -0,0 +1,409 @@
+package com.example.infrastructure.inventory;
+
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+import com.example.domain.repository.ProductRepository;
+import com.example.domain.service.InventoryReservations;
+import com.example.infrastructure.repository.JpaInventoryCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 在庫数をメモリ上で管理し、商品リポジトリへは非同期にまとめて書き戻す在庫引当エンジン
+ *
+ * 商品ごとの在庫数は複数のストライプに分けた原子的なカウンタで保持し、引当は比較交換で行う
+ * 同じ商品への同時の引当は別々のストライプで処理され、1つのカウンタに競合が集中しない
+ *
+ * 引当と戻しは先行書き込みログに記録してから応答し、ログの内容を一定間隔で商品リポジトリに反映する
+ * 反映位置は商品の更新と同じトランザクションで記録するため、障害が起きても増減が失われたり
+ * 2回反映されたりすることはない
+ *
+ * 引当と戻しはトランザクションに含まれないため、トランザクション内で呼び出された場合は
+ * ロールバックした時点で引当を戻し、戻しはコミットした時点で行う
+ *
+ * 在庫数は最初に引き当てた時点で商品リポジトリから読み込み、以降はメモリ上の値を正とする
+ * エンジンを有効にしている間は、在庫の増減は全てエンジンを経由すること
+ * 経由せずに在庫が変更され、書き戻しで在庫数が負になる場合や商品が削除されていた場合は、
+ * 反映できなかった数量をずれとして記録する
+ */
+public class StripedInventoryEngine implements InventoryReservations, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(StripedInventoryEngine.class);
+    private static final String JOURNAL_NAME = "inventory";
+    // 1ストライプを64バイトのキャッシュラインに1つだけ置き、隣のストライプとの偽共有を避ける
+    private static final int PADDING = 8;
+    // 同時の引当で在庫が一時的にストライプ間に分散した場合に、引当をやり直す回数
+    private static final int MAX_ROUNDS = 3;
+
+    private final ProductRepository productRepository;
+    private final JpaInventoryCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryJournal journal;
+    private final int stripes;
+    private final Map<ProductId, Stock> stocks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writer;
+
+    // 書き戻しで反映できなかった増減（負になる在庫を0にした分と、削除された商品への増減）
+    private final LongAdder driftedProducts = new LongAdder();
+    private final LongAdder driftedQuantity = new LongAdder();
+
+    /**
+     * 未反映のログを商品リポジトリに反映してから、定期的な書き戻しを開始する
+     * @param productRepository 商品リポジトリ
+     * @param checkpointRepository ログの反映位置の保存先
+     * @param transactionTemplate 書き戻しのトランザクション
+     * @param journal 先行書き込みログ
+     * @param stripes 1商品あたりのストライプ数（2のべき乗）
+     * @param writeBehindIntervalMillis 書き戻しの間隔
+     */
+    public StripedInventoryEngine(ProductRepository productRepository,
+                                  JpaInventoryCheckpointRepository checkpointRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  InventoryJournal journal,
+                                  int stripes,
+                                  long writeBehindIntervalMillis) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1 || writeBehindIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid inventory engine configuration");
+        }
+        this.productRepository = productRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.journal = journal;
+        this.stripes = stripes;
+
+        // ログが失われていても、反映済みの通番を再び使わない
+        Long checkpoint = transactionTemplate.execute(status -> checkpointRepository.lockLastSequence(JOURNAL_NAME));
+        journal.skipTo(checkpoint);
+        writeBehind();
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::writeBehindQuietly,
+                writeBehindIntervalMillis, writeBehindIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<ProductId> tryReserve(Map<ProductId, Quantity> quantities) {
+        loadMissing(quantities.keySet());
+
+        Stock[] taken = new Stock[quantities.size()];
+        UUID[] productIds = new UUID[quantities.size()];
+        int[] deltas = new int[quantities.size()];
+        int count = 0;
+        List<ProductId> outOfStockProducts = new ArrayList<>();
+
+        for (Map.Entry<ProductId, Quantity> entry : quantities.entrySet()) {
+            int quantity = entry.getValue().getValue();
+            if (quantity == 0) {
+                continue;
+            }
+            Stock stock = stocks.get(entry.getKey());
+            if (stock == null) {
+                outOfStockProducts.add(entry.getKey());
+            } else if (!outOfStockProducts.isEmpty()) {
+                // 引当は失敗しているので、残りは不足しているかどうかだけを確認する
+                if (stock.available() < quantity) {
+                    outOfStockProducts.add(entry.getKey());
+                }
+            } else if (stock.tryTake(quantity)) {
+                taken[count] = stock;
+                productIds[count] = entry.getKey().getValue();
+                deltas[count] = -quantity;
+                count++;
+            } else {
+                outOfStockProducts.add(entry.getKey());
+            }
+        }
+
+        if (outOfStockProducts.isEmpty()) {
+            try {
+                journal.append(productIds, deltas, count);
+            } catch (RuntimeException e) {
+                giveBack(taken, deltas, count);
+                throw e;
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // 呼び出し元のトランザクションがロールバックした場合は引当を戻す
+                Map<ProductId, Quantity> reserved = Map.copyOf(quantities);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_ROLLED_BACK) {
+                            releaseNow(reserved);
+                        }
+                    }
+                });
+            }
+            return List.of();
+        }
+        giveBack(taken, deltas, count);
+        return outOfStockProducts;
+    }
+
+    @Override
+    public void release(Map<ProductId, Quantity> quantities) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // ロールバックした場合や再試行される場合に2回戻さないよう、コミットした時点で戻す
+            Map<ProductId, Quantity> released = Map.copyOf(quantities);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseNow(released);
+                }
+            });
+            return;
+        }
+        releaseNow(quantities);
+    }
+
+    private void releaseNow(Map<ProductId, Quantity> quantities) {
+        loadMissing(quantities.keySet());
+
+        Stock[] released = new Stock[quantities.size()];
+        UUID[] productIds = new UUID[quantities.size()];
+        int[] deltas = new int[quantities.size()];
+        int count = 0;
+        for (Map.Entry<ProductId, Quantity> entry : quantities.entrySet()) {
+            Stock stock = stocks.get(entry.getKey());
+            // 削除された商品の在庫は戻さない
+            if (stock != null && entry.getValue().getValue() > 0) {
+                released[count] = stock;
+                productIds[count] = entry.getKey().getValue();
+                deltas[count] = entry.getValue().getValue();
+                count++;
+            }
+        }
+
+        // 戻した在庫が引当に使われる前にログに記録する
+        journal.append(productIds, deltas, count);
+        for (int i = 0; i < count; i++) {
+            released[i].give(deltas[i]);
+        }
+    }
+
+    /**
+     * ログに記録された未反映の増減を商品リポジトリに反映する
+     * 商品ごとの増減を合算し、1回のトランザクションで書き込む
+     */
+    public synchronized void writeBehind() {
+        long upTo = journal.lastSequence();
+        Long applied = transactionTemplate.execute(status -> {
+            long from = checkpointRepository.lockLastSequence(JOURNAL_NAME);
+            if (from >= upTo) {
+                return from;
+            }
+
+            Map<UUID, Long> deltas = new HashMap<>();
+            journal.read(from, upTo, (sequence, productId, delta) -> deltas.merge(productId, (long) delta, Long::sum));
+            apply(deltas);
+            checkpointRepository.advance(JOURNAL_NAME, upTo);
+            return upTo;
+        });
+        journal.discardUpTo(applied);
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeBehindQuietly();
+    }
+
+    private void writeBehindQuietly() {
+        try {
+            writeBehind();
+        } catch (RuntimeException e) {
+            // 反映位置は進んでいないため、次回の書き戻しで同じ増減が反映される
+            logger.warn("Inventory write-behind failed, will retry on next run", e);
+        }
+    }
+
+    private void apply(Map<UUID, Long> deltas) {
+        List<ProductId> productIds = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> {
+            if (delta != 0) {
+                productIds.add(ProductId.of(productId));
+            }
+        });
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        List<Product> products = productRepository.findAllByIds(productIds);
+        Map<UUID, Long> unapplied = new HashMap<>(deltas);
+        for (Product product : products) {
+            long delta = unapplied.remove(product.getId().getValue());
+            long stock = product.getStockQuantity().getValue() + delta;
+            if (stock < 0) {
+                // エンジンを経由せずに在庫が減らされた場合
+                recordDrift(product.getId(), -stock,
+                        "stock would become " + stock + " and was set to zero");
+                stock = 0;
+            }
+            product.updateStockQuantity(Quantity.of((int) Math.min(stock, Integer.MAX_VALUE)));
+        }
+        productRepository.saveAll(products);
+
+        // 削除された商品への増減は反映先がない
+        unapplied.forEach((productId, delta) -> {
+            if (delta != 0) {
+                recordDrift(ProductId.of(productId), Math.abs(delta),
+                        "product no longer exists, delta " + delta + " was dropped");
+                stocks.remove(ProductId.of(productId));
+            }
+        });
+    }
+
+    private void recordDrift(ProductId productId, long quantity, String reason) {
+        driftedProducts.increment();
+        driftedQuantity.add(quantity);
+        logger.error("Inventory drift for product {}: {}", productId, reason);
+    }
+
+    /**
+     * 書き戻しで反映できなかった増減の件数（商品ごと）
+     * 0 でない場合、エンジンを経由せずに在庫が変更されている
+     * @return 件数
+     */
+    public long getDriftedProductCount() {
+        return driftedProducts.sum();
+    }
+
+    /**
+     * 書き戻しで反映できなかった数量の合計
+     * @return 数量
+     */
+    public long getDriftedQuantity() {
+        return driftedQuantity.sum();
+    }
+
+    // まだ読み込んでいない商品の在庫数を商品リポジトリからまとめて読み込む
+    private void loadMissing(Iterable<ProductId> productIds) {
+        List<ProductId> missing = null;
+        for (ProductId productId : productIds) {
+            if (!stocks.containsKey(productId)) {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(productId);
+            }
+        }
+        if (missing == null) {
+            return;
+        }
+        // 読み込んでいない商品には未反映の増減がないため、商品リポジトリの在庫数が最新である
+        for (Product product : productRepository.findAllByIds(missing)) {
+            stocks.putIfAbsent(product.getId(), new Stock(stripes, product.getStockQuantity().getValue()));
+        }
+    }
+
+    private static void giveBack(Stock[] taken, int[] deltas, int count) {
+        for (int i = 0; i < count; i++) {
+            taken[i].give(-deltas[i]);
+        }
+    }
+
+    /**
+     * 1商品の在庫数
+     * ストライプごとの残数の合計が在庫数になる
+     */
+    static final class Stock {
+        private final AtomicLongArray cells;
+        private final int mask;
+
+        Stock(int stripes, long available) {
+            this.cells = new AtomicLongArray(stripes * PADDING);
+            this.mask = stripes - 1;
+            long share = available / stripes;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                cells.set(stripe * PADDING, share);
+            }
+            cells.addAndGet(0, available - share * stripes);
+        }
+
+        long available() {
+            long sum = 0;
+            for (int stripe = 0; stripe <= mask; stripe++) {
+                sum += cells.get(stripe * PADDING);
+            }
+            return sum;
+        }
+
+        /**
+         * 在庫を引き当てる
+         * 任意のストライプから始め、足りない分を隣のストライプから順に取る
+         * @param quantity 引当数量
+         * @return 引き当てた場合は true
+         */
+        boolean tryTake(long quantity) {
+            for (int round = 0; round < MAX_ROUNDS; round++) {
+                int start = ThreadLocalRandom.current().nextInt(mask + 1);
+                long remaining = quantity;
+                // 複数のストライプから取った場合だけ、失敗時に戻す量を記録する
+                long[] takenPerStripe = null;
+                for (int i = 0; i <= mask && remaining > 0; i++) {
+                    int stripe = (start + i) & mask;
+                    int index = stripe * PADDING;
+                    long current = cells.get(index);
+                    while (current > 0) {
+                        long take = Math.min(current, remaining);
+                        if (cells.compareAndSet(index, current, current - take)) {
+                            remaining -= take;
+                            if (remaining > 0 || takenPerStripe != null) {
+                                if (takenPerStripe == null) {
+                                    takenPerStripe = new long[mask + 1];
+                                }
+                                takenPerStripe[stripe] += take;
+                            }
+                            break;
+                        }
+                        current = cells.get(index);
+                    }
+                }
+                if (remaining == 0) {
+                    return true;
+                }
+
+                if (takenPerStripe != null) {
+                    for (int stripe = 0; stripe <= mask; stripe++) {
+                        if (takenPerStripe[stripe] != 0) {
+                            cells.addAndGet(stripe * PADDING, takenPerStripe[stripe]);
+                        }
+                    }
+                }
+                // 他の引当が一時的に取っていた分で不足しただけの場合はやり直す
+                if (available() < quantity) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        void give(long quantity) {
+            cells.addAndGet(ThreadLocalRandom.current().nextInt(mask + 1) * PADDING, quantity);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.infrastructure.payment;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 連続した失敗の回数で開閉するサーキットブレーカー
+ *
+ * 閉じている間は全ての呼び出しを通し、失敗が閾値の回数続くと開く
+ * 開いている間は呼び出しを拒否し、一定時間が経つと1回だけ試しに通す（半開）
+ * 試しの呼び出しが成功すれば閉じ、失敗すれば再び開く
+ */
+final class CircuitBreaker {
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    /**
+     * @param failureThreshold 開くまでの連続した失敗の回数
+     * @param openNanos 開いてから試しの呼び出しを通すまでの時間
+     */
+    CircuitBreaker(int failureThreshold, long openNanos) {
+        if (failureThreshold <= 0 || openNanos <= 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker configuration");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+    }
+
+    State state() {
+        return state.get();
+    }
+
+    /**
+     * 呼び出しを通してよいかを判定する
+     * 通した呼び出しは、結果に応じて onSuccess または onFailure を必ず呼び出すこと
+     * @return 呼び出してよい場合は true
+     */
+    boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            // 試しの呼び出しは1回だけ通す
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.nanoTime();
+            consecutiveFailures.set(0);
+            state.set(State.OPEN);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.example.infrastructure.payment;
+
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.PaymentAuthorization;
+import com.example.domain.service.PaymentDeclinedException;
+import com.example.domain.service.PaymentGateway;
+import com.example.domain.service.PaymentUnavailableException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 決済サービスの呼び出しにタイムアウト、ヘッジ、サーキットブレーカーを適用する PaymentGateway
+ *
+ * 1回の呼び出しは一定時間で打ち切る。ヘッジを有効にした場合、最近の応答時間の指定したパーセンタイルを
+ * 過ぎても応答がなければ、同じ冪等キーで2回目の呼び出しを行い、先に成功した方の承認を返す
+ * 冪等キーが同じため、両方が成功しても承認は1回だけとなる
+ *
+ * 決済サービスの拒否は正常な応答として扱い、サーキットブレーカーの失敗には数えない
+ */
+public class ResilientPaymentGateway implements PaymentGateway {
+    // 応答時間のパーセンタイルを求める標本数
+    private static final int LATENCY_SAMPLES = 256;
+    // ヘッジの遅延を求め直す間隔（呼び出し回数）
+    private static final int RECALCULATE_EVERY = 32;
+
+    private final PaymentGateway delegate;
+    private final Executor executor;
+    private final long callTimeoutNanos;
+    private final double hedgePercentile;
+    private final CircuitBreaker circuitBreaker;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_SAMPLES);
+    private final AtomicInteger recordedLatencies = new AtomicInteger();
+    // ヘッジするまでの遅延（標本が足りない場合は0でヘッジしない）
+    private volatile long hedgeDelayNanos;
+
+    private final LongAdder hedgedCalls = new LongAdder();
+    private final LongAdder timedOutCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    /**
+     * @param delegate 決済サービスを呼び出す PaymentGateway
+     * @param executor ヘッジした呼び出しを開始するスレッド（仮想スレッドを想定）
+     * @param callTimeout 1回の呼び出しのタイムアウト
+     * @param hedgePercentile ヘッジするまでの遅延とする応答時間のパーセンタイル（0〜1、0 の場合はヘッジしない）
+     * @param failureThreshold サーキットブレーカーが開くまでの連続した失敗の回数
+     * @param openDuration サーキットブレーカーが開いてから試しの呼び出しを通すまでの時間
+     */
+    public ResilientPaymentGateway(PaymentGateway delegate, Executor executor, Duration callTimeout,
+                                   double hedgePercentile, int failureThreshold, Duration openDuration) {
+        if (callTimeout.isNegative() || callTimeout.isZero() || hedgePercentile < 0 || hedgePercentile >= 1) {
+            throw new IllegalArgumentException("Invalid payment gateway configuration");
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+        this.callTimeoutNanos = callTimeout.toNanos();
+        this.hedgePercentile = hedgePercentile;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration.toNanos());
+    }
+
+    @Override
+    public CompletableFuture<PaymentAuthorization> authorize(OrderId orderId, Money amount, String idempotencyKey) {
+        if (!circuitBreaker.tryAcquire()) {
+            rejectedCalls.increment();
+            return CompletableFuture.failedFuture(new PaymentUnavailableException("Payment gateway circuit is open"));
+        }
+
+        CompletableFuture<PaymentAuthorization> result = new CompletableFuture<>();
+        // 結果を待っている呼び出しの数。全ての呼び出しが失敗した時点で結果を失敗させる
+        AtomicInteger outstanding = new AtomicInteger(1);
+        attempt(orderId, amount, idempotencyKey, result, outstanding);
+
+        long delay = hedgeDelayNanos;
+        if (delay > 0 && delay < callTimeoutNanos) {
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor).execute(() -> {
+                // 1回目の呼び出しが既に完了している場合はヘッジしない
+                if (!result.isDone() && outstanding.getAndUpdate(n -> n == 0 ? 0 : n + 1) > 0) {
+                    hedgedCalls.increment();
+                    attempt(orderId, amount, idempotencyKey, result, outstanding);
+                }
+            });
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorization(PaymentAuthorization authorization) {
+        return delegate.voidAuthorization(authorization)
+                .orTimeout(callTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public CompletableFuture<Void> voidByIdempotencyKey(String idempotencyKey) {
+        return delegate.voidByIdempotencyKey(idempotencyKey)
+                .orTimeout(callTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * サーキットブレーカーが開いている（半開を含む）かどうか
+     * @return 開いている場合は true
+     */
+    public boolean isCircuitOpen() {
+        return circuitBreaker.state() != CircuitBreaker.State.CLOSED;
+    }
+
+    public long getHedgedCount() {
+        return hedgedCalls.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timedOutCalls.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCalls.sum();
+    }
+
+    private void attempt(OrderId orderId, Money amount, String idempotencyKey,
+                         CompletableFuture<PaymentAuthorization> result, AtomicInteger outstanding) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<PaymentAuthorization> call;
+        try {
+            call = delegate.authorize(orderId, amount, idempotencyKey);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        call.orTimeout(callTimeoutNanos, TimeUnit.NANOSECONDS).whenComplete((authorization, failure) -> {
+            if (failure == null) {
+                recordLatency(System.nanoTime() - startedAt);
+                if (result.complete(authorization)) {
+                    circuitBreaker.onSuccess();
+                }
+                return;
+            }
+
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            if (cause instanceof PaymentDeclinedException) {
+                // 拒否は決済サービスが正常に応答した結果であり、もう一方の呼び出しを待っても変わらない
+                if (result.completeExceptionally(cause)) {
+                    circuitBreaker.onSuccess();
+                }
+                return;
+            }
+            if (cause instanceof TimeoutException) {
+                timedOutCalls.increment();
+            }
+            if (outstanding.decrementAndGet() == 0) {
+                if (result.completeExceptionally(cause instanceof PaymentUnavailableException
+                        ? cause : new PaymentUnavailableException("Payment authorization failed", cause))) {
+                    circuitBreaker.onFailure();
+                }
+            }
+        });
+    }
+
+    // 応答時間を記録し、一定回数ごとにヘッジするまでの遅延を求め直す
+    private void recordLatency(long nanos) {
+        if (hedgePercentile == 0) {
+            return;
+        }
+        // 回数は桁あふれしても標本の位置と再計算の間隔が崩れないよう、符号なしとして扱う
+        int count = recordedLatencies.incrementAndGet();
+        latencies.set(Integer.remainderUnsigned(count - 1, LATENCY_SAMPLES), nanos);
+        if (Integer.remainderUnsigned(count, RECALCULATE_EVERY) != 0
+                || Integer.compareUnsigned(count, LATENCY_SAMPLES / 4) < 0) {
+            return;
+        }
+
+        int size = Integer.compareUnsigned(count, LATENCY_SAMPLES) < 0 ? count : LATENCY_SAMPLES;
+        long[] samples = new long[size];
+        for (int i = 0; i < size; i++) {
+            samples[i] = latencies.get(i);
+        }
+        Arrays.sort(samples);
+        hedgeDelayNanos = samples[(int) Math.min(size - 1, Math.ceil(size * hedgePercentile) - 1)];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.example.infrastructure.payment;
+
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.PaymentAuthorization;
+import com.example.domain.service.PaymentGateway;
+import com.example.domain.service.PaymentUnavailableException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 外部の決済サービスの代わりに、ローカルで支払いを承認する PaymentGateway の実装
+ * 開発や負荷試験のため、応答時間のばらつきと一時的な障害を模擬する
+ *
+ * 応答時間は平均が指定した値になる対数正規分布に従うため、まれに大きく遅れる応答が混ざる
+ * 承認は冪等キーごとに1回だけ行い、同じキーの要求には同じ承認を返す
+ */
+public class SimulatedPaymentGateway implements PaymentGateway {
+    private final Executor executor;
+    private final long meanLatencyNanos;
+    private final double latencySigma;
+    private final double failureRate;
+
+    // 冪等キーごとの承認（取り消された承認は削除する）
+    private final Map<String, PaymentAuthorization> authorizations = new ConcurrentHashMap<>();
+
+    /**
+     * @param executor 応答を待つスレッド（仮想スレッドを想定）
+     * @param meanLatency 平均応答時間
+     * @param latencySigma 応答時間のばらつき（対数正規分布の σ。0 の場合は常に平均応答時間）
+     * @param failureRate 一時的な障害で失敗する割合（0〜1）
+     */
+    public SimulatedPaymentGateway(Executor executor, Duration meanLatency, double latencySigma, double failureRate) {
+        if (meanLatency.isNegative() || latencySigma < 0 || failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("Invalid simulated payment gateway configuration");
+        }
+        this.executor = executor;
+        this.meanLatencyNanos = meanLatency.toNanos();
+        this.latencySigma = latencySigma;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public CompletableFuture<PaymentAuthorization> authorize(OrderId orderId, Money amount, String idempotencyKey) {
+        return CompletableFuture.supplyAsync(() -> {
+            simulateLatency();
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                throw new PaymentUnavailableException("Simulated payment gateway failure");
+            }
+            return authorizations.computeIfAbsent(idempotencyKey,
+                    key -> PaymentAuthorization.of(UUID.randomUUID().toString(), orderId, amount));
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorization(PaymentAuthorization authorization) {
+        return CompletableFuture.runAsync(() -> {
+            simulateLatency();
+            authorizations.values().remove(authorization);
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> voidByIdempotencyKey(String idempotencyKey) {
+        return CompletableFuture.runAsync(() -> {
+            simulateLatency();
+            authorizations.remove(idempotencyKey);
+        }, executor);
+    }
+
+    // 平均が meanLatency になるよう、exp(σZ - σ²/2) 倍した時間だけ待つ
+    private void simulateLatency() {
+        double factor = Math.exp(latencySigma * ThreadLocalRandom.current().nextGaussian()
+                - latencySigma * latencySigma / 2);
+        long nanos = (long) (meanLatencyNanos * factor);
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentUnavailableException("Interrupted while waiting for payment gateway", e);
+        }
+    }
+}
\ No newline at end of file
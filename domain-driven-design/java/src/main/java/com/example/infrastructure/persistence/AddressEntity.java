@@ -0,0 +1,26 @@
+package com.example.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * 住所のJPAエンティティ
+ */
+@Entity
+@Table(name = "addresses")
+@Data
+public class AddressEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id")
+    private CustomerEntity customer;
+    
+    private String streetAddress;
+    private String city;
+    private String state;
+    private String zipCode;
+    private String country;
+}
\ No newline at end of file
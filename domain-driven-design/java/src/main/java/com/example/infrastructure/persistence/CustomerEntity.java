@@ -0,0 +1,38 @@
+package com.example.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 顧客のJPAエンティティ
+ */
+@Entity
+@NamedEntityGraph(name = CustomerEntity.WITH_ADDRESSES, attributeNodes = @NamedAttributeNode("addresses"))
+@Table(name = "customers")
+@Data
+public class CustomerEntity {
+    // 住所を同じクエリで結合して読み込むフェッチグラフ
+    public static final String WITH_ADDRESSES = "CustomerEntity.withAddresses";
+    
+    @Id
+    private UUID id;
+    
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+    private boolean active;
+    private LocalDateTime registeredAt;
+    private LocalDateTime lastModifiedAt;
+    
+    // 住所のリレーション
+    // 住所の順序は追加順（ドメインモデルはインデックスで住所を指定する）
+    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<AddressEntity> addresses = new ArrayList<>();
+}
\ No newline at end of file
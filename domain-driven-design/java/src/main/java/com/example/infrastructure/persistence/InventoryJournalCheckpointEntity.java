@@ -0,0 +1,23 @@
+package com.example.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 在庫の先行書き込みログのうち、商品に反映済みの位置を記録するJPAエンティティ
+ * 商品の在庫の更新と同じトランザクションで更新される
+ */
+@Entity
+@Table(name = "inventory_journal_checkpoints")
+@Data
+public class InventoryJournalCheckpointEntity {
+    @Id
+    private String name;
+    
+    // 反映済みの最後のレコードの通番
+    private long lastSequence;
+    
+    private LocalDateTime updatedAt;
+}
\ No newline at end of file
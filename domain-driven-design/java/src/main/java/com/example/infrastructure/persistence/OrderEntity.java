@@ -0,0 +1,68 @@
+package com.example.infrastructure.persistence;
+
+import com.example.domain.model.valueobject.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 注文のJPAエンティティ
+ */
+@Entity
+@NamedEntityGraph(name = OrderEntity.WITH_ITEMS, attributeNodes = @NamedAttributeNode("orderItems"))
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_created", columnList = "customerId, createdAt, id"),
+        @Index(name = "idx_orders_status_created", columnList = "status, createdAt, id"),
+        @Index(name = "idx_orders_created", columnList = "createdAt, id"),
+        @Index(name = "idx_orders_status_modified", columnList = "status, lastModifiedAt")
+})
+@Data
+public class OrderEntity {
+    // 注文項目を同じクエリで結合して読み込むフェッチグラフ
+    public static final String WITH_ITEMS = "OrderEntity.withItems";
+    
+    @Id
+    private UUID id;
+    
+    private UUID customerId;
+    
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    
+    private BigDecimal totalAmount;
+    private String currency;
+    
+    // 配送先住所
+    private String shippingStreetAddress;
+    private String shippingCity;
+    private String shippingState;
+    private String shippingZipCode;
+    private String shippingCountry;
+    
+    // 請求先住所
+    private String billingStreetAddress;
+    private String billingCity;
+    private String billingState;
+    private String billingZipCode;
+    private String billingCountry;
+    
+    // 日時情報
+    private LocalDateTime createdAt;
+    private LocalDateTime lastModifiedAt;
+    private LocalDateTime paidAt;
+    private LocalDateTime shippedAt;
+    private LocalDateTime cancelledAt;
+    
+    // 楽観的排他制御のバージョン
+    @Version
+    private long version;
+    
+    // 注文項目のリレーション
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<OrderItemEntity> orderItems = new ArrayList<>();
+}
\ No newline at end of file
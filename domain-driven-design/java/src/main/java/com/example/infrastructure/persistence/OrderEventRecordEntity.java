@@ -0,0 +1,41 @@
+package com.example.infrastructure.persistence;
+
+import com.example.domain.model.valueobject.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 注文のイベントストアに追記されるレコードのJPAエンティティ
+ * 検索用に、各レコードの時点での顧客IDと注文状態を保持する
+ */
+@Entity
+@Table(name = "order_event_records",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_event_records_stream",
+                columnNames = {"orderId", "streamVersion"}),
+        indexes = {
+                @Index(name = "idx_order_event_records_customer", columnList = "customerId"),
+                @Index(name = "idx_order_event_records_status", columnList = "status")
+        })
+@Data
+public class OrderEventRecordEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    private UUID orderId;
+    private long streamVersion;
+    private String recordType;
+    
+    @Lob
+    private String payload;
+    
+    private UUID customerId;
+    
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    
+    private LocalDateTime occurredAt;
+}
\ No newline at end of file
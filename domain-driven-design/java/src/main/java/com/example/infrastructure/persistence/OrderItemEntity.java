@@ -0,0 +1,28 @@
+package com.example.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 注文項目のJPAエンティティ
+ */
+@Entity
+@Table(name = "order_items")
+@Data
+public class OrderItemEntity {
+    @Id
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
+    private OrderEntity order;
+    
+    private UUID productId;
+    private String productName;
+    private BigDecimal unitPrice;
+    private String currency;
+    private int quantity;
+}
\ No newline at end of file
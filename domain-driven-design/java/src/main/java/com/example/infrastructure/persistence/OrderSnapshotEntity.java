@@ -0,0 +1,25 @@
+package com.example.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 注文のスナップショットのJPAエンティティ
+ */
+@Entity
+@Table(name = "order_snapshots")
+@Data
+public class OrderSnapshotEntity {
+    @Id
+    private UUID orderId;
+    
+    private long streamVersion;
+    
+    @Lob
+    private String payload;
+    
+    private LocalDateTime takenAt;
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.infrastructure.persistence;
+
+import com.example.domain.model.valueobject.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 注文サマリー（読み取りモデル）のJPAエンティティ
+ */
+@Entity
+@Table(name = "order_summaries", indexes = {
+        @Index(name = "idx_order_summaries_customer", columnList = "customerId, createdAt"),
+        @Index(name = "idx_order_summaries_status", columnList = "status, createdAt")
+})
+@Data
+public class OrderSummaryEntity {
+    @Id
+    private UUID id;
+    
+    private UUID customerId;
+    
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    
+    private BigDecimal totalAmount;
+    private String currency;
+    private int itemCount;
+    
+    private LocalDateTime createdAt;
+    private LocalDateTime lastModifiedAt;
+    private LocalDateTime paidAt;
+    private LocalDateTime shippedAt;
+    private LocalDateTime cancelledAt;
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * アウトボックスのJPAエンティティ
+ * 集約の保存と同じトランザクションで書き込まれ、リレーによって配信される
+ * IDENTITY 採番では JDBC バッチが無効になるため、まとめて払い出すシーケンスで採番する
+ * 配信に失敗した回数と最後の失敗を記録し、失敗が続いたメッセージは保留（parkedAt を設定）してリレーの対象から外す
+ */
+@Entity
+@Table(name = "outbox_messages", indexes = @Index(name = "idx_outbox_created_at", columnList = "createdAt"))
+@Data
+public class OutboxMessageEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_messages_seq")
+    @SequenceGenerator(name = "outbox_messages_seq", sequenceName = "outbox_messages_seq", allocationSize = 50)
+    private Long id;
+    
+    private UUID aggregateId;
+    private String eventType;
+    
+    @Lob
+    private String payload;
+    
+    private LocalDateTime occurredAt;
+    private LocalDateTime createdAt;
+    
+    // 配信に失敗した回数と最後の失敗の内容
+    private int attempts;
+    @Column(length = 1000)
+    private String lastError;
+    
+    // 保留した日時（配信の対象の間は null）
+    private LocalDateTime parkedAt;
+}
\ No newline at end of file
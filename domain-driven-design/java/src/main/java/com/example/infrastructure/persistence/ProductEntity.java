@@ -0,0 +1,25 @@
+package com.example.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 商品のJPAエンティティ
+ */
+@Entity
+@Table(name = "products")
+@Data
+public class ProductEntity {
+    @Id
+    private UUID id;
+    
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private String currency;
+    private int stockQuantity;
+    private boolean active;
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 売上の時間枠ごとの集計を保存するJPAエンティティ
+ * 通貨と時間枠の単位ごとに、リングバッファの内容をそのまま保存する
+ */
+@Entity
+@Table(name = "sales_rollup_checkpoints")
+@Data
+public class SalesRollupCheckpointEntity {
+    // 通貨コードと時間枠の単位（例: JPY:MINUTES）
+    @Id
+    private String name;
+    
+    // 時間枠ごとの long の並び
+    @Lob
+    private byte[] buckets;
+    
+    private LocalDateTime updatedAt;
+}
\ No newline at end of file
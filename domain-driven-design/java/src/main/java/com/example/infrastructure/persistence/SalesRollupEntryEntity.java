@@ -0,0 +1,33 @@
+package com.example.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 売上の集計に反映したイベントを記録するJPAエンティティ
+ * 同じイベントが再配信されても1回だけ集計し、保存された集計に含まれていない分を起動時に反映し直すために使う
+ */
+@Entity
+@Table(name = "sales_rollup_entries", indexes = {
+        @Index(name = "idx_sales_rollup_entries_checkpointed", columnList = "checkpointed, occurredAt")
+})
+@Data
+public class SalesRollupEntryEntity {
+    // イベントの種類と注文ID（例: PAID:注文ID）
+    @Id
+    private String entryKey;
+    
+    private String currency;
+    
+    // 売上（100分の1単位）
+    private long amount;
+    
+    private boolean refund;
+    
+    private LocalDateTime occurredAt;
+    
+    // 保存された集計に含まれている場合は true
+    private boolean checkpointed;
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ID による顧客の検索をメモリ上にキャッシュする CustomerRepository
+ * 注文の作成や支払いのたびに行われる顧客の読み込みと復元を省く
+ *
+ * 件数の上限を超えた場合は参照頻度の低い顧客から追い出す（W-TinyLFU）
+ * 保持期間は顧客ごとに揺らぎを持たせ、同時に読み込んだ顧客が一斉に期限切れになるのを避ける
+ * 再読み込みの間隔を過ぎてから参照された顧客は、期限切れになる前にバックグラウンドで読み込み直す
+ *
+ * 顧客の保存と削除はキャッシュを無効化する。トランザクション内の場合はコミット後にもう一度無効化し、
+ * コミット前に他の処理が読み込んだ古い顧客がキャッシュに残らないようにする
+ * キャッシュした顧客は呼び出し元に複製して返し、呼び出し元の変更が他の処理から見えないようにする
+ */
+public class CachingCustomerRepository implements CustomerRepository {
+    private final CustomerRepository delegate;
+    private final LoadingCache<CustomerId, Customer> cache;
+
+    /**
+     * @param delegate 顧客を読み書きするリポジトリ
+     * @param maximumSize キャッシュする顧客の最大件数
+     * @param timeToLive 読み込んでから期限切れになるまでの時間
+     * @param refreshAfter 読み込んでからバックグラウンドで読み込み直すまでの時間（timeToLive より短くする）
+     */
+    public CachingCustomerRepository(CustomerRepository delegate, long maximumSize,
+                                     Duration timeToLive, Duration refreshAfter) {
+        if (maximumSize <= 0 || timeToLive.isNegative() || timeToLive.isZero()
+                || refreshAfter.isNegative() || refreshAfter.isZero() || refreshAfter.compareTo(timeToLive) >= 0) {
+            throw new IllegalArgumentException("Invalid customer cache configuration");
+        }
+        this.delegate = delegate;
+        long ttlNanos = timeToLive.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new JitteredExpiry(ttlNanos))
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .build(new CustomerLoader(delegate));
+    }
+
+    /**
+     * メトリクスの登録に使用するキャッシュ
+     * @return 顧客のキャッシュ
+     */
+    public LoadingCache<CustomerId, Customer> getCache() {
+        return cache;
+    }
+
+    /**
+     * 顧客をキャッシュから取り除く
+     * リポジトリを経由せずに顧客が変更された場合に呼び出す
+     * @param id 顧客ID
+     */
+    public void invalidate(CustomerId id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public Optional<Customer> findById(CustomerId id) {
+        return Optional.ofNullable(cache.get(id)).map(CachingCustomerRepository::copyOf);
+    }
+
+    @Override
+    public List<Customer> findAllByIds(Collection<CustomerId> ids) {
+        // キャッシュにない顧客だけを1回の検索でまとめて読み込む
+        Collection<Customer> cached = cache.getAll(ids).values();
+        List<Customer> customers = new ArrayList<>(cached.size());
+        for (Customer customer : cached) {
+            customers.add(copyOf(customer));
+        }
+        return customers;
+    }
+
+    @Override
+    public Optional<Customer> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public List<Customer> findByName(String firstName, String lastName) {
+        return delegate.findByName(firstName, lastName);
+    }
+
+    @Override
+    public List<Customer> findAllActive() {
+        return delegate.findAllActive();
+    }
+
+    @Override
+    public Customer save(Customer customer) {
+        try {
+            return delegate.save(customer);
+        } finally {
+            invalidateAfterCommit(customer.getId());
+        }
+    }
+
+    @Override
+    public void deleteById(CustomerId id) {
+        try {
+            delegate.deleteById(id);
+        } finally {
+            invalidateAfterCommit(id);
+        }
+    }
+
+    // 同じトランザクション内の読み込みのためにすぐ無効化し、コミットまでに読み込まれた古い顧客をコミット後に無効化する
+    private void invalidateAfterCommit(CustomerId id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    // キャッシュした顧客は変更できるため、呼び出し元ごとに複製する
+    private static Customer copyOf(Customer customer) {
+        return Customer.reconstitute(customer.getId(), customer.getFirstName(), customer.getLastName(),
+                customer.getEmail(), customer.getPhoneNumber(), customer.getAddresses(), customer.isActive(),
+                customer.getRegisteredAt(), customer.getLastModifiedAt());
+    }
+
+    /**
+     * キャッシュにない顧客を読み込む
+     * 見つからない顧客は null を返し、キャッシュしない
+     */
+    private static final class CustomerLoader implements CacheLoader<CustomerId, Customer> {
+        private final CustomerRepository delegate;
+
+        CustomerLoader(CustomerRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Customer load(CustomerId id) {
+            return delegate.findById(id).orElse(null);
+        }
+
+        @Override
+        public Map<CustomerId, Customer> loadAll(Set<? extends CustomerId> ids) {
+            Map<CustomerId, Customer> customers = new HashMap<>();
+            for (Customer customer : delegate.findAllByIds(new ArrayList<>(ids))) {
+                customers.put(customer.getId(), customer);
+            }
+            return customers;
+        }
+    }
+
+    /**
+     * 顧客ごとに保持期間を -10%〜+10% の範囲でずらす
+     * 参照や再読み込みでは期限を延ばさない
+     */
+    private static final class JitteredExpiry implements Expiry<CustomerId, Customer> {
+        private final long ttlNanos;
+
+        JitteredExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(CustomerId key, Customer value, long currentTime) {
+            long jitter = ttlNanos / 10;
+            return ttlNanos + (jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(CustomerId key, Customer value, long currentTime, long currentDuration) {
+            // バックグラウンドの再読み込みで値が更新された場合は、新しい期限を設定する
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(CustomerId key, Customer value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.aggregate.OrderChanges;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.OrderStatus;
+import com.example.domain.repository.ConcurrentOrderModificationException;
+import com.example.domain.repository.OrderCursor;
+import com.example.domain.repository.OrderPage;
+import com.example.domain.repository.OrderRepository;
+import com.example.infrastructure.persistence.OrderEventRecordEntity;
+import com.example.infrastructure.persistence.OrderSnapshotEntity;
+import com.example.infrastructure.repository.OrderStateSerializer.OrderState;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 追記専用のイベントストアを使用した OrderRepository の実装
+ * 注文は最新のスナップショットとそれ以降のレコードの再生によって再構築される
+ * ddd.orders.repository=event-sourced で有効になる
+ */
+@Repository
+@ConditionalOnProperty(name = "ddd.orders.repository", havingValue = "event-sourced")
+public class EventSourcedOrderRepository implements OrderRepository {
+    private static final String ORDER_CREATED = "OrderCreated";
+    private static final String ORDER_CHANGED = "OrderChanged";
+    // 作成レコードの記録日時は注文の作成日時と一致する
+    private static final String KEYSET_CONDITION =
+            " AND (r.occurredAt > :afterCreatedAt OR (r.occurredAt = :afterCreatedAt AND r.orderId > :afterId))";
+    private static final String KEYSET_ORDER = " ORDER BY r.occurredAt, r.orderId";
+    private static final String LATEST_STATUS_CONDITION =
+            "EXISTS (SELECT 1 FROM OrderEventRecordEntity l WHERE l.orderId = r.orderId AND l.status = :status " +
+                    "AND l.streamVersion = (SELECT MAX(l2.streamVersion) FROM OrderEventRecordEntity l2 " +
+                    "WHERE l2.orderId = r.orderId))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JpaOutboxRepository outboxRepository;
+    private final JpaOrderSummaryRepository orderSummaryRepository;
+    private final OrderStateSerializer serializer = new OrderStateSerializer();
+    private final int snapshotInterval;
+    private final int fetchSize;
+
+    public EventSourcedOrderRepository(JpaOutboxRepository outboxRepository,
+                                       JpaOrderSummaryRepository orderSummaryRepository,
+                                       @Value("${ddd.orders.event-store.snapshot-interval:50}") int snapshotInterval,
+                                       @Value("${ddd.orders.stream.fetch-size:500}") int fetchSize) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        this.outboxRepository = outboxRepository;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.snapshotInterval = snapshotInterval;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId id) {
+        return load(List.of(id.getValue())).stream().findFirst();
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        List<UUID> orderIds = entityManager.createQuery(
+                        "SELECT r.orderId FROM OrderEventRecordEntity r " +
+                                "WHERE r.customerId = :customerId AND r.streamVersion = 1", UUID.class)
+                .setParameter("customerId", customerId.getValue())
+                .getResultList();
+        return load(orderIds);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        // 各ストリームの最新レコードが持つ状態で判定する
+        List<UUID> orderIds = entityManager.createQuery(
+                        "SELECT r.orderId FROM OrderEventRecordEntity r " +
+                                "WHERE r.status = :status AND r.streamVersion = " +
+                                "(SELECT MAX(r2.streamVersion) FROM OrderEventRecordEntity r2 WHERE r2.orderId = r.orderId)",
+                        UUID.class)
+                .setParameter("status", status)
+                .getResultList();
+        return load(orderIds);
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        List<UUID> orderIds = entityManager.createQuery(
+                        "SELECT r.orderId FROM OrderEventRecordEntity r " +
+                                "WHERE r.streamVersion = 1 AND r.occurredAt BETWEEN :startDate AND :endDate", UUID.class)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+        return load(orderIds);
+    }
+
+    @Override
+    public OrderPage findByCustomerId(CustomerId customerId, OrderCursor after, int limit) {
+        return findPage("r.customerId = :customerId", Map.of("customerId", customerId.getValue()), after, limit);
+    }
+
+    @Override
+    public OrderPage findByStatus(OrderStatus status, OrderCursor after, int limit) {
+        return findPage(LATEST_STATUS_CONDITION, Map.of("status", status), after, limit);
+    }
+
+    @Override
+    public OrderPage findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate,
+                                           OrderCursor after, int limit) {
+        return findPage("r.occurredAt BETWEEN :startDate AND :endDate",
+                Map.of("startDate", startDate, "endDate", endDate), after, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<Order> streamByCustomerId(CustomerId customerId) {
+        return streamPages(after -> findByCustomerId(customerId, after, fetchSize));
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<Order> streamByStatus(OrderStatus status) {
+        return streamPages(after -> findByStatus(status, after, fetchSize));
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<Order> streamByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return streamPages(after -> findByCreatedAtBetween(startDate, endDate, after, fetchSize));
+    }
+
+    // 作成レコードを (記録日時, 注文ID) の順に limit + 1 件取得し、該当する注文を再構築する
+    private OrderPage findPage(String condition, Map<String, Object> parameters, OrderCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT r.orderId FROM OrderEventRecordEntity r ")
+                .append("WHERE r.streamVersion = 1 AND ").append(condition);
+        if (after != null) {
+            jpql.append(KEYSET_CONDITION);
+        }
+        jpql.append(KEYSET_ORDER);
+
+        TypedQuery<UUID> query = entityManager.createQuery(jpql.toString(), UUID.class);
+        parameters.forEach(query::setParameter);
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.getCreatedAt());
+            query.setParameter("afterId", after.getOrderId().getValue());
+        }
+
+        List<UUID> orderIds = query.setMaxResults(limit + 1).getResultList();
+        boolean hasNext = orderIds.size() > limit;
+        return new OrderPage(load(hasNext ? orderIds.subList(0, limit) : orderIds), hasNext);
+    }
+
+    // イベントストアには前方スクロールできる単一の行がないため、キーセットのページを順に読み込む
+    private Stream<Order> streamPages(Function<OrderCursor, OrderPage> pageLoader) {
+        return Stream.iterate(pageLoader.apply(null), Objects::nonNull,
+                        page -> page.getNextCursor().map(pageLoader).orElse(null))
+                .flatMap(page -> page.getOrders().stream());
+    }
+
+    @Override
+    @Transactional
+    public Order save(Order order) {
+        OrderChanges changes = order.pendingChanges();
+        long version = order.version();
+
+        if (!changes.isEmpty()) {
+            UUID orderId = order.getId().getValue();
+            long previousVersion = changes.isNewOrder() ? 0 : order.version();
+            version = previousVersion + 1;
+            if (!changes.isNewOrder() && currentVersion(orderId) != previousVersion) {
+                throw new ConcurrentOrderModificationException(order.getId(), previousVersion);
+            }
+
+            // 1回の保存につき1レコードを追記する
+            // 確認と追記の間に割り込まれた場合は (orderId, streamVersion) の一意制約で検出される
+            OrderEventRecordEntity record = new OrderEventRecordEntity();
+            record.setOrderId(orderId);
+            record.setStreamVersion(version);
+            record.setCustomerId(order.getCustomerId().getValue());
+            record.setStatus(order.getStatus());
+            if (changes.isNewOrder()) {
+                record.setRecordType(ORDER_CREATED);
+                record.setPayload(serializer.serializeState(order));
+                record.setOccurredAt(order.getCreatedAt());
+            } else {
+                record.setRecordType(ORDER_CHANGED);
+                record.setPayload(serializer.serializeChanges(order, changes));
+                record.setOccurredAt(order.getLastModifiedAt());
+            }
+            try {
+                entityManager.persist(record);
+            } catch (ConstraintViolationException e) {
+                // このレコードに掛かる一意制約はストリームの制約だけである
+                // （Hibernate は一意制約違反を ConstraintViolationException そのものとして投げる）
+                throw new ConcurrentOrderModificationException(order.getId(), previousVersion);
+            }
+
+            // N件ごとにスナップショットを取り、再生するレコード数を抑える
+            if (version % snapshotInterval == 0) {
+                OrderSnapshotEntity snapshot = new OrderSnapshotEntity();
+                snapshot.setOrderId(orderId);
+                snapshot.setStreamVersion(version);
+                snapshot.setPayload(serializer.serializeState(order));
+                snapshot.setTakenAt(LocalDateTime.now());
+                entityManager.merge(snapshot);
+            }
+
+            // 読み取りモデルを同じトランザクションで更新する
+            orderSummaryRepository.project(order, changes.isNewOrder());
+        }
+
+        // ドメインイベントは同じトランザクションでアウトボックスに書き込む
+        outboxRepository.append(order.getDomainEvents());
+        order.clearChanges(version);
+
+        return order;
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(Collection<Order> orders) {
+        // レコードは IDENTITY 採番のため INSERT は1件ずつ実行されるが、トランザクションは1回にまとめる
+        for (Order order : orders) {
+            save(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(OrderId id) {
+        entityManager.createQuery("DELETE FROM OrderSnapshotEntity s WHERE s.orderId = :orderId")
+                .setParameter("orderId", id.getValue())
+                .executeUpdate();
+        entityManager.createQuery("DELETE FROM OrderEventRecordEntity r WHERE r.orderId = :orderId")
+                .setParameter("orderId", id.getValue())
+                .executeUpdate();
+        orderSummaryRepository.remove(id);
+    }
+
+    private long currentVersion(UUID orderId) {
+        Long version = entityManager.createQuery(
+                        "SELECT MAX(r.streamVersion) FROM OrderEventRecordEntity r WHERE r.orderId = :orderId", Long.class)
+                .setParameter("orderId", orderId)
+                .getSingleResult();
+        if (version == null) {
+            throw new IllegalStateException("Order not found: " + orderId);
+        }
+        return version;
+    }
+
+    // スナップショットとそれ以降のレコードをまとめて取得し、注文ごとに再生する
+    private List<Order> load(List<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, OrderSnapshotEntity> snapshots = new HashMap<>();
+        entityManager.createQuery(
+                        "SELECT s FROM OrderSnapshotEntity s WHERE s.orderId IN :orderIds", OrderSnapshotEntity.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList()
+                .forEach(snapshot -> snapshots.put(snapshot.getOrderId(), snapshot));
+
+        List<OrderEventRecordEntity> records = entityManager.createQuery(
+                        "SELECT r FROM OrderEventRecordEntity r " +
+                                "WHERE r.orderId IN :orderIds AND r.streamVersion > " +
+                                "COALESCE((SELECT s.streamVersion FROM OrderSnapshotEntity s WHERE s.orderId = r.orderId), 0) " +
+                                "ORDER BY r.orderId, r.streamVersion",
+                        OrderEventRecordEntity.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+
+        Map<UUID, OrderState> states = new HashMap<>();
+        snapshots.forEach((orderId, snapshot) -> {
+            OrderState state = serializer.deserializeState(snapshot.getPayload());
+            state.setVersion(snapshot.getStreamVersion());
+            states.put(orderId, state);
+        });
+        for (OrderEventRecordEntity record : records) {
+            OrderState state;
+            if (ORDER_CREATED.equals(record.getRecordType())) {
+                state = serializer.deserializeState(record.getPayload());
+                states.put(record.getOrderId(), state);
+            } else {
+                state = states.get(record.getOrderId());
+                if (state == null) {
+                    throw new IllegalStateException("Order stream has no starting record: " + record.getOrderId());
+                }
+                serializer.applyChanges(state, record.getPayload());
+            }
+            state.setVersion(record.getStreamVersion());
+        }
+
+        // 再生済みのレコードは変更されないため、永続化コンテキストに残さない
+        records.forEach(entityManager::detach);
+        snapshots.values().forEach(entityManager::detach);
+
+        List<Order> orders = new ArrayList<>();
+        for (UUID orderId : orderIds) {
+            OrderState state = states.get(orderId);
+            if (state != null) {
+                orders.add(state.toOrder());
+            }
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.valueobject.Address;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.repository.CustomerRepository;
+import com.example.infrastructure.persistence.AddressEntity;
+import com.example.infrastructure.persistence.CustomerEntity;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * JPA を使用した CustomerRepository の実装
+ * 顧客の検索では住所をフェッチグラフで結合し、顧客の件数に関わらず1回のクエリで読み込む
+ */
+@Repository
+public class JpaCustomerRepository implements CustomerRepository {
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Customer> findById(CustomerId id) {
+        CustomerEntity entity = entityManager.find(CustomerEntity.class, id.getValue(),
+                Map.of(FETCH_GRAPH_HINT, entityManager.getEntityGraph(CustomerEntity.WITH_ADDRESSES)));
+        return Optional.ofNullable(entity).map(this::mapToDomainModel);
+    }
+
+    @Override
+    public List<Customer> findAllByIds(Collection<CustomerId> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> customerIds = ids.stream().map(CustomerId::getValue).distinct().collect(Collectors.toList());
+        TypedQuery<CustomerEntity> query = createQuery("SELECT c FROM CustomerEntity c WHERE c.id IN :ids");
+        query.setParameter("ids", customerIds);
+        return findAll(query);
+    }
+
+    @Override
+    public Optional<Customer> findByEmail(String email) {
+        TypedQuery<CustomerEntity> query = createQuery("SELECT c FROM CustomerEntity c WHERE c.email = :email");
+        query.setParameter("email", email);
+        return findAll(query).stream().findFirst();
+    }
+
+    @Override
+    public List<Customer> findByName(String firstName, String lastName) {
+        TypedQuery<CustomerEntity> query = createQuery(
+                "SELECT c FROM CustomerEntity c WHERE c.firstName = :firstName AND c.lastName = :lastName");
+        query.setParameter("firstName", firstName);
+        query.setParameter("lastName", lastName);
+        return findAll(query);
+    }
+
+    @Override
+    public List<Customer> findAllActive() {
+        return findAll(createQuery("SELECT c FROM CustomerEntity c WHERE c.active = true"));
+    }
+
+    @Override
+    @Transactional
+    public Customer save(Customer customer) {
+        CustomerEntity entity = entityManager.find(CustomerEntity.class, customer.getId().getValue(),
+                Map.of(FETCH_GRAPH_HINT, entityManager.getEntityGraph(CustomerEntity.WITH_ADDRESSES)));
+        if (entity == null) {
+            entity = new CustomerEntity();
+            entity.setId(customer.getId().getValue());
+            copyToEntity(customer, entity);
+            entityManager.persist(entity);
+        } else {
+            copyToEntity(customer, entity);
+        }
+        return customer;
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(CustomerId id) {
+        CustomerEntity entity = entityManager.find(CustomerEntity.class, id.getValue());
+        if (entity != null) {
+            entityManager.remove(entity);
+        }
+    }
+
+    // 住所を結合して読み込むクエリを作成する
+    private TypedQuery<CustomerEntity> createQuery(String jpql) {
+        return entityManager.createQuery(jpql, CustomerEntity.class)
+                .setHint(FETCH_GRAPH_HINT, entityManager.getEntityGraph(CustomerEntity.WITH_ADDRESSES));
+    }
+
+    private List<Customer> findAll(TypedQuery<CustomerEntity> query) {
+        return query.getResultList().stream()
+                .map(this::mapToDomainModel)
+                .collect(Collectors.toList());
+    }
+
+    // ドメインモデルの内容をJPAエンティティに反映する
+    // 住所は同じ位置の行を更新し、増えた分を追加、減った分を削除する
+    private void copyToEntity(Customer customer, CustomerEntity entity) {
+        entity.setFirstName(customer.getFirstName());
+        entity.setLastName(customer.getLastName());
+        entity.setEmail(customer.getEmail());
+        entity.setPhoneNumber(customer.getPhoneNumber());
+        entity.setActive(customer.isActive());
+        entity.setRegisteredAt(customer.getRegisteredAt());
+        entity.setLastModifiedAt(customer.getLastModifiedAt());
+
+        List<Address> addresses = customer.getAddresses();
+        List<AddressEntity> addressEntities = entity.getAddresses();
+        for (int i = 0; i < addresses.size(); i++) {
+            AddressEntity addressEntity;
+            if (i < addressEntities.size()) {
+                addressEntity = addressEntities.get(i);
+            } else {
+                addressEntity = new AddressEntity();
+                addressEntity.setCustomer(entity);
+                addressEntities.add(addressEntity);
+            }
+            Address address = addresses.get(i);
+            addressEntity.setStreetAddress(address.getStreetAddress());
+            addressEntity.setCity(address.getCity());
+            addressEntity.setState(address.getState());
+            addressEntity.setZipCode(address.getZipCode());
+            addressEntity.setCountry(address.getCountry());
+        }
+        while (addressEntities.size() > addresses.size()) {
+            addressEntities.remove(addressEntities.size() - 1);
+        }
+    }
+
+    // JPAエンティティからドメインモデルへの変換
+    private Customer mapToDomainModel(CustomerEntity entity) {
+        List<Address> addresses = new ArrayList<>(entity.getAddresses().size());
+        for (AddressEntity address : entity.getAddresses()) {
+            addresses.add(Address.of(
+                    address.getStreetAddress(),
+                    address.getCity(),
+                    address.getState(),
+                    address.getZipCode(),
+                    address.getCountry()
+            ));
+        }
+
+        return Customer.reconstitute(
+                CustomerId.of(entity.getId()),
+                entity.getFirstName(),
+                entity.getLastName(),
+                entity.getEmail(),
+                entity.getPhoneNumber(),
+                addresses,
+                entity.isActive(),
+                entity.getRegisteredAt(),
+                entity.getLastModifiedAt()
+        );
+    }
+}
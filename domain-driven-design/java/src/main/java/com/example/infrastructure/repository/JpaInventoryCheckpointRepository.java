@@ -0,0 +1,52 @@
+package com.example.infrastructure.repository;
+
+import com.example.infrastructure.persistence.InventoryJournalCheckpointEntity;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+
+/**
+ * JPA を使用した在庫ログの反映位置の保存
+ * 反映位置は商品の在庫の更新と同じトランザクションで進めるため、同じレコードが2回反映されることはない
+ */
+@Repository
+public class JpaInventoryCheckpointRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 反映済みの最後の通番を行ロックを取得して読み込む
+     * 複数のインスタンスが同時に反映しないよう、更新と同じトランザクションで呼び出す
+     * @param name ログの名前
+     * @return 通番（記録がない場合は0）
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long lockLastSequence(String name) {
+        InventoryJournalCheckpointEntity checkpoint =
+                entityManager.find(InventoryJournalCheckpointEntity.class, name, LockModeType.PESSIMISTIC_WRITE);
+        return checkpoint != null ? checkpoint.getLastSequence() : 0;
+    }
+
+    /**
+     * 反映済みの位置を進める
+     * @param name ログの名前
+     * @param lastSequence 反映済みの最後の通番
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void advance(String name, long lastSequence) {
+        InventoryJournalCheckpointEntity checkpoint = entityManager.find(InventoryJournalCheckpointEntity.class, name);
+        if (checkpoint == null) {
+            checkpoint = new InventoryJournalCheckpointEntity();
+            checkpoint.setName(name);
+            entityManager.persist(checkpoint);
+        }
+        checkpoint.setLastSequence(lastSequence);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,571 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.aggregate.OrderChanges;
+import com.example.domain.model.entity.OrderItem;
+import com.example.domain.model.valueobject.*;
+import com.example.domain.repository.ConcurrentOrderModificationException;
+import com.example.domain.repository.OrderCursor;
+import com.example.domain.repository.OrderPage;
+import com.example.domain.repository.OrderRepository;
+import com.example.infrastructure.persistence.OrderEntity;
+import com.example.infrastructure.persistence.OrderItemEntity;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * JPA を使用した OrderRepository の実装
+ * 保存時に集約のドメインイベントをアウトボックスへ書き込む
+ * 既存の注文は集約が追跡している差分だけを書き込み、事前の存在確認や戻り値の再変換は行わない
+ * アーカイブが有効な場合、テーブルにない注文はアーカイブから検索する（OrderArchiver を参照）
+ */
+@Repository
+@ConditionalOnProperty(name = "ddd.orders.repository", havingValue = "jpa", matchIfMissing = true)
+public class JpaOrderRepository implements OrderRepository {
+    private static final String KEYSET_CONDITION =
+            " AND (o.createdAt > :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id > :afterId))";
+    private static final String KEYSET_ORDER = " ORDER BY o.createdAt, o.id";
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+    private static final List<OrderStatus> FINALIZED_STATUSES = Arrays.stream(OrderStatus.values())
+            .filter(OrderStatus::isFinalized)
+            .collect(Collectors.toList());
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JpaOutboxRepository outboxRepository;
+    private final JpaOrderSummaryRepository orderSummaryRepository;
+    private final ObjectProvider<OrderArchive> orderArchive;
+
+    private final int fetchSize;
+
+    public JpaOrderRepository(JpaOutboxRepository outboxRepository,
+                              JpaOrderSummaryRepository orderSummaryRepository,
+                              ObjectProvider<OrderArchive> orderArchive,
+                              @Value("${ddd.orders.stream.fetch-size:500}") int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        this.outboxRepository = outboxRepository;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.orderArchive = orderArchive;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId id) {
+        // 注文項目を結合して1回のクエリで読み込む
+        OrderEntity orderEntity = entityManager.find(OrderEntity.class, id.getValue(),
+                Map.of(FETCH_GRAPH_HINT, entityManager.getEntityGraph(OrderEntity.WITH_ITEMS)));
+        if (orderEntity != null) {
+            return Optional.of(mapToDomainModel(orderEntity));
+        }
+        
+        // アーカイブ済みの注文はテーブルから削除されているため、アーカイブを検索する
+        OrderArchive archive = orderArchive.getIfAvailable();
+        return archive != null ? archive.findById(id) : Optional.empty();
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        TypedQuery<OrderEntity> query = entityManager.createQuery(
+                "SELECT o FROM OrderEntity o WHERE o.customerId = :customerId",
+                OrderEntity.class);
+        query.setParameter("customerId", customerId.getValue());
+        
+        return findAll(query);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        TypedQuery<OrderEntity> query = entityManager.createQuery(
+                "SELECT o FROM OrderEntity o WHERE o.status = :status",
+                OrderEntity.class);
+        query.setParameter("status", status);
+        
+        return findAll(query);
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        TypedQuery<OrderEntity> query = entityManager.createQuery(
+                "SELECT o FROM OrderEntity o WHERE o.createdAt BETWEEN :startDate AND :endDate",
+                OrderEntity.class);
+        query.setParameter("startDate", startDate);
+        query.setParameter("endDate", endDate);
+        
+        return findAll(query);
+    }
+
+    @Override
+    public OrderPage findByCustomerId(CustomerId customerId, OrderCursor after, int limit) {
+        return findPage("o.customerId = :customerId", Map.of("customerId", customerId.getValue()), after, limit);
+    }
+
+    @Override
+    public OrderPage findByStatus(OrderStatus status, OrderCursor after, int limit) {
+        return findPage("o.status = :status", Map.of("status", status), after, limit);
+    }
+
+    @Override
+    public OrderPage findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate,
+                                           OrderCursor after, int limit) {
+        return findPage("o.createdAt BETWEEN :startDate AND :endDate",
+                Map.of("startDate", startDate, "endDate", endDate), after, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<Order> streamByCustomerId(CustomerId customerId) {
+        return stream("o.customerId = :customerId", Map.of("customerId", customerId.getValue()));
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<Order> streamByStatus(OrderStatus status) {
+        return stream("o.status = :status", Map.of("status", status));
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<Order> streamByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return stream("o.createdAt BETWEEN :startDate AND :endDate",
+                Map.of("startDate", startDate, "endDate", endDate));
+    }
+
+    /**
+     * アーカイブの対象となる、確定してから一定期間が経った注文を検索する
+     * @param modifiedBefore この日時より前に最後に更新された注文を対象とする
+     * @param limit 最大件数
+     * @return 注文のリスト
+     */
+    @Transactional(readOnly = true)
+    public List<Order> findArchivable(LocalDateTime modifiedBefore, int limit) {
+        TypedQuery<OrderEntity> query = entityManager.createQuery(
+                "SELECT o FROM OrderEntity o WHERE o.status IN :statuses AND o.lastModifiedAt < :modifiedBefore"
+                        + " ORDER BY o.id", OrderEntity.class);
+        query.setParameter("statuses", FINALIZED_STATUSES);
+        query.setParameter("modifiedBefore", modifiedBefore);
+        
+        return findAll(query.setMaxResults(limit));
+    }
+
+    /**
+     * アーカイブに書き込んだ注文と注文項目をテーブルから削除する
+     * 注文サマリー（読み取りモデル）は一覧の検索に使用するため残す
+     * 確定していない注文は削除しない
+     * @param ids 削除する注文のID
+     * @return 削除した注文の数
+     */
+    @Transactional
+    public int deleteArchived(Collection<OrderId> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<UUID> orderIds = ids.stream().map(OrderId::getValue).collect(Collectors.toList());
+        entityManager.createQuery("DELETE FROM OrderItemEntity i WHERE i.order.id IN "
+                        + "(SELECT o.id FROM OrderEntity o WHERE o.id IN :ids AND o.status IN :statuses)")
+                .setParameter("ids", orderIds)
+                .setParameter("statuses", FINALIZED_STATUSES)
+                .executeUpdate();
+        return entityManager.createQuery("DELETE FROM OrderEntity o WHERE o.id IN :ids AND o.status IN :statuses")
+                .setParameter("ids", orderIds)
+                .setParameter("statuses", FINALIZED_STATUSES)
+                .executeUpdate();
+    }
+
+    // 注文を読み込んでから注文項目をまとめて読み込み、件数に関わらず2回のクエリで済ませる
+    private List<Order> findAll(TypedQuery<OrderEntity> query) {
+        List<OrderEntity> entities = query.getResultList();
+        return mapToDomainModels(entities, loadItems(entities));
+    }
+
+    // limit + 1 件を取得して続きのページがあるかを判定する
+    private OrderPage findPage(String condition, Map<String, Object> parameters, OrderCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        
+        StringBuilder jpql = new StringBuilder("SELECT o FROM OrderEntity o WHERE ").append(condition);
+        if (after != null) {
+            jpql.append(KEYSET_CONDITION);
+        }
+        jpql.append(KEYSET_ORDER);
+        
+        TypedQuery<OrderEntity> query = entityManager.createQuery(jpql.toString(), OrderEntity.class);
+        parameters.forEach(query::setParameter);
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.getCreatedAt());
+            query.setParameter("afterId", after.getOrderId().getValue());
+        }
+        
+        List<OrderEntity> entities = query.setMaxResults(limit + 1).getResultList();
+        boolean hasNext = entities.size() > limit;
+        List<OrderEntity> page = hasNext ? entities.subList(0, limit) : entities;
+        return new OrderPage(mapToDomainModels(page, loadItems(page)), hasNext);
+    }
+
+    // 前方スクロールのカーソルでフェッチサイズ分ずつ読み込み、注文項目も同じ単位でまとめて読み込む
+    private Stream<Order> stream(String condition, Map<String, Object> parameters) {
+        TypedQuery<OrderEntity> query = entityManager.createQuery(
+                "SELECT o FROM OrderEntity o WHERE " + condition + KEYSET_ORDER, OrderEntity.class);
+        parameters.forEach(query::setParameter);
+        
+        @SuppressWarnings("unchecked")
+        org.hibernate.query.Query<OrderEntity> hibernateQuery = query.unwrap(org.hibernate.query.Query.class);
+        ScrollableResults<OrderEntity> results = hibernateQuery
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        
+        Spliterator<Order> spliterator = new Spliterators.AbstractSpliterator<Order>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final Deque<Order> buffer = new ArrayDeque<>();
+            
+            @Override
+            public boolean tryAdvance(Consumer<? super Order> action) {
+                if (buffer.isEmpty()) {
+                    List<OrderEntity> chunk = new ArrayList<>(fetchSize);
+                    while (chunk.size() < fetchSize && results.next()) {
+                        chunk.add(results.get());
+                    }
+                    Map<UUID, List<OrderItemEntity>> items = loadItems(chunk);
+                    buffer.addAll(mapToDomainModels(chunk, items));
+                    
+                    // 変換済みのエンティティを永続化コンテキストから外し、件数に関わらずメモリ使用量を一定に保つ
+                    chunk.forEach(entityManager::detach);
+                    items.values().forEach(list -> list.forEach(entityManager::detach));
+                }
+                
+                Order order = buffer.poll();
+                if (order == null) {
+                    return false;
+                }
+                action.accept(order);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(results::close);
+    }
+
+    // 注文項目を1回のクエリでまとめて読み込み、注文ごとの遅延読み込みを避ける
+    private Map<UUID, List<OrderItemEntity>> loadItems(List<OrderEntity> entities) {
+        Map<UUID, List<OrderItemEntity>> items = new HashMap<>();
+        if (entities.isEmpty()) {
+            return items;
+        }
+        
+        List<UUID> orderIds = entities.stream().map(OrderEntity::getId).collect(Collectors.toList());
+        entityManager.createQuery(
+                        "SELECT i FROM OrderItemEntity i WHERE i.order.id IN :orderIds", OrderItemEntity.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList()
+                .forEach(item -> items.computeIfAbsent(item.getOrder().getId(), id -> new ArrayList<>()).add(item));
+        return items;
+    }
+
+    private List<Order> mapToDomainModels(List<OrderEntity> entities, Map<UUID, List<OrderItemEntity>> items) {
+        return entities.stream()
+                .map(entity -> mapToDomainModel(entity, items.getOrDefault(entity.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public Order save(Order order) {
+        long version = write(order, new ArrayList<>());
+        
+        // ドメインイベントは同じトランザクションでアウトボックスに書き込む
+        outboxRepository.append(order.getDomainEvents());
+        order.clearChanges(version);
+        
+        return order;
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(Collection<Order> orders) {
+        // INSERT は永続化コンテキストに溜まり、フラッシュ時に hibernate.jdbc.batch_size 件ずつ
+        // テーブルごとに並べ替えられてバッチ実行される（PersistenceConfig を参照）
+        // アウトボックスもシーケンス採番のため、注文と同じようにバッチで書き込まれる
+        long[] versions = new long[orders.size()];
+        List<Object> persisted = new ArrayList<>();
+        int index = 0;
+        for (Order order : orders) {
+            versions[index++] = write(order, persisted);
+            persisted.addAll(outboxRepository.append(order.getDomainEvents()));
+        }
+        entityManager.flush();
+        
+        // 書き込みに失敗した場合に呼び出し元が注文を保存し直せるよう、変更はフラッシュが成功してから消す
+        index = 0;
+        for (Order order : orders) {
+            order.clearChanges(versions[index++]);
+        }
+        // 大量の取り込みで永続化コンテキストが膨らまないよう、このメソッドで永続化したエンティティを切り離す
+        // （clear() と異なり、呼び出し元が同じトランザクションで扱っているエンティティには影響しない）
+        persisted.forEach(entityManager::detach);
+    }
+
+    // 注文と読み取りモデルを書き込み、保存後のバージョンを返す
+    // 新しく永続化したエンティティを persisted に追加する
+    private long write(Order order, List<Object> persisted) {
+        OrderChanges changes = order.pendingChanges();
+        long version = order.version();
+        
+        if (changes.isNewOrder()) {
+            OrderEntity entity = mapToEntity(order);
+            entityManager.persist(entity);
+            // 注文項目は OrderEntity と一緒に切り離される
+            persisted.add(entity);
+            version = entity.getVersion();
+        } else if (!changes.isEmpty()) {
+            // 既存の注文は前回の永続化以降の差分だけを書き込む
+            writeChanges(order, changes, persisted);
+            version++;
+        }
+        
+        // 読み取りモデルを同じトランザクションで更新する
+        if (!changes.isEmpty()) {
+            orderSummaryRepository.project(order, changes.isNewOrder()).ifPresent(persisted::add);
+        }
+        return version;
+    }
+
+    // 変更されたフィールドと注文項目だけを更新する
+    private void writeChanges(Order order, OrderChanges changes, List<Object> persisted) {
+        UUID orderId = order.getId().getValue();
+        Set<OrderChanges.Field> fields = changes.getDirtyFields();
+        
+        StringBuilder jpql = new StringBuilder("UPDATE OrderEntity o SET o.lastModifiedAt = :lastModifiedAt");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("lastModifiedAt", order.getLastModifiedAt());
+        
+        if (fields.contains(OrderChanges.Field.STATUS)) {
+            jpql.append(", o.status = :status, o.paidAt = :paidAt, o.shippedAt = :shippedAt, o.cancelledAt = :cancelledAt");
+            parameters.put("status", order.getStatus());
+            parameters.put("paidAt", order.getPaidAt());
+            parameters.put("shippedAt", order.getShippedAt());
+            parameters.put("cancelledAt", order.getCancelledAt());
+        }
+        if (fields.contains(OrderChanges.Field.TOTAL_AMOUNT)) {
+            jpql.append(", o.totalAmount = :totalAmount, o.currency = :currency");
+            parameters.put("totalAmount", order.getTotalAmount().getAmount());
+            parameters.put("currency", order.getTotalAmount().getCurrency().getCurrencyCode());
+        }
+        if (fields.contains(OrderChanges.Field.SHIPPING_ADDRESS)) {
+            Address address = order.getShippingAddress();
+            jpql.append(", o.shippingStreetAddress = :shippingStreetAddress, o.shippingCity = :shippingCity")
+                    .append(", o.shippingState = :shippingState, o.shippingZipCode = :shippingZipCode")
+                    .append(", o.shippingCountry = :shippingCountry");
+            parameters.put("shippingStreetAddress", address.getStreetAddress());
+            parameters.put("shippingCity", address.getCity());
+            parameters.put("shippingState", address.getState());
+            parameters.put("shippingZipCode", address.getZipCode());
+            parameters.put("shippingCountry", address.getCountry());
+        }
+        if (fields.contains(OrderChanges.Field.BILLING_ADDRESS)) {
+            Address address = order.getBillingAddress();
+            jpql.append(", o.billingStreetAddress = :billingStreetAddress, o.billingCity = :billingCity")
+                    .append(", o.billingState = :billingState, o.billingZipCode = :billingZipCode")
+                    .append(", o.billingCountry = :billingCountry");
+            parameters.put("billingStreetAddress", address.getStreetAddress());
+            parameters.put("billingCity", address.getCity());
+            parameters.put("billingState", address.getState());
+            parameters.put("billingZipCode", address.getZipCode());
+            parameters.put("billingCountry", address.getCountry());
+        }
+        // 一括 UPDATE には @Version が適用されないため、バージョンの確認と加算を条件に含める
+        // 注文項目の書き込みより先に実行し、競合した場合は何も書き込まない
+        jpql.append(", o.version = o.version + 1 WHERE o.id = :id AND o.version = :version");
+        parameters.put("id", orderId);
+        parameters.put("version", order.version());
+        
+        Query update = entityManager.createQuery(jpql.toString());
+        parameters.forEach(update::setParameter);
+        if (update.executeUpdate() == 0) {
+            Long exists = entityManager.createQuery(
+                            "SELECT COUNT(o) FROM OrderEntity o WHERE o.id = :id", Long.class)
+                    .setParameter("id", orderId)
+                    .getSingleResult();
+            if (exists == 0) {
+                throw new IllegalStateException("Order not found: " + order.getId());
+            }
+            throw new ConcurrentOrderModificationException(order.getId(), order.version());
+        }
+        
+        // 注文項目の差分
+        if (!changes.getRemovedItemIds().isEmpty()) {
+            entityManager.createQuery("DELETE FROM OrderItemEntity i WHERE i.id IN :ids")
+                    .setParameter("ids", changes.getRemovedItemIds())
+                    .executeUpdate();
+        }
+        for (OrderItem item : changes.getModifiedItems()) {
+            entityManager.createQuery("UPDATE OrderItemEntity i SET i.quantity = :quantity WHERE i.id = :id")
+                    .setParameter("quantity", item.getQuantity().getValue())
+                    .setParameter("id", item.getId())
+                    .executeUpdate();
+        }
+        detachStaleEntities(orderId, changes);
+        if (!changes.getAddedItems().isEmpty()) {
+            // 参照のみを取得し、親の読み込みは行わない
+            OrderEntity orderReference = entityManager.getReference(OrderEntity.class, orderId);
+            for (OrderItem item : changes.getAddedItems()) {
+                OrderItemEntity itemEntity = mapToEntity(item, orderReference);
+                entityManager.persist(itemEntity);
+                persisted.add(itemEntity);
+            }
+        }
+    }
+
+    // 一括 UPDATE・DELETE は永続化コンテキストを経由しないため、同じトランザクションで読み込み済みの
+    // 注文と注文項目は古いバージョンと値を持ったままになる。切り離して、以降の読み込みでデータベースから取得させる
+    // （getReference は管理中のインスタンスがあればそれを返し、なければ読み込まずにプロキシを返す）
+    private void detachStaleEntities(UUID orderId, OrderChanges changes) {
+        entityManager.detach(entityManager.getReference(OrderEntity.class, orderId));
+        for (UUID itemId : changes.getRemovedItemIds()) {
+            entityManager.detach(entityManager.getReference(OrderItemEntity.class, itemId));
+        }
+        for (OrderItem item : changes.getModifiedItems()) {
+            entityManager.detach(entityManager.getReference(OrderItemEntity.class, item.getId()));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(OrderId id) {
+        OrderEntity orderEntity = entityManager.find(OrderEntity.class, id.getValue());
+        if (orderEntity != null) {
+            entityManager.remove(orderEntity);
+            orderSummaryRepository.remove(id);
+        }
+    }
+
+    // ドメインモデルからJPAエンティティへの変換
+    private OrderEntity mapToEntity(Order order) {
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setId(order.getId().getValue());
+        orderEntity.setCustomerId(order.getCustomerId().getValue());
+        orderEntity.setStatus(order.getStatus());
+        orderEntity.setTotalAmount(order.getTotalAmount().getAmount());
+        orderEntity.setCurrency(order.getTotalAmount().getCurrency().getCurrencyCode());
+        orderEntity.setShippingStreetAddress(order.getShippingAddress().getStreetAddress());
+        orderEntity.setShippingCity(order.getShippingAddress().getCity());
+        orderEntity.setShippingState(order.getShippingAddress().getState());
+        orderEntity.setShippingZipCode(order.getShippingAddress().getZipCode());
+        orderEntity.setShippingCountry(order.getShippingAddress().getCountry());
+        orderEntity.setBillingStreetAddress(order.getBillingAddress().getStreetAddress());
+        orderEntity.setBillingCity(order.getBillingAddress().getCity());
+        orderEntity.setBillingState(order.getBillingAddress().getState());
+        orderEntity.setBillingZipCode(order.getBillingAddress().getZipCode());
+        orderEntity.setBillingCountry(order.getBillingAddress().getCountry());
+        orderEntity.setCreatedAt(order.getCreatedAt());
+        orderEntity.setLastModifiedAt(order.getLastModifiedAt());
+        orderEntity.setPaidAt(order.getPaidAt());
+        orderEntity.setShippedAt(order.getShippedAt());
+        orderEntity.setCancelledAt(order.getCancelledAt());
+        
+        // 注文項目の変換
+        List<OrderItemEntity> orderItemEntities = new ArrayList<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            orderItemEntities.add(mapToEntity(orderItem, orderEntity));
+        }
+        
+        orderEntity.setOrderItems(orderItemEntities);
+        
+        return orderEntity;
+    }
+
+    private OrderItemEntity mapToEntity(OrderItem orderItem, OrderEntity orderEntity) {
+        OrderItemEntity itemEntity = new OrderItemEntity();
+        itemEntity.setId(orderItem.getId());
+        itemEntity.setOrder(orderEntity);
+        itemEntity.setProductId(orderItem.getProductId().getValue());
+        itemEntity.setProductName(orderItem.getProductName());
+        itemEntity.setUnitPrice(orderItem.getUnitPrice().getAmount());
+        itemEntity.setCurrency(orderItem.getUnitPrice().getCurrency().getCurrencyCode());
+        itemEntity.setQuantity(orderItem.getQuantity().getValue());
+        return itemEntity;
+    }
+
+    // JPAエンティティからドメインモデルへの変換
+    private Order mapToDomainModel(OrderEntity entity) {
+        return mapToDomainModel(entity, entity.getOrderItems());
+    }
+
+    private Order mapToDomainModel(OrderEntity entity, List<OrderItemEntity> itemEntities) {
+        // 住所の作成
+        Address shippingAddress = Address.of(
+                entity.getShippingStreetAddress(),
+                entity.getShippingCity(),
+                entity.getShippingState(),
+                entity.getShippingZipCode(),
+                entity.getShippingCountry()
+        );
+        
+        Address billingAddress = Address.of(
+                entity.getBillingStreetAddress(),
+                entity.getBillingCity(),
+                entity.getBillingState(),
+                entity.getBillingZipCode(),
+                entity.getBillingCountry()
+        );
+        
+        // 注文項目の変換
+        List<OrderItem> orderItems = itemEntities.stream()
+                .map(item -> OrderItem.reconstitute(
+                        item.getId(),
+                        ProductId.of(item.getProductId()),
+                        item.getProductName(),
+                        Money.of(item.getUnitPrice(), java.util.Currency.getInstance(item.getCurrency())),
+                        Quantity.of(item.getQuantity())
+                ))
+                .collect(Collectors.toList());
+        
+        // 注文の作成
+        return Order.reconstitute(
+                OrderId.of(entity.getId()),
+                CustomerId.of(entity.getCustomerId()),
+                shippingAddress,
+                billingAddress,
+                entity.getStatus(),
+                orderItems,
+                Money.of(entity.getTotalAmount(), java.util.Currency.getInstance(entity.getCurrency())),
+                entity.getCreatedAt(),
+                entity.getLastModifiedAt(),
+                entity.getPaidAt(),
+                entity.getShippedAt(),
+                entity.getCancelledAt(),
+                entity.getVersion()
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.example.infrastructure.repository;
+
+import com.example.application.query.OrderSummary;
+import com.example.application.query.OrderSummaryRepository;
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.OrderStatus;
+import com.example.infrastructure.persistence.OrderSummaryEntity;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * JPA を使用した OrderSummaryRepository の実装
+ * サマリーは注文の保存と同じトランザクションで更新される
+ */
+@Repository
+public class JpaOrderSummaryRepository implements OrderSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderSummary> findByCustomerId(CustomerId customerId) {
+        return entityManager.createQuery(
+                        "SELECT s FROM OrderSummaryEntity s WHERE s.customerId = :customerId ORDER BY s.createdAt",
+                        OrderSummaryEntity.class)
+                .setParameter("customerId", customerId.getValue())
+                .getResultList().stream()
+                .map(this::mapToReadModel)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<OrderSummary> findByStatus(OrderStatus status) {
+        return entityManager.createQuery(
+                        "SELECT s FROM OrderSummaryEntity s WHERE s.status = :status ORDER BY s.createdAt",
+                        OrderSummaryEntity.class)
+                .setParameter("status", status)
+                .getResultList().stream()
+                .map(this::mapToReadModel)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 保存された注文をサマリーに反映する
+     * 最終更新日時が保存済みのサマリーより古い場合は反映しないため、同じ更新を繰り返しても結果は変わらない
+     * @param order 保存された注文
+     * @param newOrder 新規作成された注文かどうか
+     * @return 新しく永続化したサマリー（既存のサマリーを更新した場合は空）
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<OrderSummaryEntity> project(Order order, boolean newOrder) {
+        if (newOrder) {
+            return Optional.of(persist(order));
+        }
+
+        int updated = entityManager.createQuery(
+                        "UPDATE OrderSummaryEntity s SET s.status = :status, s.totalAmount = :totalAmount, " +
+                                "s.currency = :currency, s.itemCount = :itemCount, s.lastModifiedAt = :lastModifiedAt, " +
+                                "s.paidAt = :paidAt, s.shippedAt = :shippedAt, s.cancelledAt = :cancelledAt " +
+                                "WHERE s.id = :id AND s.lastModifiedAt <= :lastModifiedAt")
+                .setParameter("status", order.getStatus())
+                .setParameter("totalAmount", order.getTotalAmount().getAmount())
+                .setParameter("currency", order.getTotalAmount().getCurrency().getCurrencyCode())
+                .setParameter("itemCount", order.getOrderItems().size())
+                .setParameter("lastModifiedAt", order.getLastModifiedAt())
+                .setParameter("paidAt", order.getPaidAt())
+                .setParameter("shippedAt", order.getShippedAt())
+                .setParameter("cancelledAt", order.getCancelledAt())
+                .setParameter("id", order.getId().getValue())
+                .executeUpdate();
+
+        // サマリーが存在しない場合（再構築前の既存注文など）は作成する
+        if (updated == 0 && entityManager.find(OrderSummaryEntity.class, order.getId().getValue()) == null) {
+            return Optional.of(persist(order));
+        }
+        return Optional.empty();
+    }
+
+    private OrderSummaryEntity persist(Order order) {
+        OrderSummaryEntity entity = mapToEntity(order);
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    /**
+     * 注文が削除されたときにサマリーを削除する
+     * @param orderId 注文ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(OrderId orderId) {
+        entityManager.createQuery("DELETE FROM OrderSummaryEntity s WHERE s.id = :id")
+                .setParameter("id", orderId.getValue())
+                .executeUpdate();
+    }
+
+    /**
+     * orders テーブルにある注文のサマリーを1文で再構築する
+     * アーカイブ済みの注文は orders テーブルにないため、そのサマリーは削除せずに残す
+     */
+    @Override
+    @Transactional
+    public void rebuild() {
+        entityManager.createQuery("DELETE FROM OrderSummaryEntity s WHERE s.id IN (SELECT o.id FROM OrderEntity o)")
+                .executeUpdate();
+        entityManager.createQuery(
+                        "INSERT INTO OrderSummaryEntity (id, customerId, status, totalAmount, currency, itemCount, " +
+                                "createdAt, lastModifiedAt, paidAt, shippedAt, cancelledAt) " +
+                                "SELECT o.id, o.customerId, o.status, o.totalAmount, o.currency, SIZE(o.orderItems), " +
+                                "o.createdAt, o.lastModifiedAt, o.paidAt, o.shippedAt, o.cancelledAt " +
+                                "FROM OrderEntity o")
+                .executeUpdate();
+    }
+
+    private OrderSummaryEntity mapToEntity(Order order) {
+        OrderSummaryEntity entity = new OrderSummaryEntity();
+        entity.setId(order.getId().getValue());
+        entity.setCustomerId(order.getCustomerId().getValue());
+        entity.setStatus(order.getStatus());
+        entity.setTotalAmount(order.getTotalAmount().getAmount());
+        entity.setCurrency(order.getTotalAmount().getCurrency().getCurrencyCode());
+        entity.setItemCount(order.getOrderItems().size());
+        entity.setCreatedAt(order.getCreatedAt());
+        entity.setLastModifiedAt(order.getLastModifiedAt());
+        entity.setPaidAt(order.getPaidAt());
+        entity.setShippedAt(order.getShippedAt());
+        entity.setCancelledAt(order.getCancelledAt());
+        return entity;
+    }
+
+    private OrderSummary mapToReadModel(OrderSummaryEntity entity) {
+        return new OrderSummary(
+                OrderId.of(entity.getId()),
+                CustomerId.of(entity.getCustomerId()),
+                entity.getStatus(),
+                Money.of(entity.getTotalAmount(), Currency.getInstance(entity.getCurrency())),
+                entity.getItemCount(),
+                entity.getCreatedAt(),
+                entity.getLastModifiedAt(),
+                entity.getPaidAt(),
+                entity.getShippedAt(),
+                entity.getCancelledAt()
+        );
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.event.DomainEventCoalescer;
+import com.example.infrastructure.event.DomainEventSerializer;
+import com.example.infrastructure.persistence.OutboxMessageEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JPA を使用したアウトボックスの実装
+ * イベントは集約の保存と同じトランザクションで書き込まれる
+ * 1回の保存で発生したイベントは DomainEventCoalescer でまとめてから書き込む
+ * （まとまるのは一括取り込みのように複数の注文項目を1回で保存する場合で、
+ * addOrderItem のように呼び出しごとに保存されるイベントは保存をまたいでまとめない）
+ *
+ * まとめる前後のイベント数は ddd.outbox.events.raised と ddd.outbox.events.appended、
+ * その比は ddd.outbox.events.compaction として出力される
+ */
+@Repository
+public class JpaOutboxRepository {
+    // Hibernate で SKIP LOCKED を指定するロックタイムアウト値
+    private static final int SKIP_LOCKED = -2;
+    // 記録する失敗の内容の最大長（OutboxMessageEntity.lastError の列の長さ）
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DomainEventSerializer serializer;
+
+    private final LongAdder raisedEvents = new LongAdder();
+    private final LongAdder appendedEvents = new LongAdder();
+
+    public JpaOutboxRepository(DomainEventSerializer serializer, MeterRegistry meterRegistry) {
+        this.serializer = serializer;
+
+        FunctionCounter.builder("ddd.outbox.events.raised", raisedEvents, LongAdder::sum)
+                .description("Number of domain events raised by saved aggregates")
+                .register(meterRegistry);
+        FunctionCounter.builder("ddd.outbox.events.appended", appendedEvents, LongAdder::sum)
+                .description("Number of outbox messages written after coalescing")
+                .register(meterRegistry);
+        Gauge.builder("ddd.outbox.events.compaction", this, JpaOutboxRepository::compactionRatio)
+                .description("Ratio of outbox messages written to domain events raised")
+                .register(meterRegistry);
+    }
+
+    /**
+     * ドメインイベントをアウトボックスに追記する
+     * 呼び出し元のトランザクションに参加し、単独では実行できない
+     * @param events 追記するドメインイベント
+     * @return 永続化したメッセージ
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OutboxMessageEntity> append(List<Object> events) {
+        List<Object> coalesced = DomainEventCoalescer.coalesce(events);
+        raisedEvents.add(events.size());
+        appendedEvents.add(coalesced.size());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessageEntity> messages = new ArrayList<>(coalesced.size());
+        for (Object event : coalesced) {
+            OutboxMessageEntity message = new OutboxMessageEntity();
+            message.setAggregateId(serializer.aggregateIdOf(event));
+            message.setEventType(serializer.eventTypeOf(event));
+            message.setPayload(serializer.serialize(event));
+            message.setOccurredAt(serializer.occurredAtOf(event));
+            message.setCreatedAt(now);
+            entityManager.persist(message);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    // まとめた後のイベント数の割合（イベントがまだない場合は 1）
+    private double compactionRatio() {
+        long raised = raisedEvents.sum();
+        return raised == 0 ? 1.0 : (double) appendedEvents.sum() / raised;
+    }
+
+    /**
+     * 未配信のメッセージを書き込み順に取得する（保留したメッセージは除く）
+     * IDはインスタンスごとにまとめて払い出されるため、書き込み日時で並べ、同じ日時の中をIDで並べる
+     * 他のリレーが処理中の行は読み飛ばす
+     * @param batchSize 取得する最大件数
+     * @return 未配信のメッセージ
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OutboxMessageEntity> lockNextBatch(int batchSize) {
+        return entityManager.createQuery(
+                        "SELECT m FROM OutboxMessageEntity m WHERE m.parkedAt IS NULL ORDER BY m.createdAt, m.id",
+                        OutboxMessageEntity.class)
+                .setMaxResults(batchSize)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.lock.timeout", SKIP_LOCKED)
+                .getResultList();
+    }
+
+    /**
+     * 配信済みのメッセージを削除する
+     * @param messages 配信済みのメッセージ
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteAll(List<OutboxMessageEntity> messages) {
+        messages.forEach(entityManager::remove);
+    }
+
+    /**
+     * 配信に失敗したことを記録する
+     * 失敗の回数が上限に達したメッセージは保留し、以降のバッチで取得しない
+     * @param message 配信できなかったメッセージ
+     * @param failure 失敗の原因
+     * @param maxAttempts 保留するまでの失敗の回数
+     * @return 保留した場合は true
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean recordFailure(OutboxMessageEntity message, Throwable failure, int maxAttempts) {
+        message.setAttempts(message.getAttempts() + 1);
+        String error = String.valueOf(failure);
+        message.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (message.getAttempts() >= maxAttempts) {
+            message.setParkedAt(LocalDateTime.now());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 最も古い未配信メッセージの書き込み日時を取得する
+     * @return 書き込み日時のOptional
+     */
+    public Optional<LocalDateTime> findOldestCreatedAt() {
+        return Optional.ofNullable(entityManager.createQuery(
+                        "SELECT MIN(m.createdAt) FROM OutboxMessageEntity m WHERE m.parkedAt IS NULL",
+                        LocalDateTime.class)
+                .getSingleResult());
+    }
+
+    /**
+     * 未配信メッセージの件数を取得する（保留したメッセージは除く）
+     * @return 件数
+     */
+    public long countPending() {
+        return entityManager.createQuery(
+                        "SELECT COUNT(m) FROM OutboxMessageEntity m WHERE m.parkedAt IS NULL", Long.class)
+                .getSingleResult();
+    }
+
+    /**
+     * 保留したメッセージの件数を取得する
+     * @return 件数
+     */
+    public long countParked() {
+        return entityManager.createQuery(
+                        "SELECT COUNT(m) FROM OutboxMessageEntity m WHERE m.parkedAt IS NOT NULL", Long.class)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+import com.example.domain.repository.ProductRepository;
+import com.example.infrastructure.persistence.ProductEntity;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * JPA を使用した ProductRepository の実装
+ * 一括保存では既存の商品を1回のクエリで読み込み、INSERT と UPDATE を JDBC バッチで書き込む
+ */
+@Repository
+public class JpaProductRepository implements ProductRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return Optional.ofNullable(entityManager.find(ProductEntity.class, id.getValue()))
+                .map(this::mapToDomainModel);
+    }
+
+    @Override
+    public List<Product> findAllByIds(Collection<ProductId> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery("SELECT p FROM ProductEntity p WHERE p.id IN :ids", ProductEntity.class)
+                .setParameter("ids", toUuids(ids))
+                .getResultList().stream()
+                .map(this::mapToDomainModel)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Product> findByName(String name) {
+        return entityManager.createQuery("SELECT p FROM ProductEntity p WHERE p.name = :name", ProductEntity.class)
+                .setParameter("name", name)
+                .getResultList().stream()
+                .map(this::mapToDomainModel)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Product> findAllActive() {
+        return entityManager.createQuery("SELECT p FROM ProductEntity p WHERE p.active = true", ProductEntity.class)
+                .getResultList().stream()
+                .map(this::mapToDomainModel)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 商品IDの順で、指定した商品IDより後ろの count 件目の商品IDを検索する
+     * 全件走査を範囲に分割し、範囲ごとに並列に読み込むために使う
+     * @param after この商品IDより後ろから数える（先頭から数える場合は null）
+     * @param count 数える件数
+     * @return 商品ID（残りの商品が count 件に満たない場合は空）
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductId> findIdAfter(ProductId after, int count) {
+        TypedQuery<UUID> query = entityManager.createQuery(
+                "SELECT p.id FROM ProductEntity p" + (after != null ? " WHERE p.id > :after" : "") + " ORDER BY p.id",
+                UUID.class);
+        if (after != null) {
+            query.setParameter("after", after.getValue());
+        }
+        return query.setFirstResult(count - 1)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .map(ProductId::of);
+    }
+
+    /**
+     * 商品IDの範囲に含まれる商品を検索する
+     * @param after 範囲の開始（この商品IDは含まない。先頭からの場合は null）
+     * @param upTo 範囲の終了（この商品IDを含む。末尾までの場合は null）
+     * @return 商品IDの順の商品のリスト
+     */
+    @Transactional(readOnly = true)
+    public List<Product> findRange(ProductId after, ProductId upTo) {
+        StringBuilder jpql = new StringBuilder("SELECT p FROM ProductEntity p WHERE 1 = 1");
+        if (after != null) {
+            jpql.append(" AND p.id > :after");
+        }
+        if (upTo != null) {
+            jpql.append(" AND p.id <= :upTo");
+        }
+        jpql.append(" ORDER BY p.id");
+
+        TypedQuery<ProductEntity> query = entityManager.createQuery(jpql.toString(), ProductEntity.class);
+        if (after != null) {
+            query.setParameter("after", after.getValue());
+        }
+        if (upTo != null) {
+            query.setParameter("upTo", upTo.getValue());
+        }
+        return query.getResultList().stream()
+                .map(this::mapToDomainModel)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public Product save(Product product) {
+        ProductEntity entity = entityManager.find(ProductEntity.class, product.getId().getValue());
+        if (entity == null) {
+            entityManager.persist(copyToEntity(product, new ProductEntity()));
+        } else {
+            copyToEntity(product, entity);
+        }
+        return product;
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(Collection<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+
+        // 既存の商品をまとめて読み込み、商品ごとの存在確認のクエリを避ける
+        Map<UUID, ProductEntity> existing = new HashMap<>();
+        entityManager.createQuery("SELECT p FROM ProductEntity p WHERE p.id IN :ids", ProductEntity.class)
+                .setParameter("ids", toUuids(products.stream().map(Product::getId).collect(Collectors.toList())))
+                .getResultList()
+                .forEach(entity -> existing.put(entity.getId(), entity));
+
+        // 変更はフラッシュ時に hibernate.jdbc.batch_size 件ずつバッチ実行される（PersistenceConfig を参照）
+        for (Product product : products) {
+            ProductEntity entity = existing.get(product.getId().getValue());
+            if (entity == null) {
+                entity = copyToEntity(product, new ProductEntity());
+                entityManager.persist(entity);
+                existing.put(entity.getId(), entity);
+            } else {
+                copyToEntity(product, entity);
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(ProductId id) {
+        ProductEntity entity = entityManager.find(ProductEntity.class, id.getValue());
+        if (entity != null) {
+            entityManager.remove(entity);
+        }
+    }
+
+    private static List<UUID> toUuids(Collection<ProductId> ids) {
+        return ids.stream().map(ProductId::getValue).distinct().collect(Collectors.toList());
+    }
+
+    // ドメインモデルの内容をJPAエンティティに反映する
+    private ProductEntity copyToEntity(Product product, ProductEntity entity) {
+        entity.setId(product.getId().getValue());
+        entity.setName(product.getName());
+        entity.setDescription(product.getDescription());
+        entity.setPrice(product.getPrice().getAmount());
+        entity.setCurrency(product.getPrice().getCurrency().getCurrencyCode());
+        entity.setStockQuantity(product.getStockQuantity().getValue());
+        entity.setActive(product.isActive());
+        return entity;
+    }
+
+    // JPAエンティティからドメインモデルへの変換
+    private Product mapToDomainModel(ProductEntity entity) {
+        return Product.reconstitute(
+                ProductId.of(entity.getId()),
+                entity.getName(),
+                entity.getDescription(),
+                Money.of(entity.getPrice(), Currency.getInstance(entity.getCurrency())),
+                Quantity.of(entity.getStockQuantity()),
+                entity.isActive()
+        );
+    }
+}
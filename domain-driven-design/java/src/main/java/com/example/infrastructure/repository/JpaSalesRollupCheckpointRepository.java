@@ -0,0 +1,107 @@
+package com.example.infrastructure.repository;
+
+import com.example.infrastructure.persistence.SalesRollupCheckpointEntity;
+import com.example.infrastructure.persistence.SalesRollupEntryEntity;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPA を使用した売上の集計の保存
+ * 集計に反映したイベントを記録し、集計の保存と同じトランザクションで保存済みとする
+ */
+@Repository
+public class JpaSalesRollupCheckpointRepository {
+    // IN 句に渡すキーの最大数
+    private static final int KEYS_PER_STATEMENT = 1_000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 保存された全ての集計を読み込む
+     * @return 名前ごとの集計の内容
+     */
+    @Transactional(readOnly = true)
+    public Map<String, byte[]> loadAll() {
+        Map<String, byte[]> checkpoints = new HashMap<>();
+        entityManager.createQuery("SELECT c FROM SalesRollupCheckpointEntity c", SalesRollupCheckpointEntity.class)
+                .getResultList()
+                .forEach(checkpoint -> checkpoints.put(checkpoint.getName(), checkpoint.getBuckets()));
+        return checkpoints;
+    }
+
+    /**
+     * 集計に反映するイベントを記録する
+     * 呼び出し元のトランザクションとは別に確定するため、呼び出し元がロールバックしても記録は残る
+     * 同時に同じキーを記録した場合は DataIntegrityViolationException となる
+     * @param entry 反映するイベント
+     * @return 記録した場合は true、既に記録されている場合は false
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean recordEntry(SalesRollupEntryEntity entry) {
+        if (entityManager.find(SalesRollupEntryEntity.class, entry.getEntryKey()) != null) {
+            return false;
+        }
+        entityManager.persist(entry);
+        entityManager.flush();
+        return true;
+    }
+
+    /**
+     * 記録されたイベントを発生順に読み込む
+     * @param pendingOnly 保存された集計に含まれていないものだけを読み込む場合は true
+     * @return 記録されたイベント
+     */
+    @Transactional(readOnly = true)
+    public List<SalesRollupEntryEntity> loadEntries(boolean pendingOnly) {
+        String where = pendingOnly ? " WHERE e.checkpointed = false" : "";
+        return entityManager.createQuery("SELECT e FROM SalesRollupEntryEntity e" + where + " ORDER BY e.occurredAt",
+                        SalesRollupEntryEntity.class)
+                .getResultList();
+    }
+
+    /**
+     * 集計と、集計に含まれるイベントの記録を1回のトランザクションで保存する
+     * 保存済みのイベントのうち、集計の保持する範囲より古いものは削除する
+     * @param checkpoints 名前ごとの集計の内容
+     * @param appliedEntryKeys 集計に含まれるイベントのキー
+     * @param pruneBefore この日時より前に発生した保存済みのイベントを削除する
+     */
+    @Transactional
+    public void saveAll(Map<String, byte[]> checkpoints, Collection<String> appliedEntryKeys,
+                        LocalDateTime pruneBefore) {
+        LocalDateTime now = LocalDateTime.now();
+        checkpoints.forEach((name, buckets) -> {
+            SalesRollupCheckpointEntity checkpoint = entityManager.find(SalesRollupCheckpointEntity.class, name);
+            if (checkpoint == null) {
+                checkpoint = new SalesRollupCheckpointEntity();
+                checkpoint.setName(name);
+                entityManager.persist(checkpoint);
+            }
+            checkpoint.setBuckets(buckets);
+            checkpoint.setUpdatedAt(now);
+        });
+
+        List<String> keys = new ArrayList<>(appliedEntryKeys);
+        for (int from = 0; from < keys.size(); from += KEYS_PER_STATEMENT) {
+            entityManager.createQuery(
+                            "UPDATE SalesRollupEntryEntity e SET e.checkpointed = true WHERE e.entryKey IN :keys")
+                    .setParameter("keys", keys.subList(from, Math.min(from + KEYS_PER_STATEMENT, keys.size())))
+                    .executeUpdate();
+        }
+        entityManager.createQuery(
+                        "DELETE FROM SalesRollupEntryEntity e WHERE e.checkpointed = true AND e.occurredAt < :before")
+                .setParameter("before", pruneBefore)
+                .executeUpdate();
+    }
+}
\ No newline at end of file
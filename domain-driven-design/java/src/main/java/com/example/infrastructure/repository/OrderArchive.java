@@ -0,0 +1,406 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.valueobject.OrderId;
+import com.example.infrastructure.codec.BinaryDomainCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 確定済みの注文を保管するローカルディスク上の不変のセグメントファイル群
+ * セグメントは注文の作成日ごとのディレクトリ（yyyy/MM/dd）に置き、一度書き込んだら変更しない
+ *
+ * セグメント形式: [圧縮ブロック]...[索引][ブルームフィルタ][索引の位置 long][マジックナンバー int]
+ * ブロックは注文ID順に並べた一定件数の注文（[注文ID long×2][長さ int][BinaryDomainCodec の形式]）を Deflate で圧縮したもの
+ * 索引はブロックごとの [先頭の注文ID long×2][位置 long][長さ int][CRC32C int] の疎な索引で、
+ * 起動時に全セグメントの索引とブルームフィルタだけをメモリに読み込む
+ *
+ * 検索は新しいセグメントから順に、ブルームフィルタで含まれないセグメントを除外し、
+ * 索引の二分探索で特定した1ブロックだけを読み込んで展開する
+ * 同じ注文が複数のセグメントに含まれていても内容は同じため、最初に見つかったものを返す
+ */
+public class OrderArchive {
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchive.class);
+    private static final int MAGIC = 0x4F415243;
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int INDEX_ENTRY_SIZE = Long.BYTES * 3 + Integer.BYTES * 2;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    // ブルームフィルタの1注文あたりのビット数とハッシュ関数の数（偽陽性率は約1%）
+    private static final int BLOOM_BITS_PER_ORDER = 10;
+    private static final int BLOOM_HASHES = 7;
+
+    private final Path directory;
+    private final int blockSize;
+    private final BinaryDomainCodec codec = new BinaryDomainCodec();
+    // バイナリ形式を導入する前に JSON で書き込んだレコードの読み込み用
+    private final OrderStateSerializer legacySerializer = new OrderStateSerializer();
+
+    // 新しいセグメントが先頭
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * アーカイブを開き、書き込み途中で残った一時ファイルを削除する
+     * @param directory セグメントファイルを置くディレクトリ
+     * @param blockSize 1ブロックに含める注文の数
+     */
+    public OrderArchive(Path directory, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Archive block size must be positive");
+        }
+        this.directory = directory;
+        this.blockSize = blockSize;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open order archive: " + directory, e);
+        }
+    }
+
+    /**
+     * 注文を新しいセグメントに書き込む
+     * 一時ファイルに書き込んで fsync してから名前を変更するため、途中で停止しても不完全なセグメントは残らない
+     * @param createdOn セグメントを置く作成日
+     * @param orders 書き込む注文（全て同じ作成日であること）
+     */
+    public void write(LocalDate createdOn, List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<Order> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparing(order -> order.getId().getValue()));
+
+        Path partition = directory.resolve(String.format("%04d/%02d/%02d",
+                createdOn.getYear(), createdOn.getMonthValue(), createdOn.getDayOfMonth()));
+        String name = String.format("%013d-%04d", System.currentTimeMillis(), sequence.getAndIncrement() % 10000);
+        Path temporary = partition.resolve(name + TEMPORARY_SUFFIX);
+        Path file = partition.resolve(name + SEGMENT_SUFFIX);
+        try {
+            Files.createDirectories(partition);
+            try (FileChannel channel = FileChannel.open(temporary,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                writeSegment(channel, sorted);
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            segments.add(0, Segment.open(file));
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException("Failed to write archive segment: " + file, e);
+        }
+    }
+
+    /**
+     * アーカイブから注文を検索する
+     * @param id 注文ID
+     * @return 注文のOptional
+     */
+    public Optional<Order> findById(OrderId id) {
+        UUID orderId = id.getValue();
+        for (Segment segment : segments) {
+            if (!segment.mightContain(orderId)) {
+                continue;
+            }
+            int block = segment.blockOf(orderId);
+            if (block < 0) {
+                continue;
+            }
+            ByteBuffer record;
+            try {
+                record = segment.read(block, orderId);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read archive segment: " + segment.file, e);
+            }
+            if (record != null) {
+                return Optional.of(decode(record));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // JSON のレコードは '{' から始まり、バイナリ形式のレコードはスキーマの版（1 以上の varint）から始まる
+    private Order decode(ByteBuffer record) {
+        if (record.get(record.position()) == '{') {
+            return legacySerializer.deserializeState(StandardCharsets.UTF_8.decode(record).toString()).toOrder();
+        }
+        return codec.decodeOrder(record);
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    private void writeSegment(FileChannel channel, List<Order> orders) throws IOException {
+        int blocks = (orders.size() + blockSize - 1) / blockSize;
+        ByteBuffer index = ByteBuffer.allocate(blocks * INDEX_ENTRY_SIZE);
+        long[] bloom = new long[Math.max(1, (orders.size() * BLOOM_BITS_PER_ORDER + 63) / 64)];
+        long position = 0;
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            for (int from = 0; from < orders.size(); from += blockSize) {
+                List<Order> block = orders.subList(from, Math.min(from + blockSize, orders.size()));
+                ByteArrayOutputStream raw = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(raw);
+                for (Order order : block) {
+                    UUID orderId = order.getId().getValue();
+                    byte[] state = codec.encodeOrder(order);
+                    out.writeLong(orderId.getMostSignificantBits());
+                    out.writeLong(orderId.getLeastSignificantBits());
+                    out.writeInt(state.length);
+                    out.write(state);
+                    addToBloom(bloom, orderId);
+                }
+                byte[] compressed = deflate(deflater, raw.toByteArray());
+                CRC32C crc = new CRC32C();
+                crc.update(compressed);
+
+                UUID first = block.get(0).getId().getValue();
+                index.putLong(first.getMostSignificantBits())
+                        .putLong(first.getLeastSignificantBits())
+                        .putLong(position)
+                        .putInt(compressed.length)
+                        .putInt((int) crc.getValue());
+                writeFully(channel, ByteBuffer.wrap(compressed));
+                position += compressed.length;
+            }
+        } finally {
+            deflater.end();
+        }
+
+        ByteBuffer footer = ByteBuffer.allocate(Integer.BYTES * 2 + index.capacity()
+                + bloom.length * Long.BYTES + TRAILER_SIZE);
+        footer.putInt(blocks).put(index.flip());
+        footer.putInt(bloom.length);
+        for (long word : bloom) {
+            footer.putLong(word);
+        }
+        footer.putLong(position).putInt(MAGIC);
+        writeFully(channel, footer.flip());
+    }
+
+    // 起動時に全セグメントの索引を読み込み、書き込み途中の一時ファイルを削除する
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(Files::isRegularFile).toList();
+        }
+        List<Path> segmentFiles = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(TEMPORARY_SUFFIX)) {
+                Files.delete(file);
+            } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                segmentFiles.add(file);
+            }
+        }
+
+        // ファイル名は書き込み時刻から始まるため、名前の降順で新しいセグメントが先頭になる
+        segmentFiles.sort(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed());
+        List<Segment> loaded = new ArrayList<>();
+        for (Path file : segmentFiles) {
+            loaded.add(Segment.open(file));
+        }
+        segments.addAll(loaded);
+        logger.info("Opened order archive {} with {} segments", directory, loaded.size());
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] input) {
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void addToBloom(long[] bloom, UUID id) {
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        long bits = (long) bloom.length * 64;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    // splitmix64 の最終段
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * 1つのセグメントファイルと、メモリに読み込んだその索引
+     */
+    private static final class Segment {
+        private final Path file;
+        private final long[] firstIds;
+        private final long[] positions;
+        private final int[] lengths;
+        private final int[] crcs;
+        private final long[] bloom;
+
+        private Segment(Path file, long[] firstIds, long[] positions, int[] lengths, int[] crcs, long[] bloom) {
+            this.file = file;
+            this.firstIds = firstIds;
+            this.positions = positions;
+            this.lengths = lengths;
+            this.crcs = crcs;
+            this.bloom = bloom;
+        }
+
+        static Segment open(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < TRAILER_SIZE) {
+                    throw new IOException("Not an order archive segment: " + file);
+                }
+                ByteBuffer trailer = readAt(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+                long indexPosition = trailer.getLong();
+                if (trailer.getInt() != MAGIC || indexPosition < 0 || indexPosition > size - TRAILER_SIZE) {
+                    throw new IOException("Not an order archive segment: " + file);
+                }
+
+                ByteBuffer footer = readAt(channel, indexPosition, (int) (size - TRAILER_SIZE - indexPosition));
+                int blocks = footer.getInt();
+                long[] firstIds = new long[blocks * 2];
+                long[] positions = new long[blocks];
+                int[] lengths = new int[blocks];
+                int[] crcs = new int[blocks];
+                for (int i = 0; i < blocks; i++) {
+                    firstIds[i * 2] = footer.getLong();
+                    firstIds[i * 2 + 1] = footer.getLong();
+                    positions[i] = footer.getLong();
+                    lengths[i] = footer.getInt();
+                    crcs[i] = footer.getInt();
+                }
+                long[] bloom = new long[footer.getInt()];
+                for (int i = 0; i < bloom.length; i++) {
+                    bloom[i] = footer.getLong();
+                }
+                return new Segment(file, firstIds, positions, lengths, crcs, bloom);
+            }
+        }
+
+        boolean mightContain(UUID id) {
+            long h1 = mix(id.getMostSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1;
+            long bits = (long) bloom.length * 64;
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+                if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 先頭の注文IDが指定したID以下である最後のブロック（該当しない場合は -1）
+        int blockOf(UUID id) {
+            int low = 0;
+            int high = positions.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                UUID first = new UUID(firstIds[middle * 2], firstIds[middle * 2 + 1]);
+                if (first.compareTo(id) <= 0) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found;
+        }
+
+        // ブロックを展開して注文のレコードを探し、展開したバッファ上の範囲を返す（含まれない場合は null）
+        ByteBuffer read(int block, UUID id) throws IOException {
+            ByteBuffer compressed;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                compressed = readAt(channel, positions[block], lengths[block]);
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(compressed.duplicate());
+            if ((int) crc.getValue() != crcs[block]) {
+                throw new IOException("Corrupted archive block " + block + " in " + file);
+            }
+
+            byte[] raw;
+            Inflater inflater = new Inflater();
+            try (InflaterInputStream in = new InflaterInputStream(
+                    new ByteArrayInputStream(compressed.array()), inflater)) {
+                raw = in.readAllBytes();
+            } finally {
+                inflater.end();
+            }
+
+            ByteBuffer records = ByteBuffer.wrap(raw);
+            while (records.hasRemaining()) {
+                UUID recordId = new UUID(records.getLong(), records.getLong());
+                int length = records.getInt();
+                int comparison = recordId.compareTo(id);
+                if (comparison == 0) {
+                    return records.slice(records.position(), length);
+                }
+                if (comparison > 0) {
+                    return null;
+                }
+                records.position(records.position() + length);
+            }
+            return null;
+        }
+
+        private static ByteBuffer readAt(FileChannel channel, long position, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of archive segment");
+                }
+            }
+            return buffer.flip();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.valueobject.OrderId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 確定してから一定期間が経った注文を、テーブルからアーカイブへ移すバックグラウンド処理
+ *
+ * 一定件数ずつ、読み込み・アーカイブへの書き込み・テーブルからの削除を繰り返す
+ * 読み込みと削除はそれぞれ短いトランザクションで行い、長時間のロックを避ける
+ * アーカイブへの書き込み後に削除が失敗した場合、次回の実行で同じ注文が再びアーカイブされるが、
+ * 重複した注文は内容が同じため検索結果には影響しない
+ */
+public class OrderArchiver {
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private final JpaOrderRepository orderRepository;
+    private final OrderArchive orderArchive;
+    private final Duration retention;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Clock clock;
+
+    private final AtomicLong archivedOrders = new AtomicLong();
+
+    /**
+     * @param orderRepository 注文を読み込み、削除するリポジトリ
+     * @param orderArchive 注文を書き込むアーカイブ
+     * @param retention 確定してからテーブルに残す期間
+     * @param chunkSize 1回のトランザクションで移す注文の数
+     * @param maxChunksPerRun 1回の実行で処理するチャンクの最大数
+     * @param clock 現在時刻
+     */
+    public OrderArchiver(JpaOrderRepository orderRepository, OrderArchive orderArchive, Duration retention,
+                         int chunkSize, int maxChunksPerRun, Clock clock) {
+        if (retention.isNegative() || chunkSize <= 0 || maxChunksPerRun <= 0) {
+            throw new IllegalArgumentException("Invalid order archiver configuration");
+        }
+        this.orderRepository = orderRepository;
+        this.orderArchive = orderArchive;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.clock = clock;
+    }
+
+    /**
+     * 対象の注文がなくなるか、チャンク数の上限に達するまでアーカイブする
+     * 実行間隔は ddd.orders.archive.interval-ms で設定する
+     */
+    @Scheduled(fixedDelayString = "${ddd.orders.archive.interval-ms:3600000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(retention);
+        try {
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                if (archiveNextChunk(cutoff) < chunkSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to archive orders, will retry on next run", e);
+        }
+    }
+
+    public long getArchivedCount() {
+        return archivedOrders.get();
+    }
+
+    // 1チャンク分の注文を作成日ごとのセグメントに書き込んでから削除し、読み込んだ件数を返す
+    private int archiveNextChunk(LocalDateTime cutoff) {
+        List<Order> orders = orderRepository.findArchivable(cutoff, chunkSize);
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        Map<LocalDate, List<Order>> byCreatedOn = orders.stream()
+                .collect(Collectors.groupingBy(order -> order.getCreatedAt().toLocalDate()));
+        byCreatedOn.forEach(orderArchive::write);
+
+        List<OrderId> ids = orders.stream().map(Order::getId).collect(Collectors.toList());
+        int deleted = orderRepository.deleteArchived(ids);
+        archivedOrders.addAndGet(deleted);
+        logger.debug("Archived {} orders into {} partitions", deleted, byCreatedOn.size());
+        return orders.size();
+    }
+}
\ No newline at end of file
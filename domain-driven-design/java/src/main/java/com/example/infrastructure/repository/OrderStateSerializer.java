@@ -0,0 +1,256 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.aggregate.OrderChanges;
+import com.example.domain.model.entity.OrderItem;
+import com.example.domain.model.valueobject.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * イベントストア用の注文の状態と変更差分のJSON変換
+ * 既存のドメインイベントは住所や単価を持たず、発送・配達・項目削除では発行されないため、
+ * 集約を再構築できるよう集約が追跡している変更差分をそのまま記録する
+ */
+class OrderStateSerializer {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 注文の全状態をJSONに変換する（作成レコードとスナップショットに使用）
+     * @param order 注文
+     * @return JSON文字列
+     */
+    String serializeState(Order order) {
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("id", order.getId().toString());
+        json.put("customerId", order.getCustomerId().toString());
+        json.put("status", order.getStatus().name());
+        putMoney(json, "totalAmount", order.getTotalAmount());
+        json.set("shippingAddress", toJson(order.getShippingAddress()));
+        json.set("billingAddress", toJson(order.getBillingAddress()));
+        json.put("createdAt", order.getCreatedAt().toString());
+        putDateTime(json, "lastModifiedAt", order.getLastModifiedAt());
+        putDateTime(json, "paidAt", order.getPaidAt());
+        putDateTime(json, "shippedAt", order.getShippedAt());
+        putDateTime(json, "cancelledAt", order.getCancelledAt());
+        ArrayNode items = json.putArray("items");
+        order.getOrderItems().forEach(item -> items.add(toJson(item)));
+        return json.toString();
+    }
+
+    /**
+     * 前回の永続化以降の変更差分をJSONに変換する
+     * @param order 注文
+     * @param changes 変更差分
+     * @return JSON文字列
+     */
+    String serializeChanges(Order order, OrderChanges changes) {
+        ObjectNode json = objectMapper.createObjectNode();
+        putDateTime(json, "lastModifiedAt", order.getLastModifiedAt());
+
+        Set<OrderChanges.Field> fields = changes.getDirtyFields();
+        if (fields.contains(OrderChanges.Field.STATUS)) {
+            json.put("status", order.getStatus().name());
+            putDateTime(json, "paidAt", order.getPaidAt());
+            putDateTime(json, "shippedAt", order.getShippedAt());
+            putDateTime(json, "cancelledAt", order.getCancelledAt());
+        }
+        if (fields.contains(OrderChanges.Field.TOTAL_AMOUNT)) {
+            putMoney(json, "totalAmount", order.getTotalAmount());
+        }
+        if (fields.contains(OrderChanges.Field.SHIPPING_ADDRESS)) {
+            json.set("shippingAddress", toJson(order.getShippingAddress()));
+        }
+        if (fields.contains(OrderChanges.Field.BILLING_ADDRESS)) {
+            json.set("billingAddress", toJson(order.getBillingAddress()));
+        }
+
+        ArrayNode removed = json.putArray("removedItemIds");
+        changes.getRemovedItemIds().forEach(id -> removed.add(id.toString()));
+        ArrayNode modified = json.putArray("modifiedItems");
+        changes.getModifiedItems().forEach(item -> modified.addObject()
+                .put("id", item.getId().toString())
+                .put("quantity", item.getQuantity().getValue()));
+        ArrayNode added = json.putArray("addedItems");
+        changes.getAddedItems().forEach(item -> added.add(toJson(item)));
+        return json.toString();
+    }
+
+    /**
+     * 全状態のJSONから再構築用の状態を復元する
+     * @param payload JSON文字列
+     * @return 再構築中の注文の状態
+     */
+    OrderState deserializeState(String payload) {
+        JsonNode json = parse(payload);
+        OrderState state = new OrderState();
+        state.id = OrderId.of(json.get("id").asText());
+        state.customerId = CustomerId.of(json.get("customerId").asText());
+        state.createdAt = LocalDateTime.parse(json.get("createdAt").asText());
+        applyHeader(state, json);
+        for (JsonNode item : json.get("items")) {
+            state.items.add(toOrderItem(item));
+        }
+        return state;
+    }
+
+    /**
+     * 変更差分を再構築中の状態に適用する
+     * @param state 再構築中の注文の状態
+     * @param payload 変更差分のJSON文字列
+     */
+    void applyChanges(OrderState state, String payload) {
+        JsonNode json = parse(payload);
+        applyHeader(state, json);
+
+        for (JsonNode removedId : json.get("removedItemIds")) {
+            UUID id = UUID.fromString(removedId.asText());
+            state.items.removeIf(item -> item.getId().equals(id));
+        }
+        for (JsonNode modified : json.get("modifiedItems")) {
+            UUID id = UUID.fromString(modified.get("id").asText());
+            for (OrderItem item : state.items) {
+                if (item.getId().equals(id)) {
+                    item.updateQuantity(Quantity.of(modified.get("quantity").asInt()));
+                }
+            }
+        }
+        for (JsonNode added : json.get("addedItems")) {
+            state.items.add(toOrderItem(added));
+        }
+    }
+
+    // 存在するフィールドだけを上書きする
+    private void applyHeader(OrderState state, JsonNode json) {
+        if (json.has("lastModifiedAt")) {
+            state.lastModifiedAt = getDateTime(json, "lastModifiedAt");
+        }
+        if (json.has("status")) {
+            state.status = OrderStatus.valueOf(json.get("status").asText());
+            state.paidAt = getDateTime(json, "paidAt");
+            state.shippedAt = getDateTime(json, "shippedAt");
+            state.cancelledAt = getDateTime(json, "cancelledAt");
+        }
+        if (json.has("totalAmount")) {
+            state.totalAmount = getMoney(json.get("totalAmount"));
+        }
+        if (json.has("shippingAddress")) {
+            state.shippingAddress = toAddress(json.get("shippingAddress"));
+        }
+        if (json.has("billingAddress")) {
+            state.billingAddress = toAddress(json.get("billingAddress"));
+        }
+    }
+
+    private JsonNode parse(String payload) {
+        try {
+            return objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted order record", e);
+        }
+    }
+
+    private ObjectNode toJson(Address address) {
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("streetAddress", address.getStreetAddress());
+        json.put("city", address.getCity());
+        json.put("state", address.getState());
+        json.put("zipCode", address.getZipCode());
+        json.put("country", address.getCountry());
+        return json;
+    }
+
+    private Address toAddress(JsonNode json) {
+        return Address.of(
+                json.get("streetAddress").asText(),
+                json.get("city").asText(),
+                json.get("state").asText(),
+                json.get("zipCode").asText(),
+                json.get("country").asText()
+        );
+    }
+
+    private ObjectNode toJson(OrderItem item) {
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("id", item.getId().toString());
+        json.put("productId", item.getProductId().toString());
+        json.put("productName", item.getProductName());
+        putMoney(json, "unitPrice", item.getUnitPrice());
+        json.put("quantity", item.getQuantity().getValue());
+        return json;
+    }
+
+    private OrderItem toOrderItem(JsonNode json) {
+        return OrderItem.reconstitute(
+                UUID.fromString(json.get("id").asText()),
+                ProductId.of(json.get("productId").asText()),
+                json.get("productName").asText(),
+                getMoney(json.get("unitPrice")),
+                Quantity.of(json.get("quantity").asInt())
+        );
+    }
+
+    private void putMoney(ObjectNode json, String field, Money money) {
+        json.putObject(field)
+                .put("amount", money.getAmount().toPlainString())
+                .put("currency", money.getCurrency().getCurrencyCode());
+    }
+
+    private Money getMoney(JsonNode json) {
+        return Money.of(new BigDecimal(json.get("amount").asText()),
+                Currency.getInstance(json.get("currency").asText()));
+    }
+
+    private void putDateTime(ObjectNode json, String field, LocalDateTime value) {
+        if (value == null) {
+            json.putNull(field);
+        } else {
+            json.put(field, value.toString());
+        }
+    }
+
+    private LocalDateTime getDateTime(JsonNode json, String field) {
+        JsonNode value = json.get(field);
+        return value == null || value.isNull() ? null : LocalDateTime.parse(value.asText());
+    }
+
+    /**
+     * レコードの再生中の注文の状態
+     */
+    static class OrderState {
+        private OrderId id;
+        private CustomerId customerId;
+        private Address shippingAddress;
+        private Address billingAddress;
+        private OrderStatus status;
+        private final List<OrderItem> items = new ArrayList<>();
+        private Money totalAmount;
+        private LocalDateTime createdAt;
+        private LocalDateTime lastModifiedAt;
+        private LocalDateTime paidAt;
+        private LocalDateTime shippedAt;
+        private LocalDateTime cancelledAt;
+        // 最後に反映したレコードのストリームバージョン
+        private long version;
+
+        void setVersion(long version) {
+            this.version = version;
+        }
+
+        Order toOrder() {
+            return Order.reconstitute(id, customerId, shippingAddress, billingAddress, status, items,
+                    totalAmount, createdAt, lastModifiedAt, paidAt, shippedAt, cancelledAt, version);
+        }
+    }
+}
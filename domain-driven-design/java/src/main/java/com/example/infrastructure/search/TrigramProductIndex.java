@@ -0,0 +1,680 @@
+package com.example.infrastructure.search;
+
+import com.example.application.query.ProductSearchIndex;
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.infrastructure.repository.JpaProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 商品名と商品説明の3文字組（トライグラム）による転置インデックス
+ *
+ * 文字列は NFKC 正規化と小文字化を行い、英数字以外の文字で単語に区切る
+ * 各単語の前に2つ、後ろに1つの空白を補ってから3文字組に分けるため、1〜2文字の検索語も単語の先頭に一致する
+ * 各3文字組の出現する文書番号のリストは、番号の差分を可変長整数で詰めたバイト配列で保持する
+ *
+ * 検索語の3文字組のうち商品名・商品説明に含まれる割合を類似度とし、類似度が下限以上の商品を
+ * 「商品名の類似度 × 2 + 商品説明の類似度」に商品名の完全一致・前方一致・部分一致の加点を加えた値の順に返す
+ * 綴りの誤りは一部の3文字組だけが一致することで、部分一致は全ての3文字組が一致することで拾う
+ *
+ * 商品の更新と削除では古い文書番号を削除済みとし、更新後の内容は新しい文書番号で追加する
+ * 削除済みの文書番号は検索時に除き、次の全件の再構築で取り除く
+ * 再構築は商品IDの範囲ごとに並列に読み込んで3文字組に分け、範囲の順に文書番号を振って新しいインデックスを作る
+ * 再構築中に追加・削除された商品は、新しいインデックスに切り替える前に反映する
+ */
+public class TrigramProductIndex implements ProductSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TrigramProductIndex.class);
+
+    // 1つの文字列でインデックスに含める最大の文字数（長い商品説明の後半は検索対象にしない）
+    static final int MAX_INDEXED_CODE_POINTS = 2000;
+    // 類似度の計算に使う検索語の3文字組の最大数
+    static final int MAX_QUERY_TRIGRAMS = 64;
+    // 商品説明の3文字組のキーに立てるビット（3文字は21ビットずつ63ビットに詰める）
+    private static final long DESCRIPTION_FIELD = Long.MIN_VALUE;
+    // 検索時の一致数は商品名を下位16ビット、商品説明を上位16ビットに数える
+    private static final int DESCRIPTION_HIT = 1 << 16;
+    private static final Comparator<PostingList> BY_LENGTH =
+            Comparator.comparingInt(list -> list != null ? list.length : 0);
+
+    private final JpaProductRepository productRepository;
+    private final int pageSize;
+    private final int parallelism;
+    private final double minSimilarity;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings current = new Postings();
+    // 再構築中に追加・削除された商品（Document または削除された ProductId）。再構築中以外は null
+    private List<Object> changesDuringRebuild;
+    private volatile boolean ready;
+
+    // 検索ごとの一致数の配列は大きくなるため、スレッドごとではなく使い回す
+    private final ConcurrentLinkedQueue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+    private final LongAdder searches = new LongAdder();
+
+    /**
+     * @param productRepository 再構築で商品を読み込むリポジトリ
+     * @param pageSize 再構築で1回に読み込む商品の数
+     * @param parallelism 再構築で並列に読み込む範囲の数
+     * @param minSimilarity 検索結果に含める類似度の下限（0 より大きく 1 以下）
+     */
+    public TrigramProductIndex(JpaProductRepository productRepository, int pageSize, int parallelism,
+                               double minSimilarity) {
+        if (pageSize <= 0 || parallelism <= 0 || minSimilarity <= 0 || minSimilarity > 1) {
+            throw new IllegalArgumentException("Invalid product search index configuration");
+        }
+        this.productRepository = productRepository;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        this.minSimilarity = minSimilarity;
+    }
+
+    @Override
+    public List<ProductId> search(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        String normalizedQuery = normalize(query);
+        long[] trigrams = queryTrigrams(normalizedQuery);
+        if (trigrams.length == 0) {
+            return List.of();
+        }
+        searches.increment();
+
+        lock.readLock().lock();
+        try {
+            Postings postings = current;
+            Scratch scratch = acquireScratch(postings.documentCount);
+            try {
+                PostingList[] nameLists = new PostingList[trigrams.length];
+                PostingList[] descriptionLists = new PostingList[trigrams.length];
+                for (int i = 0; i < trigrams.length; i++) {
+                    nameLists[i] = postings.lists.get(trigrams[i]);
+                    descriptionLists[i] = postings.lists.get(trigrams[i] | DESCRIPTION_FIELD);
+                }
+                Arrays.sort(nameLists, BY_LENGTH);
+                Arrays.sort(descriptionLists, BY_LENGTH);
+
+                // 類似度が下限に届く商品は、短い順に「3文字組の数 - 必要な一致数 + 1」個のリストのどれかに必ず含まれる
+                // 残りの長いリストでは、既に候補となった商品の一致数だけを数える
+                int required = (int) Math.ceil(minSimilarity * trigrams.length - 1e-9);
+                int candidateLists = trigrams.length - required + 1;
+                for (int i = 0; i < candidateLists; i++) {
+                    countHits(nameLists[i], 1, true, scratch);
+                    countHits(descriptionLists[i], DESCRIPTION_HIT, true, scratch);
+                }
+                for (int i = candidateLists; i < trigrams.length; i++) {
+                    countHits(nameLists[i], 1, false, scratch);
+                    countHits(descriptionLists[i], DESCRIPTION_HIT, false, scratch);
+                }
+                return rank(postings, scratch, normalizedQuery, trigrams.length, limit);
+            } finally {
+                scratch.clear();
+                scratches.offer(scratch);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Product product) {
+        Document document = toDocument(product);
+        lock.writeLock().lock();
+        try {
+            current.add(document);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(ProductId productId) {
+        lock.writeLock().lock();
+        try {
+            current.remove(productId);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 全ての商品を読み込み、インデックスを作り直す
+     * 起動時に実行する。作り直している間も、前のインデックスで検索できる
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                throw new IllegalStateException("Product search index is already being rebuilt");
+            }
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long startedAt = System.nanoTime();
+        Postings rebuilt;
+        try {
+            rebuilt = scanAll();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Object change : changesDuringRebuild) {
+                if (change instanceof Document document) {
+                    rebuilt.add(document);
+                } else {
+                    rebuilt.remove((ProductId) change);
+                }
+            }
+            changesDuringRebuild = null;
+            current = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Rebuilt product search index: {} products, {} trigrams, {} posting bytes in {} ms",
+                rebuilt.productIdsToDocuments.size(), rebuilt.lists.size(), rebuilt.postingBytes,
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    // 商品IDの順に pageSize 件ずつの範囲に分け、範囲ごとの読み込みと3文字組への分割を並列に行う
+    // 範囲の境界は前の境界から数えて求めるため、境界の検索だけは順に行う
+    private Postings scanAll() {
+        Postings rebuilt = new Postings();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("product-index-", 0).daemon().factory());
+        try {
+            Deque<Future<List<Document>>> inFlight = new ArrayDeque<>();
+            ProductId after = null;
+            boolean more = true;
+            while (more) {
+                Optional<ProductId> upTo = productRepository.findIdAfter(after, pageSize);
+                ProductId from = after;
+                ProductId to = upTo.orElse(null);
+                inFlight.add(executor.submit(() -> toDocuments(productRepository.findRange(from, to))));
+                // 文書番号が商品IDの順に振られるよう、範囲の順に追加する
+                if (inFlight.size() > parallelism * 2) {
+                    addAll(rebuilt, inFlight.poll());
+                }
+                after = to;
+                more = upTo.isPresent();
+            }
+            while (!inFlight.isEmpty()) {
+                addAll(rebuilt, inFlight.poll());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        rebuilt.trim();
+        return rebuilt;
+    }
+
+    private static void addAll(Postings postings, Future<List<Document>> documents) {
+        try {
+            for (Document document : documents.get()) {
+                postings.add(document);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding product search index", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to rebuild product search index", e.getCause());
+        }
+    }
+
+    private static List<Document> toDocuments(List<Product> products) {
+        List<Document> documents = new ArrayList<>(products.size());
+        for (Product product : products) {
+            documents.add(toDocument(product));
+        }
+        return documents;
+    }
+
+    private static Document toDocument(Product product) {
+        String name = normalize(product.getName());
+        return new Document(product.getId(), name, documentTrigrams(name),
+                documentTrigrams(normalize(product.getDescription())));
+    }
+
+    private static void countHits(PostingList list, int increment, boolean addCandidates, Scratch scratch) {
+        if (list == null) {
+            return;
+        }
+        byte[] bytes = list.bytes;
+        int[] hits = scratch.hits;
+        int position = 0;
+        int document = -1;
+        while (position < list.length) {
+            int delta = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                delta |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            document += delta;
+            if (hits[document] == 0) {
+                if (!addCandidates) {
+                    continue;
+                }
+                scratch.touch(document);
+            }
+            hits[document] += increment;
+        }
+    }
+
+    private List<ProductId> rank(Postings postings, Scratch scratch, String normalizedQuery,
+                                 int trigramCount, int limit) {
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+        for (int i = 0; i < scratch.touchedCount; i++) {
+            int document = scratch.touched[i];
+            if (postings.deleted.get(document)) {
+                continue;
+            }
+            int hits = scratch.hits[document];
+            double nameSimilarity = (double) (hits & (DESCRIPTION_HIT - 1)) / trigramCount;
+            double descriptionSimilarity = (double) (hits >>> 16) / trigramCount;
+            if (Math.max(nameSimilarity, descriptionSimilarity) < minSimilarity) {
+                continue;
+            }
+
+            double score = nameSimilarity * 2 + descriptionSimilarity;
+            String name = postings.names[document];
+            if (name.equals(normalizedQuery)) {
+                score += 2;
+            } else if (name.startsWith(normalizedQuery)) {
+                score += 1.5;
+            } else if (name.contains(normalizedQuery)) {
+                score += 1;
+            }
+
+            if (top.size() < limit) {
+                top.add(new Hit(document, score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(new Hit(document, score));
+            }
+        }
+
+        ProductId[] ranked = new ProductId[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = postings.productIds[top.poll().document()];
+        }
+        return List.of(ranked);
+    }
+
+    private Scratch acquireScratch(int documentCount) {
+        Scratch scratch = scratches.poll();
+        if (scratch == null) {
+            scratch = new Scratch();
+        }
+        scratch.ensureCapacity(documentCount);
+        return scratch;
+    }
+
+    /**
+     * 検索やインデックスに使う形に文字列を正規化する
+     * @param text 文字列（null の場合は空文字列として扱う）
+     * @return NFKC 正規化と小文字化を行い、英数字以外の文字の並びを1つの空白にした文字列
+     */
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(normalized.length());
+        int codePoints = 0;
+        for (int i = 0; i < normalized.length() && codePoints < MAX_INDEXED_CODE_POINTS; ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                builder.appendCodePoint(codePoint);
+                codePoints++;
+            } else if (!builder.isEmpty() && builder.charAt(builder.length() - 1) != ' ') {
+                builder.append(' ');
+            }
+        }
+        int length = builder.length();
+        if (length > 0 && builder.charAt(length - 1) == ' ') {
+            builder.setLength(length - 1);
+        }
+        return builder.toString();
+    }
+
+    // 各単語の前に2つ、後ろに1つの空白を補った3文字組（重複なし、昇順）
+    // 再構築では全ての商品について呼ぶため、単語に分けずに1文字ずつ読み進める
+    static long[] documentTrigrams(String normalized) {
+        TrigramBuffer buffer = new TrigramBuffer();
+        int first = ' ';
+        int second = ' ';
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            buffer.add(pack(first, second, codePoint));
+            if (codePoint == ' ') {
+                first = ' ';
+                second = ' ';
+            } else {
+                first = second;
+                second = codePoint;
+            }
+        }
+        if (!normalized.isEmpty()) {
+            buffer.add(pack(first, second, ' '));
+        }
+        return buffer.toSortedUnique();
+    }
+
+    // 3文字以上の単語は単語の途中にも一致するよう前後の空白を補わない
+    // 1〜2文字の単語は単語の先頭に一致するよう前に2つの空白を補う
+    static long[] queryTrigrams(String normalized) {
+        TrigramBuffer buffer = new TrigramBuffer();
+        for (String word : words(normalized)) {
+            int[] codePoints = word.codePoints().toArray();
+            if (codePoints.length < 3) {
+                codePoints = ("  " + word).codePoints().toArray();
+            }
+            for (int i = 0; i + 2 < codePoints.length; i++) {
+                buffer.add(pack(codePoints[i], codePoints[i + 1], codePoints[i + 2]));
+            }
+        }
+        long[] trigrams = buffer.toSortedUnique();
+        return trigrams.length > MAX_QUERY_TRIGRAMS ? Arrays.copyOf(trigrams, MAX_QUERY_TRIGRAMS) : trigrams;
+    }
+
+    private static String[] words(String normalized) {
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private static long pack(int first, int second, int third) {
+        return ((long) first << 42) | ((long) second << 21) | third;
+    }
+
+    /**
+     * インデックスに登録した商品の数（削除済みを除く）
+     * @return 商品の数
+     */
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return current.productIdsToDocuments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 文書番号のリストの合計のバイト数
+     * @return バイト数
+     */
+    public long getPostingBytes() {
+        lock.readLock().lock();
+        try {
+            return current.postingBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 検索の回数
+     * @return 回数
+     */
+    public long getSearchCount() {
+        return searches.sum();
+    }
+
+    /**
+     * インデックスに追加する商品の内容
+     * @param name 正規化した商品名（検索結果の加点に使う）
+     */
+    record Document(ProductId productId, String name, long[] nameTrigrams, long[] descriptionTrigrams) {
+    }
+
+    private record Hit(int document, double score) {
+    }
+
+    /**
+     * 3文字組ごとの文書番号のリストと、文書番号ごとの商品
+     * 文書番号は追加した順に振るため、各リストの文書番号は常に昇順となる
+     */
+    static final class Postings {
+        final TrigramTable lists = new TrigramTable();
+        final Map<ProductId, Integer> productIdsToDocuments = new HashMap<>();
+        final BitSet deleted = new BitSet();
+        ProductId[] productIds = new ProductId[1024];
+        String[] names = new String[1024];
+        int documentCount;
+        long postingBytes;
+
+        void add(Document document) {
+            remove(document.productId());
+            int number = documentCount++;
+            if (number == productIds.length) {
+                productIds = Arrays.copyOf(productIds, number * 2);
+                names = Arrays.copyOf(names, number * 2);
+            }
+            productIds[number] = document.productId();
+            names[number] = document.name();
+            productIdsToDocuments.put(document.productId(), number);
+
+            for (long trigram : document.nameTrigrams()) {
+                postingBytes += lists.getOrCreate(trigram).add(number);
+            }
+            for (long trigram : document.descriptionTrigrams()) {
+                postingBytes += lists.getOrCreate(trigram | DESCRIPTION_FIELD).add(number);
+            }
+        }
+
+        void remove(ProductId productId) {
+            Integer number = productIdsToDocuments.remove(productId);
+            if (number != null) {
+                deleted.set(number);
+                names[number] = null;
+            }
+        }
+
+        void trim() {
+            lists.trim();
+        }
+    }
+
+    /**
+     * 3文字組から文書番号のリストを引く表
+     * 3文字組は数百万回引くため、Long に包まずに開番地法で保持する
+     */
+    static final class TrigramTable {
+        private long[] keys = new long[1 << 12];
+        private PostingList[] values = new PostingList[1 << 12];
+        private int size;
+
+        PostingList get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        PostingList getOrCreate(long key) {
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            for (; values[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            PostingList list = new PostingList();
+            keys[slot] = key;
+            values[slot] = list;
+            if (++size > keys.length / 2) {
+                resize();
+            }
+            return list;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void trim() {
+            for (PostingList list : values) {
+                if (list != null) {
+                    list.trim();
+                }
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            PostingList[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new PostingList[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    int slot = slot(oldKeys[i], mask);
+                    while (values[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+
+    /**
+     * 昇順の文書番号を、前の番号との差分の可変長整数で詰めたリスト
+     */
+    static final class PostingList {
+        byte[] bytes = new byte[4];
+        int length;
+        private int last = -1;
+
+        // 追加したバイト数を返す
+        int add(int document) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            }
+            int start = length;
+            int delta = document - last;
+            while ((delta & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            bytes[length++] = (byte) delta;
+            last = document;
+            return length - start;
+        }
+
+        void trim() {
+            if (bytes.length != length) {
+                bytes = Arrays.copyOf(bytes, length);
+            }
+        }
+    }
+
+    // 3文字組を重複を許して溜め、最後に並べ替えて重複を除く
+    private static final class TrigramBuffer {
+        private long[] trigrams = new long[32];
+        private int size;
+
+        void add(long trigram) {
+            if (size == trigrams.length) {
+                trigrams = Arrays.copyOf(trigrams, size * 2);
+            }
+            trigrams[size++] = trigram;
+        }
+
+        long[] toSortedUnique() {
+            Arrays.sort(trigrams, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || trigrams[unique - 1] != trigrams[i]) {
+                    trigrams[unique++] = trigrams[i];
+                }
+            }
+            return Arrays.copyOf(trigrams, unique);
+        }
+    }
+
+    // 検索1回分の文書番号ごとの一致数と、一致数が0から増えた文書番号
+    private static final class Scratch {
+        int[] hits = new int[0];
+        int[] touched = new int[64];
+        int touchedCount;
+
+        void ensureCapacity(int documentCount) {
+            if (hits.length < documentCount) {
+                hits = new int[Math.max(documentCount, hits.length * 2)];
+            }
+        }
+
+        void touch(int document) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = document;
+        }
+
+        void clear() {
+            for (int i = 0; i < touchedCount; i++) {
+                hits[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+}
\ No newline at end of file
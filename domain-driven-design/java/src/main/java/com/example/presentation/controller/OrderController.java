@@ -0,0 +1,547 @@
+package com.example.presentation.controller;
+
+import com.example.application.command.ImportOrderCommand;
+import com.example.application.command.ImportOrderResult;
+import com.example.application.service.OrderImportService;
+import com.example.application.service.OrderQueryService;
+import com.example.application.service.OrderService;
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.valueobject.*;
+import com.example.domain.repository.ConcurrentOrderModificationException;
+import com.example.domain.repository.OrderCursor;
+import com.example.domain.repository.OrderPage;
+import com.example.domain.service.PaymentDeclinedException;
+import com.example.domain.service.PaymentUnavailableException;
+import com.example.presentation.dto.AddOrderItemRequest;
+import com.example.presentation.dto.BulkOrderRequest;
+import com.example.presentation.dto.BulkOrderResponse;
+import com.example.presentation.dto.CreateOrderRequest;
+import com.example.presentation.dto.OrderPageResponse;
+import com.example.presentation.dto.OrderResponse;
+import com.example.presentation.dto.OrderSummaryResponse;
+import com.example.presentation.idempotency.IdempotencyCache;
+import com.example.presentation.idempotency.IdempotencyKeyReusedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 注文に関するREST APIコントローラー
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final OrderService orderService;
+    private final OrderQueryService orderQueryService;
+    private final OrderImportService orderImportService;
+    private final IdempotencyCache idempotencyCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int importChunkSize;
+
+    public OrderController(OrderService orderService,
+                           OrderQueryService orderQueryService,
+                           OrderImportService orderImportService,
+                           IdempotencyCache idempotencyCache,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${ddd.orders.import.chunk-size:500}") int importChunkSize) {
+        if (importChunkSize <= 0) {
+            throw new IllegalArgumentException("Import chunk size must be positive");
+        }
+        this.orderService = orderService;
+        this.orderQueryService = orderQueryService;
+        this.orderImportService = orderImportService;
+        this.idempotencyCache = idempotencyCache;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.importChunkSize = importChunkSize;
+    }
+
+    /**
+     * 新規注文を作成する
+     * @param request 注文作成リクエスト
+     * @return 作成された注文のIDを含むレスポンス
+     */
+    @PostMapping
+    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+        // リクエストからドメインオブジェクトへの変換
+        CustomerId customerId = CustomerId.of(request.getCustomerId());
+        
+        Address shippingAddress = Address.of(
+                request.getShippingStreetAddress(),
+                request.getShippingCity(),
+                request.getShippingState(),
+                request.getShippingZipCode(),
+                request.getShippingCountry()
+        );
+        
+        Address billingAddress = Address.of(
+                request.getBillingStreetAddress(),
+                request.getBillingCity(),
+                request.getBillingState(),
+                request.getBillingZipCode(),
+                request.getBillingCountry()
+        );
+        
+        // アプリケーションサービスの呼び出し
+        OrderId orderId = orderService.createOrder(customerId, shippingAddress, billingAddress);
+        
+        // レスポンスの作成
+        OrderResponse response = new OrderResponse(orderId.getValue().toString());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * NDJSON（1行1注文）の注文をまとめて作成する
+     * 本文を少しずつ読みながら一定件数ごとに1トランザクションで保存し、行ごとの結果を NDJSON で返す
+     * @param body リクエスト本文
+     * @param response 行ごとの結果を書き込むレスポンス
+     * @throws IOException 本文の読み込みまたは結果の書き込みに失敗した場合
+     */
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public void importOrders(InputStream body, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON.toString());
+        OutputStream output = response.getOutputStream();
+        
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<Long> lineNumbers = new ArrayList<>(importChunkSize);
+        List<ImportOrderCommand> commands = new ArrayList<>(importChunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            
+            // 変換できない行はその場で却下し、取り込み対象に含めない
+            try {
+                commands.add(toImportCommand(objectMapper.readValue(line, BulkOrderRequest.class)));
+                lineNumbers.add(lineNumber);
+            } catch (IOException | IllegalArgumentException | NullPointerException e) {
+                writeLine(output, new BulkOrderResponse(lineNumber, null, "Invalid order: " + e.getMessage()));
+            }
+            
+            if (commands.size() == importChunkSize) {
+                importChunk(commands, lineNumbers, output);
+            }
+        }
+        if (!commands.isEmpty()) {
+            importChunk(commands, lineNumbers, output);
+        }
+        output.flush();
+    }
+
+    // 1チャンク分を取り込み、結果を書き出してバッファを空にする
+    private void importChunk(List<ImportOrderCommand> commands, List<Long> lineNumbers, OutputStream output)
+            throws IOException {
+        List<ImportOrderResult> results = orderImportService.importOrders(commands);
+        for (int i = 0; i < results.size(); i++) {
+            ImportOrderResult result = results.get(i);
+            writeLine(output, new BulkOrderResponse(
+                    lineNumbers.get(i),
+                    result.isCreated() ? result.getOrderId().getValue().toString() : null,
+                    result.getError()
+            ));
+        }
+        output.flush();
+        commands.clear();
+        lineNumbers.clear();
+    }
+
+    private ImportOrderCommand toImportCommand(BulkOrderRequest request) {
+        Address shippingAddress = Address.of(
+                request.getShippingStreetAddress(),
+                request.getShippingCity(),
+                request.getShippingState(),
+                request.getShippingZipCode(),
+                request.getShippingCountry()
+        );
+        
+        Address billingAddress = Address.of(
+                request.getBillingStreetAddress(),
+                request.getBillingCity(),
+                request.getBillingState(),
+                request.getBillingZipCode(),
+                request.getBillingCountry()
+        );
+        
+        List<ImportOrderCommand.Item> items = new ArrayList<>();
+        for (AddOrderItemRequest item : request.getItems()) {
+            if (item.getQuantity() == null || item.getQuantity() < 1) {
+                throw new IllegalArgumentException("Quantity must be at least 1");
+            }
+            items.add(new ImportOrderCommand.Item(ProductId.of(item.getProductId()), Quantity.of(item.getQuantity())));
+        }
+        
+        return new ImportOrderCommand(CustomerId.of(request.getCustomerId()), shippingAddress, billingAddress, items);
+    }
+
+    private void writeLine(OutputStream output, Object value) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(value));
+        output.write('\n');
+    }
+
+    /**
+     * 注文に商品を追加する
+     * @param orderId 注文ID
+     * @param request 商品追加リクエスト
+     * @return HTTPステータス
+     */
+    @PostMapping("/{orderId}/items")
+    public ResponseEntity<Void> addOrderItem(@PathVariable String orderId, 
+                                             @Valid @RequestBody AddOrderItemRequest request) {
+        // リクエストからドメインオブジェクトへの変換
+        OrderId orderIdObj = OrderId.of(orderId);
+        ProductId productId = ProductId.of(request.getProductId());
+        Quantity quantity = Quantity.of(request.getQuantity());
+        
+        // アプリケーションサービスの呼び出し
+        orderService.addOrderItem(orderIdObj, productId, quantity);
+        
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 注文から商品を削除する
+     * @param orderId 注文ID
+     * @param orderItemId 注文項目ID
+     * @return HTTPステータス
+     */
+    @DeleteMapping("/{orderId}/items/{orderItemId}")
+    public ResponseEntity<Void> removeOrderItem(@PathVariable String orderId, 
+                                               @PathVariable String orderItemId) {
+        // パラメータからドメインオブジェクトへの変換
+        OrderId orderIdObj = OrderId.of(orderId);
+        UUID orderItemIdObj = UUID.fromString(orderItemId);
+        
+        // アプリケーションサービスの呼び出し
+        orderService.removeOrderItem(orderIdObj, orderItemIdObj);
+        
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 注文を支払い処理する
+     * @param orderId 注文ID
+     * @param idempotencyKey 再送を識別するキー（Idempotency-Key ヘッダー）
+     * @return HTTPステータス
+     */
+    @PostMapping("/{orderId}/pay")
+    public ResponseEntity<Void> payOrder(@PathVariable String orderId,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        // パラメータからドメインオブジェクトへの変換
+        OrderId orderIdObj = OrderId.of(orderId);
+        
+        // アプリケーションサービスの呼び出し（同じキーの再送には1回目の結果を返す）
+        idempotencyCache.execute(idempotencyKey, "pay:" + orderIdObj, () -> orderService.payOrder(orderIdObj));
+        
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 注文をキャンセルする
+     * @param orderId 注文ID
+     * @param idempotencyKey 再送を識別するキー（Idempotency-Key ヘッダー）
+     * @return HTTPステータス
+     */
+    @PostMapping("/{orderId}/cancel")
+    public ResponseEntity<Void> cancelOrder(@PathVariable String orderId,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        // パラメータからドメインオブジェクトへの変換
+        OrderId orderIdObj = OrderId.of(orderId);
+        
+        // アプリケーションサービスの呼び出し（同じキーの再送には1回目の結果を返す）
+        idempotencyCache.execute(idempotencyKey, "cancel:" + orderIdObj, () -> orderService.cancelOrder(orderIdObj));
+        
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 注文を発送済みにする
+     * @param orderId 注文ID
+     * @param idempotencyKey 再送を識別するキー（Idempotency-Key ヘッダー）
+     * @return HTTPステータス
+     */
+    @PostMapping("/{orderId}/ship")
+    public ResponseEntity<Void> shipOrder(@PathVariable String orderId,
+                                          @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        // パラメータからドメインオブジェクトへの変換
+        OrderId orderIdObj = OrderId.of(orderId);
+        
+        // アプリケーションサービスの呼び出し（同じキーの再送には1回目の結果を返す）
+        idempotencyCache.execute(idempotencyKey, "ship:" + orderIdObj, () -> orderService.shipOrder(orderIdObj));
+        
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 注文を配達完了にする
+     * @param orderId 注文ID
+     * @return HTTPステータス
+     */
+    @PostMapping("/{orderId}/deliver")
+    public ResponseEntity<Void> deliverOrder(@PathVariable String orderId) {
+        // パラメータからドメインオブジェクトへの変換
+        OrderId orderIdObj = OrderId.of(orderId);
+        
+        // アプリケーションサービスの呼び出し
+        orderService.deliverOrder(orderIdObj);
+        
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 注文を取得する
+     * @param orderId 注文ID
+     * @return 注文情報
+     */
+    @GetMapping("/{orderId}")
+    public ResponseEntity<Order> getOrder(@PathVariable String orderId) {
+        // パラメータからドメインオブジェクトへの変換
+        OrderId orderIdObj = OrderId.of(orderId);
+        
+        // アプリケーションサービスの呼び出し
+        return orderService.findOrder(orderIdObj)
+                .map(order -> new ResponseEntity<>(order, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * 顧客の注文履歴を取得する
+     * @param customerId 顧客ID
+     * @return 注文サマリーのリスト
+     */
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<List<OrderSummaryResponse>> getCustomerOrders(@PathVariable String customerId) {
+        // パラメータからドメインオブジェクトへの変換
+        CustomerId customerIdObj = CustomerId.of(customerId);
+        
+        // 集約を読み込まずに読み取りモデルから取得する
+        List<OrderSummaryResponse> orders = orderQueryService.findOrderSummariesByCustomerId(customerIdObj).stream()
+                .map(OrderSummaryResponse::from)
+                .collect(Collectors.toList());
+        
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
+    /**
+     * 特定の状態の注文を取得する
+     * @param status 注文状態
+     * @return 注文サマリーのリスト
+     */
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<OrderSummaryResponse>> getOrdersByStatus(@PathVariable String status) {
+        try {
+            // パラメータからドメインオブジェクトへの変換
+            OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
+            
+            // 集約を読み込まずに読み取りモデルから取得する
+            List<OrderSummaryResponse> orders = orderQueryService.findOrderSummariesByStatus(orderStatus).stream()
+                    .map(OrderSummaryResponse::from)
+                    .collect(Collectors.toList());
+            
+            return new ResponseEntity<>(orders, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * 顧客の注文履歴をページ単位で取得する
+     * @param customerId 顧客ID
+     * @param after 前のページのレスポンスに含まれる次ページカーソル
+     * @param limit 1ページの最大件数
+     * @return 注文のページ
+     */
+    @GetMapping("/customer/{customerId}/page")
+    public ResponseEntity<OrderPageResponse> getCustomerOrdersPage(@PathVariable String customerId,
+                                                                   @RequestParam(required = false) String after,
+                                                                   @RequestParam(defaultValue = "50") int limit) {
+        try {
+            // パラメータからドメインオブジェクトへの変換
+            CustomerId customerIdObj = CustomerId.of(customerId);
+            OrderCursor cursor = toCursor(after, limit);
+            
+            // アプリケーションサービスの呼び出し
+            OrderPage page = orderService.findOrdersByCustomerId(customerIdObj, cursor, limit);
+            
+            return new ResponseEntity<>(toResponse(page), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * 特定の状態の注文をページ単位で取得する
+     * @param status 注文状態
+     * @param after 前のページのレスポンスに含まれる次ページカーソル
+     * @param limit 1ページの最大件数
+     * @return 注文のページ
+     */
+    @GetMapping("/status/{status}/page")
+    public ResponseEntity<OrderPageResponse> getOrdersByStatusPage(@PathVariable String status,
+                                                                   @RequestParam(required = false) String after,
+                                                                   @RequestParam(defaultValue = "50") int limit) {
+        try {
+            // パラメータからドメインオブジェクトへの変換
+            OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
+            OrderCursor cursor = toCursor(after, limit);
+            
+            // アプリケーションサービスの呼び出し
+            OrderPage page = orderService.findOrdersByStatus(orderStatus, cursor, limit);
+            
+            return new ResponseEntity<>(toResponse(page), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * 顧客の全注文を NDJSON（1行1注文）で逐次返す
+     * @param customerId 顧客ID
+     * @return 注文のストリーム
+     */
+    @GetMapping("/customer/{customerId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamCustomerOrders(@PathVariable String customerId) {
+        try {
+            CustomerId customerIdObj = CustomerId.of(customerId);
+            return ndjson(() -> orderService.streamOrdersByCustomerId(customerIdObj));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * 特定の状態の全注文を NDJSON（1行1注文）で逐次返す
+     * @param status 注文状態
+     * @return 注文のストリーム
+     */
+    @GetMapping("/status/{status}/stream")
+    public ResponseEntity<StreamingResponseBody> streamOrdersByStatus(@PathVariable String status) {
+        try {
+            OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
+            return ndjson(() -> orderService.streamOrdersByStatus(orderStatus));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * 期間内に作成された全注文を NDJSON（1行1注文）で逐次返す
+     * @param from 開始日時
+     * @param to 終了日時
+     * @return 注文のストリーム
+     */
+    @GetMapping("/created/stream")
+    public ResponseEntity<StreamingResponseBody> streamOrdersByCreatedAt(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (from.isAfter(to)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ndjson(() -> orderService.streamOrdersByCreatedAtBetween(from, to));
+    }
+
+    private OrderCursor toCursor(String after, int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return after == null ? null : OrderCursor.decode(after);
+    }
+
+    /**
+     * 再試行しても他の処理との競合が解消しなかった更新は 409 を返し、クライアントにやり直しを促す
+     * @param e 競合の例外
+     * @return 409 Conflict
+     */
+    @ExceptionHandler(ConcurrentOrderModificationException.class)
+    public ResponseEntity<Void> handleConcurrentModification(ConcurrentOrderModificationException e) {
+        return new ResponseEntity<>(HttpStatus.CONFLICT);
+    }
+
+    /**
+     * 別の要求に使われた Idempotency-Key による要求は 422 を返す
+     * @param e キーの再利用の例外
+     * @return 422 Unprocessable Entity
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Void> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        return new ResponseEntity<>(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * 決済サービスが拒否した支払いは 402 を返す
+     * @param e 支払い拒否の例外
+     * @return 402 Payment Required
+     */
+    @ExceptionHandler(PaymentDeclinedException.class)
+    public ResponseEntity<Void> handlePaymentDeclined(PaymentDeclinedException e) {
+        return new ResponseEntity<>(HttpStatus.PAYMENT_REQUIRED);
+    }
+
+    /**
+     * 決済サービスを利用できない場合は 503 を返し、時間をおいた再送を促す
+     * @param e 決済サービスの一時的な失敗の例外
+     * @return 503 Service Unavailable
+     */
+    @ExceptionHandler(PaymentUnavailableException.class)
+    public ResponseEntity<Void> handlePaymentUnavailable(PaymentUnavailableException e) {
+        return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private OrderPageResponse toResponse(OrderPage page) {
+        return new OrderPageResponse(
+                page.getOrders(),
+                page.getNextCursor().map(OrderCursor::encode).orElse(null)
+        );
+    }
+
+    // 読み取り専用トランザクション内でストリームを消費し、1件ずつ書き出すことでメモリ使用量を件数に依存させない
+    private ResponseEntity<StreamingResponseBody> ndjson(Supplier<Stream<Order>> source) {
+        StreamingResponseBody body = outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Order> orders = source.get()) {
+                orders.forEach(order -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(order));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
\ No newline at end of file
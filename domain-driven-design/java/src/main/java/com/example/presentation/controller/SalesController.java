@@ -0,0 +1,61 @@
+package com.example.presentation.controller;
+
+import com.example.application.query.SalesRollups;
+import com.example.application.query.SalesTotals;
+import com.example.presentation.dto.SalesTotalsResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * 売上の集計に関するREST APIコントローラー
+ */
+@RestController
+@RequestMapping("/api/sales")
+public class SalesController {
+    private final SalesRollups salesRollups;
+
+    public SalesController(SalesRollups salesRollups) {
+        this.salesRollups = salesRollups;
+    }
+
+    /**
+     * 直近の期間の売上を取得する
+     * 時間枠ごとの集計から求めるため、注文は検索しない
+     * @param currency 通貨コード
+     * @param unit 時間枠の単位（minutes、hours、days）
+     * @param last 集計する時間枠の数
+     * @return 売上の集計結果
+     */
+    @GetMapping("/revenue")
+    public ResponseEntity<SalesTotalsResponse> getRevenue(@RequestParam String currency,
+                                                          @RequestParam(defaultValue = "minutes") String unit,
+                                                          @RequestParam(defaultValue = "60") int last) {
+        try {
+            // パラメータからドメインオブジェクトへの変換
+            Currency salesCurrency = Currency.getInstance(currency.toUpperCase(Locale.ROOT));
+            ChronoUnit salesUnit = ChronoUnit.valueOf(unit.toUpperCase(Locale.ROOT));
+            
+            SalesTotals totals = salesRollups.totals(salesCurrency, salesUnit, last);
+            
+            // レスポンスの作成
+            SalesTotalsResponse response = new SalesTotalsResponse(
+                    salesCurrency.getCurrencyCode(),
+                    unit.toLowerCase(Locale.ROOT),
+                    totals.getLast(),
+                    totals.getFrom(),
+                    totals.getTo(),
+                    totals.getRevenue().getAmount(),
+                    totals.getPaidOrders(),
+                    totals.getRefundedOrders()
+            );
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+}
\ No newline at end of file
@@ -1,3 +1,10 @@
+package com.example.presentation.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
 /**
  * 注文項目追加リクエストDTO
  */
@@ -0,0 +1,17 @@
+package com.example.presentation.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 注文一括取り込みの1行分のリクエストDTO
+ * 注文作成リクエストの項目に注文項目を加えたもの
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BulkOrderRequest extends CreateOrderRequest {
+    private List<AddOrderItemRequest> items = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.example.presentation.dto;
+
+import lombok.Data;
+
+/**
+ * 注文一括取り込みの1行分のレスポンスDTO
+ */
+@Data
+public class BulkOrderResponse {
+    // リクエスト本文の行番号（1始まり）
+    private final long line;
+    // 作成された注文のID（却下された場合は null）
+    private final String orderId;
+    // 却下された理由（作成された場合は null）
+    private final String error;
+}
@@ -1,3 +1,8 @@
+package com.example.presentation.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
 
 /**
  * 顧客作成リクエストDTO
@@ -1,3 +1,10 @@
+package com.example.presentation.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
 /**
  * 商品作成リクエストDTO
  */
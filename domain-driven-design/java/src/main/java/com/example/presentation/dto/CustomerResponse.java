@@ -1,3 +1,7 @@
+package com.example.presentation.dto;
+
+import lombok.Data;
+
 /**
  * 顧客レスポンスDTO
  */
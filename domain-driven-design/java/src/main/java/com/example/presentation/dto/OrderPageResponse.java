@@ -0,0 +1,16 @@
+package com.example.presentation.dto;
+
+import com.example.domain.model.aggregate.Order;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 注文ページレスポンスDTO
+ */
+@Data
+public class OrderPageResponse {
+    private final List<Order> orders;
+    // 次のページを取得するためのカーソル（最後のページの場合は null）
+    private final String nextCursor;
+}
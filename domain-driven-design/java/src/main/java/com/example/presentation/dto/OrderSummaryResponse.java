@@ -0,0 +1,46 @@
+package com.example.presentation.dto;
+
+import com.example.application.query.OrderSummary;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 注文サマリーレスポンスDTO
+ */
+@Data
+public class OrderSummaryResponse {
+    private final String orderId;
+    private final String customerId;
+    private final String status;
+    private final BigDecimal totalAmount;
+    private final String currency;
+    private final int itemCount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime lastModifiedAt;
+    private final LocalDateTime paidAt;
+    private final LocalDateTime shippedAt;
+    private final LocalDateTime cancelledAt;
+
+    /**
+     * 読み取りモデルからレスポンスを作成する
+     * @param summary 注文サマリー
+     * @return レスポンスDTO
+     */
+    public static OrderSummaryResponse from(OrderSummary summary) {
+        return new OrderSummaryResponse(
+                summary.getOrderId().getValue().toString(),
+                summary.getCustomerId().getValue().toString(),
+                summary.getStatus().name(),
+                summary.getTotalAmount().getAmount(),
+                summary.getTotalAmount().getCurrency().getCurrencyCode(),
+                summary.getItemCount(),
+                summary.getCreatedAt(),
+                summary.getLastModifiedAt(),
+                summary.getPaidAt(),
+                summary.getShippedAt(),
+                summary.getCancelledAt()
+        );
+    }
+}
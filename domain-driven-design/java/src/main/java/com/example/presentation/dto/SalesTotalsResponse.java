@@ -0,0 +1,23 @@
+package com.example.presentation.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 売上集計レスポンスDTO
+ */
+@Data
+public class SalesTotalsResponse {
+    private final String currency;
+    private final String unit;
+    private final int last;
+    // 集計期間（from 以上 to 未満）
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    // 支払額から返金額を差し引いた売上
+    private final BigDecimal revenue;
+    private final long paidOrders;
+    private final long refundedOrders;
+}
\ No newline at end of file
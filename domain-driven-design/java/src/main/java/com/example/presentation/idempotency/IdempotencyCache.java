@@ -0,0 +1,187 @@
+package com.example.presentation.idempotency;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Idempotency-Key ヘッダーによる再送要求の結果のキャッシュ
+ * 同じキーの要求は最初の1回だけ実行し、完了した結果（例外を含む）を一定時間メモリ上に保持して返す
+ * 実行中の要求と同じキーの要求は、その実行の完了を待って同じ結果を返す
+ *
+ * 状態遷移の失敗（IllegalStateException など）は再送しても結果が変わらないため保持する
+ * 競合などの一時的な失敗は保持せず、次の再送で実行し直す
+ */
+@Component
+public class IdempotencyCache {
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // 追加順のエントリ。保持期間は一定のため、先頭から期限切れになる
+    // 同じキーを追加し直すと古いノードが残るため、現在のエントリと一致しないノードは読み飛ばして捨てる
+    private final Queue<Node> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public IdempotencyCache(@Value("${ddd.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${ddd.idempotency.ttl:10m}") Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    IdempotencyCache(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Invalid idempotency cache configuration");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * キーが指定されていれば1回だけ処理を実行し、指定されていなければそのまま実行する
+     * @param idempotencyKey Idempotency-Key ヘッダーの値（null の場合はキャッシュしない）
+     * @param operation 要求の内容を表す文字列（同じキーを別の要求に使い回していないかの確認に使用する）
+     * @param action 実行する処理
+     * @throws IdempotencyKeyReusedException 同じキーが別の要求に使われていた場合
+     */
+    public void execute(String idempotencyKey, String operation, Runnable action) {
+        if (idempotencyKey == null) {
+            action.run();
+            return;
+        }
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        long now = clock.millis();
+        evictExpired(now);
+
+        Entry created = new Entry(operation);
+        Entry entry = entries.compute(idempotencyKey, (key, existing) ->
+                existing == null || existing.isExpired(now) ? created : existing);
+        if (!entry.operation.equals(operation)) {
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+
+        if (entry == created) {
+            insertionOrder.add(new Node(idempotencyKey, entry));
+            evictOverflow();
+            run(idempotencyKey, entry, action);
+        }
+        awaitResult(entry);
+    }
+
+    private void run(String key, Entry entry, Runnable action) {
+        try {
+            action.run();
+            entry.complete(null, clock.millis() + ttlMillis);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            // 要求の内容と注文の状態で決まる失敗は、再送しても同じ結果になる
+            entry.complete(e, clock.millis() + ttlMillis);
+        } catch (RuntimeException | Error e) {
+            // 一時的な失敗は保持しない。待っている同じキーの要求には同じ失敗を返す
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(e);
+        }
+    }
+
+    private static void awaitResult(Entry entry) {
+        RuntimeException failure;
+        try {
+            failure = entry.result.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : e;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // 先頭から期限切れのエントリと古いノードを削除する
+    private void evictExpired(long now) {
+        Node node;
+        while ((node = insertionOrder.peek()) != null) {
+            if (node.isCurrent() && !node.entry.isExpired(now)) {
+                return;
+            }
+            if (insertionOrder.remove(node)) {
+                entries.remove(node.key, node.entry);
+            }
+        }
+    }
+
+    // 上限を超えた場合は期限に関わらず古い完了済みのエントリから削除する
+    // 上限は保持しているエントリの数で判定する（古いノードは数えない）
+    private void evictOverflow() {
+        while (entries.size() > maxEntries) {
+            Node node = insertionOrder.poll();
+            if (node == null) {
+                return;
+            }
+            if (!node.isCurrent()) {
+                continue;
+            }
+            if (!node.entry.result.isDone()) {
+                // 実行中のエントリは削除せず、末尾に戻す
+                insertionOrder.add(node);
+                return;
+            }
+            entries.remove(node.key, node.entry);
+        }
+    }
+
+    // insertionOrder の要素。追加したときのエントリを持ち、同じキーの新しいエントリと区別する
+    private final class Node {
+        private final String key;
+        private final Entry entry;
+
+        Node(String key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+
+        boolean isCurrent() {
+            return entries.get(key) == entry;
+        }
+    }
+
+    /**
+     * 1つのキーの実行結果
+     */
+    private static final class Entry {
+        private final String operation;
+        // 正常に完了した場合は null、保持する失敗の場合はその例外で完了する
+        private final CompletableFuture<RuntimeException> result = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(String operation) {
+            this.operation = operation;
+        }
+
+        void complete(RuntimeException failure, long expiresAt) {
+            this.expiresAt = expiresAt;
+            result.complete(failure);
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.presentation.idempotency;
+
+/**
+ * 同じ Idempotency-Key が別の要求に使われたことを表す例外
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    private final String idempotencyKey;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key was already used for a different request: " + idempotencyKey);
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.application.service;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.Address;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.OrderStatus;
+import com.example.domain.model.valueobject.PaymentAuthorization;
+import com.example.domain.model.valueobject.Quantity;
+import com.example.domain.repository.CustomerRepository;
+import com.example.domain.repository.OrderRepository;
+import com.example.domain.repository.ProductRepository;
+import com.example.domain.service.DiscountService;
+import com.example.domain.service.InventoryService;
+import com.example.domain.service.PaymentGateway;
+import com.example.domain.service.PaymentUnavailableException;
+import com.example.infrastructure.payment.ResilientPaymentGateway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 支払いのユースケースで、決済サービスの承認と取り消しが正しい組み合わせで行われることを確認する
+ */
+@SpringBootTest(properties = "ddd.scheduling.enabled=false")
+class OrderServicePaymentTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private DiscountService discountService;
+
+    @Autowired
+    private OrderRetryPolicy retryPolicy;
+
+    @Test
+    void concurrentPaymentsKeepTheWinningAuthorization() throws Exception {
+        Product product = saveProduct(10);
+        OrderId orderId = saveOrder(product, 2);
+        // 両方の呼び出しが承認を得るまで待たせ、支払い済みにする処理を競合させる
+        RecordingPaymentGateway gateway = new RecordingPaymentGateway(new CyclicBarrier(2));
+        OrderService orderService = orderService(gateway);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        try {
+            List<Future<?>> calls = List.of(
+                    executor.submit(() -> payCapturingFailure(orderService, orderId, failures)),
+                    executor.submit(() -> payCapturingFailure(orderService, orderId, failures)));
+            for (Future<?> call : calls) {
+                call.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, failures.size(), "exactly one payment should lose: " + failures);
+        assertEquals(OrderStatus.PAID, orderRepository.findById(orderId).orElseThrow().getStatus());
+        assertEquals(2, gateway.authorizations.size(), "each call should get its own authorization");
+        assertEquals(1, gateway.activeAuthorizations().size(), "only the losing authorization should be voided");
+        // 在庫は支払い済みにした1回分だけ減る
+        assertEquals(8, productRepository.findById(product.getId()).orElseThrow().getStockQuantity().getValue());
+    }
+
+    @Test
+    void outOfStockOrderIsRejectedBeforeAuthorizing() {
+        Product product = saveProduct(1);
+        OrderId orderId = saveOrder(product, 2);
+        RecordingPaymentGateway gateway = new RecordingPaymentGateway(null);
+
+        assertThrows(IllegalStateException.class, () -> orderService(gateway).payOrder(orderId));
+
+        assertTrue(gateway.authorizations.isEmpty(), "payment gateway should not be called");
+        assertEquals(OrderStatus.CREATED, orderRepository.findById(orderId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void timedOutAuthorizationIsVoidedByItsIdempotencyKey() {
+        Product product = saveProduct(10);
+        OrderId orderId = saveOrder(product, 1);
+        HangingPaymentGateway delegate = new HangingPaymentGateway();
+        PaymentGateway gateway = new ResilientPaymentGateway(delegate, Runnable::run, Duration.ofMillis(100),
+                0, 5, Duration.ofSeconds(1));
+
+        PaymentUnavailableException failure = assertThrows(PaymentUnavailableException.class,
+                () -> orderService(gateway).payOrder(orderId));
+
+        assertTrue(failure.isTimeout());
+        assertEquals(delegate.requestedKeys, delegate.voidedKeys,
+                "the timed-out authorization should be voided by the key it was requested with");
+        assertEquals(OrderStatus.CREATED, orderRepository.findById(orderId).orElseThrow().getStatus());
+        assertEquals(10, productRepository.findById(product.getId()).orElseThrow().getStockQuantity().getValue());
+    }
+
+    private OrderService orderService(PaymentGateway gateway) {
+        return new OrderService(orderRepository, customerRepository, productRepository, inventoryService,
+                discountService, gateway, retryPolicy);
+    }
+
+    private static void payCapturingFailure(OrderService orderService, OrderId orderId, List<Throwable> failures) {
+        try {
+            orderService.payOrder(orderId);
+        } catch (RuntimeException e) {
+            failures.add(e);
+        }
+    }
+
+    private Product saveProduct(int stock) {
+        Product product = Product.create("Product", "Description", yen(1_000), Quantity.of(stock));
+        productRepository.save(product);
+        return product;
+    }
+
+    private OrderId saveOrder(Product product, int quantity) {
+        Customer customer = Customer.create("Taro", "Yamada", UUID.randomUUID() + "@example.com", null);
+        customer.addAddress(address());
+        customerRepository.save(customer);
+
+        Order order = Order.create(customer.getId(), address(), address());
+        order.addOrderItem(product.getId(), product.getName(), product.getPrice(), Quantity.of(quantity));
+        orderRepository.save(order);
+        order.clearDomainEvents();
+        return order.getId();
+    }
+
+    private static Address address() {
+        return Address.of("1-1", "Chiyoda", "Tokyo", "100-0001", "JP");
+    }
+
+    private static Money yen(int amount) {
+        return Money.yen(BigDecimal.valueOf(amount));
+    }
+
+    /**
+     * 冪等キーごとに1回だけ承認し、取り消された承認を記録する決済サービス
+     */
+    private static final class RecordingPaymentGateway implements PaymentGateway {
+        private final CyclicBarrier authorized;
+        private final Map<String, PaymentAuthorization> authorizations = new ConcurrentHashMap<>();
+        private final Set<PaymentAuthorization> voided = ConcurrentHashMap.newKeySet();
+
+        /**
+         * @param authorized 承認を返す前に揃える呼び出し（null の場合は待たない）
+         */
+        RecordingPaymentGateway(CyclicBarrier authorized) {
+            this.authorized = authorized;
+        }
+
+        @Override
+        public CompletableFuture<PaymentAuthorization> authorize(OrderId orderId, Money amount, String idempotencyKey) {
+            PaymentAuthorization authorization = authorizations.computeIfAbsent(idempotencyKey,
+                    key -> PaymentAuthorization.of(UUID.randomUUID().toString(), orderId, amount));
+            if (authorized != null) {
+                try {
+                    authorized.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                    fail("Payments did not authorize concurrently", e);
+                }
+            }
+            return CompletableFuture.completedFuture(authorization);
+        }
+
+        @Override
+        public CompletableFuture<Void> voidAuthorization(PaymentAuthorization authorization) {
+            voided.add(authorization);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> voidByIdempotencyKey(String idempotencyKey) {
+            PaymentAuthorization authorization = authorizations.get(idempotencyKey);
+            if (authorization != null) {
+                voided.add(authorization);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<PaymentAuthorization> activeAuthorizations() {
+            return authorizations.values().stream().filter(authorization -> !voided.contains(authorization)).toList();
+        }
+    }
+
+    /**
+     * 承認の要求に応答せず、要求と取り消しの冪等キーを記録する決済サービス
+     */
+    private static final class HangingPaymentGateway implements PaymentGateway {
+        private final List<String> requestedKeys = new CopyOnWriteArrayList<>();
+        private final List<String> voidedKeys = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<PaymentAuthorization> authorize(OrderId orderId, Money amount, String idempotencyKey) {
+            requestedKeys.add(idempotencyKey);
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletableFuture<Void> voidAuthorization(PaymentAuthorization authorization) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> voidByIdempotencyKey(String idempotencyKey) {
+            voidedKeys.add(idempotencyKey);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
\ No newline at end of file
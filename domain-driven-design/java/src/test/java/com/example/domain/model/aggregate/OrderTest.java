@@ -0,0 +1,177 @@
+package com.example.domain.model.aggregate;
+
+import com.example.domain.model.entity.OrderItem;
+import com.example.domain.model.valueobject.Address;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.OrderId;
+import com.example.domain.model.valueobject.OrderStatus;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 注文項目の追加・削除・数量変更の後も、合計金額が全項目の単価×数量の合計と一致し、
+ * 注文項目のビューが追加順の項目を返すことを確認する
+ */
+class OrderTest {
+    private static final Address ADDRESS = Address.of("1-1", "Chiyoda", "Tokyo", "100-0001", "JP");
+
+    @Test
+    void addingTheSameProductIncreasesTheExistingItem() {
+        Order order = newOrder();
+        ProductId productId = ProductId.generateNew();
+
+        UUID first = order.addOrderItem(productId, "Product", yen(1_000), Quantity.of(2));
+        UUID second = order.addOrderItem(productId, "Product", yen(1_000), Quantity.of(3));
+
+        assertEquals(first, second);
+        assertEquals(1, order.getOrderItems().size());
+        assertEquals(5, order.getOrderItems().get(0).getQuantity().getValue());
+        assertConsistent(order);
+        assertEquals(yen(5_000), order.getTotalAmount());
+    }
+
+    @Test
+    void removingAnItemKeepsTheOrderOfTheRest() {
+        Order order = newOrder();
+        UUID a = order.addOrderItem(ProductId.generateNew(), "A", yen(100), Quantity.of(1));
+        UUID b = order.addOrderItem(ProductId.generateNew(), "B", yen(200), Quantity.of(2));
+        UUID c = order.addOrderItem(ProductId.generateNew(), "C", yen(300), Quantity.of(3));
+        // 添字アクセスの配列を作らせてから削除する
+        assertEquals(b, order.getOrderItems().get(1).getId());
+
+        order.removeOrderItem(b);
+
+        assertEquals(List.of(a, c), ids(order));
+        assertEquals(c, order.getOrderItems().get(1).getId());
+        assertConsistent(order);
+        assertEquals(yen(1_000), order.getTotalAmount());
+    }
+
+    @Test
+    void changingQuantityUpdatesTheTotal() {
+        Order order = newOrder();
+        UUID a = order.addOrderItem(ProductId.generateNew(), "A", yen(150), Quantity.of(4));
+        order.addOrderItem(ProductId.generateNew(), "B", yen(99), Quantity.of(1));
+
+        order.updateOrderItemQuantity(a, Quantity.of(1));
+        assertConsistent(order);
+        assertEquals(yen(249), order.getTotalAmount());
+
+        // 不正な数量は合計金額を変えずに拒否する
+        assertThrows(IllegalArgumentException.class, () -> order.updateOrderItemQuantity(a, Quantity.of(0)));
+        assertConsistent(order);
+        assertEquals(yen(249), order.getTotalAmount());
+    }
+
+    @Test
+    void unknownItemsAndLockedOrdersAreRejected() {
+        Order order = newOrder();
+        UUID a = order.addOrderItem(ProductId.generateNew(), "A", yen(100), Quantity.of(1));
+
+        assertThrows(IllegalArgumentException.class, () -> order.removeOrderItem(UUID.randomUUID()));
+        assertThrows(IllegalArgumentException.class,
+                () -> order.updateOrderItemQuantity(UUID.randomUUID(), Quantity.of(1)));
+
+        order.markAsPaid();
+        assertThrows(IllegalStateException.class,
+                () -> order.addOrderItem(ProductId.generateNew(), "B", yen(100), Quantity.of(1)));
+        assertThrows(IllegalStateException.class, () -> order.updateOrderItemQuantity(a, Quantity.of(2)));
+        assertConsistent(order);
+    }
+
+    @Test
+    void reconstitutedDuplicateProductItemsAreMergedIntoTheRemainingOne() {
+        ProductId productId = ProductId.generateNew();
+        OrderItem first = OrderItem.reconstitute(UUID.randomUUID(), productId, "Product", yen(100), Quantity.of(1));
+        OrderItem second = OrderItem.reconstitute(UUID.randomUUID(), productId, "Product", yen(100), Quantity.of(2));
+        Order order = Order.reconstitute(OrderId.generateNew(), CustomerId.generateNew(), ADDRESS, ADDRESS,
+                OrderStatus.CREATED, List.of(first, second), yen(300), LocalDateTime.now(), LocalDateTime.now(),
+                null, null, null, 1);
+
+        // 同じ製品の項目は最初のものに加算される
+        assertEquals(first.getId(), order.addOrderItem(productId, "Product", yen(100), Quantity.of(1)));
+        order.removeOrderItem(first.getId());
+        // 削除後は残りの項目に加算される
+        assertEquals(second.getId(), order.addOrderItem(productId, "Product", yen(100), Quantity.of(1)));
+
+        assertEquals(List.of(second.getId()), ids(order));
+        assertConsistent(order);
+        assertEquals(yen(300), order.getTotalAmount());
+    }
+
+    @Test
+    void randomEditsKeepTotalAndItemsConsistent() {
+        Random random = new Random(20);
+        for (int run = 0; run < 200; run++) {
+            Order order = newOrder();
+            List<ProductId> products = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                products.add(ProductId.generateNew());
+            }
+            // 追加順の項目ID（ビューと比較する）
+            List<UUID> expectedIds = new ArrayList<>();
+
+            for (int step = 0; step < 50; step++) {
+                int operation = expectedIds.size() < 2 ? 0 : random.nextInt(3);
+                if (operation == 0) {
+                    ProductId productId = products.get(random.nextInt(products.size()));
+                    UUID itemId = order.addOrderItem(productId, "Product", priceOf(productId, products),
+                            Quantity.of(random.nextInt(5) + 1));
+                    if (!expectedIds.contains(itemId)) {
+                        expectedIds.add(itemId);
+                    }
+                } else if (operation == 1) {
+                    UUID itemId = expectedIds.remove(random.nextInt(expectedIds.size()));
+                    order.removeOrderItem(itemId);
+                } else {
+                    UUID itemId = expectedIds.get(random.nextInt(expectedIds.size()));
+                    order.updateOrderItemQuantity(itemId, Quantity.of(random.nextInt(10) + 1));
+                }
+                assertEquals(expectedIds, ids(order));
+                assertConsistent(order);
+            }
+        }
+    }
+
+    // 合計金額を全項目から計算し直した値と比較し、ビューの添字アクセスと反復が同じ項目を返すことを確認する
+    private static void assertConsistent(Order order) {
+        List<OrderItem> items = order.getOrderItems();
+        Money expected = Money.zero(order.getTotalAmount().getCurrency());
+        int index = 0;
+        for (OrderItem item : items) {
+            assertSame(item, items.get(index++));
+            expected = expected.add(item.getUnitPrice().multiply(item.getQuantity().getValue()));
+        }
+        assertEquals(items.size(), index);
+        assertEquals(expected, order.getTotalAmount());
+    }
+
+    private static List<UUID> ids(Order order) {
+        return order.getOrderItems().stream().map(OrderItem::getId).toList();
+    }
+
+    private static Money priceOf(ProductId productId, List<ProductId> products) {
+        return Money.yen(BigDecimal.valueOf(products.indexOf(productId) * 137 + 99, 1));
+    }
+
+    private static Order newOrder() {
+        return Order.create(CustomerId.generateNew(), ADDRESS, ADDRESS);
+    }
+
+    private static Money yen(int amount) {
+        return Money.yen(BigDecimal.valueOf(amount));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.example.domain.model.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * long と BigDecimal のどちらで保持していても、金額を BigDecimal で計算して小数点以下2桁に四捨五入した結果と一致することを確認する
+ */
+class MoneyTest {
+    private static final Currency JPY = Currency.getInstance("JPY");
+    private static final long MAX_UNITS = Long.MAX_VALUE;
+    private static final long MIN_UNITS = Long.MIN_VALUE;
+
+    @Test
+    void amountsAreRoundedHalfUpAwayFromZero() {
+        assertAmount("1.01", yen("1.005"));
+        assertAmount("1.00", yen("1.004"));
+        assertAmount("-1.01", yen("-1.005"));
+        assertAmount("-1.00", yen("-1.004"));
+        assertAmount("-0.01", yen("-0.005"));
+    }
+
+    @Test
+    void applyRateRoundsNegativeAmountsHalfUp() {
+        // -0.10 × 5% = -0.005、-0.30 × 5% = -0.015
+        assertAmount("-0.01", yen("-0.10").applyRate(5, 100));
+        assertAmount("-0.02", yen("-0.30").applyRate(5, 100));
+        assertAmount("-0.01", yen("-0.14").applyRate(5, 100));
+        assertAmount("0.01", yen("0.10").applyRate(5, 100));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            Money amount = Money.ofMinorUnits(random.nextInt(2_000_001) - 1_000_000, JPY);
+            long numerator = random.nextInt(201) - 100;
+            BigDecimal expected = amount.getAmount().multiply(BigDecimal.valueOf(numerator))
+                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+            assertAmount(expected, amount.applyRate(numerator, 100));
+            assertAmount(expected, amount.multiply(numerator / 100.0));
+        }
+    }
+
+    @Test
+    void addAndSubtractOverflowToBigDecimalAndBack() {
+        Money max = Money.ofMinorUnits(MAX_UNITS, JPY);
+        Money cent = Money.ofMinorUnits(1, JPY);
+
+        Money overflowed = max.add(cent);
+        assertAmount(units(MAX_UNITS).add(new BigDecimal("0.01")), overflowed);
+        assertThrows(ArithmeticException.class, overflowed::toMinorUnits);
+
+        Money back = overflowed.subtract(cent);
+        assertEquals(MAX_UNITS, back.toMinorUnits());
+        assertEquals(max, back);
+        assertEquals(max.hashCode(), back.hashCode());
+
+        Money underflowed = Money.ofMinorUnits(MIN_UNITS, JPY).subtract(cent);
+        assertAmount(units(MIN_UNITS).subtract(new BigDecimal("0.01")), underflowed);
+        assertEquals(MIN_UNITS, underflowed.add(cent).toMinorUnits());
+    }
+
+    @Test
+    void largeAmountsCompareAndMultiplyLikeBigDecimal() {
+        Money max = Money.ofMinorUnits(MAX_UNITS, JPY);
+        Money large = yen("100000000000000000000.00");
+
+        assertTrue(large.isGreaterThan(max));
+        assertTrue(max.isLessThan(large));
+        assertEquals(large, yen("100000000000000000000"));
+        assertAmount(units(MAX_UNITS).multiply(BigDecimal.valueOf(3)), max.multiply(3));
+        assertAmount(units(MAX_UNITS).negate(), max.multiply(-1));
+        assertAmount(new BigDecimal("5000000000000000000.00"), large.applyRate(5, 100));
+    }
+
+    @Test
+    void sumCrossesIntoBigDecimalAndBack() {
+        Money half = Money.ofMinorUnits(MAX_UNITS / 2 + 1, JPY);
+
+        Money.Sum sum = Money.sum(JPY).addProduct(half, 2);
+        BigDecimal expected = units(MAX_UNITS / 2 + 1).multiply(BigDecimal.valueOf(2));
+        assertAmount(expected, sum.toMoney());
+        assertThrows(ArithmeticException.class, () -> sum.toMoney().toMinorUnits());
+
+        // 途中で桁あふれしても、合計が long に収まれば long の表現に戻る
+        sum.addProduct(half, -1);
+        assertEquals(MAX_UNITS / 2 + 1, sum.toMoney().toMinorUnits());
+        assertEquals(half, sum.toMoney());
+    }
+
+    @Test
+    void sumMatchesAddingEachProductAndRate() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            Money.Sum sum = Money.sum(JPY);
+            Money expected = Money.zero(JPY);
+            for (int line = 0; line < 20; line++) {
+                // 一部の行は桁あふれする大きさにする
+                long unitPrice = random.nextInt(10) == 0 ? MAX_UNITS / 3 : random.nextInt(1_000_000);
+                long quantity = random.nextInt(100) + 1;
+                Money price = Money.ofMinorUnits(unitPrice, JPY);
+                sum.addProduct(price, quantity);
+                expected = expected.add(price.multiply(quantity));
+
+                long rate = -random.nextInt(30);
+                sum.addRate(price, rate, 100);
+                expected = expected.add(price.applyRate(rate, 100));
+            }
+            assertEquals(expected, sum.toMoney());
+            assertAmount(expected.getAmount(), sum.toMoney());
+        }
+    }
+
+    @Test
+    void differentCurrenciesAreRejected() {
+        Money usd = Money.usd(BigDecimal.ONE);
+
+        assertThrows(IllegalArgumentException.class, () -> yen("1").add(usd));
+        assertThrows(IllegalArgumentException.class, () -> Money.sum(JPY).addProduct(usd, 1));
+    }
+
+    private static Money yen(String amount) {
+        return Money.yen(new BigDecimal(amount));
+    }
+
+    private static BigDecimal units(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, 2);
+    }
+
+    private static void assertAmount(String expected, Money actual) {
+        assertAmount(new BigDecimal(expected), actual);
+    }
+
+    private static void assertAmount(BigDecimal expected, Money actual) {
+        assertEquals(expected.setScale(2, RoundingMode.HALF_UP), actual.getAmount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.example.domain.service;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.valueobject.Address;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 判定表に変換した割引ルールが、DiscountService に直接記述されていた従来の計算式と同じ割引額を返すことを確認する
+ */
+class DiscountServiceTest {
+    private static final Address ADDRESS = Address.of("1-1", "Chiyoda", "Tokyo", "100-0001", "JP");
+
+    private final DiscountService discountService = new DiscountService();
+
+    @Test
+    void loyaltyMatchesAddingYearsAroundLeapDays() {
+        // 2月29日の登録は翌年の2月28日に1年となる（評価日時から1年引くと2月28日を下回らない）
+        assertSameDiscount(at("2024-02-29T10:00"), at("2025-02-28T10:00:01"));
+        assertSameDiscount(at("2024-02-29T10:00"), at("2025-02-28T10:00"));
+        assertSameDiscount(at("2024-02-29T10:00"), at("2025-02-28T09:59"));
+        assertSameDiscount(at("2024-02-29T10:00"), at("2025-03-01T00:00"));
+        // 2月29日の評価では、前年の2月28日の登録は日時の比較で判定する
+        assertSameDiscount(at("2023-02-28T10:00"), at("2024-02-29T09:00"));
+        assertSameDiscount(at("2023-02-28T10:00"), at("2024-02-28T10:00:01"));
+        assertSameDiscount(at("2023-03-01T00:00"), at("2024-02-29T23:59"));
+        assertSameDiscount(at("2020-02-29T00:00"), at("2021-02-28T00:00:01"));
+
+        // 登録日時と評価日時を2月29日の前後で網羅する
+        LocalDateTime start = at("2023-02-25T00:00");
+        for (int registered = 0; registered < 10 * 24; registered += 5) {
+            for (int evaluated = 0; evaluated < 10 * 24; evaluated += 7) {
+                assertSameDiscount(start.plusHours(registered),
+                        start.plusYears(1).plusHours(evaluated).plusMinutes(evaluated % 60));
+                assertSameDiscount(start.plusYears(1).plusHours(registered),
+                        start.plusYears(2).plusHours(evaluated).plusMinutes(evaluated % 60));
+            }
+        }
+    }
+
+    @Test
+    void compiledRulesMatchLegacyFormulas() {
+        Random random = new Random(11);
+        LocalDateTime origin = at("2020-01-01T00:00");
+        for (int i = 0; i < 5_000; i++) {
+            LocalDateTime evaluatedAt = origin.plusMinutes(random.nextInt(6 * 365 * 24 * 60));
+            LocalDateTime registeredAt = evaluatedAt.minusMinutes(random.nextInt(3 * 365 * 24 * 60));
+            Order order = order(random.nextInt(1_000_000) + 1, random.nextInt(5) + 1);
+            Customer customer = customer(registeredAt);
+
+            assertEquals(legacyDiscount(order, customer, evaluatedAt),
+                    discountService.compileRules(evaluatedAt).discountFor(order, customer),
+                    () -> "total=" + order.getTotalAmount() + " registeredAt=" + registeredAt
+                            + " evaluatedAt=" + evaluatedAt);
+        }
+    }
+
+    @Test
+    void volumeThresholdIsExclusive() {
+        LocalDateTime evaluatedAt = at("2024-05-15T12:00");
+        Customer newCustomer = customer(evaluatedAt.minusDays(1));
+
+        assertEquals(Money.zero(Currency.getInstance("JPY")),
+                discountService.compileRules(evaluatedAt).discountFor(order(500_000, 1), newCustomer));
+        assertEquals(legacyDiscount(order(500_001, 1), newCustomer, evaluatedAt),
+                discountService.compileRules(evaluatedAt).discountFor(order(500_001, 1), newCustomer));
+    }
+
+    @Test
+    void currentRulesAndBatchUseTheClockMinute() {
+        LocalDateTime now = at("2024-12-24T18:30:45");
+        DiscountService service = new DiscountService(DiscountRule.defaults(),
+                Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC), 2);
+        LocalDateTime minute = now.truncatedTo(ChronoUnit.MINUTES);
+
+        List<Order> orders = new ArrayList<>();
+        Map<CustomerId, Customer> customers = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            Customer customer = customer(now.minusYears(i % 3).minusDays(i));
+            Order order = Order.create(customer.getId(), ADDRESS, ADDRESS);
+            order.addOrderItem(ProductId.generateNew(), "Product", Money.yen(BigDecimal.valueOf(1_999 * (i + 1))),
+                    Quantity.of(i + 1));
+            orders.add(order);
+            customers.put(customer.getId(), customer);
+        }
+
+        List<Money> discounts = service.calculateDiscounts(orders, customers);
+        for (int i = 0; i < orders.size(); i++) {
+            Customer customer = customers.get(orders.get(i).getCustomerId());
+            Money expected = legacyDiscount(orders.get(i), customer, minute);
+            assertEquals(expected, discounts.get(i));
+            assertEquals(expected, service.calculateDiscount(orders.get(i), customer));
+        }
+    }
+
+    // 変換前の DiscountService と同じ計算式（現在日時の代わりに評価日時を使う）
+    private static Money legacyDiscount(Order order, Customer customer, LocalDateTime now) {
+        Money total = order.getTotalAmount();
+        Money discount = Money.zero(total.getCurrency());
+        if (total.isGreaterThan(Money.of(new BigDecimal("5000"), total.getCurrency()))) {
+            discount = discount.add(total.multiply(0.05));
+        }
+        if (customer.getRegisteredAt().plusYears(1).isBefore(now)) {
+            discount = discount.add(total.multiply(0.03));
+        }
+        int month = now.toLocalDate().getMonthValue();
+        if (month == 12) {
+            discount = discount.add(total.multiply(0.1));
+        }
+        if (month == 3 || month == 7) {
+            discount = discount.add(total.multiply(0.08));
+        }
+        return discount.isGreaterThan(total) ? total : discount;
+    }
+
+    private void assertSameDiscount(LocalDateTime registeredAt, LocalDateTime evaluatedAt) {
+        Order order = order(1_000, 1);
+        Customer customer = customer(registeredAt);
+        assertEquals(legacyDiscount(order, customer, evaluatedAt),
+                discountService.compileRules(evaluatedAt).discountFor(order, customer),
+                () -> "registeredAt=" + registeredAt + " evaluatedAt=" + evaluatedAt);
+    }
+
+    // 単価は100分の1単位で指定する
+    private static Order order(long unitPriceMinorUnits, int quantity) {
+        Order order = Order.create(CustomerId.generateNew(), ADDRESS, ADDRESS);
+        order.addOrderItem(ProductId.generateNew(), "Product", Money.yen(BigDecimal.valueOf(unitPriceMinorUnits, 2)),
+                Quantity.of(quantity));
+        return order;
+    }
+
+    private static Customer customer(LocalDateTime registeredAt) {
+        return Customer.reconstitute(CustomerId.generateNew(), "Taro", "Yamada", "taro@example.com", null,
+                List.of(ADDRESS), true, registeredAt, registeredAt);
+    }
+
+    private static LocalDateTime at(String dateTime) {
+        return LocalDateTime.parse(dateTime);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.infrastructure.event;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.valueobject.Address;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+import com.example.domain.repository.OrderRepository;
+import com.example.infrastructure.persistence.OutboxMessageEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 配信できないメッセージがあっても後ろのメッセージが配信され、失敗が続いたメッセージが保留されることを確認する
+ */
+@SpringBootTest(properties = {"ddd.scheduling.enabled=false", "ddd.outbox.max-attempts=3"})
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void poisonMessageIsParkedWithoutBlockingTheMessagesBehindIt() {
+        // 復元できないメッセージを、どのメッセージよりも先に配信される位置に書き込む
+        UUID poisonId = UUID.randomUUID();
+        Long poisonMessageId = inTransaction(() -> {
+            OutboxMessageEntity message = new OutboxMessageEntity();
+            message.setAggregateId(poisonId);
+            message.setEventType("UnknownEvent");
+            message.setPayload("{\"occurredAt\":\"2024-01-01T00:00:00\"}");
+            message.setOccurredAt(LocalDateTime.now().minusYears(1));
+            message.setCreatedAt(LocalDateTime.now().minusYears(1));
+            entityManager.persist(message);
+            return message.getId();
+        });
+
+        Address address = Address.of("1-1", "Chiyoda", "Tokyo", "100-0001", "JP");
+        Order order = Order.create(CustomerId.generateNew(), address, address);
+        order.addOrderItem(ProductId.generateNew(), "Product", Money.yen(BigDecimal.valueOf(1_000)), Quantity.of(1));
+        orderRepository.save(order);
+        UUID orderId = order.getId().getValue();
+
+        outboxRelay.relay();
+
+        assertTrue(messagesOf(orderId).isEmpty(), "the order's events should be delivered past the poison message");
+        OutboxMessageEntity poison = find(poisonMessageId);
+        assertEquals(1, poison.getAttempts());
+        assertNotNull(poison.getLastError());
+        assertNull(poison.getParkedAt());
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        poison = find(poisonMessageId);
+        assertEquals(3, poison.getAttempts());
+        assertNotNull(poison.getParkedAt(), "the message should be parked after max attempts");
+
+        // 保留したメッセージは以降のリレーで取得しない
+        outboxRelay.relay();
+        assertEquals(3, find(poisonMessageId).getAttempts());
+    }
+
+    private OutboxMessageEntity find(Long id) {
+        return inTransaction(() -> entityManager.find(OutboxMessageEntity.class, id));
+    }
+
+    private List<OutboxMessageEntity> messagesOf(UUID aggregateId) {
+        return inTransaction(() -> entityManager.createQuery(
+                        "SELECT m FROM OutboxMessageEntity m WHERE m.aggregateId = :aggregateId",
+                        OutboxMessageEntity.class)
+                .setParameter("aggregateId", aggregateId)
+                .getResultList());
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
\ No newline at end of file
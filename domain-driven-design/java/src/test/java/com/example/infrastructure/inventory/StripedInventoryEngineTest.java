@@ -0,0 +1,204 @@
+package com.example.infrastructure.inventory;
+
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+import com.example.domain.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 複数スレッドからの同時の引当で在庫を超えて引き当てないこと、
+ * トランザクションの結果に合わせて引当と戻しが反映されることを確認する
+ */
+@SpringBootTest(properties = {
+        "ddd.scheduling.enabled=false",
+        "ddd.inventory.engine=striped",
+        "ddd.inventory.stripes=8"
+})
+class StripedInventoryEngineTest {
+    private static final int THREADS = 8;
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("ddd.inventory.journal.directory", journalDirectory::toString);
+    }
+
+    @Autowired
+    private StripedInventoryEngine engine;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentTakesNeverOversellAStock() throws Exception {
+        for (int run = 0; run < 20; run++) {
+            long initial = 1_000;
+            StripedInventoryEngine.Stock stock = new StripedInventoryEngine.Stock(8, initial);
+
+            List<Long> takenPerThread = runConcurrently(() -> {
+                long taken = 0;
+                for (int i = 0; i < 2_000; i++) {
+                    long quantity = ThreadLocalRandom.current().nextInt(1, 8);
+                    if (stock.tryTake(quantity)) {
+                        taken += quantity;
+                    }
+                }
+                return taken;
+            });
+
+            long taken = takenPerThread.stream().mapToLong(Long::longValue).sum();
+            assertTrue(taken <= initial, "oversold: took " + taken + " of " + initial);
+            assertEquals(initial - taken, stock.available());
+
+            // 競合で一時的に取れなかった残りも、単独であれば全て引き当てられる
+            long remaining = stock.available();
+            while (stock.tryTake(1)) {
+                remaining--;
+            }
+            assertEquals(0, remaining);
+            assertEquals(0, stock.available());
+        }
+    }
+
+    @Test
+    void concurrentTakesAndGivesKeepTheTotal() throws Exception {
+        long initial = 50;
+        StripedInventoryEngine.Stock stock = new StripedInventoryEngine.Stock(8, initial);
+
+        // 引き当てた分を必ず戻すため、全スレッドの終了後は元の在庫数に戻る
+        runConcurrently(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                long quantity = ThreadLocalRandom.current().nextInt(1, 20);
+                if (stock.tryTake(quantity)) {
+                    stock.give(quantity);
+                }
+            }
+            return 0L;
+        });
+
+        assertEquals(initial, stock.available());
+    }
+
+    @Test
+    void concurrentReservationsNeverOversellAndAreWrittenBack() throws Exception {
+        ProductId productId = saveProduct(500);
+
+        List<Long> reservedPerThread = runConcurrently(() -> {
+            long reserved = 0;
+            for (int i = 0; i < 200; i++) {
+                int quantity = ThreadLocalRandom.current().nextInt(1, 5);
+                if (engine.tryReserve(Map.of(productId, Quantity.of(quantity))).isEmpty()) {
+                    reserved += quantity;
+                }
+            }
+            return reserved;
+        });
+
+        long reserved = reservedPerThread.stream().mapToLong(Long::longValue).sum();
+        assertTrue(reserved <= 500, "oversold: reserved " + reserved + " of 500");
+        engine.writeBehind();
+        assertEquals(500 - reserved, stockOf(productId));
+        assertEquals(0, engine.getDriftedProductCount());
+    }
+
+    @Test
+    void rolledBackReservationIsGivenBack() {
+        ProductId productId = saveProduct(10);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertTrue(engine.tryReserve(Map.of(productId, Quantity.of(10))).isEmpty());
+            // 引当はトランザクションの終了を待たずに在庫を減らす
+            assertFalse(engine.tryReserve(Map.of(productId, Quantity.of(1))).isEmpty());
+            status.setRollbackOnly();
+        });
+
+        assertTrue(engine.tryReserve(Map.of(productId, Quantity.of(10))).isEmpty());
+        engine.writeBehind();
+        assertEquals(0, stockOf(productId));
+    }
+
+    @Test
+    void releaseIsAppliedOnlyWhenTheTransactionCommits() {
+        ProductId productId = saveProduct(5);
+        assertTrue(engine.tryReserve(Map.of(productId, Quantity.of(5))).isEmpty());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            engine.release(Map.of(productId, Quantity.of(5)));
+            status.setRollbackOnly();
+        });
+        assertFalse(engine.tryReserve(Map.of(productId, Quantity.of(1))).isEmpty());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            engine.release(Map.of(productId, Quantity.of(5)));
+            // コミットするまでは戻さない
+            assertFalse(engine.tryReserve(Map.of(productId, Quantity.of(1))).isEmpty());
+        });
+        engine.writeBehind();
+        assertEquals(5, stockOf(productId));
+    }
+
+    private static List<Long> runConcurrently(Callable<Long> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Long> results = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ProductId saveProduct(int stock) {
+        Product product = Product.create("Product", "Description", Money.yen(BigDecimal.valueOf(100)),
+                Quantity.of(stock));
+        productRepository.save(product);
+        return product.getId();
+    }
+
+    private int stockOf(ProductId productId) {
+        return productRepository.findById(productId).orElseThrow().getStockQuantity().getValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Customer;
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.Address;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.OrderStatus;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 一覧の読み込みで発行されるSQLの数が、結果の件数によらず一定であることを確認する
+ * 子のコレクションを1件ずつ読み込む（N+1）と、件数を増やしたときに発行数が増えて失敗する
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "ddd.scheduling.enabled=false"
+})
+class FetchPlanStatementCountTest {
+    private static final int FEW = 1;
+    private static final int MANY = 20;
+
+    @Autowired
+    private JpaCustomerRepository customerRepository;
+
+    @Autowired
+    private JpaProductRepository productRepository;
+
+    @Autowired
+    private JpaOrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void customerLookupsIssueFixedNumberOfStatements() {
+        String lastName = "Few-" + UUID.randomUUID();
+        List<CustomerId> few = saveCustomers(FEW, lastName);
+        String manyLastName = "Many-" + UUID.randomUUID();
+        List<CustomerId> many = saveCustomers(MANY, manyLastName);
+
+        assertSameStatementCount(
+                () -> customerRepository.findAllByIds(few),
+                () -> customerRepository.findAllByIds(many));
+        assertSameStatementCount(
+                () -> customerRepository.findByName("Taro", lastName),
+                () -> customerRepository.findByName("Taro", manyLastName));
+    }
+
+    @Test
+    void productLookupsIssueFixedNumberOfStatements() {
+        List<ProductId> few = saveProducts(FEW);
+        List<ProductId> many = saveProducts(MANY);
+
+        assertSameStatementCount(
+                () -> productRepository.findAllByIds(few),
+                () -> productRepository.findAllByIds(many));
+    }
+
+    @Test
+    void orderListsIssueFixedNumberOfStatements() {
+        CustomerId fewCustomer = saveCustomers(1, "Orders").get(0);
+        CustomerId manyCustomer = saveCustomers(1, "Orders").get(0);
+        saveOrders(fewCustomer, FEW);
+        saveOrders(manyCustomer, MANY);
+
+        assertSameStatementCount(
+                () -> orderRepository.findByCustomerId(fewCustomer),
+                () -> orderRepository.findByCustomerId(manyCustomer));
+
+        // 状態での検索は他のテストの注文も対象になるため、件数を増やす前後で比べる
+        long before = countStatements(() -> orderRepository.findByStatus(OrderStatus.CREATED));
+        saveOrders(fewCustomer, MANY);
+        long after = countStatements(() -> orderRepository.findByStatus(OrderStatus.CREATED));
+        assertEquals(before, after, "findByStatus statements grew with the result size");
+    }
+
+    private void assertSameStatementCount(Supplier<List<?>> few, Supplier<List<?>> many) {
+        long fewStatements = countStatements(() -> assertEquals(FEW, few.get().size()));
+        long manyStatements = countStatements(() -> assertEquals(MANY, many.get().size()));
+        assertEquals(fewStatements, manyStatements, "statements grew with the result size");
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<CustomerId> saveCustomers(int count, String lastName) {
+        List<CustomerId> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Customer customer = Customer.create("Taro", lastName, UUID.randomUUID() + "@example.com", null);
+            customer.addAddress(address("1-1"));
+            customer.addAddress(address("2-2"));
+            customerRepository.save(customer);
+            ids.add(customer.getId());
+        }
+        return ids;
+    }
+
+    private List<ProductId> saveProducts(int count) {
+        List<ProductId> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = Product.create("Product " + i, "Description", yen(100), Quantity.of(10));
+            productRepository.save(product);
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+
+    private void saveOrders(CustomerId customerId, int count) {
+        for (int i = 0; i < count; i++) {
+            Order order = Order.create(customerId, address("1-1"), address("1-1"));
+            for (int item = 0; item < 3; item++) {
+                order.addOrderItem(ProductId.generateNew(), "Product " + item, yen(100), Quantity.of(1));
+            }
+            orderRepository.save(order);
+        }
+    }
+
+    private static Address address(String street) {
+        return Address.of(street, "Chiyoda", "Tokyo", "100-0001", "JP");
+    }
+
+    private static Money yen(int amount) {
+        return Money.yen(BigDecimal.valueOf(amount));
+    }
+}
\ No newline at end of file
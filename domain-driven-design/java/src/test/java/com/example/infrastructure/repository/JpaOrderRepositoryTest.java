@@ -0,0 +1,102 @@
+package com.example.infrastructure.repository;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.entity.Product;
+import com.example.domain.model.valueobject.Address;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.Quantity;
+import com.example.infrastructure.persistence.ProductEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 注文の保存が、呼び出し元のトランザクションで扱っている他のエンティティを壊さず、
+ * 同じトランザクションでの読み込みと保存の繰り返しが自身の更新と競合しないことを確認する
+ */
+@SpringBootTest(properties = "ddd.scheduling.enabled=false")
+class JpaOrderRepositoryTest {
+
+    @Autowired
+    private JpaOrderRepository orderRepository;
+
+    @Autowired
+    private JpaProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void saveAllKeepsPendingChangesOfTheCallersEntities() {
+        Product product = Product.create("Product", "Description", yen(1_000), Quantity.of(10));
+        productRepository.save(product);
+        List<Order> orders = List.of(newOrder(product), newOrder(product));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ProductEntity managed = entityManager.find(ProductEntity.class, product.getId().getValue());
+            managed.setStockQuantity(42);
+
+            orderRepository.saveAll(orders);
+
+            assertTrue(entityManager.contains(managed), "saveAll should not detach the caller's entities");
+        });
+
+        assertEquals(42, productRepository.findById(product.getId()).orElseThrow().getStockQuantity().getValue());
+        for (Order order : orders) {
+            assertTrue(orderRepository.findById(order.getId()).isPresent());
+        }
+    }
+
+    @Test
+    void repeatedSavesInOneTransactionSeeTheirOwnVersion() {
+        Product product = Product.create("Product", "Description", yen(1_000), Quantity.of(10));
+        productRepository.save(product);
+
+        Order saved = new TransactionTemplate(transactionManager).execute(status -> {
+            // 新規保存した注文のエンティティは永続化コンテキストで管理されたまま残る
+            Order order = orderRepository.save(newOrder(product));
+            UUID itemId = order.getOrderItems().get(0).getId();
+            order.updateOrderItemQuantity(itemId, Quantity.of(2));
+            orderRepository.save(order);
+
+            // 同じトランザクションで読み込み直した注文は、一括 UPDATE 後のバージョンと数量を持つ
+            Order reloaded = orderRepository.findById(order.getId()).orElseThrow();
+            assertEquals(order.version(), reloaded.version());
+            assertEquals(2, reloaded.getOrderItems().get(0).getQuantity().getValue());
+
+            reloaded.updateOrderItemQuantity(itemId, Quantity.of(3));
+            return orderRepository.save(reloaded);
+        });
+
+        Order stored = orderRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(saved.version(), stored.version());
+        assertEquals(3, stored.getOrderItems().get(0).getQuantity().getValue());
+        assertEquals(yen(3_000), stored.getTotalAmount());
+    }
+
+    private static Order newOrder(Product product) {
+        Address address = Address.of("1-1", "Chiyoda", "Tokyo", "100-0001", "JP");
+        Order order = Order.create(CustomerId.generateNew(), address, address);
+        order.addOrderItem(product.getId(), product.getName(), product.getPrice(), Quantity.of(1));
+        return order;
+    }
+
+    private static Money yen(int amount) {
+        return Money.yen(BigDecimal.valueOf(amount));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.presentation.controller;
+
+import com.example.domain.model.aggregate.Order;
+import com.example.domain.model.valueobject.Address;
+import com.example.domain.model.valueobject.CustomerId;
+import com.example.domain.model.valueobject.Money;
+import com.example.domain.model.valueobject.ProductId;
+import com.example.domain.model.valueobject.Quantity;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * API が返す注文の JSON に、変更の追跡やバージョンなどのリポジトリ向けの状態が含まれないことを確認する
+ */
+@JsonTest
+class OrderJsonTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void orderJsonContainsOnlyPublicFields() {
+        Address address = Address.of("1-1-1 Chome", "Chiyoda", "Tokyo", "100-0001", "JP");
+        Order order = Order.create(CustomerId.generateNew(), address, address);
+        order.addOrderItem(ProductId.generateNew(), "Product", Money.yen(BigDecimal.valueOf(1_000)), Quantity.of(2));
+
+        JsonNode json = objectMapper.valueToTree(order);
+        List<String> fields = new ArrayList<>();
+        json.fieldNames().forEachRemaining(fields::add);
+
+        assertEquals(Set.of("id", "customerId", "shippingAddress", "billingAddress", "status", "orderItems",
+                        "totalAmount", "createdAt", "lastModifiedAt", "paidAt", "shippedAt", "cancelledAt",
+                        "domainEvents"),
+                Set.copyOf(fields));
+    }
+}
\ No newline at end of file
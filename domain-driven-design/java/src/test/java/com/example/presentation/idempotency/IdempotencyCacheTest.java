@@ -0,0 +1,117 @@
+package com.example.presentation.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 同じキーを追加し直しても、上限と期限切れの判定が保持しているエントリの数と期限で行われることを確認する
+ */
+class IdempotencyCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final MutableClock clock = new MutableClock();
+    private final Map<String, Integer> runs = new HashMap<>();
+
+    @Test
+    void retryAfterTransientFailureDoesNotEvictLiveEntries() {
+        IdempotencyCache cache = new IdempotencyCache(2, TTL, clock);
+
+        execute(cache, "a");
+        assertThrows(RuntimeException.class, () -> cache.execute("b", "pay", () -> {
+            count("b");
+            throw new RuntimeException("transient");
+        }));
+        execute(cache, "b");
+
+        // 保持しているのは a と b の2件。失敗した1回目の b のノードを数えて a を削除してはいけない
+        execute(cache, "a");
+        execute(cache, "b");
+        assertEquals(1, runs.get("a"));
+        assertEquals(2, runs.get("b"));
+    }
+
+    @Test
+    void oldestCompletedEntryIsEvictedWhenFull() {
+        IdempotencyCache cache = new IdempotencyCache(2, TTL, clock);
+
+        execute(cache, "a");
+        execute(cache, "b");
+        execute(cache, "c");
+
+        execute(cache, "c");
+        execute(cache, "a");
+        assertEquals(2, runs.get("a"));
+        assertEquals(1, runs.get("c"));
+    }
+
+    @Test
+    void expiredEntryIsRunAgainAndStaysCached() {
+        IdempotencyCache cache = new IdempotencyCache(2, TTL, clock);
+
+        execute(cache, "a");
+        clock.advance(TTL);
+        execute(cache, "a");
+        execute(cache, "b");
+
+        // 追加し直した a は、期限切れになった1回目のノードとは別に期限まで保持する
+        clock.advance(TTL.dividedBy(2));
+        execute(cache, "a");
+        execute(cache, "b");
+        assertEquals(2, runs.get("a"));
+        assertEquals(1, runs.get("b"));
+    }
+
+    @Test
+    void keyReusedForAnotherOperationIsRejected() {
+        IdempotencyCache cache = new IdempotencyCache(2, TTL, clock);
+
+        execute(cache, "a");
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> cache.execute("a", "cancel", () -> count("a")));
+        assertEquals(1, runs.get("a"));
+    }
+
+    private void execute(IdempotencyCache cache, String key) {
+        cache.execute(key, "pay", () -> count(key));
+    }
+
+    private void count(String key) {
+        runs.merge(key, 1, Integer::sum);
+    }
+
+    /**
+     * テストから進める時計
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
\ No newline at end of file